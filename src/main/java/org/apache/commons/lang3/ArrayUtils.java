@@ -16,6 +16,9 @@
  */
 package org.apache.commons.lang3;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -31,8 +34,11 @@
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.mutable.MutableInt;
+import org.apache.commons.lang3.primitive.IntIntHashMap;
+import org.apache.commons.lang3.primitive.LongIntHashMap;
 
 /**
  * <p>Operations on arrays, primitive arrays (like {@code int[]}) and
@@ -178,6 +184,15 @@ public class ArrayUtils {
      */
     public static final int INDEX_NOT_FOUND = -1;
 
+    /** {@code Arrays.mismatch(byte[], int, int, byte[], int, int)} on Java 9 and later, else null. */
+    private static final MethodHandle BYTE_MISMATCH = findMismatch(byte[].class);
+    /** {@code Arrays.mismatch(char[], int, int, char[], int, int)} on Java 9 and later, else null. */
+    private static final MethodHandle CHAR_MISMATCH = findMismatch(char[].class);
+    /** {@code Arrays.mismatch(int[], int, int, int[], int, int)} on Java 9 and later, else null. */
+    private static final MethodHandle INT_MISMATCH = findMismatch(int[].class);
+    /** {@code Arrays.mismatch(long[], int, int, long[], int, int)} on Java 9 and later, else null. */
+    private static final MethodHandle LONG_MISMATCH = findMismatch(long[].class);
+
     /**
      * <p>Copies the given array and adds the given element at the end of the new array.
      *
@@ -1636,6 +1651,130 @@ public static boolean contains(final short[] array, final short valueToFind) {
         return indexOf(array, valueToFind) != INDEX_NOT_FOUND;
     }
 
+    /**
+     * <p>Checks if any of the given values is in the array.
+     *
+     * <p>The method returns {@code false} if a {@code null} array or no values are passed in.
+     * The values are expected to be few; the array is scanned once.
+     *
+     * @param array  the array to search through
+     * @param valuesToFind  the values to find
+     * @return true if the array contains any of the values
+     * @since 3.10
+     */
+    public static boolean containsAny(final byte[] array, final byte... valuesToFind) {
+        if (array == null || isEmpty(valuesToFind)) {
+            return false;
+        }
+        // a 256 bit table of the values
+        final long[] table = new long[4];
+        for (final byte value : valuesToFind) {
+            table[(value & 0xff) >>> 6] |= 1L << value;
+        }
+        for (final byte element : array) {
+            if ((table[(element & 0xff) >>> 6] & 1L << element) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Checks if any of the given values is in the array.
+     *
+     * <p>The method returns {@code false} if a {@code null} array or no values are passed in.
+     * The values are expected to be few; the array is scanned once.
+     *
+     * @param array  the array to search through
+     * @param valuesToFind  the values to find
+     * @return true if the array contains any of the values
+     * @since 3.10
+     */
+    public static boolean containsAny(final char[] array, final char... valuesToFind) {
+        if (array == null || isEmpty(valuesToFind)) {
+            return false;
+        }
+        // a 64 bit filter of the values lets most elements be rejected with a single test
+        long filter = 0;
+        for (final char value : valuesToFind) {
+            filter |= 1L << value;
+        }
+        for (final char element : array) {
+            if ((filter & 1L << element) != 0) {
+                for (final char value : valuesToFind) {
+                    if (element == value) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Checks if any of the given values is in the array.
+     *
+     * <p>The method returns {@code false} if a {@code null} array or no values are passed in.
+     * The values are expected to be few; the array is scanned once.
+     *
+     * @param array  the array to search through
+     * @param valuesToFind  the values to find
+     * @return true if the array contains any of the values
+     * @since 3.10
+     */
+    public static boolean containsAny(final int[] array, final int... valuesToFind) {
+        if (array == null || isEmpty(valuesToFind)) {
+            return false;
+        }
+        // a 64 bit filter of the values lets most elements be rejected with a single test
+        long filter = 0;
+        for (final int value : valuesToFind) {
+            filter |= 1L << value;
+        }
+        for (final int element : array) {
+            if ((filter & 1L << element) != 0) {
+                for (final int value : valuesToFind) {
+                    if (element == value) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Checks if any of the given values is in the array.
+     *
+     * <p>The method returns {@code false} if a {@code null} array or no values are passed in.
+     * The values are expected to be few; the array is scanned once.
+     *
+     * @param array  the array to search through
+     * @param valuesToFind  the values to find
+     * @return true if the array contains any of the values
+     * @since 3.10
+     */
+    public static boolean containsAny(final long[] array, final long... valuesToFind) {
+        if (array == null || isEmpty(valuesToFind)) {
+            return false;
+        }
+        // a 64 bit filter of the values lets most elements be rejected with a single test
+        long filter = 0;
+        for (final long value : valuesToFind) {
+            filter |= 1L << value;
+        }
+        for (final long element : array) {
+            if ((filter & 1L << element) != 0) {
+                for (final long value : valuesToFind) {
+                    if (element == value) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns a copy of the given array of size 1 greater than the argument.
      * The last value of the array is left to the default value.
@@ -1655,6 +1794,170 @@ private static Object copyArrayGrow1(final Object array, final Class<?> newArray
         return Array.newInstance(newArrayComponentType, 1);
     }
 
+    /**
+     * <p>Counts the occurrences of the given value in the array.
+     *
+     * @param array  the array to search through, may be {@code null}
+     * @param valueToFind  the value to count
+     * @return the number of elements equal to the value, {@code 0} for a {@code null} array
+     * @since 3.10
+     */
+    public static int countOccurrences(final byte[] array, final byte valueToFind) {
+        if (array == null) {
+            return 0;
+        }
+        int count = 0;
+        // no branch in the loop, so that the JIT can vectorize it
+        for (final byte element : array) {
+            count += element == valueToFind ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * <p>Counts the occurrences of the given value in the array.
+     *
+     * @param array  the array to search through, may be {@code null}
+     * @param valueToFind  the value to count
+     * @return the number of elements equal to the value, {@code 0} for a {@code null} array
+     * @since 3.10
+     */
+    public static int countOccurrences(final char[] array, final char valueToFind) {
+        if (array == null) {
+            return 0;
+        }
+        int count = 0;
+        // no branch in the loop, so that the JIT can vectorize it
+        for (final char element : array) {
+            count += element == valueToFind ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * <p>Counts the occurrences of the given value in the array.
+     *
+     * @param array  the array to search through, may be {@code null}
+     * @param valueToFind  the value to count
+     * @return the number of elements equal to the value, {@code 0} for a {@code null} array
+     * @since 3.10
+     */
+    public static int countOccurrences(final int[] array, final int valueToFind) {
+        if (array == null) {
+            return 0;
+        }
+        int count = 0;
+        // no branch in the loop, so that the JIT can vectorize it
+        for (final int element : array) {
+            count += element == valueToFind ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * <p>Counts the occurrences of the given value in the array.
+     *
+     * @param array  the array to search through, may be {@code null}
+     * @param valueToFind  the value to count
+     * @return the number of elements equal to the value, {@code 0} for a {@code null} array
+     * @since 3.10
+     */
+    public static int countOccurrences(final long[] array, final long valueToFind) {
+        if (array == null) {
+            return 0;
+        }
+        int count = 0;
+        // no branch in the loop, so that the JIT can vectorize it
+        for (final long element : array) {
+            count += element == valueToFind ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * <p>Checks whether two ranges of {@code byte} arrays hold the same elements, as
+     * {@code java.util.Arrays.equals(byte[], int, int, byte[], int, int)} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return true if the ranges have the same length and elements
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static boolean equals(final byte[] a, final int aFromIndex, final int aToIndex,
+            final byte[] b, final int bFromIndex, final int bToIndex) {
+        return mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex) == INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Checks whether two ranges of {@code char} arrays hold the same elements, as
+     * {@code java.util.Arrays.equals(char[], int, int, char[], int, int)} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return true if the ranges have the same length and elements
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static boolean equals(final char[] a, final int aFromIndex, final int aToIndex,
+            final char[] b, final int bFromIndex, final int bToIndex) {
+        return mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex) == INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Checks whether two ranges of {@code int} arrays hold the same elements, as
+     * {@code java.util.Arrays.equals(int[], int, int, int[], int, int)} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return true if the ranges have the same length and elements
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static boolean equals(final int[] a, final int aFromIndex, final int aToIndex,
+            final int[] b, final int bFromIndex, final int bToIndex) {
+        return mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex) == INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Checks whether two ranges of {@code long} arrays hold the same elements, as
+     * {@code java.util.Arrays.equals(long[], int, int, long[], int, int)} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return true if the ranges have the same length and elements
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static boolean equals(final long[] a, final int aFromIndex, final int aToIndex,
+            final long[] b, final int bFromIndex, final int bToIndex) {
+        return mismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex) == INDEX_NOT_FOUND;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * <p>Returns the length of the specified array.
@@ -2294,15 +2597,55 @@ public static int indexOf(final byte[] array, final byte valueToFind) {
      * @return the index of the value within the array,
      *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
      */
-    public static int indexOf(final byte[] array, final byte valueToFind, int startIndex) {
+    public static int indexOf(final byte[] array, final byte valueToFind, final int startIndex) {
+        return indexOf(array, valueToFind, startIndex, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>Finds the index of the given value in a range of the array.
+     *
+     * <p>This method returns {@link #INDEX_NOT_FOUND} ({@code -1}) for a {@code null} input array.
+     *
+     * <p>A negative startIndex is treated as zero and an endIndex larger than the array length is
+     * treated as the array length. An empty range will return {@link #INDEX_NOT_FOUND} ({@code -1}).
+     *
+     * @param array  the array to search through for the object, may be {@code null}
+     * @param valueToFind  the value to find
+     * @param startIndex  the index to start searching at, inclusive
+     * @param endIndex  the index to stop searching at, exclusive
+     * @return the index of the value within the array,
+     *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
+     * @since 3.10
+     */
+    public static int indexOf(final byte[] array, final byte valueToFind, int startIndex, int endIndex) {
         if (array == null) {
             return INDEX_NOT_FOUND;
         }
         if (startIndex < 0) {
             startIndex = 0;
         }
-        for (int i = startIndex; i < array.length; i++) {
-            if (valueToFind == array[i]) {
+        if (endIndex > array.length) {
+            endIndex = array.length;
+        }
+        if (endIndex <= startIndex) {
+            return INDEX_NOT_FOUND;
+        }
+        int i = startIndex;
+        // test eight elements at a time without short-circuiting, so that the comparisons can run in parallel
+        for (; i <= endIndex - 8; i += 8) {
+            if (array[i] == valueToFind |
+                array[i + 1] == valueToFind |
+                array[i + 2] == valueToFind |
+                array[i + 3] == valueToFind |
+                array[i + 4] == valueToFind |
+                array[i + 5] == valueToFind |
+                array[i + 6] == valueToFind |
+                array[i + 7] == valueToFind) {
+                break;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (array[i] == valueToFind) {
                 return i;
             }
         }
@@ -2341,15 +2684,55 @@ public static int indexOf(final char[] array, final char valueToFind) {
      *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
      * @since 2.1
      */
-    public static int indexOf(final char[] array, final char valueToFind, int startIndex) {
+    public static int indexOf(final char[] array, final char valueToFind, final int startIndex) {
+        return indexOf(array, valueToFind, startIndex, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>Finds the index of the given value in a range of the array.
+     *
+     * <p>This method returns {@link #INDEX_NOT_FOUND} ({@code -1}) for a {@code null} input array.
+     *
+     * <p>A negative startIndex is treated as zero and an endIndex larger than the array length is
+     * treated as the array length. An empty range will return {@link #INDEX_NOT_FOUND} ({@code -1}).
+     *
+     * @param array  the array to search through for the object, may be {@code null}
+     * @param valueToFind  the value to find
+     * @param startIndex  the index to start searching at, inclusive
+     * @param endIndex  the index to stop searching at, exclusive
+     * @return the index of the value within the array,
+     *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
+     * @since 3.10
+     */
+    public static int indexOf(final char[] array, final char valueToFind, int startIndex, int endIndex) {
         if (array == null) {
             return INDEX_NOT_FOUND;
         }
         if (startIndex < 0) {
             startIndex = 0;
         }
-        for (int i = startIndex; i < array.length; i++) {
-            if (valueToFind == array[i]) {
+        if (endIndex > array.length) {
+            endIndex = array.length;
+        }
+        if (endIndex <= startIndex) {
+            return INDEX_NOT_FOUND;
+        }
+        int i = startIndex;
+        // test eight elements at a time without short-circuiting, so that the comparisons can run in parallel
+        for (; i <= endIndex - 8; i += 8) {
+            if (array[i] == valueToFind |
+                array[i + 1] == valueToFind |
+                array[i + 2] == valueToFind |
+                array[i + 3] == valueToFind |
+                array[i + 4] == valueToFind |
+                array[i + 5] == valueToFind |
+                array[i + 6] == valueToFind |
+                array[i + 7] == valueToFind) {
+                break;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (array[i] == valueToFind) {
                 return i;
             }
         }
@@ -2527,15 +2910,55 @@ public static int indexOf(final int[] array, final int valueToFind) {
      * @return the index of the value within the array,
      *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
      */
-    public static int indexOf(final int[] array, final int valueToFind, int startIndex) {
+    public static int indexOf(final int[] array, final int valueToFind, final int startIndex) {
+        return indexOf(array, valueToFind, startIndex, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>Finds the index of the given value in a range of the array.
+     *
+     * <p>This method returns {@link #INDEX_NOT_FOUND} ({@code -1}) for a {@code null} input array.
+     *
+     * <p>A negative startIndex is treated as zero and an endIndex larger than the array length is
+     * treated as the array length. An empty range will return {@link #INDEX_NOT_FOUND} ({@code -1}).
+     *
+     * @param array  the array to search through for the object, may be {@code null}
+     * @param valueToFind  the value to find
+     * @param startIndex  the index to start searching at, inclusive
+     * @param endIndex  the index to stop searching at, exclusive
+     * @return the index of the value within the array,
+     *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
+     * @since 3.10
+     */
+    public static int indexOf(final int[] array, final int valueToFind, int startIndex, int endIndex) {
         if (array == null) {
             return INDEX_NOT_FOUND;
         }
         if (startIndex < 0) {
             startIndex = 0;
         }
-        for (int i = startIndex; i < array.length; i++) {
-            if (valueToFind == array[i]) {
+        if (endIndex > array.length) {
+            endIndex = array.length;
+        }
+        if (endIndex <= startIndex) {
+            return INDEX_NOT_FOUND;
+        }
+        int i = startIndex;
+        // test eight elements at a time without short-circuiting, so that the comparisons can run in parallel
+        for (; i <= endIndex - 8; i += 8) {
+            if (array[i] == valueToFind |
+                array[i + 1] == valueToFind |
+                array[i + 2] == valueToFind |
+                array[i + 3] == valueToFind |
+                array[i + 4] == valueToFind |
+                array[i + 5] == valueToFind |
+                array[i + 6] == valueToFind |
+                array[i + 7] == valueToFind) {
+                break;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (array[i] == valueToFind) {
                 return i;
             }
         }
@@ -2572,15 +2995,55 @@ public static int indexOf(final long[] array, final long valueToFind) {
      * @return the index of the value within the array,
      *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
      */
-    public static int indexOf(final long[] array, final long valueToFind, int startIndex) {
+    public static int indexOf(final long[] array, final long valueToFind, final int startIndex) {
+        return indexOf(array, valueToFind, startIndex, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>Finds the index of the given value in a range of the array.
+     *
+     * <p>This method returns {@link #INDEX_NOT_FOUND} ({@code -1}) for a {@code null} input array.
+     *
+     * <p>A negative startIndex is treated as zero and an endIndex larger than the array length is
+     * treated as the array length. An empty range will return {@link #INDEX_NOT_FOUND} ({@code -1}).
+     *
+     * @param array  the array to search through for the object, may be {@code null}
+     * @param valueToFind  the value to find
+     * @param startIndex  the index to start searching at, inclusive
+     * @param endIndex  the index to stop searching at, exclusive
+     * @return the index of the value within the array,
+     *  {@link #INDEX_NOT_FOUND} ({@code -1}) if not found or {@code null} array input
+     * @since 3.10
+     */
+    public static int indexOf(final long[] array, final long valueToFind, int startIndex, int endIndex) {
         if (array == null) {
             return INDEX_NOT_FOUND;
         }
         if (startIndex < 0) {
             startIndex = 0;
         }
-        for (int i = startIndex; i < array.length; i++) {
-            if (valueToFind == array[i]) {
+        if (endIndex > array.length) {
+            endIndex = array.length;
+        }
+        if (endIndex <= startIndex) {
+            return INDEX_NOT_FOUND;
+        }
+        int i = startIndex;
+        // test eight elements at a time without short-circuiting, so that the comparisons can run in parallel
+        for (; i <= endIndex - 8; i += 8) {
+            if (array[i] == valueToFind |
+                array[i + 1] == valueToFind |
+                array[i + 2] == valueToFind |
+                array[i + 3] == valueToFind |
+                array[i + 4] == valueToFind |
+                array[i + 5] == valueToFind |
+                array[i + 6] == valueToFind |
+                array[i + 7] == valueToFind) {
+                break;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (array[i] == valueToFind) {
                 return i;
             }
         }
@@ -4470,6 +4933,332 @@ public static Long[] nullToEmpty(final Long[] array) {
         return array;
     }
 
+    /**
+     * <p>Finds the first index at which two {@code byte} arrays differ, as
+     * {@code java.util.Arrays.mismatch(byte[], byte[])} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param b  the second array, not null
+     * @return the index of the first mismatch, the length of the shorter array if it is a prefix of the
+     *  other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the arrays are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @since 3.10
+     */
+    public static int mismatch(final byte[] a, final byte[] b) {
+        return mismatch(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * <p>Finds the first relative index at which two ranges of {@code byte} arrays differ, as
+     * {@code java.util.Arrays.mismatch(byte[], int, int, byte[], int, int)} does on Java 9 and later.
+     *
+     * <p>On Java 9 and later this delegates to the JDK method, which compares several elements at a time.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return the index of the first mismatch relative to the range starts, the length of the shorter range
+     *  if it is a prefix of the other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the ranges are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static int mismatch(final byte[] a, final int aFromIndex, final int aToIndex,
+            final byte[] b, final int bFromIndex, final int bToIndex) {
+        if (BYTE_MISMATCH != null) {
+            try {
+                return (int) BYTE_MISMATCH.invokeExact(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+            } catch (final Throwable t) {
+                return ExceptionUtils.<Integer>rethrow(t).intValue();
+            }
+        }
+        return scalarMismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+    }
+
+    /**
+     * Compares two ranges element by element, for Java 8.
+     *
+     * @param a  the first array
+     * @param aFromIndex  the first range start
+     * @param aToIndex  the first range end
+     * @param b  the second array
+     * @param bFromIndex  the second range start
+     * @param bToIndex  the second range end
+     * @return as {@link #mismatch(byte[], int, int, byte[], int, int)}
+     */
+    // package protected for access by unit tests
+    static int scalarMismatch(final byte[] a, final int aFromIndex, final int aToIndex,
+            final byte[] b, final int bFromIndex, final int bToIndex) {
+        checkRange(a.length, aFromIndex, aToIndex);
+        checkRange(b.length, bFromIndex, bToIndex);
+        final int aLength = aToIndex - aFromIndex;
+        final int bLength = bToIndex - bFromIndex;
+        final int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            if (a[aFromIndex + i] != b[bFromIndex + i]) {
+                return i;
+            }
+        }
+        return aLength == bLength ? INDEX_NOT_FOUND : length;
+    }
+
+    /**
+     * <p>Finds the first index at which two {@code char} arrays differ, as
+     * {@code java.util.Arrays.mismatch(char[], char[])} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param b  the second array, not null
+     * @return the index of the first mismatch, the length of the shorter array if it is a prefix of the
+     *  other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the arrays are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @since 3.10
+     */
+    public static int mismatch(final char[] a, final char[] b) {
+        return mismatch(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * <p>Finds the first relative index at which two ranges of {@code char} arrays differ, as
+     * {@code java.util.Arrays.mismatch(char[], int, int, char[], int, int)} does on Java 9 and later.
+     *
+     * <p>On Java 9 and later this delegates to the JDK method, which compares several elements at a time.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return the index of the first mismatch relative to the range starts, the length of the shorter range
+     *  if it is a prefix of the other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the ranges are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static int mismatch(final char[] a, final int aFromIndex, final int aToIndex,
+            final char[] b, final int bFromIndex, final int bToIndex) {
+        if (CHAR_MISMATCH != null) {
+            try {
+                return (int) CHAR_MISMATCH.invokeExact(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+            } catch (final Throwable t) {
+                return ExceptionUtils.<Integer>rethrow(t).intValue();
+            }
+        }
+        return scalarMismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+    }
+
+    /**
+     * Compares two ranges element by element, for Java 8.
+     *
+     * @param a  the first array
+     * @param aFromIndex  the first range start
+     * @param aToIndex  the first range end
+     * @param b  the second array
+     * @param bFromIndex  the second range start
+     * @param bToIndex  the second range end
+     * @return as {@link #mismatch(char[], int, int, char[], int, int)}
+     */
+    // package protected for access by unit tests
+    static int scalarMismatch(final char[] a, final int aFromIndex, final int aToIndex,
+            final char[] b, final int bFromIndex, final int bToIndex) {
+        checkRange(a.length, aFromIndex, aToIndex);
+        checkRange(b.length, bFromIndex, bToIndex);
+        final int aLength = aToIndex - aFromIndex;
+        final int bLength = bToIndex - bFromIndex;
+        final int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            if (a[aFromIndex + i] != b[bFromIndex + i]) {
+                return i;
+            }
+        }
+        return aLength == bLength ? INDEX_NOT_FOUND : length;
+    }
+
+    /**
+     * <p>Finds the first index at which two {@code int} arrays differ, as
+     * {@code java.util.Arrays.mismatch(int[], int[])} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param b  the second array, not null
+     * @return the index of the first mismatch, the length of the shorter array if it is a prefix of the
+     *  other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the arrays are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @since 3.10
+     */
+    public static int mismatch(final int[] a, final int[] b) {
+        return mismatch(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * <p>Finds the first relative index at which two ranges of {@code int} arrays differ, as
+     * {@code java.util.Arrays.mismatch(int[], int, int, int[], int, int)} does on Java 9 and later.
+     *
+     * <p>On Java 9 and later this delegates to the JDK method, which compares several elements at a time.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return the index of the first mismatch relative to the range starts, the length of the shorter range
+     *  if it is a prefix of the other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the ranges are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static int mismatch(final int[] a, final int aFromIndex, final int aToIndex,
+            final int[] b, final int bFromIndex, final int bToIndex) {
+        if (INT_MISMATCH != null) {
+            try {
+                return (int) INT_MISMATCH.invokeExact(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+            } catch (final Throwable t) {
+                return ExceptionUtils.<Integer>rethrow(t).intValue();
+            }
+        }
+        return scalarMismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+    }
+
+    /**
+     * Compares two ranges element by element, for Java 8.
+     *
+     * @param a  the first array
+     * @param aFromIndex  the first range start
+     * @param aToIndex  the first range end
+     * @param b  the second array
+     * @param bFromIndex  the second range start
+     * @param bToIndex  the second range end
+     * @return as {@link #mismatch(int[], int, int, int[], int, int)}
+     */
+    // package protected for access by unit tests
+    static int scalarMismatch(final int[] a, final int aFromIndex, final int aToIndex,
+            final int[] b, final int bFromIndex, final int bToIndex) {
+        checkRange(a.length, aFromIndex, aToIndex);
+        checkRange(b.length, bFromIndex, bToIndex);
+        final int aLength = aToIndex - aFromIndex;
+        final int bLength = bToIndex - bFromIndex;
+        final int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            if (a[aFromIndex + i] != b[bFromIndex + i]) {
+                return i;
+            }
+        }
+        return aLength == bLength ? INDEX_NOT_FOUND : length;
+    }
+
+    /**
+     * <p>Finds the first index at which two {@code long} arrays differ, as
+     * {@code java.util.Arrays.mismatch(long[], long[])} does on Java 9 and later.
+     *
+     * @param a  the first array, not null
+     * @param b  the second array, not null
+     * @return the index of the first mismatch, the length of the shorter array if it is a prefix of the
+     *  other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the arrays are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @since 3.10
+     */
+    public static int mismatch(final long[] a, final long[] b) {
+        return mismatch(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * <p>Finds the first relative index at which two ranges of {@code long} arrays differ, as
+     * {@code java.util.Arrays.mismatch(long[], int, int, long[], int, int)} does on Java 9 and later.
+     *
+     * <p>On Java 9 and later this delegates to the JDK method, which compares several elements at a time.
+     *
+     * @param a  the first array, not null
+     * @param aFromIndex  the index of the first element of the first range, inclusive
+     * @param aToIndex  the index after the last element of the first range, exclusive
+     * @param b  the second array, not null
+     * @param bFromIndex  the index of the first element of the second range, inclusive
+     * @param bToIndex  the index after the last element of the second range, exclusive
+     * @return the index of the first mismatch relative to the range starts, the length of the shorter range
+     *  if it is a prefix of the other, or {@link #INDEX_NOT_FOUND} ({@code -1}) if the ranges are equal
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if a range is out of the bounds of its array
+     * @since 3.10
+     */
+    public static int mismatch(final long[] a, final int aFromIndex, final int aToIndex,
+            final long[] b, final int bFromIndex, final int bToIndex) {
+        if (LONG_MISMATCH != null) {
+            try {
+                return (int) LONG_MISMATCH.invokeExact(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+            } catch (final Throwable t) {
+                return ExceptionUtils.<Integer>rethrow(t).intValue();
+            }
+        }
+        return scalarMismatch(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+    }
+
+    /**
+     * Compares two ranges element by element, for Java 8.
+     *
+     * @param a  the first array
+     * @param aFromIndex  the first range start
+     * @param aToIndex  the first range end
+     * @param b  the second array
+     * @param bFromIndex  the second range start
+     * @param bToIndex  the second range end
+     * @return as {@link #mismatch(long[], int, int, long[], int, int)}
+     */
+    // package protected for access by unit tests
+    static int scalarMismatch(final long[] a, final int aFromIndex, final int aToIndex,
+            final long[] b, final int bFromIndex, final int bToIndex) {
+        checkRange(a.length, aFromIndex, aToIndex);
+        checkRange(b.length, bFromIndex, bToIndex);
+        final int aLength = aToIndex - aFromIndex;
+        final int bLength = bToIndex - bFromIndex;
+        final int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            if (a[aFromIndex + i] != b[bFromIndex + i]) {
+                return i;
+            }
+        }
+        return aLength == bLength ? INDEX_NOT_FOUND : length;
+    }
+
+    /**
+     * Checks a range is within an array, as the {@code java.util.Arrays} range methods do.
+     *
+     * @param length  the array length
+     * @param fromIndex  the range start, inclusive
+     * @param toIndex  the range end, exclusive
+     */
+    private static void checkRange(final int length, final int fromIndex, final int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+    /**
+     * Looks up {@code java.util.Arrays.mismatch} for a range of the given array type, added in Java 9.
+     *
+     * @param arrayType  the array type
+     * @return a handle on the method, or null before Java 9
+     */
+    private static MethodHandle findMismatch(final Class<?> arrayType) {
+        try {
+            return MethodHandles.publicLookup().findStatic(Arrays.class, "mismatch",
+                MethodType.methodType(int.class, arrayType, int.class, int.class, arrayType, int.class, int.class));
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
     /**
      * <p>Defensive programming technique to change a {@code null}
      * reference to an empty one.
@@ -5789,24 +6578,21 @@ public static boolean[] removeElements(final boolean[] array, final boolean... v
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Boolean, MutableInt> occurrences = new HashMap<>(2); // only two possible values here
+        // only two possible values here
+        int trueCount = 0;
         for (final boolean v : values) {
-            final Boolean boxed = Boolean.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
+            if (v) {
+                trueCount++;
             }
         }
+        int falseCount = values.length - trueCount;
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
-            final boolean key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            if (array[i] && trueCount > 0) {
+                trueCount--;
+                toRemove.set(i);
+            } else if (!array[i] && falseCount > 0) {
+                falseCount--;
                 toRemove.set(i);
             }
         }
@@ -5844,24 +6630,14 @@ public static byte[] removeElements(final byte[] array, final byte... values) {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final Map<Byte, MutableInt> occurrences = new HashMap<>(values.length);
+        final IntIntHashMap occurrences = new IntIntHashMap(values.length);
         for (final byte v : values) {
-            final Byte boxed = Byte.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addTo(v, 1);
         }
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
-            final byte key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            final int key = array[i];
+            if (occurrences.decrementIfPositive(key)) {
                 toRemove.set(i);
             }
         }
@@ -5899,24 +6675,14 @@ public static char[] removeElements(final char[] array, final char... values) {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Character, MutableInt> occurrences = new HashMap<>(values.length);
+        final IntIntHashMap occurrences = new IntIntHashMap(values.length);
         for (final char v : values) {
-            final Character boxed = Character.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addTo(v, 1);
         }
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
-            final char key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            final int key = array[i];
+            if (occurrences.decrementIfPositive(key)) {
                 toRemove.set(i);
             }
         }
@@ -5954,24 +6720,15 @@ public static double[] removeElements(final double[] array, final double... valu
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Double, MutableInt> occurrences = new HashMap<>(values.length);
+        // keyed by bits, so that values compare as with Double.equals()
+        final LongIntHashMap occurrences = new LongIntHashMap(values.length);
         for (final double v : values) {
-            final Double boxed = Double.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addTo(Double.doubleToLongBits(v), 1);
         }
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
-            final double key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            final long key = Double.doubleToLongBits(array[i]);
+            if (occurrences.decrementIfPositive(key)) {
                 toRemove.set(i);
             }
         }
@@ -6009,24 +6766,15 @@ public static float[] removeElements(final float[] array, final float... values)
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Float, MutableInt> occurrences = new HashMap<>(values.length);
+        // keyed by bits, so that values compare as with Float.equals()
+        final IntIntHashMap occurrences = new IntIntHashMap(values.length);
         for (final float v : values) {
-            final Float boxed = Float.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addTo(Float.floatToIntBits(v), 1);
         }
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
-            final float key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            final int key = Float.floatToIntBits(array[i]);
+            if (occurrences.decrementIfPositive(key)) {
                 toRemove.set(i);
             }
         }
@@ -6064,24 +6812,14 @@ public static int[] removeElements(final int[] array, final int... values) {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Integer, MutableInt> occurrences = new HashMap<>(values.length);
+        final IntIntHashMap occurrences = new IntIntHashMap(values.length);
         for (final int v : values) {
-            final Integer boxed = Integer.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addTo(v, 1);
         }
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
             final int key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            if (occurrences.decrementIfPositive(key)) {
                 toRemove.set(i);
             }
         }
@@ -6119,24 +6857,14 @@ public static long[] removeElements(final long[] array, final long... values) {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Long, MutableInt> occurrences = new HashMap<>(values.length);
+        final LongIntHashMap occurrences = new LongIntHashMap(values.length);
         for (final long v : values) {
-            final Long boxed = Long.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addTo(v, 1);
         }
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
             final long key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            if (occurrences.decrementIfPositive(key)) {
                 toRemove.set(i);
             }
         }
@@ -6174,24 +6902,14 @@ public static short[] removeElements(final short[] array, final short... values)
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Short, MutableInt> occurrences = new HashMap<>(values.length);
+        final IntIntHashMap occurrences = new IntIntHashMap(values.length);
         for (final short v : values) {
-            final Short boxed = Short.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addTo(v, 1);
         }
         final BitSet toRemove = new BitSet();
         for (int i = 0; i < array.length; i++) {
-            final short key = array[i];
-            final MutableInt count = occurrences.get(key);
-            if (count != null) {
-                if (count.decrementAndGet() == 0) {
-                    occurrences.remove(key);
-                }
+            final int key = array[i];
+            if (occurrences.decrementIfPositive(key)) {
                 toRemove.set(i);
             }
         }
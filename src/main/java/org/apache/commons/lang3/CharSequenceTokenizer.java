@@ -0,0 +1,493 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>A streaming tokenizer over a {@link CharSequence} with the separator semantics of the
+ * {@link StringUtils} split methods.</p>
+ *
+ * <p>Where {@link StringUtils#split(String, String)} and friends build a {@code String[]} holding a copy
+ * of every token, this class finds the tokens one at a time over the original input. Tokens are available
+ * in three forms:</p>
+ * <ul>
+ * <li>as offsets into the input, through {@link #advance()}, {@link #getTokenStart()} and
+ * {@link #getTokenEnd()}, which allocates nothing;</li>
+ * <li>as {@link CharSequence} views over the input, through the {@link Iterator} methods, which copy no
+ * characters;</li>
+ * <li>as a {@link Spliterator} or {@link Stream} of views.</li>
+ * </ul>
+ *
+ * <pre>
+ * CharSequenceTokenizer tokenizer = CharSequenceTokenizer.split(',');
+ * tokenizer.reset("a,b,,c");
+ * while (tokenizer.advance()) {
+ *     process(line, tokenizer.getTokenStart(), tokenizer.getTokenEnd());  // "a", "b", "c"
+ * }
+ * tokenizer.reset(nextLine);  // reuse without allocating
+ * </pre>
+ *
+ * <p>The tokens found match the elements of the array returned by the {@code StringUtils} method of the
+ * same name, for instance {@code CharSequenceTokenizer.splitPreserveAllTokens(":").reset(str)} yields the
+ * same tokens as {@code StringUtils.splitPreserveAllTokens(str, ":")}. A {@code null} input has no
+ * tokens.</p>
+ *
+ * <p>Views returned by {@link #next()} read through to the input, so the input must not be modified while
+ * they are in use. They do not override {@code equals}; call {@code toString()} to compare or keep
+ * them.</p>
+ *
+ * <p>#NotThreadSafe#</p>
+ * @since 3.10
+ */
+public final class CharSequenceTokenizer implements Iterator<CharSequence> {
+
+    /**
+     * A view over a range of a {@link CharSequence}.
+     */
+    private static final class CharSequenceView implements CharSequence {
+
+        private final CharSequence input;
+        private final int start;
+        private final int end;
+
+        CharSequenceView(final CharSequence input, final int start, final int end) {
+            this.input = input;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= end - start) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return input.charAt(start + index);
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public CharSequence subSequence(final int subStart, final int subEnd) {
+            if (subStart < 0 || subEnd > end - start || subStart > subEnd) {
+                throw new StringIndexOutOfBoundsException("begin " + subStart + ", end " + subEnd + ", length "
+                    + (end - start));
+            }
+            return new CharSequenceView(input, start + subStart, start + subEnd);
+        }
+
+        @Override
+        public String toString() {
+            return input.subSequence(start, end).toString();
+        }
+    }
+
+    /** Splits on {@link Character#isWhitespace(char)}. */
+    private static final int WHITESPACE = 0;
+    /** Splits on a single separator character. */
+    private static final int SINGLE_CHAR = 1;
+    /** Splits on any of a set of separator characters. */
+    private static final int ANY_CHAR = 2;
+    /** Splits on a whole separator string. */
+    private static final int WHOLE_SEPARATOR = 3;
+
+    // -----------------------------------------------------------------------
+    /**
+     * <p>Creates a tokenizer splitting on whitespace, as {@link StringUtils#split(String)}.</p>
+     *
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer split() {
+        return split(null, -1);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on a character, as {@link StringUtils#split(String, char)}.</p>
+     *
+     * @param separatorChar  the character used as the delimiter
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer split(final char separatorChar) {
+        return new CharSequenceTokenizer(SINGLE_CHAR, separatorChar, null, -1, false);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on any of the given characters, as
+     * {@link StringUtils#split(String, String)}.</p>
+     *
+     * @param separatorChars  the characters used as the delimiters, {@code null} splits on whitespace
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer split(final String separatorChars) {
+        return split(separatorChars, -1);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on any of the given characters and returning at most {@code max}
+     * tokens, as {@link StringUtils#split(String, String, int)}.</p>
+     *
+     * @param separatorChars  the characters used as the delimiters, {@code null} splits on whitespace
+     * @param max  the maximum number of tokens, zero or negative implies no limit
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer split(final String separatorChars, final int max) {
+        return forChars(separatorChars, max, false);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on any of the given characters and keeping empty tokens, as
+     * {@link StringUtils#splitPreserveAllTokens(String, String)}.</p>
+     *
+     * @param separatorChars  the characters used as the delimiters, {@code null} splits on whitespace
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer splitPreserveAllTokens(final String separatorChars) {
+        return splitPreserveAllTokens(separatorChars, -1);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on any of the given characters, keeping empty tokens and returning
+     * at most {@code max} tokens, as {@link StringUtils#splitPreserveAllTokens(String, String, int)}.</p>
+     *
+     * @param separatorChars  the characters used as the delimiters, {@code null} splits on whitespace
+     * @param max  the maximum number of tokens, zero or negative implies no limit
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer splitPreserveAllTokens(final String separatorChars, final int max) {
+        return forChars(separatorChars, max, true);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on a whole separator string, as
+     * {@link StringUtils#splitByWholeSeparator(String, String)}.</p>
+     *
+     * @param separator  the String used as the delimiter, {@code null} or empty splits on whitespace
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer splitByWholeSeparator(final String separator) {
+        return splitByWholeSeparator(separator, -1);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on a whole separator string and returning at most {@code max}
+     * tokens, as {@link StringUtils#splitByWholeSeparator(String, String, int)}.</p>
+     *
+     * @param separator  the String used as the delimiter, {@code null} or empty splits on whitespace
+     * @param max  the maximum number of tokens, zero or negative implies no limit
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer splitByWholeSeparator(final String separator, final int max) {
+        return forSeparator(separator, max, false);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on a whole separator string and keeping empty tokens, as
+     * {@link StringUtils#splitByWholeSeparatorPreserveAllTokens(String, String)}.</p>
+     *
+     * @param separator  the String used as the delimiter, {@code null} or empty splits on whitespace
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer splitByWholeSeparatorPreserveAllTokens(final String separator) {
+        return splitByWholeSeparatorPreserveAllTokens(separator, -1);
+    }
+
+    /**
+     * <p>Creates a tokenizer splitting on a whole separator string, keeping empty tokens and returning at
+     * most {@code max} tokens, as {@link StringUtils#splitByWholeSeparatorPreserveAllTokens(String, String, int)}.</p>
+     *
+     * @param separator  the String used as the delimiter, {@code null} or empty splits on whitespace
+     * @param max  the maximum number of tokens, zero or negative implies no limit
+     * @return a new tokenizer without input
+     */
+    public static CharSequenceTokenizer splitByWholeSeparatorPreserveAllTokens(final String separator,
+            final int max) {
+        return forSeparator(separator, max, true);
+    }
+
+    private static CharSequenceTokenizer forChars(final String separatorChars, final int max,
+            final boolean preserveAllTokens) {
+        if (separatorChars == null) {
+            return new CharSequenceTokenizer(WHITESPACE, ' ', null, max, preserveAllTokens);
+        }
+        if (separatorChars.length() == 1) {
+            return new CharSequenceTokenizer(SINGLE_CHAR, separatorChars.charAt(0), null, max, preserveAllTokens);
+        }
+        return new CharSequenceTokenizer(ANY_CHAR, ' ', separatorChars, max, preserveAllTokens);
+    }
+
+    private static CharSequenceTokenizer forSeparator(final String separator, final int max,
+            final boolean preserveAllTokens) {
+        if (StringUtils.isEmpty(separator)) {
+            return new CharSequenceTokenizer(WHITESPACE, ' ', null, max, preserveAllTokens);
+        }
+        return new CharSequenceTokenizer(WHOLE_SEPARATOR, ' ', separator, max, preserveAllTokens);
+    }
+
+    // -----------------------------------------------------------------------
+    /** The kind of separator, one of the constants above. */
+    private final int mode;
+    /** The separator character for {@link #SINGLE_CHAR}. */
+    private final char separatorChar;
+    /** The separator characters for {@link #ANY_CHAR}, the separator for {@link #WHOLE_SEPARATOR}. */
+    private final String separator;
+    /** The maximum number of tokens, zero or negative for no limit. */
+    private final int max;
+    /** Whether empty tokens are returned. */
+    private final boolean preserveAllTokens;
+
+    /** The input, may be null. */
+    private CharSequence input;
+    /** The length of the input. */
+    private int length;
+    /** The index scanning resumes from. */
+    private int position;
+    /** Whether the input is exhausted. */
+    private boolean finished;
+    /** The number of tokens returned so far. */
+    private int count;
+    /** Whether the next token has been found but not yet returned. */
+    private boolean pending;
+    /** The start index of the pending token. */
+    private int pendingStart;
+    /** The end index of the pending token. */
+    private int pendingEnd;
+    /** The start index of the current token. */
+    private int tokenStart = -1;
+    /** The end index of the current token. */
+    private int tokenEnd = -1;
+
+    private CharSequenceTokenizer(final int mode, final char separatorChar, final String separator, final int max,
+            final boolean preserveAllTokens) {
+        this.mode = mode;
+        this.separatorChar = separatorChar;
+        this.separator = separator;
+        this.max = max;
+        this.preserveAllTokens = preserveAllTokens;
+        reset(null);
+    }
+
+    /**
+     * <p>Resets this tokenizer to split a new input, keeping its separator settings.</p>
+     *
+     * <p>Resetting allocates nothing, so a single tokenizer can split any number of inputs.</p>
+     *
+     * @param input  the new input, null has no tokens
+     * @return this, to enable chaining
+     */
+    public CharSequenceTokenizer reset(final CharSequence input) {
+        this.input = input;
+        this.length = input == null ? 0 : input.length();
+        this.position = 0;
+        this.finished = length == 0;
+        this.count = 0;
+        this.pending = false;
+        this.tokenStart = -1;
+        this.tokenEnd = -1;
+        return this;
+    }
+
+    /**
+     * <p>Moves to the next token, whose bounds are then returned by {@link #getTokenStart()} and
+     * {@link #getTokenEnd()}.</p>
+     *
+     * @return {@code true} if there was a next token, {@code false} if the input is exhausted
+     */
+    public boolean advance() {
+        if (!hasNext()) {
+            return false;
+        }
+        tokenStart = pendingStart;
+        tokenEnd = pendingEnd;
+        pending = false;
+        count++;
+        return true;
+    }
+
+    /**
+     * <p>Gets the index in the input of the first character of the current token.</p>
+     *
+     * @return the start index, inclusive, or -1 before the first token
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * <p>Gets the index in the input after the last character of the current token.</p>
+     *
+     * @return the end index, exclusive, or -1 before the first token
+     */
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    /**
+     * <p>Checks whether there is another token.</p>
+     *
+     * @return {@code true} if there is another token
+     */
+    @Override
+    public boolean hasNext() {
+        if (!pending && !finished) {
+            pending = mode == WHOLE_SEPARATOR ? findBySeparator() : findByChar();
+        }
+        return pending;
+    }
+
+    /**
+     * <p>Gets the next token as a view over the input.</p>
+     *
+     * @return the next token
+     * @throws NoSuchElementException if there are no more tokens
+     */
+    @Override
+    public CharSequence next() {
+        if (!advance()) {
+            throw new NoSuchElementException();
+        }
+        return new CharSequenceView(input, tokenStart, tokenEnd);
+    }
+
+    /**
+     * <p>Gets the remaining tokens as a sequential, ordered {@link Spliterator} of views.</p>
+     *
+     * @return a spliterator consuming this tokenizer
+     */
+    public Spliterator<CharSequence> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * <p>Gets the remaining tokens as a sequential {@link Stream} of views.</p>
+     *
+     * @return a stream consuming this tokenizer
+     */
+    public Stream<CharSequence> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Tests whether the character at the given index is a separator.
+     *
+     * @param index  the index in the input
+     * @return whether it is a separator
+     */
+    private boolean isSeparator(final int index) {
+        final char c = input.charAt(index);
+        switch (mode) {
+        case SINGLE_CHAR:
+            return c == separatorChar;
+        case ANY_CHAR:
+            return separator.indexOf(c) >= 0;
+        default:
+            return Character.isWhitespace(c);
+        }
+    }
+
+    /**
+     * Finds the next token for the separator characters, as {@code StringUtils.splitWorker} does.
+     *
+     * @return whether a token was found
+     */
+    private boolean findByChar() {
+        int i = position;
+        if (!preserveAllTokens) {
+            // adjacent separators are treated as one separator
+            while (i < length && isSeparator(i)) {
+                i++;
+            }
+            if (i >= length) {
+                finished = true;
+                return false;
+            }
+        }
+        pendingStart = i;
+        if (max > 0 && count + 1 == max) {
+            // the last token holds the rest of the input
+            pendingEnd = length;
+            finished = true;
+            return true;
+        }
+        while (i < length && !isSeparator(i)) {
+            i++;
+        }
+        pendingEnd = i;
+        // after a trailing separator comes one more, empty, token when preserving all tokens
+        finished = i >= length;
+        position = i + 1;
+        return true;
+    }
+
+    /**
+     * Finds the next token for the whole separator, as {@code StringUtils.splitByWholeSeparatorWorker} does.
+     *
+     * @return whether a token was found
+     */
+    private boolean findBySeparator() {
+        while (true) {
+            final int end = indexOfSeparator(position);
+            if (end < 0) {
+                pendingStart = position;
+                pendingEnd = length;
+                finished = true;
+                return true;
+            }
+            if (end > position || preserveAllTokens) {
+                pendingStart = position;
+                if (max > 0 && count + 1 == max) {
+                    pendingEnd = length;
+                    finished = true;
+                } else {
+                    pendingEnd = end;
+                    position = end + separator.length();
+                }
+                return true;
+            }
+            // consecutive separators, skip the empty token
+            position = end + separator.length();
+        }
+    }
+
+    /**
+     * Finds the whole separator in the input.
+     *
+     * @param from  the index to search from
+     * @return the index of the separator, or -1 if not found
+     */
+    private int indexOfSeparator(final int from) {
+        if (input instanceof String) {
+            return ((String) input).indexOf(separator, from);
+        }
+        final int separatorLength = separator.length();
+        final char first = separator.charAt(0);
+        for (int i = from; i <= length - separatorLength; i++) {
+            if (input.charAt(i) == first
+                && CharSequenceUtils.regionMatches(input, false, i, separator, 0, separatorLength)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
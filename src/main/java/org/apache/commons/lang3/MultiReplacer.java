@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * <p>A precompiled replacement of many search strings at once.</p>
+ *
+ * <p>The search strings are compiled into an Aho-Corasick automaton, so the text is scanned once
+ * whatever the number of search strings, instead of once per search string as
+ * {@link StringUtils#replaceEach(String, String[], String[])} does. The replacements performed are the
+ * same as those of {@code replaceEach}: the text is scanned from left to right, the match starting first
+ * is replaced, and when several search strings match at the same index the one listed first wins.
+ * Replaced text is not searched again.</p>
+ *
+ * <pre>
+ * MultiReplacer replacer = new MultiReplacer(new String[]{"ab", "d"}, new String[]{"w", "t"});
+ * replacer.replace("abcde")  = "wcte"
+ * replacer.replace("xyz")    = "xyz"
+ * </pre>
+ *
+ * <p>If any search string is {@code null} or empty, or its replacement is {@code null}, that replacement
+ * is ignored, as in {@code replaceEach}.</p>
+ *
+ * <p>Instances are immutable, and can be shared and reused across threads.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @since 3.10
+ */
+public final class MultiReplacer {
+
+    /** Marks a missing transition or output. */
+    private static final int NONE = -1;
+
+    /** The root state of the automaton. */
+    private static final int ROOT = 0;
+
+    /** Transitions out of the root for ASCII characters, looked up directly. */
+    private static final int ASCII = 128;
+
+    /** The replacement strings, indexed by search string index. */
+    private final String[] replacements;
+    /** The search string lengths, indexed by search string index. */
+    private final int[] searchLengths;
+
+    /** The sorted transition characters of each state. */
+    private final char[][] keys;
+    /** The target states of each state, parallel to {@link #keys}. */
+    private final int[][] targets;
+    /** Transitions out of the root for characters below {@link #ASCII}. */
+    private final int[] rootAscii;
+    /** The failure link of each state. */
+    private final int[] fail;
+    /** The length of the prefix spelled by each state. */
+    private final int[] depth;
+    /** The lowest search string index ending in each state, or {@link #NONE}. */
+    private final int[] output;
+    /** The nearest state down the failure links that has an output, or {@link #NONE}. */
+    private final int[] dictionary;
+
+    /**
+     * <p>Compiles the given search strings and their replacements.</p>
+     *
+     * @param searchList  the Strings to search for, not null
+     * @param replacementList  the Strings to replace them with, not null
+     * @throws NullPointerException if either array is {@code null}
+     * @throws IllegalArgumentException if the lengths of the arrays are not the same
+     */
+    public MultiReplacer(final String[] searchList, final String[] replacementList) {
+        Validate.notNull(searchList, "The search list must not be null");
+        Validate.notNull(replacementList, "The replacement list must not be null");
+        Validate.isTrue(searchList.length == replacementList.length,
+            "Search and Replace array lengths don't match: %d vs %d", searchList.length, replacementList.length);
+
+        replacements = replacementList.clone();
+        searchLengths = new int[searchList.length];
+
+        // build the trie
+        final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        final List<Integer> outputs = new ArrayList<>();
+        final List<Integer> depths = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(NONE);
+        depths.add(0);
+        for (int i = 0; i < searchList.length; i++) {
+            final String search = searchList[i];
+            if (search == null || search.isEmpty() || replacementList[i] == null) {
+                continue;
+            }
+            searchLengths[i] = search.length();
+            int state = ROOT;
+            for (int j = 0; j < search.length(); j++) {
+                final Character c = Character.valueOf(search.charAt(j));
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = Integer.valueOf(children.size());
+                    children.add(new TreeMap<>());
+                    outputs.add(NONE);
+                    depths.add(j + 1);
+                    children.get(state).put(c, next);
+                }
+                state = next.intValue();
+            }
+            if (outputs.get(state).intValue() == NONE) {
+                // a duplicate search string never wins over the first one
+                outputs.set(state, i);
+            }
+        }
+
+        final int size = children.size();
+        keys = new char[size][];
+        targets = new int[size][];
+        fail = new int[size];
+        depth = new int[size];
+        output = new int[size];
+        dictionary = new int[size];
+        for (int state = 0; state < size; state++) {
+            final Map<Character, Integer> map = children.get(state);
+            keys[state] = new char[map.size()];
+            targets[state] = new int[map.size()];
+            int k = 0;
+            for (final Map.Entry<Character, Integer> e : map.entrySet()) {
+                keys[state][k] = e.getKey().charValue();
+                targets[state][k] = e.getValue().intValue();
+                k++;
+            }
+            depth[state] = depths.get(state).intValue();
+            output[state] = outputs.get(state).intValue();
+        }
+        rootAscii = new int[ASCII];
+        Arrays.fill(rootAscii, NONE);
+        for (int k = 0; k < keys[ROOT].length && keys[ROOT][k] < ASCII; k++) {
+            rootAscii[keys[ROOT][k]] = targets[ROOT][k];
+        }
+
+        // link the failure and dictionary suffixes, breadth first
+        final Queue<Integer> queue = new ArrayDeque<>();
+        fail[ROOT] = ROOT;
+        dictionary[ROOT] = NONE;
+        for (final int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            dictionary[child] = NONE;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.remove().intValue();
+            for (int k = 0; k < keys[state].length; k++) {
+                final char c = keys[state][k];
+                final int child = targets[state][k];
+                int f = fail[state];
+                int next = transition(f, c);
+                while (next == NONE && f != ROOT) {
+                    f = fail[f];
+                    next = transition(f, c);
+                }
+                fail[child] = next == NONE ? ROOT : next;
+                dictionary[child] = output[fail[child]] != NONE ? fail[child] : dictionary[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Follows the trie edge labelled {@code c} out of {@code state}, without failure links.
+     *
+     * @param state  the state to leave
+     * @param c  the character to consume
+     * @return the target state, or {@link #NONE} if there is no such edge
+     */
+    private int transition(final int state, final char c) {
+        if (state == ROOT && c < ASCII) {
+            return rootAscii[c];
+        }
+        final int k = Arrays.binarySearch(keys[state], c);
+        return k < 0 ? NONE : targets[state][k];
+    }
+
+    /**
+     * <p>Finds the next replacement to perform in {@code text} at or after {@code from}.</p>
+     *
+     * <p>The automaton reports matches by their end index. A match is only committed once no partial match
+     * that started at or before its start index is still alive, so the leftmost match, and the first
+     * listed among matches at the same index, is the one returned.</p>
+     *
+     * @param text  the text to search
+     * @param from  the index to search from
+     * @return the start index in the high 32 bits and the search string index in the low 32 bits,
+     *  or {@code -1} if there is no further match
+     */
+    private long findNext(final CharSequence text, final int from) {
+        final int length = text.length();
+        int state = ROOT;
+        int bestStart = NONE;
+        int bestIndex = NONE;
+        for (int i = from; i < length; i++) {
+            final char c = text.charAt(i);
+            int next = transition(state, c);
+            while (next == NONE && state != ROOT) {
+                state = fail[state];
+                next = transition(state, c);
+            }
+            state = next == NONE ? ROOT : next;
+
+            // the longest search string ending here is the one starting first
+            final int found = output[state] != NONE ? state : dictionary[state];
+            if (found != NONE) {
+                final int start = i + 1 - depth[found];
+                final int index = output[found];
+                if (bestIndex == NONE || start < bestStart || start == bestStart && index < bestIndex) {
+                    bestStart = start;
+                    bestIndex = index;
+                }
+            }
+            if (bestIndex != NONE && i + 1 - depth[state] > bestStart) {
+                break;
+            }
+        }
+        return bestIndex == NONE ? NONE : (long) bestStart << 32 | bestIndex;
+    }
+
+    /**
+     * <p>Replaces all occurrences of the search strings within the given text.</p>
+     *
+     * @param text  text to search and replace in, may be null
+     * @return the text with any replacements processed, the same instance if nothing was replaced,
+     *  {@code null} if null String input
+     */
+    public String replace(final String text) {
+        if (StringUtils.isEmpty(text)) {
+            return text;
+        }
+        final long first = findNext(text, 0);
+        if (first == NONE) {
+            return text;
+        }
+        final StringBuilder buf = new StringBuilder(text.length());
+        replace(text, first, buf);
+        return buf.toString();
+    }
+
+    /**
+     * <p>Appends the given text to the builder, with all occurrences of the search strings replaced.</p>
+     *
+     * @param text  text to search and replace in, null appends nothing
+     * @param buf  the builder to append to, not null
+     * @return the given builder
+     */
+    public StringBuilder replace(final CharSequence text, final StringBuilder buf) {
+        Validate.notNull(buf, "The builder must not be null");
+        if (text != null) {
+            replace(text, findNext(text, 0), buf);
+        }
+        return buf;
+    }
+
+    /**
+     * <p>Appends the given text to the {@code Appendable}, with all occurrences of the search strings
+     * replaced.</p>
+     *
+     * <p>Untouched runs of text are appended as ranges of the input, without intermediate copies.</p>
+     *
+     * @param text  text to search and replace in, null appends nothing
+     * @param appendable  the destination, not null
+     * @throws IOException if appending fails
+     */
+    public void replace(final CharSequence text, final Appendable appendable) throws IOException {
+        Validate.notNull(appendable, "The appendable must not be null");
+        if (text == null) {
+            return;
+        }
+        replace(text, findNext(text, 0), appendable);
+    }
+
+    private void replace(final CharSequence text, final long first, final StringBuilder buf) {
+        try {
+            replace(text, first, (Appendable) buf);
+        } catch (final IOException e) {
+            // StringBuilder does not throw IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replace(final CharSequence text, final long first, final Appendable appendable) throws IOException {
+        long match = first;
+        int copyFrom = 0;
+        while (match != NONE) {
+            final int start = (int) (match >>> 32);
+            final int index = (int) match;
+            appendable.append(text, copyFrom, start).append(replacements[index]);
+            copyFrom = start + searchLengths[index];
+            match = findNext(text, copyFrom);
+        }
+        appendable.append(text, copyFrom, text.length());
+    }
+}
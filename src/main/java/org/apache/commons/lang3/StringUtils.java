@@ -177,6 +177,12 @@ public class StringUtils {
      */
     private static final int PAD_LIMIT = 8192;
 
+    /**
+     * <p>The number of search strings from which {@code replaceEach} compiles them into a
+     * {@link MultiReplacer} instead of scanning the text once per search string.</p>
+     */
+    private static final int MULTI_REPLACER_THRESHOLD = 8;
+
     // Abbreviating
     //-----------------------------------------------------------------------
     /**
@@ -6712,6 +6718,10 @@ private static String replaceEach(
                 + replacementLength);
         }
 
+        if (searchLength >= MULTI_REPLACER_THRESHOLD) {
+            return replaceEach(text, new MultiReplacer(searchList, replacementList), repeat, timeToLive);
+        }
+
         // keep track of which still have matches
         final boolean[] noMoreMatchesForReplIndex = new boolean[searchLength];
 
@@ -6812,6 +6822,44 @@ private static String replaceEach(
         return replaceEach(result, searchList, replacementList, repeat, timeToLive - 1);
     }
 
+    /**
+     * <p>
+     * Replaces all occurrences of Strings within another String using a compiled
+     * {@link MultiReplacer}, which scans the text once per pass whatever the number
+     * of search strings.
+     * </p>
+     *
+     * @param text
+     *            text to search and replace in, not empty
+     * @param replacer
+     *            the compiled search and replacement lists
+     * @param repeat
+     *            if true, then replace repeatedly until there are no more possible replacements
+     * @param timeToLive
+     *            if less than 0 then there is a circular reference and endless loop
+     * @return the text with any replacements processed
+     * @throws IllegalStateException
+     *             if the search is repeating and there is an endless loop due
+     *             to outputs of one being inputs to another
+     */
+    private static String replaceEach(final String text, final MultiReplacer replacer, final boolean repeat,
+            final int timeToLive) {
+        String result = text;
+        // one pass per iteration, with the same limit as the recursion above
+        for (int ttl = timeToLive; !isEmpty(result); ttl--) {
+            if (ttl < 0) {
+                throw new IllegalStateException("Aborting to protect against StackOverflowError - " +
+                                                "output of one loop is the input of another");
+            }
+            final String replaced = replacer.replace(result);
+            if (replaced == result || !repeat) {
+                return replaced;
+            }
+            result = replaced;
+        }
+        return result;
+    }
+
     /**
      * <p>
      * Replaces all occurrences of Strings within another String.
@@ -16,9 +16,6 @@
  */
 package org.apache.commons.lang3.builder;
 
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Objects;
@@ -95,6 +92,56 @@
  */
 public class CompareToBuilder implements Builder<Integer> {
 
+    /**
+     * Appends the values of a field read by reflection to a builder.
+     */
+    private static final FieldAccessor.PairVisitor<CompareToBuilder> FIELD_APPENDER = new FieldAccessor.PairVisitor<CompareToBuilder>() {
+        @Override
+        public void visit(final CompareToBuilder builder, final boolean lhs, final boolean rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final byte lhs, final byte rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final char lhs, final char rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final short lhs, final short rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final int lhs, final int rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final long lhs, final long rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final float lhs, final float rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final double lhs, final double rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final CompareToBuilder builder, final Object lhs, final Object rhs) {
+            builder.append(lhs, rhs);
+        }
+    };
+
     /**
      * Current state of the comparison as appended fields are checked.
      */
@@ -318,22 +365,13 @@ private static void reflectionAppend(
         final boolean useTransients,
         final String[] excludeFields) {
 
-        final Field[] fields = clazz.getDeclaredFields();
-        AccessibleObject.setAccessible(fields, true);
-        for (int i = 0; i < fields.length && builder.comparison == 0; i++) {
-            final Field f = fields[i];
-            if (!ArrayUtils.contains(excludeFields, f.getName())
-                && !f.getName().contains("$")
-                && (useTransients || !Modifier.isTransient(f.getModifiers()))
-                && !Modifier.isStatic(f.getModifiers())) {
-                try {
-                    builder.append(f.get(lhs), f.get(rhs));
-                } catch (final IllegalAccessException e) {
-                    // This can't happen. Would get a Security exception instead.
-                    // Throw a runtime exception in case the impossible happens.
-                    throw new InternalError("Unexpected IllegalAccessException");
-                }
+        final FieldAccessor[] accessors = ReflectionFieldCache.getFilteredAccessors(clazz, useTransients, false, null, false);
+        for (int i = 0; i < accessors.length && builder.comparison == 0; i++) {
+            final FieldAccessor accessor = accessors[i];
+            if (ArrayUtils.contains(excludeFields, accessor.getName())) {
+                continue;
             }
+            accessor.accept(lhs, rhs, FIELD_APPENDER, builder);
         }
     }
 
@@ -16,9 +16,6 @@
  */
 package org.apache.commons.lang3.builder;
 
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -97,6 +94,56 @@ public class EqualsBuilder implements Builder<Boolean> {
      */
     private static final ThreadLocal<Set<Pair<IDKey, IDKey>>> REGISTRY = new ThreadLocal<>();
 
+    /**
+     * Appends the values of a field read by reflection to a builder.
+     */
+    private static final FieldAccessor.PairVisitor<EqualsBuilder> FIELD_APPENDER = new FieldAccessor.PairVisitor<EqualsBuilder>() {
+        @Override
+        public void visit(final EqualsBuilder builder, final boolean lhs, final boolean rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final byte lhs, final byte rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final char lhs, final char rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final short lhs, final short rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final int lhs, final int rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final long lhs, final long rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final float lhs, final float rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final double lhs, final double rhs) {
+            builder.append(lhs, rhs);
+        }
+
+        @Override
+        public void visit(final EqualsBuilder builder, final Object lhs, final Object rhs) {
+            builder.append(lhs, rhs);
+        }
+    };
+
     /*
      * NOTE: we cannot store the actual objects in a HashSet, as that would use the very hashCode()
      * we are in the process of calculating.
@@ -572,23 +619,14 @@ private void reflectionAppend(
 
         try {
             register(lhs, rhs);
-            final Field[] fields = clazz.getDeclaredFields();
-            AccessibleObject.setAccessible(fields, true);
-            for (int i = 0; i < fields.length && isEquals; i++) {
-                final Field f = fields[i];
-                if (!ArrayUtils.contains(excludeFields, f.getName())
-                    && !f.getName().contains("$")
-                    && (testTransients || !Modifier.isTransient(f.getModifiers()))
-                    && !Modifier.isStatic(f.getModifiers())
-                    && !f.isAnnotationPresent(EqualsExclude.class)) {
-                    try {
-                        append(f.get(lhs), f.get(rhs));
-                    } catch (final IllegalAccessException e) {
-                        //this can't happen. Would get a Security exception instead
-                        //throw a runtime exception in case the impossible happens.
-                        throw new InternalError("Unexpected IllegalAccessException");
-                    }
+            final FieldAccessor[] accessors = ReflectionFieldCache.getFilteredAccessors(clazz, testTransients, false,
+                EqualsExclude.class, false);
+            for (int i = 0; i < accessors.length && isEquals; i++) {
+                final FieldAccessor accessor = accessors[i];
+                if (ArrayUtils.contains(excludeFields, accessor.getName())) {
+                    continue;
                 }
+                accessor.accept(lhs, rhs, FIELD_APPENDER, this);
             }
         } finally {
             unregister(lhs, rhs);
@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.builder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>Reads the value of a single field through a {@link MethodHandle} whose type has been adapted to
+ * {@code (Object)T}, so that primitive fields are read with {@code invokeExact} and never boxed.</p>
+ *
+ * <p>Accessors are created once per field by {@link ReflectionFieldCache} and shared by the reflective
+ * builders. Builders read fields through {@link #accept(Object, Visitor, Object)} or
+ * {@link #accept(Object, Object, PairVisitor, Object)}, which dispatch on the kind once, here.</p>
+ */
+final class FieldAccessor {
+
+    /**
+     * The kinds of field values, one per primitive type plus one for references.
+     */
+    enum Kind {
+        BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE, OBJECT
+    }
+
+    /**
+     * Receives the value of a field, unboxed when the field is primitive.
+     *
+     * @param <T> the type of the context passed along with each value
+     */
+    interface Visitor<T> {
+        void visit(T context, boolean value);
+
+        void visit(T context, byte value);
+
+        void visit(T context, char value);
+
+        void visit(T context, short value);
+
+        void visit(T context, int value);
+
+        void visit(T context, long value);
+
+        void visit(T context, float value);
+
+        void visit(T context, double value);
+
+        void visit(T context, Object value);
+    }
+
+    /**
+     * Receives the values of a field read from two objects, unboxed when the field is primitive.
+     *
+     * @param <T> the type of the context passed along with each pair of values
+     */
+    interface PairVisitor<T> {
+        void visit(T context, boolean lhs, boolean rhs);
+
+        void visit(T context, byte lhs, byte rhs);
+
+        void visit(T context, char lhs, char rhs);
+
+        void visit(T context, short lhs, short rhs);
+
+        void visit(T context, int lhs, int rhs);
+
+        void visit(T context, long lhs, long rhs);
+
+        void visit(T context, float lhs, float rhs);
+
+        void visit(T context, double lhs, double rhs);
+
+        void visit(T context, Object lhs, Object rhs);
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static Kind kindOf(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return Kind.OBJECT;
+        } else if (type == int.class) {
+            return Kind.INT;
+        } else if (type == long.class) {
+            return Kind.LONG;
+        } else if (type == boolean.class) {
+            return Kind.BOOLEAN;
+        } else if (type == double.class) {
+            return Kind.DOUBLE;
+        } else if (type == float.class) {
+            return Kind.FLOAT;
+        } else if (type == char.class) {
+            return Kind.CHAR;
+        } else if (type == short.class) {
+            return Kind.SHORT;
+        }
+        return Kind.BYTE;
+    }
+
+    /**
+     * Creates the accessor for an accessible field.
+     *
+     * @param field the field, already made accessible
+     * @return the accessor
+     */
+    static FieldAccessor of(final Field field) {
+        final Class<?> type = field.getType();
+        final Kind kind = kindOf(type);
+        MethodHandle getter;
+        try {
+            getter = LOOKUP.unreflectGetter(field);
+        } catch (final IllegalAccessException e) {
+            // The field has been made accessible, so this can't happen.
+            throw new InternalError("Unexpected IllegalAccessException", e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+        getter = getter.asType(MethodType.methodType(kind == Kind.OBJECT ? Object.class : type, Object.class));
+        return new FieldAccessor(field, kind, getter);
+    }
+
+    private final Field field;
+    private final String name;
+    private final Kind kind;
+    private final MethodHandle getter;
+
+    private FieldAccessor(final Field field, final Kind kind, final MethodHandle getter) {
+        this.field = field;
+        this.name = field.getName();
+        this.kind = kind;
+        this.getter = getter;
+    }
+
+    /**
+     * Gets the field this accessor reads.
+     *
+     * @return the field
+     */
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * Gets the name of the field.
+     *
+     * @return the field name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the kind of value held by the field, which selects the typed getter to call and the visitor
+     * method to pass the value to.
+     *
+     * @return the kind
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Maps the failures of a getter invocation to what {@link Field#get(Object)} would throw.
+     *
+     * @param t the failure
+     * @return never returns, the mapped exception is thrown
+     */
+    private RuntimeException rethrow(final Throwable t) {
+        if (t instanceof ClassCastException) {
+            // the target is not an instance of the declaring class
+            throw new IllegalArgumentException("Can not read field " + name + " of "
+                + field.getDeclaringClass().getName(), t);
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IllegalStateException(t);
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#BOOLEAN}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    boolean getBoolean(final Object target) {
+        try {
+            return (boolean) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#BYTE}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    byte getByte(final Object target) {
+        try {
+            return (byte) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#CHAR}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    char getChar(final Object target) {
+        try {
+            return (char) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#SHORT}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    short getShort(final Object target) {
+        try {
+            return (short) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#INT}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    int getInt(final Object target) {
+        try {
+            return (int) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#LONG}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    long getLong(final Object target) {
+        try {
+            return (long) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#FLOAT}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    float getFloat(final Object target) {
+        try {
+            return (float) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field of kind {@link Kind#DOUBLE}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    double getDouble(final Object target) {
+        try {
+            return (double) getter.invokeExact(target);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads the field of an object and passes its value to the visitor method of the field's kind.
+     *
+     * @param <T> the type of the context
+     * @param target the object to read the field from
+     * @param visitor the visitor
+     * @param context the context passed to the visitor
+     */
+    <T> void accept(final Object target, final Visitor<T> visitor, final T context) {
+        switch (kind) {
+        case BOOLEAN:
+            visitor.visit(context, getBoolean(target));
+            break;
+        case BYTE:
+            visitor.visit(context, getByte(target));
+            break;
+        case CHAR:
+            visitor.visit(context, getChar(target));
+            break;
+        case SHORT:
+            visitor.visit(context, getShort(target));
+            break;
+        case INT:
+            visitor.visit(context, getInt(target));
+            break;
+        case LONG:
+            visitor.visit(context, getLong(target));
+            break;
+        case FLOAT:
+            visitor.visit(context, getFloat(target));
+            break;
+        case DOUBLE:
+            visitor.visit(context, getDouble(target));
+            break;
+        default:
+            visitor.visit(context, get(target));
+            break;
+        }
+    }
+
+    /**
+     * Reads the field of two objects and passes their values to the visitor method of the field's kind.
+     *
+     * @param <T> the type of the context
+     * @param lhs the first object to read the field from
+     * @param rhs the second object to read the field from
+     * @param visitor the visitor
+     * @param context the context passed to the visitor
+     */
+    <T> void accept(final Object lhs, final Object rhs, final PairVisitor<T> visitor, final T context) {
+        switch (kind) {
+        case BOOLEAN:
+            visitor.visit(context, getBoolean(lhs), getBoolean(rhs));
+            break;
+        case BYTE:
+            visitor.visit(context, getByte(lhs), getByte(rhs));
+            break;
+        case CHAR:
+            visitor.visit(context, getChar(lhs), getChar(rhs));
+            break;
+        case SHORT:
+            visitor.visit(context, getShort(lhs), getShort(rhs));
+            break;
+        case INT:
+            visitor.visit(context, getInt(lhs), getInt(rhs));
+            break;
+        case LONG:
+            visitor.visit(context, getLong(lhs), getLong(rhs));
+            break;
+        case FLOAT:
+            visitor.visit(context, getFloat(lhs), getFloat(rhs));
+            break;
+        case DOUBLE:
+            visitor.visit(context, getDouble(lhs), getDouble(rhs));
+            break;
+        default:
+            visitor.visit(context, get(lhs), get(rhs));
+            break;
+        }
+    }
+
+    /**
+     * Reads a field of any kind, boxing primitive values like {@link Field#get(Object)}.
+     *
+     * @param target the object to read the field from
+     * @return the field value
+     */
+    Object get(final Object target) {
+        switch (kind) {
+        case BOOLEAN:
+            return Boolean.valueOf(getBoolean(target));
+        case BYTE:
+            return Byte.valueOf(getByte(target));
+        case CHAR:
+            return Character.valueOf(getChar(target));
+        case SHORT:
+            return Short.valueOf(getShort(target));
+        case INT:
+            return Integer.valueOf(getInt(target));
+        case LONG:
+            return Long.valueOf(getLong(target));
+        case FLOAT:
+            return Float.valueOf(getFloat(target));
+        case DOUBLE:
+            return Double.valueOf(getDouble(target));
+        default:
+            try {
+                return getter.invokeExact(target);
+            } catch (final Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+}
@@ -17,12 +17,7 @@
 
 package org.apache.commons.lang3.builder;
 
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -122,6 +117,59 @@ public class HashCodeBuilder implements Builder<Integer> {
      */
     private static final ThreadLocal<Set<IDKey>> REGISTRY = new ThreadLocal<>();
 
+    /**
+     * Appends the value of a field read by reflection to a builder. Primitives are read unboxed but must hash
+     * like their wrappers did. {@code append(boolean)}, {@code append(long)} and {@code append(double)} differ
+     * from the wrapper {@code hashCode()}, so those go through it.
+     */
+    private static final FieldAccessor.Visitor<HashCodeBuilder> FIELD_APPENDER =
+        new FieldAccessor.Visitor<HashCodeBuilder>() {
+        @Override
+        public void visit(final HashCodeBuilder builder, final boolean value) {
+            builder.append(Boolean.hashCode(value));
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final byte value) {
+            builder.append(value);
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final char value) {
+            builder.append(value);
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final short value) {
+            builder.append(value);
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final int value) {
+            builder.append(value);
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final long value) {
+            builder.append(Long.hashCode(value));
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final float value) {
+            builder.append(value);
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final double value) {
+            builder.append(Double.hashCode(value));
+        }
+
+        @Override
+        public void visit(final HashCodeBuilder builder, final Object value) {
+            builder.append(value);
+        }
+    };
+
     /*
      * NOTE: we cannot store the actual objects in a HashSet, as that would use the very hashCode()
      * we are in the process of calculating.
@@ -190,25 +238,13 @@ private static void reflectionAppend(final Object object, final Class<?> clazz,
         }
         try {
             register(object);
-            // The elements in the returned array are not sorted and are not in any particular order.
-            final Field[] fields = clazz.getDeclaredFields();
-            Arrays.sort(fields, Comparator.comparing(Field::getName));
-            AccessibleObject.setAccessible(fields, true);
-            for (final Field field : fields) {
-                if (!ArrayUtils.contains(excludeFields, field.getName())
-                    && !field.getName().contains("$")
-                    && (useTransients || !Modifier.isTransient(field.getModifiers()))
-                    && !Modifier.isStatic(field.getModifiers())
-                    && !field.isAnnotationPresent(HashCodeExclude.class)) {
-                    try {
-                        final Object fieldValue = field.get(object);
-                        builder.append(fieldValue);
-                    } catch (final IllegalAccessException e) {
-                        // this can't happen. Would get a Security exception instead
-                        // throw a runtime exception in case the impossible happens.
-                        throw new InternalError("Unexpected IllegalAccessException");
-                    }
+            final FieldAccessor[] accessors = ReflectionFieldCache.getFilteredAccessors(clazz, useTransients, false,
+                HashCodeExclude.class, true);
+            for (final FieldAccessor accessor : accessors) {
+                if (ArrayUtils.contains(excludeFields, accessor.getName())) {
+                    continue;
                 }
+                accessor.accept(object, FIELD_APPENDER, builder);
             }
         } finally {
             unregister(object);
@@ -16,13 +16,7 @@
  */
 package org.apache.commons.lang3.builder;
 
-import static org.apache.commons.lang3.reflect.FieldUtils.readField;
-
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-
-import org.apache.commons.lang3.ClassUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
 
 /**
  * <p>
@@ -110,11 +104,10 @@ public DiffResult<T> build() {
     }
 
     private void appendFields(final Class<?> clazz) {
-        for (final Field field : FieldUtils.getAllFields(clazz)) {
-            if (accept(field)) {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (final Field field : ReflectionFieldCache.getFilteredFields(c, false, false, null, false)) {
                 try {
-                    diffBuilder.append(field.getName(), readField(field, left, true),
-                            readField(field, right, true));
+                    diffBuilder.append(field.getName(), field.get(left), field.get(right));
                 } catch (final IllegalAccessException ex) {
                     //this can't happen. Would get a Security exception instead
                     //throw a runtime exception in case the impossible happens.
@@ -124,14 +117,4 @@ private void appendFields(final Class<?> clazz) {
         }
     }
 
-    private boolean accept(final Field field) {
-        if (field.getName().indexOf(ClassUtils.INNER_CLASS_SEPARATOR_CHAR) != -1) {
-            return false;
-        }
-        if (Modifier.isTransient(field.getModifiers())) {
-            return false;
-        }
-        return !Modifier.isStatic(field.getModifiers());
-    }
-
 }
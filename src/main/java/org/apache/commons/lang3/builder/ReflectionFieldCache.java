@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.builder;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * <p>Caches the reflective field metadata used by the reflection based builders.</p>
+ *
+ * <p>{@link Class#getDeclaredFields()} returns fresh copies of every {@code Field} on each call, which then
+ * have to be made accessible and have their annotations parsed again. The reflective builders walk the same
+ * classes over and over, so the accessible fields of each class, and the subsets that pass the usual
+ * transient, static and exclusion-annotation filters, are computed once and shared, together with a
+ * {@link FieldAccessor} per filtered field.</p>
+ *
+ * <p>The cache is backed by a {@link ClassValue}, so its entries are attached to the class they describe and
+ * do not prevent that class from being unloaded.</p>
+ *
+ * <p>The arrays handed out are shared between all callers and must not be modified.</p>
+ */
+final class ReflectionFieldCache {
+
+    /**
+     * The exclusion annotations the filtered views are keyed on, the index is part of the slot number.
+     */
+    private static final List<Class<? extends Annotation>> EXCLUDE_ANNOTATIONS = Arrays.asList(
+            null, EqualsExclude.class, HashCodeExclude.class, ToStringExclude.class);
+
+    /**
+     * The number of filtered views per class: annotation x transients x statics x sorted.
+     */
+    private static final int SLOTS = 4 * 2 * 2 * 2;
+
+    private static final ClassValue<ReflectionFieldCache> CACHE = new ClassValue<ReflectionFieldCache>() {
+        @Override
+        protected ReflectionFieldCache computeValue(final Class<?> type) {
+            return new ReflectionFieldCache(type);
+        }
+    };
+
+    /**
+     * Gets the accessible declared fields of the given class, sorted by name.
+     *
+     * @param clazz the class to inspect
+     * @return the shared array of accessible fields, must not be modified
+     */
+    static Field[] getSortedFields(final Class<?> clazz) {
+        final ReflectionFieldCache entry = CACHE.get(clazz);
+        if (!entry.allAccessible) {
+            AccessibleObject.setAccessible(entry.sorted, true);
+            entry.allAccessible = true;
+        }
+        return entry.sorted;
+    }
+
+    /**
+     * <p>Gets the accessible declared fields of the given class a reflective builder should visit.</p>
+     *
+     * <p>Fields whose name contains {@code '$'} (synthetic and inner class fields) are always rejected, as are
+     * fields carrying {@code excludeAnnotation}.</p>
+     *
+     * @param clazz the class to inspect
+     * @param useTransients whether to keep transient fields
+     * @param useStatics whether to keep static fields
+     * @param excludeAnnotation the annotation marking fields to exclude, one of {@link EqualsExclude},
+     *            {@link HashCodeExclude}, {@link ToStringExclude} or {@code null}
+     * @param sorted {@code true} for fields sorted by name, {@code false} for declaration order
+     * @return the shared array of accessible fields, must not be modified
+     */
+    static Field[] getFilteredFields(final Class<?> clazz, final boolean useTransients, final boolean useStatics,
+            final Class<? extends Annotation> excludeAnnotation, final boolean sorted) {
+        final int slot = slot(useTransients, useStatics, excludeAnnotation, sorted);
+        final ReflectionFieldCache entry = CACHE.get(clazz);
+        Field[] fields = entry.filtered.get(slot);
+        if (fields == null) {
+            // racing threads compute identical arrays, so the last one to publish wins harmlessly
+            fields = filter(sorted ? entry.sorted : entry.declared, useTransients, useStatics, excludeAnnotation);
+            entry.filtered.set(slot, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * <p>Gets the {@link FieldAccessor}s for the fields returned by
+     * {@link #getFilteredFields(Class, boolean, boolean, Class, boolean)} with the same arguments.</p>
+     *
+     * @param clazz the class to inspect
+     * @param useTransients whether to keep transient fields
+     * @param useStatics whether to keep static fields
+     * @param excludeAnnotation the annotation marking fields to exclude, one of {@link EqualsExclude},
+     *            {@link HashCodeExclude}, {@link ToStringExclude} or {@code null}
+     * @param sorted {@code true} for fields sorted by name, {@code false} for declaration order
+     * @return the shared array of accessors, must not be modified
+     */
+    static FieldAccessor[] getFilteredAccessors(final Class<?> clazz, final boolean useTransients,
+            final boolean useStatics, final Class<? extends Annotation> excludeAnnotation, final boolean sorted) {
+        final int slot = slot(useTransients, useStatics, excludeAnnotation, sorted);
+        final ReflectionFieldCache entry = CACHE.get(clazz);
+        FieldAccessor[] accessors = entry.accessors.get(slot);
+        if (accessors == null) {
+            final Field[] fields = getFilteredFields(clazz, useTransients, useStatics, excludeAnnotation, sorted);
+            accessors = new FieldAccessor[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                accessors[i] = FieldAccessor.of(fields[i]);
+            }
+            entry.accessors.set(slot, accessors);
+        }
+        return accessors;
+    }
+
+    private static int slot(final boolean useTransients, final boolean useStatics,
+            final Class<? extends Annotation> excludeAnnotation, final boolean sorted) {
+        final int annotationIndex = EXCLUDE_ANNOTATIONS.indexOf(excludeAnnotation);
+        if (annotationIndex < 0) {
+            throw new IllegalArgumentException("Unsupported exclude annotation " + excludeAnnotation);
+        }
+        return annotationIndex << 3 | (useTransients ? 4 : 0) | (useStatics ? 2 : 0) | (sorted ? 1 : 0);
+    }
+
+    private static Field[] filter(final Field[] fields, final boolean useTransients, final boolean useStatics,
+            final Class<? extends Annotation> excludeAnnotation) {
+        final List<Field> accepted = new ArrayList<>(fields.length);
+        for (final Field field : fields) {
+            final int modifiers = field.getModifiers();
+            if (field.getName().indexOf(ClassUtils.INNER_CLASS_SEPARATOR_CHAR) == -1
+                && (useTransients || !Modifier.isTransient(modifiers))
+                && (useStatics || !Modifier.isStatic(modifiers))
+                && (excludeAnnotation == null || !field.isAnnotationPresent(excludeAnnotation))) {
+                accepted.add(field);
+            }
+        }
+        final Field[] result = accepted.toArray(new Field[0]);
+        // only the accepted fields are ever read, so only they need to be accessible
+        AccessibleObject.setAccessible(result, true);
+        return result;
+    }
+
+    private final Field[] declared;
+    private final Field[] sorted;
+    private final AtomicReferenceArray<Field[]> filtered = new AtomicReferenceArray<>(SLOTS);
+    private final AtomicReferenceArray<FieldAccessor[]> accessors = new AtomicReferenceArray<>(SLOTS);
+    private volatile boolean allAccessible;
+
+    private ReflectionFieldCache(final Class<?> clazz) {
+        declared = clazz.getDeclaredFields();
+        sorted = declared.clone();
+        // The elements returned by getDeclaredFields() are not sorted and are not in any particular order.
+        Arrays.sort(sorted, Comparator.comparing(Field::getName));
+    }
+}
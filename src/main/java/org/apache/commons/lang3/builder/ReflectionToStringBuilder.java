@@ -17,13 +17,11 @@
 
 package org.apache.commons.lang3.builder;
 
-import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -433,6 +431,25 @@ public static String toStringExclude(final Object object, final String... exclud
         return new ReflectionToStringBuilder(object).setExcludeFieldNames(excludeFieldNames).toString();
     }
 
+    /**
+     * Records for each builder class whether it overrides {@link #accept(Field)}. Only builders that keep the
+     * default rules can use the pre-filtered fields of {@link ReflectionFieldCache}.
+     */
+    private static final ClassValue<Boolean> OVERRIDES_ACCEPT = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> c = type; c != ReflectionToStringBuilder.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("accept", Field.class);
+                    return Boolean.TRUE;
+                } catch (final NoSuchMethodException e) {
+                    // not declared here, keep looking up the hierarchy
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
     private static Object checkNotNull(final Object obj) {
         Validate.isTrue(obj != null, "The Object passed in should not be null.");
         return obj;
@@ -622,6 +639,16 @@ protected boolean accept(final Field field) {
         return !field.isAnnotationPresent(ToStringExclude.class);
     }
 
+    /**
+     * Tests whether the given field name is on the {@link #getExcludeFieldNames()} list.
+     *
+     * @param fieldName the field name to test
+     * @return whether the field name is excluded
+     */
+    private boolean isExcludedFieldName(final String fieldName) {
+        return this.excludeFieldNames != null && Arrays.binarySearch(this.excludeFieldNames, fieldName) >= 0;
+    }
+
     /**
      * <p>
      * Appends the fields and values defined by the given object of the given Class.
@@ -640,13 +667,13 @@ protected void appendFieldsIn(final Class<?> clazz) {
             this.reflectionAppendArray(this.getObject());
             return;
         }
-        // The elements in the returned array are not sorted and are not in any particular order.
-        final Field[] fields = clazz.getDeclaredFields();
-        Arrays.sort(fields, Comparator.comparing(Field::getName));
-        AccessibleObject.setAccessible(fields, true);
+        final boolean customAccept = OVERRIDES_ACCEPT.get(this.getClass()).booleanValue();
+        final Field[] fields = customAccept ? ReflectionFieldCache.getSortedFields(clazz)
+            : ReflectionFieldCache.getFilteredFields(clazz, this.isAppendTransients(), this.isAppendStatics(),
+                ToStringExclude.class, true);
         for (final Field field : fields) {
             final String fieldName = field.getName();
-            if (this.accept(field)) {
+            if (customAccept ? this.accept(field) : !isExcludedFieldName(fieldName)) {
                 try {
                     // Warning: Field.get(Object) creates wrappers objects
                     // for primitive types.
@@ -108,10 +108,21 @@ protected static boolean isOpen(final State state) {
      */
     protected void changeState(final State newState) {
         if (state.compareAndSet(newState.oppositeState(), newState)) {
+            stateChanged(newState);
             changeSupport.firePropertyChange(PROPERTY_NAME, !isOpen(newState), isOpen(newState));
         }
     }
 
+    /**
+     * Called by {@link #changeState(State)} when it changed the state, before the change
+     * listeners are notified. This implementation does nothing.
+     *
+     * @param newState the new state
+     */
+    void stateChanged(final State newState) {
+        // nothing to do
+    }
+
     /**
      * Adds a change listener to this circuit breaker. This listener is notified whenever
      * the state of this circuit breaker changes. If the listener is
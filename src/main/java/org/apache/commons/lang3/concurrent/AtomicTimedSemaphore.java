@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>
+ * A lock-free alternative to {@link TimedSemaphore}, which provides a number
+ * of permits in a given time frame.
+ * </p>
+ * <p>
+ * Like {@link TimedSemaphore}, this class limits the number of permits which
+ * can be acquired in a period, and all permits are released at the end of the
+ * period. The first acquire starts the first period, and the following
+ * periods are consecutive. However, the current period and the number of
+ * permits acquired in it are stored in a single atomic word which is updated
+ * with a compare-and-set operation, so no monitor is held by any method, and
+ * many threads can call {@link #tryAcquire()} concurrently without contention
+ * on a lock.
+ * </p>
+ * <p>
+ * The end of a period is derived from {@link System#nanoTime()} when the
+ * semaphore is used, so no {@code ScheduledExecutorService} and no timer
+ * thread are needed. Threads which have to wait for permits, in
+ * {@link #acquire()} or {@link #tryAcquire(int, long, TimeUnit)}, are parked
+ * until the start of the next period, when they try again.
+ * </p>
+ * <p>
+ * The following code fragment shows how to limit an operation to 10
+ * invocations per second:
+ * </p>
+ *
+ * <pre>
+ * AtomicTimedSemaphore sem = new AtomicTimedSemaphore(1, TimeUnit.SECONDS, 10);
+ * ...
+ * if (sem.tryAcquire()) {
+ *     performQuery();
+ * }
+ * </pre>
+ *
+ * <p>
+ * The limit can be changed at any time with {@link #setLimit(int)}, and a
+ * limit less or equal to {@link #NO_LIMIT} switches the semaphore off. More
+ * permits than the limit can never be acquired, so waiting for them fails
+ * immediately, even for a thread which was already waiting when the limit was
+ * lowered. After {@link #shutdown()}, acquiring a permit throws an exception.
+ * </p>
+ *
+ * @since 3.10
+ */
+public class AtomicTimedSemaphore {
+    /**
+     * Constant for a value representing no limit. If the limit is set to a
+     * value less or equal this constant, the semaphore will be effectively
+     * switched off.
+     */
+    public static final int NO_LIMIT = TimedSemaphore.NO_LIMIT;
+
+    /** The value of the origin before the first acquire. */
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    /** The mask of the number of permits in a state. */
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    /** The result of acquirePermits() when the permits are more than the limit. */
+    private static final long OVER_LIMIT = -1L;
+
+    /** The last state before a period ended, whose count is more than any count. */
+    private static final long NO_PERIOD_ENDED = -1L;
+
+    /** Stores the period for this semaphore. */
+    private final long period;
+
+    /** The time unit for the period. */
+    private final TimeUnit unit;
+
+    /** The period in nanoseconds. */
+    private final long periodNanos;
+
+    /** The source of the time in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** The time in nanoseconds of the start of the first period. */
+    private final AtomicLong origin = new AtomicLong(NOT_STARTED);
+
+    /**
+     * The low 32 bits of the index of the current period in the high 32 bits,
+     * and the number of permits acquired in it in the low 32 bits. The state
+     * is read before the clock, so its period never starts after the one of
+     * the clock: a different index means the period ended, even if the index
+     * wrapped around. Only periods a multiple of 2^32 periods apart share an
+     * index.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /** The state of the last period which ended, or {@link #NO_PERIOD_ENDED}. */
+    private final AtomicLong lastState = new AtomicLong(NO_PERIOD_ENDED);
+
+    /** Stores the total number of permits acquired in the periods which ended. */
+    private final AtomicLong totalAcquireCount = new AtomicLong();
+
+    /** The limit. */
+    private volatile int limit;
+
+    /** A flag whether shutdown() was called. */
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a new instance of {@link AtomicTimedSemaphore} and initializes
+     * it with the given time period and the limit.
+     *
+     * @param timePeriod the time period
+     * @param timeUnit the unit for the period
+     * @param limit the limit for the semaphore
+     * @throws IllegalArgumentException if the period is less or equals 0
+     * @throws NullPointerException if the unit is null
+     */
+    public AtomicTimedSemaphore(final long timePeriod, final TimeUnit timeUnit, final int limit) {
+        this(timePeriod, timeUnit, limit, System::nanoTime);
+    }
+
+    /**
+     * Creates a new instance of {@link AtomicTimedSemaphore} with a source of
+     * the time, for testing.
+     *
+     * @param timePeriod the time period
+     * @param timeUnit the unit for the period
+     * @param limit the limit for the semaphore
+     * @param nanoClock the source of the time in nanoseconds
+     */
+    AtomicTimedSemaphore(final long timePeriod, final TimeUnit timeUnit, final int limit,
+            final LongSupplier nanoClock) {
+        Validate.inclusiveBetween(1, Long.MAX_VALUE, timePeriod, "Time period must be greater than 0!");
+        Validate.notNull(timeUnit, "timeUnit");
+
+        period = timePeriod;
+        unit = timeUnit;
+        periodNanos = Math.max(1, timeUnit.toNanos(timePeriod));
+        this.nanoClock = nanoClock;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the limit enforced by this semaphore. The limit determines how
+     * many permits can be acquired within the monitored period.
+     *
+     * @return the limit
+     */
+    public final int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the limit. This is the number of permits which can be acquired
+     * within the time period. Setting the limit to a value &lt;=
+     * {@link #NO_LIMIT} will cause the limit to be disabled. The new limit
+     * applies to the current period.
+     *
+     * @param limit the limit
+     */
+    public final void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Initializes a shutdown. After that the object cannot be used any more.
+     * This method can be invoked an arbitrary number of times.
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * Tests whether the {@link #shutdown()} method has been called on this
+     * object. If this method returns <b>true</b>, this instance cannot be used
+     * any longer.
+     *
+     * @return a flag whether a shutdown has been performed
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Acquires a permit from this semaphore, waiting until the start of the
+     * next period if the limit for the current period has already been
+     * reached.
+     *
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IllegalStateException if this semaphore is already shut down
+     */
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    /**
+     * Acquires a number of permits from this semaphore, waiting until a
+     * period in which they are available.
+     *
+     * @param permits the number of permits to acquire
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IllegalArgumentException if the number of permits is less than 1
+     * or greater than the limit
+     * @throws IllegalStateException if this semaphore is already shut down
+     */
+    public void acquire(final int permits) throws InterruptedException {
+        checkPermits(permits);
+        long wait;
+        while ((wait = acquirePermits(permits)) > 0) {
+            park(wait);
+        }
+        if (wait == OVER_LIMIT) {
+            throw new IllegalArgumentException(String.format(
+                "Permits must not be greater than the limit: %d > %d", permits, getLimit()));
+        }
+    }
+
+    /**
+     * Tries to acquire a permit from this semaphore. If the limit of this
+     * semaphore has not yet been reached, a permit is acquired, and this method
+     * returns <strong>true</strong>. Otherwise, this method returns immediately
+     * with the result <strong>false</strong>.
+     *
+     * @return <strong>true</strong> if a permit could be acquired;
+     * <strong>false</strong> otherwise
+     * @throws IllegalStateException if this semaphore is already shut down
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Tries to acquire a number of permits from this semaphore, without
+     * waiting. Either all or none of the permits are acquired, and none are
+     * if they are more than the limit.
+     *
+     * @param permits the number of permits to acquire
+     * @return <strong>true</strong> if the permits could be acquired;
+     * <strong>false</strong> otherwise
+     * @throws IllegalArgumentException if the number of permits is less than 1
+     * @throws IllegalStateException if this semaphore is already shut down
+     */
+    public boolean tryAcquire(final int permits) {
+        checkPermits(permits);
+        return acquirePermits(permits) == 0;
+    }
+
+    /**
+     * Tries to acquire a number of permits from this semaphore, waiting at
+     * most the given time. If the permits are not available in the current
+     * period, the thread waits for the next period if it starts before the
+     * timeout, and otherwise returns <strong>false</strong> immediately. It
+     * also returns <strong>false</strong> immediately if the permits are more
+     * than the limit.
+     *
+     * @param permits the number of permits to acquire
+     * @param timeout the maximum time to wait
+     * @param timeUnit the unit of the timeout
+     * @return <strong>true</strong> if the permits could be acquired;
+     * <strong>false</strong> otherwise
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IllegalArgumentException if the number of permits is less than 1
+     * @throws IllegalStateException if this semaphore is already shut down
+     */
+    public boolean tryAcquire(final int permits, final long timeout, final TimeUnit timeUnit)
+            throws InterruptedException {
+        checkPermits(permits);
+        final long deadline = nanoClock.getAsLong() + timeUnit.toNanos(timeout);
+        long wait;
+        while ((wait = acquirePermits(permits)) > 0) {
+            if (wait > deadline - nanoClock.getAsLong()) {
+                return false;
+            }
+            park(wait);
+        }
+        return wait == 0;
+    }
+
+    /**
+     * Returns the number of permits acquired during the last period. If a
+     * limit is set, the value returned by this method won't be greater than
+     * this limit.
+     *
+     * @return the number of permits acquired in the last period
+     */
+    public int getLastAcquiresPerPeriod() {
+        if (origin.get() == NOT_STARTED) {
+            return 0;
+        }
+        final long current = state.get();
+        final long previous = lastState.get();
+        final int last = (int) getCurrentPeriod() - 1;
+        if (getPeriodIndex(current) == last) {
+            return getCount(current);
+        }
+        return previous != NO_PERIOD_ENDED && getPeriodIndex(previous) == last ? getCount(previous) : 0;
+    }
+
+    /**
+     * Returns the number of permits acquired in the current period.
+     *
+     * @return the current number of acquired permits
+     */
+    public int getAcquireCount() {
+        if (origin.get() == NOT_STARTED) {
+            return 0;
+        }
+        final long current = state.get();
+        return getPeriodIndex(current) == (int) getCurrentPeriod() ? getCount(current) : 0;
+    }
+
+    /**
+     * Returns the number of permits that can still be acquired in the current
+     * period. There is no guarantee that a subsequent acquire succeeds,
+     * because in the mean time other threads may have acquired permits.
+     *
+     * @return the current number of available permits
+     */
+    public int getAvailablePermits() {
+        return getLimit() - getAcquireCount();
+    }
+
+    /**
+     * Returns the average number of permits acquired per period, over the
+     * periods which ended since the first acquire.
+     *
+     * @return the average number of permits acquired per period
+     */
+    public double getAverageCallsPerPeriod() {
+        if (origin.get() == NOT_STARTED) {
+            return 0;
+        }
+        final long current = state.get();
+        long total = totalAcquireCount.get();
+        final long periods = getCurrentPeriod();
+        if (periods == 0) {
+            return 0;
+        }
+        if (getPeriodIndex(current) != (int) periods) {
+            // the period of the last acquire ended, but no acquire recorded it yet
+            total += getCount(current);
+        }
+        return (double) total / (double) periods;
+    }
+
+    /**
+     * Returns the time period. This is the time monitored by this semaphore.
+     *
+     * @return the time period
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Returns the time unit. This is the unit used by {@link #getPeriod()}.
+     *
+     * @return the time unit
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Acquires permits if they are available in the current period. The first
+     * call starts the first period.
+     *
+     * @param permits the number of permits to acquire
+     * @return 0 if the permits were acquired, {@link #OVER_LIMIT} if they are
+     * more than the limit, otherwise the time in nanoseconds until the start
+     * of the next period
+     * @throws IllegalStateException if this semaphore is already shut down
+     */
+    private long acquirePermits(final int permits) {
+        if (isShutdown()) {
+            throw new IllegalStateException("AtomicTimedSemaphore is shut down!");
+        }
+        if (origin.get() == NOT_STARTED) {
+            origin.compareAndSet(NOT_STARTED, nanoClock.getAsLong());
+        }
+        final long start = origin.get();
+        while (true) {
+            // the state first, so that its period is not after the one of the clock
+            final long current = state.get();
+            final long elapsed = nanoClock.getAsLong() - start;
+            final long index = elapsed / periodNanos;
+            final boolean samePeriod = getPeriodIndex(current) == (int) index;
+            final int count = samePeriod ? getCount(current) : 0;
+            final int currentLimit = limit;
+            if (currentLimit > NO_LIMIT && (long) count + permits > currentLimit) {
+                // the limit may have been lowered while the caller was waiting
+                return permits > currentLimit ? OVER_LIMIT : (index + 1) * periodNanos - elapsed;
+            }
+            final long next = index << 32 | Math.min(Integer.MAX_VALUE, (long) count + permits);
+            if (state.compareAndSet(current, next)) {
+                if (!samePeriod) {
+                    endOfPeriod(current, index);
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Records the state of a period which ended. This method is called once for
+     * each state, by the thread which replaced it. The threads recording
+     * periods concurrently keep the most recent one, which ended the fewest
+     * periods before the current one.
+     *
+     * @param ended the state of the period
+     * @param index the index of the period which replaced it
+     */
+    private void endOfPeriod(final long ended, final long index) {
+        totalAcquireCount.addAndGet(getCount(ended));
+        final long age = getAge(ended, index);
+        long last;
+        do {
+            last = lastState.get();
+        } while ((last == NO_PERIOD_ENDED || age < getAge(last, index)) && !lastState.compareAndSet(last, ended));
+    }
+
+    /**
+     * Returns the number of periods between the period of a state and a later
+     * period, which is less than 2^32 periods.
+     *
+     * @param state the state
+     * @param index the index of the later period
+     * @return the number of periods between them
+     */
+    private static long getAge(final long state, final long index) {
+        return ((int) index - getPeriodIndex(state)) & COUNT_MASK;
+    }
+
+    /**
+     * Returns the index of the current period. The semaphore must be started.
+     *
+     * @return the number of periods which ended since the first acquire
+     */
+    private long getCurrentPeriod() {
+        return (nanoClock.getAsLong() - origin.get()) / periodNanos;
+    }
+
+    /**
+     * Parks the current thread.
+     *
+     * @param nanos the time to park in nanoseconds
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    private static void park(final long nanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        LockSupport.parkNanos(nanos);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private static void checkPermits(final int permits) {
+        Validate.isTrue(permits > 0, "Permits must be greater than 0: %d", permits);
+    }
+
+    private static int getPeriodIndex(final long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int getCount(final long state) {
+        return (int) (state & COUNT_MASK);
+    }
+}
@@ -0,0 +1,486 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.lang3.Functions.FailableFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>
+ * An initializer of several named objects, some of which depend on others, running the
+ * initializations in parallel on an {@link Executor} with {@link CompletableFuture}.
+ * </p>
+ * <p>
+ * This class has a similar purpose as {@link MultiBackgroundInitializer}. However, an
+ * initializer can declare the names of the initializers it depends on. It starts as soon
+ * as they completed, and receives their results. The initializations which do not depend
+ * on each other run in parallel. No thread waits for another: an initialization is only
+ * submitted to the executor once its dependencies completed, so a small pool is enough
+ * for many initializers.
+ * </p>
+ * <p>
+ * The executor is shared by all initializations and is not shut down. On a Java runtime
+ * with virtual threads, {@code Executors.newVirtualThreadPerTaskExecutor()} can be used.
+ * The following code fragment initializes a data source and a cache which depends on it,
+ * in parallel with a client:
+ * </p>
+ *
+ * <pre>
+ * CompletableMultiInitializer initializer = new CompletableMultiInitializer(executor);
+ * initializer.addInitializer("dataSource", () -&gt; createDataSource());
+ * initializer.addInitializer("client", () -&gt; createClient());
+ * initializer.addInitializer("cache",
+ *     dependencies -&gt; createCache((DataSource) dependencies.getResultObject("dataSource")), "dataSource");
+ * initializer.start();
+ * ...
+ * CompletableMultiInitializer.Results results = initializer.get();
+ * </pre>
+ * <p>
+ * If an initializer fails, the initializers depending on it are not run. The
+ * {@link Results} hold the result or the exception of each initializer, the time each one
+ * started and took, and the critical path, which is the chain of dependencies which
+ * determined when the last initialization completed.
+ * </p>
+ *
+ * @since 3.10
+ */
+public class CompletableMultiInitializer implements ConcurrentInitializer<CompletableMultiInitializer.Results> {
+
+    /** The executor of the initializations. */
+    private final Executor executor;
+
+    /** The initializers by name, in the order they were added, guarded by itself. */
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    /** The future of the results, set by start(). */
+    private volatile CompletableFuture<Results> future;
+
+    /**
+     * Creates a new instance of {@code CompletableMultiInitializer} running the
+     * initializations on the given executor.
+     *
+     * @param executor the executor of the initializations
+     * @throws NullPointerException if the executor is null
+     */
+    public CompletableMultiInitializer(final Executor executor) {
+        Validate.notNull(executor, "executor");
+        this.executor = executor;
+    }
+
+    /**
+     * Adds an initializer which only depends on the given initializers. This method must be
+     * called before {@link #start()}.
+     *
+     * @param name the name of the initializer (must not be <b>null</b>)
+     * @param initializer the initializer (must not be <b>null</b>)
+     * @param dependencies the names of the initializers which must complete before this one
+     * @throws NullPointerException if the name or the initializer is null
+     * @throws IllegalArgumentException if a dependency is null, or an initializer with the name was already added
+     * @throws IllegalStateException if {@link #start()} has already been called
+     */
+    public void addInitializer(final String name, final ConcurrentInitializer<?> initializer,
+            final String... dependencies) {
+        Validate.notNull(initializer, "initializer");
+        addInitializer(name, results -> initializer.get(), dependencies);
+    }
+
+    /**
+     * Adds an initializer which receives the results of the initializers it depends on. This
+     * method must be called before {@link #start()}.
+     *
+     * @param name the name of the initializer (must not be <b>null</b>)
+     * @param initializer the initializer, whose argument gives access to the results of the
+     * dependencies (must not be <b>null</b>)
+     * @param dependencies the names of the initializers which must complete before this one
+     * @throws NullPointerException if the name or the initializer is null
+     * @throws IllegalArgumentException if a dependency is null, or an initializer with the name was already added
+     * @throws IllegalStateException if {@link #start()} has already been called
+     */
+    public void addInitializer(final String name, final FailableFunction<Results, ?, ? extends Exception> initializer,
+            final String... dependencies) {
+        Validate.notNull(name, "name");
+        Validate.notNull(initializer, "initializer");
+        Validate.noNullElements(dependencies, "Dependency %d of " + name + " is null");
+
+        synchronized (nodes) {
+            if (isStarted()) {
+                throw new IllegalStateException("addInitializer() must not be called after start()!");
+            }
+            Validate.isTrue(!nodes.containsKey(name), "Duplicate initializer %s", name);
+            nodes.put(name, new Node(name, initializer, dependencies.clone()));
+        }
+    }
+
+    /**
+     * Tests whether {@link #start()} has been called.
+     *
+     * @return a flag whether the initialization has been started
+     */
+    public boolean isStarted() {
+        return future != null;
+    }
+
+    /**
+     * Starts the initializers which do not depend on other ones, each of the others
+     * starting once its dependencies completed. Calling this method again has no effect.
+     *
+     * @return the future of the results, which completes when all initializations
+     * completed
+     * @throws IllegalStateException if a dependency is unknown or cyclic
+     */
+    public CompletableFuture<Results> start() {
+        synchronized (nodes) {
+            if (future == null) {
+                future = startNodes();
+            }
+            return future;
+        }
+    }
+
+    /**
+     * Returns the results of the initializers, starting them if necessary, and waiting for
+     * them.
+     *
+     * @return the results
+     * @throws ConcurrentException if the thread is interrupted while waiting
+     * @throws IllegalStateException if a dependency is unknown or cyclic
+     */
+    @Override
+    public Results get() throws ConcurrentException {
+        try {
+            return start().get();
+        } catch (final ExecutionException execex) {
+            ConcurrentUtils.handleCause(execex);
+            return null; // should not be reached
+        } catch (final InterruptedException iex) {
+            // reset interrupted state
+            Thread.currentThread().interrupt();
+            throw new ConcurrentException(iex);
+        }
+    }
+
+    // must be called holding the lock of the nodes
+    private CompletableFuture<Results> startNodes() {
+        final List<Node> order = sortNodes();
+        final long startTime = System.nanoTime();
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[order.size()];
+        for (int i = 0; i < futures.length; i++) {
+            final Node node = order.get(i);
+            final CompletableFuture<?>[] dependencies = new CompletableFuture<?>[node.dependencies.length];
+            for (int j = 0; j < dependencies.length; j++) {
+                dependencies[j] = nodes.get(node.dependencies[j]).future;
+            }
+            node.future = CompletableFuture.allOf(dependencies)
+                .handleAsync((ignored, failure) -> initialize(node, startTime), executor);
+            futures[i] = node.future;
+        }
+        return CompletableFuture.allOf(futures)
+            .handle((ignored, failure) -> new Results(nodes, System.nanoTime() - startTime));
+    }
+
+    /**
+     * Runs an initializer once its dependencies completed.
+     *
+     * @param node the initializer
+     * @param startTime the time start() was called
+     * @return the result of the initializer
+     * @throws CompletionException wrapping the exception of the initializer, or a
+     * {@code CancellationException} if a dependency failed
+     */
+    private Object initialize(final Node node, final long startTime) {
+        final Results dependencies = new Results(node, nodes);
+        for (final String dependency : node.dependencies) {
+            if (dependencies.isException(dependency)) {
+                final CancellationException cancellation = new CancellationException("Dependency " + dependency
+                    + " of " + node.name + " failed");
+                cancellation.initCause(dependencies.getException(dependency));
+                throw new CompletionException(cancellation);
+            }
+        }
+        node.startTime = System.nanoTime() - startTime;
+        try {
+            return node.initializer.apply(dependencies);
+        } catch (final Throwable t) {
+            throw new CompletionException(t);
+        } finally {
+            node.nanoTime = System.nanoTime() - startTime - node.startTime;
+        }
+    }
+
+    /**
+     * Sorts the initializers so that each one follows its dependencies.
+     *
+     * @return the sorted initializers
+     * @throws IllegalStateException if a dependency is unknown or cyclic
+     */
+    private List<Node> sortNodes() {
+        final List<Node> order = new ArrayList<>(nodes.size());
+        final Set<Node> visiting = new HashSet<>();
+        final Set<Node> visited = new HashSet<>();
+        for (final Node node : nodes.values()) {
+            visit(node, order, visiting, visited);
+        }
+        return order;
+    }
+
+    private void visit(final Node node, final List<Node> order, final Set<Node> visiting, final Set<Node> visited) {
+        if (visited.contains(node)) {
+            return;
+        }
+        if (!visiting.add(node)) {
+            throw new IllegalStateException("Cyclic dependency of initializer " + node.name);
+        }
+        for (final String dependency : node.dependencies) {
+            final Node dependencyNode = nodes.get(dependency);
+            if (dependencyNode == null) {
+                throw new IllegalStateException("Unknown dependency " + dependency + " of initializer " + node.name);
+            }
+            visit(dependencyNode, order, visiting, visited);
+        }
+        visiting.remove(node);
+        visited.add(node);
+        order.add(node);
+    }
+
+    /**
+     * An initializer with its dependencies and its state.
+     */
+    private static final class Node {
+        final String name;
+        final FailableFunction<Results, ?, ? extends Exception> initializer;
+        final String[] dependencies;
+        CompletableFuture<Object> future;
+        // written by the initialization, read after its future completed
+        long startTime = -1;
+        long nanoTime;
+
+        Node(final String name, final FailableFunction<Results, ?, ? extends Exception> initializer,
+                final String[] dependencies) {
+            this.name = name;
+            this.initializer = initializer;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * <p>
+     * The results of the initializers of a {@code CompletableMultiInitializer}, or of the
+     * dependencies of an initializer when they are passed to it.
+     * </p>
+     * <p>
+     * For each initializer, an object of this class holds its result or its exception, when
+     * it started and how long it took. The exception of an initializer which was not run
+     * because a dependency failed is a {@code CancellationException} caused by the
+     * exception of the dependency.
+     * </p>
+     */
+    public static class Results {
+        /** The names of the initializers in the order they were added. */
+        private final Set<String> names;
+
+        /** The initializers. */
+        private final Map<String, Node> nodes;
+
+        /** A map with the result objects. */
+        private final Map<String, Object> resultObjects = new HashMap<>();
+
+        /** A map with the exceptions. */
+        private final Map<String, Throwable> exceptions = new HashMap<>();
+
+        /** The time in nanoseconds from the start to the completion of all initializers. */
+        private final long nanoTime;
+
+        /**
+         * Creates the results of all initializers, which completed.
+         *
+         * @param nodes the initializers
+         * @param nanoTime the time from the start to the completion of all initializers
+         */
+        Results(final Map<String, Node> nodes, final long nanoTime) {
+            this.nodes = nodes;
+            this.names = Collections.unmodifiableSet(nodes.keySet());
+            this.nanoTime = nanoTime;
+            for (final Node node : nodes.values()) {
+                collect(node);
+            }
+        }
+
+        /**
+         * Creates the results of the dependencies of an initializer, which completed.
+         *
+         * @param node the initializer
+         * @param nodes all initializers
+         */
+        Results(final Node node, final Map<String, Node> nodes) {
+            final Map<String, Node> dependencies = new LinkedHashMap<>();
+            for (final String dependency : node.dependencies) {
+                dependencies.put(dependency, nodes.get(dependency));
+            }
+            this.nodes = dependencies;
+            this.names = Collections.unmodifiableSet(dependencies.keySet());
+            this.nanoTime = 0;
+            for (final Node dependency : dependencies.values()) {
+                collect(dependency);
+            }
+        }
+
+        private void collect(final Node node) {
+            try {
+                resultObjects.put(node.name, node.future.join());
+            } catch (final CompletionException e) {
+                exceptions.put(node.name, e.getCause());
+            }
+        }
+
+        /**
+         * Returns the result object of the initializer with the given name.
+         *
+         * @param name the name of the initializer
+         * @return the result object, null if the initializer failed
+         * @throws NoSuchElementException if the name is unknown
+         */
+        public Object getResultObject(final String name) {
+            checkName(name);
+            return resultObjects.get(name);
+        }
+
+        /**
+         * Returns a flag whether the initializer with the given name failed.
+         *
+         * @param name the name of the initializer
+         * @return a flag whether the initializer failed
+         * @throws NoSuchElementException if the name is unknown
+         */
+        public boolean isException(final String name) {
+            checkName(name);
+            return exceptions.containsKey(name);
+        }
+
+        /**
+         * Returns the exception of the initializer with the given name.
+         *
+         * @param name the name of the initializer
+         * @return the exception, null if the initializer succeeded
+         * @throws NoSuchElementException if the name is unknown
+         */
+        public Throwable getException(final String name) {
+            checkName(name);
+            return exceptions.get(name);
+        }
+
+        /**
+         * Returns the time from the start to the start of the initializer with the given
+         * name.
+         *
+         * @param name the name of the initializer
+         * @return the time in nanoseconds, -1 if the initializer was not run
+         * @throws NoSuchElementException if the name is unknown
+         */
+        public long getStartNanoTime(final String name) {
+            return checkName(name).startTime;
+        }
+
+        /**
+         * Returns the time the initializer with the given name took.
+         *
+         * @param name the name of the initializer
+         * @return the time in nanoseconds, 0 if the initializer was not run
+         * @throws NoSuchElementException if the name is unknown
+         */
+        public long getNanoTime(final String name) {
+            return checkName(name).nanoTime;
+        }
+
+        /**
+         * Returns the time from the start to the completion of all initializers.
+         *
+         * @return the time in nanoseconds, 0 for the dependencies passed to an initializer
+         */
+        public long getNanoTime() {
+            return nanoTime;
+        }
+
+        /**
+         * Returns the critical path, which starts with the initializer which completed last,
+         * followed by its dependency which completed last, and so on.
+         *
+         * @return the names of the initializers of the critical path
+         */
+        public List<String> getCriticalPath() {
+            final List<String> path = new ArrayList<>();
+            Node node = getLastCompleted(names.toArray(new String[0]));
+            while (node != null) {
+                path.add(node.name);
+                node = getLastCompleted(node.dependencies);
+            }
+            return path;
+        }
+
+        private Node getLastCompleted(final String[] candidates) {
+            Node last = null;
+            for (final String name : candidates) {
+                final Node candidate = nodes.get(name);
+                if (candidate != null && candidate.startTime >= 0 && (last == null
+                        || candidate.startTime + candidate.nanoTime > last.startTime + last.nanoTime)) {
+                    last = candidate;
+                }
+            }
+            return last;
+        }
+
+        /**
+         * Returns a set with the names of all initializers.
+         *
+         * @return the names, in the order the initializers were added
+         */
+        public Set<String> initializerNames() {
+            return names;
+        }
+
+        /**
+         * Returns a flag whether all initializers succeeded.
+         *
+         * @return a flag whether there was no exception
+         */
+        public boolean isSuccessful() {
+            return exceptions.isEmpty();
+        }
+
+        private Node checkName(final String name) {
+            final Node node = names.contains(name) ? nodes.get(name) : null;
+            if (node == null) {
+                throw new NoSuchElementException("No child initializer with name " + name);
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,733 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>
+ * A {@link Computable} which caches the results of a calculation like {@link Memoizer}, and
+ * evicts them to bound the memory it uses.
+ * </p>
+ * <p>
+ * Like {@link Memoizer}, a result is computed once for concurrent calls with the same
+ * parameter: the first caller computes it while the others wait for it. Depending on its
+ * configuration, which is done with a {@link Builder}, an {@code EvictingMemoizer} also
+ * </p>
+ * <ul>
+ * <li>keeps at most a maximum number of results, evicting the least recently used ones
+ * first, approximated with the CLOCK algorithm so that hits never lock; the results being
+ * computed are not evicted, so the calls waiting for them share the calculation,</li>
+ * <li>expires the results a time after they were computed or last used,</li>
+ * <li>holds the results with soft or weak references, so that the garbage collector can
+ * reclaim them.</li>
+ * </ul>
+ * <p>
+ * The following code fragment caches at most 1000 results for 10 minutes:
+ * </p>
+ *
+ * <pre>
+ * EvictingMemoizer&lt;String, Account&gt; accounts = new EvictingMemoizer.Builder&lt;String, Account&gt;()
+ *     .computable(this::loadAccount)
+ *     .maximumSize(1000)
+ *     .expireAfterWrite(10, TimeUnit.MINUTES)
+ *     .build();
+ * </pre>
+ * <p>
+ * Several results can be computed at once with {@link #computeAll(Collection, Executor)},
+ * which computes the missing results concurrently on an {@link Executor}. The hits, the
+ * misses, the time spent computing and the evictions are counted, see
+ * {@link #getStatistics()}.
+ * </p>
+ * <p>
+ * Expired results and results reclaimed by the garbage collector are removed when they are
+ * looked up, and the hand of the clock removes those it passes when a result is added;
+ * {@link #cleanUp()} removes all of them.
+ * </p>
+ *
+ * @param <I> the type of the input to the calculation
+ * @param <O> the type of the output of the calculation
+ *
+ * @since 3.10
+ */
+public class EvictingMemoizer<I, O> implements Computable<I, O> {
+
+    /** The duration of results which do not expire. */
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    /** The value of an entry whose result was removed. */
+    private static final Object REMOVED = new Object();
+
+    /** The number of entries the hand of the clock may remove when a result is added. */
+    private static final int SWEEP_COUNT = 2;
+
+    private final ConcurrentMap<I, Entry<I, O>> cache = new ConcurrentHashMap<>();
+    // the entries in the order the hand of the clock passes them, guarded by itself
+    private final Queue<Entry<I, O>> clock = new ArrayDeque<>();
+    private final Computable<I, O> computable;
+    private final boolean recalculate;
+    private final int maximumSize;
+    private final long expireAfterWrite;
+    private final long expireAfterAccess;
+    private final ValueStrength valueStrength;
+    private final LongSupplier ticker;
+    private final boolean tracked;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * <p>
+     * Constructs an EvictingMemoizer for the provided Computable calculation, keeping at
+     * most the given number of results.
+     * </p>
+     *
+     * @param computable
+     *            the computation whose results should be memorized
+     * @param maximumSize
+     *            the maximum number of results to keep
+     * @throws NullPointerException if the computable is null
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public EvictingMemoizer(final Computable<I, O> computable, final int maximumSize) {
+        this(new Builder<I, O>().computable(computable).maximumSize(maximumSize));
+    }
+
+    /**
+     * Constructs an EvictingMemoizer from a builder.
+     *
+     * @param builder the builder
+     */
+    private EvictingMemoizer(final Builder<I, O> builder) {
+        Validate.notNull(builder.computable, "computable");
+        computable = builder.computable;
+        recalculate = builder.recalculate;
+        maximumSize = builder.maximumSize;
+        expireAfterWrite = builder.expireAfterWrite;
+        expireAfterAccess = builder.expireAfterAccess;
+        valueStrength = builder.valueStrength;
+        ticker = builder.ticker;
+        tracked = maximumSize != Integer.MAX_VALUE || isExpiring() || valueStrength != ValueStrength.STRONG;
+    }
+
+    /**
+     * <p>
+     * This method will return the result of the calculation and cache it, if it is not
+     * cached.
+     * </p>
+     * <p>
+     * As with {@link Memoizer}, an exception thrown by the calculation is cached unless
+     * the {@code recalculate} option of the builder was set.
+     * </p>
+     *
+     * @param arg
+     *            the argument for the calculation
+     * @return the result of the calculation
+     * @throws InterruptedException
+     *             thrown if the calculation is interrupted
+     */
+    @Override
+    public O compute(final I arg) throws InterruptedException {
+        while (true) {
+            final Object value = getValue(getOrLoad(arg, Runnable::run));
+            if (value != REMOVED) {
+                @SuppressWarnings("unchecked") // only the results of the computable are values
+                final O result = (O) value;
+                return result;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the results of the calculation for several arguments, computing the results
+     * which are not cached concurrently on an executor, and waiting for them.
+     * </p>
+     * <p>
+     * If a calculation fails, its exception is thrown as by {@link #compute(Object)}, after
+     * all calculations completed.
+     * </p>
+     *
+     * @param args
+     *            the arguments for the calculation
+     * @param executor
+     *            the executor for the calculations of the missing results
+     * @return the results by argument, in the order of the arguments
+     * @throws InterruptedException
+     *             thrown if the calculation is interrupted
+     * @throws NullPointerException if the arguments or the executor is null
+     * @throws RejectedExecutionException if the executor rejects a calculation
+     */
+    public Map<I, O> computeAll(final Collection<? extends I> args, final Executor executor)
+            throws InterruptedException {
+        Validate.notNull(args, "args");
+        Validate.notNull(executor, "executor");
+
+        final Map<I, Entry<I, O>> entries = new LinkedHashMap<>();
+        for (final I arg : args) {
+            if (!entries.containsKey(arg)) {
+                entries.put(arg, getOrLoad(arg, executor));
+            }
+        }
+        final Map<I, O> results = new LinkedHashMap<>();
+        RuntimeException failure = null;
+        for (final Map.Entry<I, Entry<I, O>> entry : entries.entrySet()) {
+            try {
+                final Object value = getValue(entry.getValue());
+                if (value == REMOVED) {
+                    results.put(entry.getKey(), compute(entry.getKey()));
+                } else {
+                    @SuppressWarnings("unchecked") // only the results of the computable are values
+                    final O result = (O) value;
+                    results.put(entry.getKey(), result);
+                }
+            } catch (final RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Removes the expired results and the results reclaimed by the garbage collector.
+     */
+    public void cleanUp() {
+        if (!tracked) {
+            return;
+        }
+        final long now = isExpiring() ? ticker.getAsLong() : 0;
+        synchronized (clock) {
+            clock.removeIf(entry -> cache.get(entry.key) != entry || isEvictable(entry, now) && remove(entry));
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this memoizer.
+     *
+     * @return the statistics
+     */
+    public MemoizerStatistics getStatistics() {
+        return new MemoizerStatistics(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(),
+            loadFailureCount.sum(), totalLoadTime.sum(), evictionCount.sum(), cache.size());
+    }
+
+    /**
+     * Returns the live entry of an argument, or creates it and starts its calculation.
+     *
+     * @param arg the argument for the calculation
+     * @param executor the executor of the calculation
+     * @return the entry
+     */
+    private Entry<I, O> getOrLoad(final I arg, final Executor executor) {
+        final Entry<I, O> entry = getEntry(arg);
+        if (entry != null) {
+            return entry;
+        }
+        final Entry<I, O> created = new Entry<>(arg, new FutureTask<>(() -> computable.compute(arg)));
+        final Entry<I, O> previous = cache.putIfAbsent(arg, created);
+        if (previous != null) {
+            hitCount.increment();
+            return previous;
+        }
+        missCount.increment();
+        added(created);
+        try {
+            executor.execute(() -> load(created));
+        } catch (final RejectedExecutionException e) {
+            // the waiting threads compute again
+            cache.remove(arg, created);
+            created.future.cancel(false);
+            throw e;
+        }
+        return created;
+    }
+
+    /**
+     * Returns the cached entry of an argument, unless it expired or its result was
+     * reclaimed.
+     *
+     * @param arg the argument for the calculation
+     * @return the entry, or null if there is none
+     */
+    private Entry<I, O> getEntry(final I arg) {
+        final Entry<I, O> entry = cache.get(arg);
+        if (entry == null) {
+            return null;
+        }
+        final long now = isExpiring() ? ticker.getAsLong() : 0;
+        if (isEvictable(entry, now)) {
+            remove(entry);
+            return null;
+        }
+        hitCount.increment();
+        if (!entry.referenced) {
+            // avoid writing a shared cache line when there is no change
+            entry.referenced = true;
+        }
+        if (expireAfterAccess != NO_EXPIRY) {
+            entry.accessTime = now;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the result of an entry, waiting for its calculation.
+     *
+     * @param entry the entry
+     * @return the result, or {@link #REMOVED} if the entry was removed before its result
+     * could be obtained
+     * @throws InterruptedException if the thread is interrupted
+     */
+    private Object getValue(final Entry<I, O> entry) throws InterruptedException {
+        final FutureTask<O> future = entry.future;
+        if (future == null) {
+            final O value = entry.reference.get();
+            if (value == null) {
+                remove(entry);
+                return REMOVED;
+            }
+            return value;
+        }
+        try {
+            return future.get();
+        } catch (final CancellationException e) {
+            cache.remove(entry.key, entry);
+            return REMOVED;
+        } catch (final ExecutionException e) {
+            if (recalculate) {
+                cache.remove(entry.key, entry);
+            }
+
+            throw launderException(e.getCause());
+        }
+    }
+
+    /**
+     * Computes the result of an entry.
+     *
+     * @param entry the entry
+     */
+    private void load(final Entry<I, O> entry) {
+        final long start = ticker.getAsLong();
+        final FutureTask<O> future = entry.future;
+        future.run();
+        final long now = ticker.getAsLong();
+        totalLoadTime.add(now - start);
+        O value = null;
+        try {
+            value = future.get();
+            loadSuccessCount.increment();
+        } catch (final InterruptedException e) {
+            // not thrown, as the future is done
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | CancellationException e) {
+            loadFailureCount.increment();
+        }
+        entry.writeTime = now;
+        entry.accessTime = now;
+        if (value != null) {
+            valueStrength.hold(entry, value);
+        }
+        entry.loaded = true;
+        if (cache.size() > maximumSize) {
+            // the entries added while this one was computed may not have evicted it
+            synchronized (clock) {
+                evict();
+            }
+        }
+    }
+
+    /**
+     * Records an added entry and runs the hand of the clock, which removes the expired
+     * entries it passes and evicts entries while this memoizer is too large.
+     *
+     * @param entry the added entry
+     */
+    private void added(final Entry<I, O> entry) {
+        if (!tracked) {
+            return;
+        }
+        final long now = isExpiring() ? ticker.getAsLong() : 0;
+        synchronized (clock) {
+            clock.add(entry);
+            for (int i = 0; i < SWEEP_COUNT && !clock.isEmpty(); i++) {
+                final Entry<I, O> first = clock.peek();
+                if (cache.get(first.key) == first && !isEvictable(first, now)) {
+                    break;
+                }
+                clock.poll();
+                remove(first);
+            }
+            evict();
+            if (clock.size() > 2 * Math.max(cache.size(), 16)) {
+                // forget the entries removed by lookups
+                clock.removeIf(e -> cache.get(e.key) != e);
+            }
+        }
+    }
+
+    /**
+     * Evicts entries while this memoizer is too large. The hand of the clock goes round at
+     * most twice: it evicts the entries not used since it last passed them, and gives the
+     * others a second chance. The entries being computed are passed over, and evicted
+     * once computed if this memoizer is still too large.
+     * <p>
+     * Must be called holding the lock of the clock.
+     * </p>
+     */
+    private void evict() {
+        for (int passes = 2 * clock.size(); passes > 0 && cache.size() > maximumSize; passes--) {
+            final Entry<I, O> entry = clock.poll();
+            if (entry == null) {
+                return;
+            }
+            if (cache.get(entry.key) != entry) {
+                // removed by a lookup
+                continue;
+            }
+            if (!entry.loaded) {
+                // the calls waiting for the result share its calculation
+                clock.add(entry);
+            } else if (entry.referenced) {
+                entry.referenced = false;
+                clock.add(entry);
+            } else {
+                remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry, counting an eviction.
+     *
+     * @param entry the entry
+     * @return whether the entry was removed by this call
+     */
+    private boolean remove(final Entry<I, O> entry) {
+        if (cache.remove(entry.key, entry)) {
+            evictionCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether the result of an entry expired or was reclaimed.
+     *
+     * @param entry the entry
+     * @param now the current time if the results expire
+     * @return whether the entry should be removed
+     */
+    private boolean isEvictable(final Entry<I, O> entry, final long now) {
+        if (!entry.loaded) {
+            return false;
+        }
+        if (entry.future == null && entry.reference.get() == null) {
+            return true;
+        }
+        return isExpiring()
+            && (now - entry.writeTime >= expireAfterWrite || now - entry.accessTime >= expireAfterAccess);
+    }
+
+    private boolean isExpiring() {
+        return expireAfterWrite != NO_EXPIRY || expireAfterAccess != NO_EXPIRY;
+    }
+
+    /**
+     * <p>
+     * This method launders a Throwable to either a RuntimeException, Error or
+     * any other Exception wrapped in an IllegalStateException.
+     * </p>
+     *
+     * @param throwable
+     *            the throwable to laundered
+     * @return a RuntimeException, Error or an IllegalStateException
+     */
+    private RuntimeException launderException(final Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        } else {
+            throw new IllegalStateException("Unchecked exception", throwable);
+        }
+    }
+
+    /**
+     * A cached calculation. The result is held by the future, until it is moved to a
+     * soft or weak reference once computed.
+     *
+     * @param <I> the type of the input to the calculation
+     * @param <O> the type of the output of the calculation
+     */
+    private static final class Entry<I, O> {
+        final I key;
+        volatile FutureTask<O> future;
+        volatile Reference<O> reference;
+        volatile long writeTime;
+        volatile long accessTime;
+        volatile boolean loaded;
+        volatile boolean referenced;
+
+        Entry(final I key, final FutureTask<O> future) {
+            this.key = key;
+            this.future = future;
+        }
+    }
+
+    /**
+     * How the results are referenced.
+     */
+    private enum ValueStrength {
+        STRONG {
+            @Override
+            <O> void hold(final Entry<?, O> entry, final O value) {
+                // the future of the entry keeps the result
+            }
+        },
+        SOFT {
+            @Override
+            <O> void hold(final Entry<?, O> entry, final O value) {
+                entry.reference = new SoftReference<>(value);
+                entry.future = null;
+            }
+        },
+        WEAK {
+            @Override
+            <O> void hold(final Entry<?, O> entry, final O value) {
+                entry.reference = new WeakReference<>(value);
+                entry.future = null;
+            }
+        };
+
+        /**
+         * Holds the computed result of an entry.
+         *
+         * @param <O> the type of the result
+         * @param entry the entry
+         * @param value the result, not null
+         */
+        abstract <O> void hold(Entry<?, O> entry, O value);
+    }
+
+    /**
+     * <p>
+     * A <em>builder</em> class for creating instances of {@code EvictingMemoizer}.
+     * </p>
+     * <p>
+     * By default, the results are kept forever, like in {@link Memoizer}. Method chaining
+     * is supported.
+     * </p>
+     *
+     * @param <I> the type of the input to the calculation
+     * @param <O> the type of the output of the calculation
+     */
+    public static class Builder<I, O> implements org.apache.commons.lang3.builder.Builder<EvictingMemoizer<I, O>> {
+
+        /** The calculation. */
+        private Computable<I, O> computable;
+
+        /** Whether failed calculations are computed again. */
+        private boolean recalculate;
+
+        /** The maximum number of results. */
+        private int maximumSize;
+
+        /** The time in nanoseconds after which a result expires. */
+        private long expireAfterWrite;
+
+        /** The time in nanoseconds after its last use a result expires. */
+        private long expireAfterAccess;
+
+        /** How the results are referenced. */
+        private ValueStrength valueStrength;
+
+        /** The source of the time in nanoseconds. */
+        private LongSupplier ticker;
+
+        /**
+         * Creates a new builder with the default configuration.
+         */
+        public Builder() {
+            reset();
+        }
+
+        /**
+         * Sets the calculation whose results should be memorized.
+         *
+         * @param computable the calculation (must not be <b>null</b>)
+         * @return a reference to this {@code Builder}
+         * @throws NullPointerException if the calculation is null
+         */
+        public Builder<I, O> computable(final Computable<I, O> computable) {
+            Validate.notNull(computable, "computable");
+
+            this.computable = computable;
+            return this;
+        }
+
+        /**
+         * Sets whether the calculation is done again when a previous one failed, instead of
+         * returning the same cached exception.
+         *
+         * @param recalculate whether failed calculations are computed again
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<I, O> recalculate(final boolean recalculate) {
+            this.recalculate = recalculate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of results to keep.
+         *
+         * @param maximumSize the maximum size
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the maximum size is not positive
+         */
+        public Builder<I, O> maximumSize(final int maximumSize) {
+            Validate.isTrue(maximumSize > 0, "The maximum size must be positive: %d", maximumSize);
+
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the time after its calculation a result expires.
+         *
+         * @param duration the duration
+         * @param unit the {@code TimeUnit} of the duration
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the duration is not positive
+         * @throws NullPointerException if the unit is null
+         */
+        public Builder<I, O> expireAfterWrite(final long duration, final TimeUnit unit) {
+            expireAfterWrite = toNanos(duration, unit);
+            return this;
+        }
+
+        /**
+         * Sets the time after its calculation or its last use a result expires.
+         *
+         * @param duration the duration
+         * @param unit the {@code TimeUnit} of the duration
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the duration is not positive
+         * @throws NullPointerException if the unit is null
+         */
+        public Builder<I, O> expireAfterAccess(final long duration, final TimeUnit unit) {
+            expireAfterAccess = toNanos(duration, unit);
+            return this;
+        }
+
+        /**
+         * Sets that the results are held with soft references, which the garbage
+         * collector clears when memory is low.
+         *
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<I, O> softValues() {
+            valueStrength = ValueStrength.SOFT;
+            return this;
+        }
+
+        /**
+         * Sets that the results are held with weak references, which the garbage
+         * collector clears once the results are not used elsewhere.
+         *
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<I, O> weakValues() {
+            valueStrength = ValueStrength.WEAK;
+            return this;
+        }
+
+        /**
+         * Sets the source of the time, for testing.
+         *
+         * @param ticker the source of the time in nanoseconds
+         * @return a reference to this {@code Builder}
+         */
+        Builder<I, O> ticker(final LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Resets this builder. All configuration options are set to default values. Note:
+         * If the {@link #build()} method was called, it is not necessary to call
+         * {@code reset()} explicitly because this is done automatically.
+         */
+        public void reset() {
+            computable = null;
+            recalculate = false;
+            maximumSize = Integer.MAX_VALUE;
+            expireAfterWrite = NO_EXPIRY;
+            expireAfterAccess = NO_EXPIRY;
+            valueStrength = ValueStrength.STRONG;
+            ticker = System::nanoTime;
+        }
+
+        /**
+         * Creates a new {@code EvictingMemoizer} with all configuration options that have
+         * been specified by calling methods on this builder. After creating the memoizer
+         * {@link #reset()} is called.
+         *
+         * @return the new {@code EvictingMemoizer}
+         * @throws NullPointerException if no calculation was set
+         */
+        @Override
+        public EvictingMemoizer<I, O> build() {
+            final EvictingMemoizer<I, O> memoizer = new EvictingMemoizer<>(this);
+            reset();
+            return memoizer;
+        }
+
+        private static long toNanos(final long duration, final TimeUnit unit) {
+            Validate.isTrue(duration > 0, "The duration must be positive: %d", duration);
+            Validate.notNull(unit, "unit");
+            return unit.toNanos(duration);
+        }
+    }
+}
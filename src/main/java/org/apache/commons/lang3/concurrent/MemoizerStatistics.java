@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+/**
+ * <p>A snapshot of the statistics of an {@link EvictingMemoizer}.</p>
+ *
+ * <p>The counts are cumulative since the memoizer was created. As the memoizer is used concurrently, the
+ * values of a snapshot are not necessarily consistent with one another.</p>
+ *
+ * <p>#Immutable#</p>
+ *
+ * @see EvictingMemoizer#getStatistics()
+ * @since 3.10
+ */
+public final class MemoizerStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+    private final int size;
+
+    /**
+     * Constructs a snapshot.
+     *
+     * @param hitCount  the number of lookups which found a cached result
+     * @param missCount  the number of lookups which started a calculation
+     * @param loadSuccessCount  the number of calculations which returned a result
+     * @param loadFailureCount  the number of calculations which threw an exception
+     * @param totalLoadTime  the time spent in calculations in nanoseconds
+     * @param evictionCount  the number of results removed because of the size, the expiry or the garbage collector
+     * @param size  the number of cached results
+     */
+    MemoizerStatistics(final long hitCount, final long missCount, final long loadSuccessCount,
+            final long loadFailureCount, final long totalLoadTime, final long evictionCount, final int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of lookups which found a cached result, including those which waited for a
+     * calculation started by another thread.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups which started a calculation, because the result was not cached.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of calculations which returned a result.
+     *
+     * @return the load success count
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * Gets the number of calculations which threw an exception.
+     *
+     * @return the load failure count
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Gets the time spent in calculations.
+     *
+     * @return the total load time in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * Gets the number of results removed because of the maximum size, the expiry or the garbage collector.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of cached results, including the calculations in progress.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the ratio of lookups which found a cached result.
+     *
+     * @return the hit rate between 0 and 1, 1 if there was no lookup
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Gets the average time of a calculation.
+     *
+     * @return the average load time in nanoseconds, 0 if there was no calculation
+     */
+    public double getAverageLoadPenalty() {
+        final long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * Gets a debugging string for the statistics.
+     *
+     * @return the statistics
+     */
+    @Override
+    public String toString() {
+        return "MemoizerStatistics[hits=" + hitCount + ", misses=" + missCount + ", loadSuccesses="
+            + loadSuccessCount + ", loadFailures=" + loadFailureCount + ", totalLoadTime=" + totalLoadTime
+            + ", evictions=" + evictionCount + ", size=" + size + "]";
+    }
+}
@@ -0,0 +1,755 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>
+ * An implementation of the <a
+ * href="http://martinfowler.com/bliki/CircuitBreaker.html">Circuit Breaker</a> pattern
+ * that counts events, calls and slow calls in a sliding time window.
+ * </p>
+ * <p>
+ * Like {@link EventCountCircuitBreaker}, this circuit breaker opens when the number of
+ * events reported with {@link #incrementAndCheckState(Integer)} in a time window exceeds
+ * an opening threshold, and closes again when the number goes below a closing threshold.
+ * However, the window is not a fixed check interval which starts again when it ends, but
+ * a ring of buckets, each covering a fraction of the window. The window always covers the
+ * last buckets, so a burst of events cannot be split between two intervals and go
+ * unnoticed.
+ * </p>
+ * <p>
+ * In addition to the number of events, the circuit breaker can open depending on the
+ * outcome of the calls of a service, reported with {@link #recordCall(boolean, long,
+ * TimeUnit)}:
+ * </p>
+ * <ul>
+ * <li>The failure rate is the ratio of the failed calls, including the events, to all
+ * calls in the window.</li>
+ * <li>The slow call rate is the ratio of the calls taking at least a configured duration
+ * to all calls in the window.</li>
+ * </ul>
+ * <p>
+ * The rates are only taken into account when the window holds a minimum number of calls.
+ * The following code fragment opens the circuit breaker if at least half of the calls of
+ * the last minute, and at least 20 calls, failed or took a second or more:
+ * </p>
+ *
+ * <pre>
+ * SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker.Builder()
+ *     .window(1, TimeUnit.MINUTES)
+ *     .failureRateThreshold(0.5)
+ *     .slowCallRateThreshold(0.5)
+ *     .slowCallDuration(1, TimeUnit.SECONDS)
+ *     .minimumNumberOfCalls(20)
+ *     .build();
+ * ...
+ * if (breaker.checkState()) {
+ *     final long start = System.nanoTime();
+ *     boolean failed = true;
+ *     try {
+ *         service.doSomething();
+ *         failed = false;
+ *     } finally {
+ *         breaker.recordCall(failed, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * When the circuit breaker changes its state, automatically or by {@link #open()} and
+ * {@link #close()}, the window is cleared. An open circuit breaker closes again when a
+ * whole window passed since it opened and the counts in the window are below the closing
+ * threshold and the rate thresholds.
+ * </p>
+ * <p>
+ * <em>Implementation notes:</em>
+ * </p>
+ * <ul>
+ * <li>The counters of the buckets are {@link LongAdder} objects, which spread concurrent
+ * updates over several cells, and a bucket is reused when the window slides over it, so
+ * recording a call allocates no objects. Recording a successful call which is not slow
+ * only updates the counters; the state is checked for the other calls and events.</li>
+ * <li>Like in {@link EventCountCircuitBreaker}, the counts and the state transitions are
+ * not atomic, so an event recorded concurrently with the start of a bucket or with a state
+ * transition may be lost.</li>
+ * </ul>
+ *
+ * @since 3.10
+ */
+public class SlidingWindowCircuitBreaker extends AbstractCircuitBreaker<Integer> {
+
+    /** The default number of buckets of the window. */
+    public static final int DEFAULT_BUCKET_COUNT = 10;
+
+    /** The epoch of a bucket which is not part of any window. */
+    private static final long EXPIRED = Long.MIN_VALUE;
+
+    /** The buckets of the window. */
+    private final Bucket[] buckets;
+
+    /** The length of the window in nanoseconds. */
+    private final long window;
+
+    /** The length of a bucket in nanoseconds. */
+    private final long bucketLength;
+
+    /** The threshold of events for opening the circuit breaker. */
+    private final int openingThreshold;
+
+    /** The threshold of events for closing the circuit breaker. */
+    private final int closingThreshold;
+
+    /** The failure rate for opening the circuit breaker. */
+    private final double failureRateThreshold;
+
+    /** The slow call rate for opening the circuit breaker. */
+    private final double slowCallRateThreshold;
+
+    /** The duration in nanoseconds from which a call is slow. */
+    private final long slowCallDuration;
+
+    /** The number of calls in the window from which the rates are checked. */
+    private final int minimumNumberOfCalls;
+
+    /** The time in nanoseconds of the last state change. */
+    private volatile long stateChangeTime;
+
+    /**
+     * Creates a new instance of {@code SlidingWindowCircuitBreaker} with the same
+     * parameters as {@link EventCountCircuitBreaker}, and a window of
+     * {@link #DEFAULT_BUCKET_COUNT} buckets.
+     *
+     * @param openingThreshold the threshold for opening the circuit breaker; if more
+     * events are received in the window, the circuit breaker is opened
+     * @param window the length of the window
+     * @param unit the {@code TimeUnit} of the window
+     * @param closingThreshold the threshold for closing the circuit breaker; if the
+     * number of events received in the window goes below this threshold, the circuit
+     * breaker is closed again
+     * @throws IllegalArgumentException if the window is not positive
+     * @throws NullPointerException if the unit is null
+     */
+    public SlidingWindowCircuitBreaker(final int openingThreshold, final long window, final TimeUnit unit,
+                                       final int closingThreshold) {
+        this(new Builder().openingThreshold(openingThreshold).closingThreshold(closingThreshold)
+                .window(window, unit));
+    }
+
+    /**
+     * Creates a new instance of {@code SlidingWindowCircuitBreaker} from a builder.
+     *
+     * @param builder the builder
+     */
+    SlidingWindowCircuitBreaker(final Builder builder) {
+        super();
+        bucketLength = builder.window / builder.bucketCount;
+        Validate.isTrue(bucketLength > 0, "The buckets must be at least a nanosecond: %d", bucketLength);
+        window = bucketLength * builder.bucketCount;
+        buckets = new Bucket[builder.bucketCount];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+        openingThreshold = builder.openingThreshold;
+        closingThreshold = builder.closingThreshold != null ? builder.closingThreshold.intValue()
+                : openingThreshold;
+        failureRateThreshold = builder.failureRateThreshold;
+        slowCallRateThreshold = builder.slowCallRateThreshold;
+        slowCallDuration = builder.slowCallDuration;
+        minimumNumberOfCalls = builder.minimumNumberOfCalls;
+    }
+
+    /**
+     * Returns the threshold value for opening the circuit breaker. If more events are
+     * received in the window, the circuit breaker is opened.
+     *
+     * @return the opening threshold
+     */
+    public int getOpeningThreshold() {
+        return openingThreshold;
+    }
+
+    /**
+     * Returns the threshold value for closing the circuit breaker. If the number of
+     * events received in the window goes below this threshold, the circuit breaker is
+     * closed again.
+     *
+     * @return the closing threshold
+     */
+    public int getClosingThreshold() {
+        return closingThreshold;
+    }
+
+    /**
+     * Returns the length (in nanoseconds) of the window, which is a multiple of the
+     * number of buckets.
+     *
+     * @return the window
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Returns the number of buckets of the window.
+     *
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    /**
+     * Returns the failure rate for opening the circuit breaker.
+     *
+     * @return the failure rate threshold, greater than 1 if it is disabled
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Returns the slow call rate for opening the circuit breaker.
+     *
+     * @return the slow call rate threshold, greater than 1 if it is disabled
+     */
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * Returns the duration (in nanoseconds) from which a call is slow.
+     *
+     * @return the slow call duration
+     */
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * Returns the number of calls in the window from which the rates are checked.
+     *
+     * @return the minimum number of calls
+     */
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    /**
+     * Returns the number of events, including the failed calls, in the window.
+     *
+     * @return the number of events
+     */
+    public long getEventCount() {
+        return sum(getIndex(now()), Bucket::getEvents);
+    }
+
+    /**
+     * Returns the number of calls, including the events, in the window.
+     *
+     * @return the number of calls
+     */
+    public long getCallCount() {
+        return sum(getIndex(now()), Bucket::getCalls);
+    }
+
+    /**
+     * Returns the number of slow calls in the window.
+     *
+     * @return the number of slow calls
+     */
+    public long getSlowCallCount() {
+        return sum(getIndex(now()), Bucket::getSlowCalls);
+    }
+
+    /**
+     * Returns the ratio of the events, including the failed calls, to all calls in the
+     * window.
+     *
+     * @return the failure rate, 0 if there is no call
+     */
+    public double getFailureRate() {
+        final long index = getIndex(now());
+        return getRate(sum(index, Bucket::getEvents), sum(index, Bucket::getCalls));
+    }
+
+    /**
+     * Returns the ratio of the slow calls to all calls in the window.
+     *
+     * @return the slow call rate, 0 if there is no call
+     */
+    public double getSlowCallRate() {
+        final long index = getIndex(now());
+        return getRate(sum(index, Bucket::getSlowCalls), sum(index, Bucket::getCalls));
+    }
+
+    /**
+     * {@inheritDoc} This implementation checks the counts of the window against the
+     * thresholds. This may cause a state change of this circuit breaker.
+     */
+    @Override
+    public boolean checkState() {
+        return performStateCheck(now());
+    }
+
+    /**
+     * {@inheritDoc} The increment is the number of failed calls to record.
+     */
+    @Override
+    public boolean incrementAndCheckState(final Integer increment) {
+        final long time = now();
+        if (increment != 0) {
+            final Bucket bucket = getBucket(getIndex(time));
+            bucket.events.add(increment);
+            bucket.calls.add(increment);
+        }
+        return performStateCheck(time);
+    }
+
+    /**
+     * Increments the monitored value by <strong>1</strong> and performs a check of the
+     * current state of this circuit breaker. This method works like
+     * {@link #checkState()}, but the monitored value is incremented before the state check
+     * is performed.
+     *
+     * @return <strong>true</strong> if the circuit breaker is now closed;
+     * <strong>false</strong> otherwise
+     */
+    public boolean incrementAndCheckState() {
+        return incrementAndCheckState(1);
+    }
+
+    /**
+     * Records the outcome of a call. A failed call counts as an event. The state of this
+     * circuit breaker is checked if the call failed or was slow.
+     *
+     * @param failed whether the call failed
+     * @param duration the duration of the call
+     * @param unit the {@code TimeUnit} of the duration
+     * @return <strong>true</strong> if the circuit breaker is now closed;
+     * <strong>false</strong> otherwise
+     */
+    public boolean recordCall(final boolean failed, final long duration, final TimeUnit unit) {
+        final long time = now();
+        final Bucket bucket = getBucket(getIndex(time));
+        bucket.calls.increment();
+        final boolean slow = unit.toNanos(duration) >= slowCallDuration;
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+        if (failed) {
+            bucket.events.increment();
+        }
+        if (failed || slow) {
+            return performStateCheck(time);
+        }
+        return !isOpen();
+    }
+
+    /**
+     * {@inheritDoc} The window is cleared. If this circuit breaker is already open, this
+     * method has no effect, except that the window is cleared.
+     */
+    @Override
+    public void open() {
+        super.open();
+        resetWindow(now());
+    }
+
+    /**
+     * {@inheritDoc} The window is cleared. If this circuit breaker is already closed, this
+     * method has no effect, except that the window is cleared.
+     */
+    @Override
+    public void close() {
+        super.close();
+        resetWindow(now());
+    }
+
+    /**
+     * {@inheritDoc} The window is cleared. Only the thread performing the transition clears
+     * it, so that the calls recorded after a concurrent transition are not lost.
+     */
+    @Override
+    void stateChanged(final State newState) {
+        resetWindow(now());
+    }
+
+    /**
+     * Returns the current time in nanoseconds.
+     *
+     * @return the current time in nanoseconds
+     */
+    long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Checks the state of this circuit breaker and executes a state transition if
+     * necessary.
+     *
+     * @param time the current time
+     * @return a flag whether the circuit breaker is now closed
+     */
+    private boolean performStateCheck(final long time) {
+        State currentState = state.get();
+        if (isStateTransition(currentState, time)) {
+            currentState = currentState.oppositeState();
+            changeState(currentState);
+        }
+        return !isOpen(currentState);
+    }
+
+    /**
+     * Checks whether the counts of the window require a state transition.
+     *
+     * @param currentState the current state
+     * @param time the current time
+     * @return a flag whether a state transition should be performed
+     */
+    private boolean isStateTransition(final State currentState, final long time) {
+        final long index = getIndex(time);
+        final long events = sum(index, Bucket::getEvents);
+        if (isOpen(currentState)) {
+            return time - stateChangeTime >= window && events < closingThreshold
+                    && !isRateThresholdExceeded(index, events);
+        }
+        return events > openingThreshold || isRateThresholdExceeded(index, events);
+    }
+
+    /**
+     * Checks whether the failure rate or the slow call rate reached its threshold.
+     *
+     * @param index the index of the current bucket
+     * @param events the number of events in the window
+     * @return a flag whether a rate threshold is reached
+     */
+    private boolean isRateThresholdExceeded(final long index, final long events) {
+        if (failureRateThreshold > 1 && slowCallRateThreshold > 1) {
+            return false;
+        }
+        final long calls = sum(index, Bucket::getCalls);
+        if (calls == 0 || calls < minimumNumberOfCalls) {
+            return false;
+        }
+        return getRate(events, calls) >= failureRateThreshold
+                || getRate(sum(index, Bucket::getSlowCalls), calls) >= slowCallRateThreshold;
+    }
+
+    /**
+     * Clears the window after a state change.
+     *
+     * @param time the current time
+     */
+    private void resetWindow(final long time) {
+        stateChangeTime = time;
+        for (final Bucket bucket : buckets) {
+            bucket.epoch.set(EXPIRED);
+        }
+    }
+
+    /**
+     * Returns the index of the bucket of a time since the origin of {@link #now()}.
+     *
+     * @param time the time in nanoseconds
+     * @return the index of the bucket
+     */
+    private long getIndex(final long time) {
+        return Math.floorDiv(time, bucketLength);
+    }
+
+    /**
+     * Returns the bucket of an index, resetting its counters if it was used for an
+     * earlier index.
+     *
+     * @param index the index of the bucket
+     * @return the bucket
+     */
+    private Bucket getBucket(final long index) {
+        final Bucket bucket = buckets[(int) Math.floorMod(index, (long) buckets.length)];
+        while (bucket.epoch.get() < index) {
+            if (!bucket.resetting.compareAndSet(false, true)) {
+                Thread.yield();
+                continue;
+            }
+            if (bucket.epoch.get() < index) {
+                bucket.events.reset();
+                bucket.calls.reset();
+                bucket.slowCalls.reset();
+                bucket.epoch.set(index);
+            }
+            bucket.resetting.set(false);
+        }
+        // a later epoch means that this thread was delayed, and counts in the later bucket
+        return bucket;
+    }
+
+    /**
+     * Sums a counter over the buckets of the window.
+     *
+     * @param index the index of the current bucket
+     * @param counter the counter of a bucket
+     * @return the sum of the counter
+     */
+    private long sum(final long index, final Function<Bucket, LongAdder> counter) {
+        long sum = 0;
+        for (final Bucket bucket : buckets) {
+            final long epoch = bucket.epoch.get();
+            if (epoch <= index && epoch > index - buckets.length) {
+                sum += counter.apply(bucket).sum();
+            }
+        }
+        return sum;
+    }
+
+    private static double getRate(final long count, final long calls) {
+        return calls == 0 ? 0 : (double) count / (double) calls;
+    }
+
+    /**
+     * The counters of a part of the window.
+     */
+    private static final class Bucket {
+        /** The index of the part of the time this bucket counts. */
+        private final AtomicLong epoch = new AtomicLong(EXPIRED);
+
+        /**
+         * Whether a thread is resetting the counters. This is not an epoch, as any epoch
+         * can be the index of a time.
+         */
+        private final AtomicBoolean resetting = new AtomicBoolean();
+
+        /** The counter of events and failed calls. */
+        private final LongAdder events = new LongAdder();
+
+        /** The counter of calls. */
+        private final LongAdder calls = new LongAdder();
+
+        /** The counter of slow calls. */
+        private final LongAdder slowCalls = new LongAdder();
+
+        LongAdder getEvents() {
+            return events;
+        }
+
+        LongAdder getCalls() {
+            return calls;
+        }
+
+        LongAdder getSlowCalls() {
+            return slowCalls;
+        }
+    }
+
+    /**
+     * <p>
+     * A <em>builder</em> class for creating instances of {@code
+     * SlidingWindowCircuitBreaker}.
+     * </p>
+     * <p>
+     * By default, the window is a minute of {@link #DEFAULT_BUCKET_COUNT} buckets, and
+     * the event thresholds and the rate thresholds are disabled. Method chaining is
+     * supported.
+     * </p>
+     */
+    public static class Builder
+        implements org.apache.commons.lang3.builder.Builder<SlidingWindowCircuitBreaker> {
+
+        /** The length of the window in nanoseconds. */
+        private long window;
+
+        /** The number of buckets. */
+        private int bucketCount;
+
+        /** The opening threshold. */
+        private int openingThreshold;
+
+        /** The closing threshold, null for the opening threshold. */
+        private Integer closingThreshold;
+
+        /** The failure rate threshold. */
+        private double failureRateThreshold;
+
+        /** The slow call rate threshold. */
+        private double slowCallRateThreshold;
+
+        /** The slow call duration in nanoseconds. */
+        private long slowCallDuration;
+
+        /** The minimum number of calls. */
+        private int minimumNumberOfCalls;
+
+        /**
+         * Creates a new builder with the default configuration.
+         */
+        public Builder() {
+            reset();
+        }
+
+        /**
+         * Sets the length of the window.
+         *
+         * @param window the length of the window
+         * @param unit the {@code TimeUnit} of the window
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the window is not positive
+         * @throws NullPointerException if the unit is null
+         */
+        public Builder window(final long window, final TimeUnit unit) {
+            Validate.isTrue(window > 0, "The window must be positive: %d", window);
+            Validate.notNull(unit, "unit");
+
+            this.window = unit.toNanos(window);
+            return this;
+        }
+
+        /**
+         * Sets the number of buckets of the window. More buckets make the window slide
+         * more smoothly, and the checks of the state slower.
+         *
+         * @param bucketCount the number of buckets
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the number is not positive
+         */
+        public Builder bucketCount(final int bucketCount) {
+            Validate.isTrue(bucketCount > 0, "The bucket count must be positive: %d", bucketCount);
+
+            this.bucketCount = bucketCount;
+            return this;
+        }
+
+        /**
+         * Sets the threshold of events for opening the circuit breaker. If more events
+         * are received in the window, the circuit breaker is opened.
+         *
+         * @param threshold the opening threshold
+         * @return a reference to this {@code Builder}
+         */
+        public Builder openingThreshold(final int threshold) {
+            openingThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the threshold of events for closing the circuit breaker. It defaults to the
+         * opening threshold.
+         *
+         * @param threshold the closing threshold
+         * @return a reference to this {@code Builder}
+         */
+        public Builder closingThreshold(final int threshold) {
+            closingThreshold = Integer.valueOf(threshold);
+            return this;
+        }
+
+        /**
+         * Sets the ratio of the failed calls to all calls from which the circuit breaker
+         * opens.
+         *
+         * @param threshold the failure rate, between 0 (exclusive) and 1
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the rate is out of range
+         */
+        public Builder failureRateThreshold(final double threshold) {
+            Validate.isTrue(threshold > 0 && threshold <= 1, "The rate must be in (0, 1]: %f", threshold);
+
+            failureRateThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the ratio of the slow calls to all calls from which the circuit breaker
+         * opens.
+         *
+         * @param threshold the slow call rate, between 0 (exclusive) and 1
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the rate is out of range
+         */
+        public Builder slowCallRateThreshold(final double threshold) {
+            Validate.isTrue(threshold > 0 && threshold <= 1, "The rate must be in (0, 1]: %f", threshold);
+
+            slowCallRateThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the duration from which a call is slow.
+         *
+         * @param duration the slow call duration
+         * @param unit the {@code TimeUnit} of the duration
+         * @return a reference to this {@code Builder}
+         * @throws IllegalArgumentException if the duration is not positive
+         * @throws NullPointerException if the unit is null
+         */
+        public Builder slowCallDuration(final long duration, final TimeUnit unit) {
+            Validate.isTrue(duration > 0, "The duration must be positive: %d", duration);
+            Validate.notNull(unit, "unit");
+
+            slowCallDuration = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the number of calls the window must hold for the rates to be checked.
+         *
+         * @param calls the minimum number of calls
+         * @return a reference to this {@code Builder}
+         */
+        public Builder minimumNumberOfCalls(final int calls) {
+            minimumNumberOfCalls = calls;
+            return this;
+        }
+
+        /**
+         * Resets this builder. All configuration options are set to default values.
+         * Note: If the {@link #build()} method was called, it is not necessary to call
+         * {@code reset()} explicitly because this is done automatically.
+         */
+        public void reset() {
+            window = TimeUnit.MINUTES.toNanos(1);
+            bucketCount = DEFAULT_BUCKET_COUNT;
+            openingThreshold = Integer.MAX_VALUE;
+            closingThreshold = null;
+            failureRateThreshold = Double.POSITIVE_INFINITY;
+            slowCallRateThreshold = Double.POSITIVE_INFINITY;
+            slowCallDuration = Long.MAX_VALUE;
+            minimumNumberOfCalls = 1;
+        }
+
+        /**
+         * Creates a new {@code SlidingWindowCircuitBreaker} with all configuration
+         * options that have been specified by calling methods on this builder. After
+         * creating the circuit breaker {@link #reset()} is called.
+         *
+         * @return the new {@code SlidingWindowCircuitBreaker}
+         * @throws IllegalArgumentException if the window is shorter than a nanosecond
+         * per bucket
+         */
+        @Override
+        public SlidingWindowCircuitBreaker build() {
+            final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker(this);
+            reset();
+            return breaker;
+        }
+    }
+}
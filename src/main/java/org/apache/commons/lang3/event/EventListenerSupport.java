@@ -24,13 +24,21 @@
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 
 /**
  * <p>An EventListenerSupport object can be used to manage a list of event
@@ -58,8 +66,26 @@
  * </code></pre>
  *
  * <p>
+ * The proxy returned by {@link #fire()} uses reflection, and boxes the
+ * arguments of each event into an array. When events are fired at a high
+ * rate, {@link #fire(Consumer)} calls the listeners directly instead:
+ * </p>
+ * <pre><code>
+ *     actionListeners.fire(listener -&gt; listener.actionPerformed(e));
+ * </code></pre>
+ *
+ * <p>
+ * An EventListenerSupport created with an {@link Executor} delivers the
+ * events asynchronously: they are added to a bounded queue, which a task of
+ * the executor drains in batches. The events are delivered in the order they
+ * were fired, one at a time, so the listeners need not be thread-safe.
+ * </p>
+ *
+ * <p>
  * Serializing an {@link EventListenerSupport} instance will result in any
- * non-{@link Serializable} listeners being silently dropped.
+ * non-{@link Serializable} listeners being silently dropped. The executor
+ * is not serialized, so a deserialized instance delivers the events
+ * synchronously.
  * </p>
  *
  * @param <L> the type of event listener that is supported by this proxy.
@@ -89,6 +115,12 @@
      */
     private transient L[] prototypeArray;
 
+    /**
+     * The queue of the events delivered asynchronously, or null if the events
+     * are delivered synchronously.
+     */
+    private transient AsynchronousDispatcher dispatcher;
+
     /**
      * Creates an EventListenerSupport object which supports the specified
      * listener type.
@@ -109,6 +141,30 @@ public static <T> EventListenerSupport<T> create(final Class<T> listenerInterfac
         return new EventListenerSupport<>(listenerInterface);
     }
 
+    /**
+     * Creates an EventListenerSupport object which supports the specified
+     * listener type, and delivers the events asynchronously on an executor.
+     *
+     * @param <T> the type of the listener interface
+     * @param listenerInterface the type of listener interface that will receive
+     *        events posted using this class.
+     * @param executor the executor delivering the events.
+     * @param queueCapacity the maximum number of events waiting to be delivered.
+     *
+     * @return an EventListenerSupport object which supports the specified
+     *         listener type.
+     *
+     * @throws NullPointerException if {@code listenerInterface} or
+     *         {@code executor} is {@code null}.
+     * @throws IllegalArgumentException if {@code listenerInterface} is
+     *         not an interface, or {@code queueCapacity} is not positive.
+     * @since 3.10
+     */
+    public static <T> EventListenerSupport<T> create(final Class<T> listenerInterface, final Executor executor,
+            final int queueCapacity) {
+        return new EventListenerSupport<>(listenerInterface, executor, queueCapacity);
+    }
+
     /**
      * Creates an EventListenerSupport object which supports the provided
      * listener interface.
@@ -147,6 +203,31 @@ public EventListenerSupport(final Class<L> listenerInterface, final ClassLoader
         initializeTransientFields(listenerInterface, classLoader);
     }
 
+    /**
+     * Creates an EventListenerSupport object which supports the provided
+     * listener interface, and delivers the events asynchronously on an
+     * executor. An event is added to a queue holding at most
+     * {@code queueCapacity} events, and a task of the executor delivers
+     * the queued events to the listeners.
+     *
+     * @param listenerInterface the type of listener interface that will receive
+     *        events posted using this class.
+     * @param executor the executor delivering the events.
+     * @param queueCapacity the maximum number of events waiting to be delivered.
+     *
+     * @throws NullPointerException if {@code listenerInterface} or
+     *         {@code executor} is {@code null}.
+     * @throws IllegalArgumentException if {@code listenerInterface} is
+     *         not an interface, or {@code queueCapacity} is not positive.
+     * @since 3.10
+     */
+    public EventListenerSupport(final Class<L> listenerInterface, final Executor executor, final int queueCapacity) {
+        this(listenerInterface);
+        Validate.notNull(executor, "Executor cannot be null.");
+        Validate.isTrue(queueCapacity > 0, "Queue capacity must be positive: %d", queueCapacity);
+        dispatcher = new AsynchronousDispatcher(executor, queueCapacity);
+    }
+
     /**
      * Create a new EventListenerSupport instance.
      * Serialization-friendly constructor.
@@ -166,6 +247,44 @@ public L fire() {
         return proxy;
     }
 
+    /**
+     * Fires an event to all of the registered event listeners, by calling
+     * the given consumer with each of them. Unlike the proxy returned by
+     * {@link #fire()}, no reflection is involved.
+     *
+     * <p>
+     * If the events are delivered asynchronously, the event is added to the
+     * queue and this method returns without waiting for the listeners.
+     * </p>
+     *
+     * @param event the consumer calling the listener method (may not be {@code null}).
+     *
+     * @throws NullPointerException if {@code event} is {@code null}.
+     * @throws RejectedExecutionException if the events are delivered
+     *         asynchronously and the queue is full, or the executor rejects
+     *         the delivery.
+     * @since 3.10
+     */
+    public void fire(final Consumer<? super L> event) {
+        Validate.notNull(event, "Event cannot be null.");
+        if (dispatcher != null) {
+            dispatcher.enqueue(event);
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Calls the given consumer with each registered listener.
+     *
+     * @param event the consumer calling the listener method.
+     */
+    private void dispatch(final Consumer<? super L> event) {
+        for (final L listener : listeners) {
+            event.accept(listener);
+        }
+    }
+
 //**********************************************************************************************************************
 // Other Methods
 //**********************************************************************************************************************
@@ -331,10 +450,135 @@ protected class ProxyInvocationHandler implements InvocationHandler {
          */
         @Override
         public Object invoke(final Object unusedProxy, final Method method, final Object[] args) throws Throwable {
+            if (dispatcher != null) {
+                dispatcher.enqueue(listener -> invokeLater(method, listener, args));
+                return null;
+            }
             for (final L listener : listeners) {
                 method.invoke(listener, args);
             }
             return null;
         }
+
+        /**
+         * Calls the listener method on a listener, from the executor
+         * delivering the events.
+         *
+         * @param method the listener method.
+         * @param listener the listener.
+         * @param args the event arguments.
+         */
+        private void invokeLater(final Method method, final L listener, final Object[] args) {
+            try {
+                method.invoke(listener, args);
+            } catch (final InvocationTargetException e) {
+                ExceptionUtils.rethrow(e.getCause());
+            } catch (final IllegalAccessException e) {
+                ExceptionUtils.rethrow(e);
+            }
+        }
+    }
+
+    /**
+     * Delivers the events on an executor. The events are queued, and a single
+     * task at a time delivers them in order, at most a queue full of events per
+     * task, so that other tasks of the executor are not delayed for long.
+     */
+    private final class AsynchronousDispatcher implements Runnable {
+
+        /** The executor delivering the events. */
+        private final Executor executor;
+
+        /** The events waiting to be delivered. */
+        private final Queue<Consumer<? super L>> queue;
+
+        /** The maximum number of events delivered by a task. */
+        private final int batchSize;
+
+        /** Whether a task delivering the events is submitted or running. */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param executor the executor delivering the events.
+         * @param queueCapacity the maximum number of events waiting to be delivered.
+         */
+        AsynchronousDispatcher(final Executor executor, final int queueCapacity) {
+            this.executor = executor;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.batchSize = queueCapacity;
+        }
+
+        /**
+         * Queues an event, and submits a task delivering it unless one is
+         * already submitted.
+         *
+         * @param event the consumer calling the listener method.
+         * @throws RejectedExecutionException if the queue is full, or the
+         *         executor rejects the task.
+         */
+        void enqueue(final Consumer<? super L> event) {
+            if (!queue.offer(event)) {
+                throw new RejectedExecutionException("Event queue is full");
+            }
+            try {
+                schedule();
+            } catch (final RuntimeException e) {
+                queue.remove(event);
+                // other threads may have queued events meanwhile, relying on this task
+                scheduleRemaining();
+                throw e;
+            }
+        }
+
+        /**
+         * Delivers a batch of the queued events, then submits another task if
+         * events remain. An exception thrown by a listener is not caught, so
+         * that the executor reports it, and the listeners following it do not
+         * receive the event.
+         */
+        @Override
+        public void run() {
+            try {
+                Consumer<? super L> event;
+                for (int i = 0; i < batchSize && (event = queue.poll()) != null; i++) {
+                    dispatch(event);
+                }
+            } finally {
+                scheduled.set(false);
+                scheduleRemaining();
+            }
+        }
+
+        /**
+         * Submits a task delivering the queued events, unless one is already
+         * submitted or there is no event.
+         *
+         * @throws RuntimeException if the executor rejects the task.
+         */
+        private void schedule() {
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (final RuntimeException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Submits a task delivering the events left in the queue, if any. If
+         * the executor rejects it, the events left cannot be delivered, and
+         * are discarded.
+         */
+        private void scheduleRemaining() {
+            try {
+                schedule();
+            } catch (final RejectedExecutionException e) {
+                queue.clear();
+            }
+        }
     }
 }
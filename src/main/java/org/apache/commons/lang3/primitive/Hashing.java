@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.primitive;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Sizing and hashing shared by the open addressing collections of this package.
+ */
+final class Hashing {
+
+    /** The default expected number of elements. */
+    static final int DEFAULT_EXPECTED_SIZE = 8;
+
+    /** The largest table capacity, a power of two. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Gets the table capacity holding the given number of elements below the load factor of 3/4.
+     *
+     * @param expectedSize  the expected number of elements, not negative
+     * @return a power of two
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    static int capacity(final int expectedSize) {
+        Validate.isTrue(expectedSize >= 0, "The expected size must not be negative: %d", expectedSize);
+        final long needed = (long) expectedSize * 4 / 3 + 1;
+        int capacity = 4;
+        while (capacity < needed && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Gets the number of elements a table holds before it is grown.
+     *
+     * @param capacity  the table capacity
+     * @return the resize threshold
+     */
+    static int threshold(final int capacity) {
+        // always leave a free slot, which ends every probe
+        return capacity == MAX_CAPACITY ? MAX_CAPACITY - 2 : capacity - (capacity >> 2);
+    }
+
+    /**
+     * Spreads the bits of a key, so that keys differing in their high bits land in different slots.
+     *
+     * @param key  the key
+     * @return the mixed hash
+     */
+    static int mix(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Spreads the bits of a key, so that keys differing in their high bits land in different slots.
+     *
+     * @param key  the key
+     * @return the mixed hash
+     */
+    static int mix(final long key) {
+        return mix((int) (key ^ (key >>> 32)));
+    }
+
+    /**
+     * Gets the capacity to grow a full table to.
+     *
+     * @param capacity  the current table capacity
+     * @return the doubled capacity
+     * @throws IllegalStateException if the table cannot grow
+     */
+    static int grow(final int capacity) {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("The collection is full");
+        }
+        return capacity << 1;
+    }
+
+    private Hashing() {
+    }
+}
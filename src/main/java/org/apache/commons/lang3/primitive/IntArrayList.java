@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>A growable list of {@code int} values, stored without boxing.</p>
+ *
+ * <p>#NotThreadSafe#</p>
+ * @since 3.10
+ */
+public class IntArrayList {
+
+    /** The default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** The values, in {@code [0, size)}. */
+    private int[] elements;
+    /** The number of values. */
+    private int size;
+
+    /**
+     * Constructs an empty list.
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list sized to hold the given number of values without growing.
+     *
+     * @param initialCapacity  the initial capacity, not negative
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public IntArrayList(final int initialCapacity) {
+        Validate.isTrue(initialCapacity >= 0, "The initial capacity must not be negative: %d", initialCapacity);
+        elements = initialCapacity == 0 ? ArrayUtils.EMPTY_INT_ARRAY : new int[initialCapacity];
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > elements.length) {
+            if (capacity < 0) {
+                throw new IllegalStateException("The list is full");
+            }
+            final int grown = elements.length + (elements.length >> 1) + 1;
+            elements = Arrays.copyOf(elements, grown < 0 || grown < capacity ? capacity : grown);
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Appends a value.
+     *
+     * @param value  the value to append
+     */
+    public void add(final int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+    }
+
+    /**
+     * Appends all the given values.
+     *
+     * @param values  the values to append, may be null
+     */
+    public void addAll(final int... values) {
+        if (values != null) {
+            ensureCapacity(size + values.length);
+            System.arraycopy(values, 0, elements, size, values.length);
+            size += values.length;
+        }
+    }
+
+    /**
+     * Gets the value at an index.
+     *
+     * @param index  the index
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int get(final int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the value at an index.
+     *
+     * @param index  the index
+     * @param value  the new value
+     * @return the previous value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int set(final int index, final int value) {
+        checkIndex(index);
+        final int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Removes the value at an index, shifting the following values to the left.
+     *
+     * @param index  the index
+     * @return the removed value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int removeAt(final int index) {
+        checkIndex(index);
+        final int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Finds the first index of a value.
+     *
+     * @param value  the value to look for
+     * @return the index, or {@link ArrayUtils#INDEX_NOT_FOUND} if not found
+     */
+    public int indexOf(final int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return ArrayUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Tests whether the list contains a value.
+     *
+     * @param value  the value to look for
+     * @return true if found
+     */
+    public boolean contains(final int value) {
+        return indexOf(value) != ArrayUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values, keeping the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sorts the values in ascending order.
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * Performs an action for each value, in order.
+     *
+     * @param action  the action, not null
+     */
+    public void forEach(final IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /**
+     * Gets a sequential stream of the values.
+     *
+     * @return a stream over this list, which must not be modified while the stream is in use
+     */
+    public IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    /**
+     * Copies the values into a new array.
+     *
+     * @return the values
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Compares this list to another object; they are equal if it is an {@code IntArrayList} with the same values
+     * in the same order.
+     *
+     * @param obj  the object to compare to
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof IntArrayList)) {
+            return false;
+        }
+        final IntArrayList other = (IntArrayList) obj;
+        if (other.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (elements[i] != other.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a hash code, as {@link java.util.List#hashCode()} computes it.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the values as a String, such as {@code [1, 2, 3]}.
+     *
+     * @return a String representation
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.primitive;
+
+import java.util.Arrays;
+
+/**
+ * <p>A map from {@code int} keys to {@code int} values, stored without boxing.</p>
+ *
+ * <p>The entries are kept in parallel arrays with open addressing and linear probing, so putting,
+ * removing and looking up an entry allocate nothing unless the map grows. Iteration order is
+ * unspecified.</p>
+ *
+ * <pre>
+ * IntIntHashMap counts = new IntIntHashMap();
+ * for (int value : values) {
+ *     counts.addTo(value, 1);
+ * }
+ * </pre>
+ *
+ * <p>#NotThreadSafe#</p>
+ * @since 3.10
+ */
+public class IntIntHashMap {
+
+    /** The key marking a free slot; its entry is stored in {@link #containsZero} instead. */
+    private static final int FREE = 0;
+
+    /** The key slots, {@link #FREE} or a key. */
+    private int[] keys;
+    /** The values, parallel to {@link #keys}. */
+    private int[] values;
+    /** The slot index mask, the capacity minus one. */
+    private int mask;
+    /** The number of entries in {@link #keys}. */
+    private int count;
+    /** The number of entries in {@link #keys} above which the table grows. */
+    private int threshold;
+    /** Whether the map contains the key {@link #FREE}. */
+    private boolean containsZero;
+    /** The value of the key {@link #FREE}. */
+    private int zeroValue;
+
+    /**
+     * Constructs an empty map.
+     */
+    public IntIntHashMap() {
+        this(Hashing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Constructs an empty map sized to hold the given number of entries without growing.
+     *
+     * @param expectedSize  the expected number of entries, not negative
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public IntIntHashMap(final int expectedSize) {
+        allocate(Hashing.capacity(expectedSize));
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity);
+    }
+
+    /**
+     * Finds the slot of a key, or the free slot ending its probe.
+     *
+     * @param key  a key other than {@link #FREE}
+     * @return the slot index
+     */
+    private int slot(final int key) {
+        int i = Hashing.mix(key) & mask;
+        while (keys[i] != FREE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Tests whether the map contains a key.
+     *
+     * @param key  the key to look for
+     * @return true if the map contains the key
+     */
+    public boolean containsKey(final int key) {
+        if (key == FREE) {
+            return containsZero;
+        }
+        return keys[slot(key)] == key;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key  the key to look for
+     * @param defaultValue  the value to return if the map does not contain the key
+     * @return the value of the key, or {@code defaultValue}
+     */
+    public int getOrDefault(final int key, final int defaultValue) {
+        if (key == FREE) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        final int i = slot(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key  the key
+     * @param value  the value
+     */
+    public void put(final int key, final int value) {
+        if (key == FREE) {
+            containsZero = true;
+            zeroValue = value;
+            return;
+        }
+        final int i = slot(key);
+        values[i] = value;
+        if (keys[i] != key) {
+            insert(i, key);
+        }
+    }
+
+    /**
+     * Adds to the value of a key, a missing key counting as zero.
+     *
+     * @param key  the key
+     * @param delta  the amount to add
+     * @return the new value of the key
+     */
+    public int addTo(final int key, final int delta) {
+        if (key == FREE) {
+            zeroValue = containsZero ? zeroValue + delta : delta;
+            containsZero = true;
+            return zeroValue;
+        }
+        final int i = slot(key);
+        if (keys[i] == key) {
+            return values[i] += delta;
+        }
+        values[i] = delta;
+        insert(i, key);
+        return delta;
+    }
+
+    /**
+     * Decrements the value of a key if it is positive, probing the table once.
+     *
+     * @param key  the key
+     * @return true if the map contained the key with a positive value, which was decremented
+     */
+    public boolean decrementIfPositive(final int key) {
+        if (key == FREE) {
+            if (containsZero && zeroValue > 0) {
+                zeroValue--;
+                return true;
+            }
+            return false;
+        }
+        final int i = slot(key);
+        if (keys[i] == key && values[i] > 0) {
+            values[i]--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stores a new key in a free slot, whose value is already set.
+     *
+     * @param i  the free slot ending the probe of the key
+     * @param key  the key
+     */
+    private void insert(final int i, final int key) {
+        keys[i] = key;
+        if (++count > threshold) {
+            rehash(Hashing.grow(keys.length));
+        }
+    }
+
+    /**
+     * Removes a key and its value.
+     *
+     * @param key  the key to remove
+     * @return true if the map contained the key
+     */
+    public boolean remove(final int key) {
+        if (key == FREE) {
+            final boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+        final int i = slot(key);
+        if (keys[i] != key) {
+            return false;
+        }
+        count--;
+        shiftKeys(i);
+        return true;
+    }
+
+    /**
+     * Closes the gap left by a removal, moving back the following entries of the cluster that probed past it.
+     *
+     * @param gap  the slot emptied
+     */
+    private void shiftKeys(final int gap) {
+        int last = gap;
+        int pos = gap;
+        while (true) {
+            pos = (pos + 1) & mask;
+            final int key = keys[pos];
+            if (key == FREE) {
+                keys[last] = FREE;
+                return;
+            }
+            final int home = Hashing.mix(key) & mask;
+            // move the entry back unless its home slot lies cyclically in (last, pos]
+            if (last <= pos ? last >= home || home > pos : last >= home && home > pos) {
+                keys[last] = key;
+                values[last] = values[pos];
+                last = pos;
+            }
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            final int key = oldKeys[j];
+            if (key != FREE) {
+                final int i = slot(key);
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entries in the map.
+     *
+     * @return the size
+     */
+    public int size() {
+        return containsZero ? count + 1 : count;
+    }
+
+    /**
+     * Tests whether the map is empty.
+     *
+     * @return true if the map contains no entries
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all entries, keeping the capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        count = 0;
+        containsZero = false;
+    }
+
+    /**
+     * Copies the keys into a new array, in no particular order.
+     *
+     * @return the keys
+     */
+    public int[] keys() {
+        final int[] result = new int[size()];
+        int i = 0;
+        if (containsZero) {
+            result[i++] = FREE;
+        }
+        for (final int key : keys) {
+            if (key != FREE) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the entries as a String, such as {@code {1=2, 3=4}}.
+     *
+     * @return a String representation
+     */
+    @Override
+    public String toString() {
+        final StringBuilder buf = new StringBuilder().append('{');
+        for (final int key : keys()) {
+            if (buf.length() > 1) {
+                buf.append(", ");
+            }
+            buf.append(key).append('=').append(getOrDefault(key, 0));
+        }
+        return buf.append('}').toString();
+    }
+}
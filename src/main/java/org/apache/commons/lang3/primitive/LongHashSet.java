@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.primitive;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * <p>A set of {@code long} values, stored without boxing.</p>
+ *
+ * <p>The values are kept in a single array with open addressing and linear probing, so adding,
+ * removing and looking up a value allocate nothing unless the set grows. Iteration order is
+ * unspecified.</p>
+ *
+ * <p>#NotThreadSafe#</p>
+ * @since 3.10
+ */
+public class LongHashSet {
+
+    /** The value marking a free slot; it is stored in {@link #containsZero} instead. */
+    private static final long FREE = 0L;
+
+    /** The slots, {@link #FREE} or a value. */
+    private long[] keys;
+    /** The slot index mask, the capacity minus one. */
+    private int mask;
+    /** The number of values in {@link #keys}. */
+    private int count;
+    /** The number of values in {@link #keys} above which the table grows. */
+    private int threshold;
+    /** Whether the set contains {@link #FREE}. */
+    private boolean containsZero;
+
+    /**
+     * Constructs an empty set.
+     */
+    public LongHashSet() {
+        this(Hashing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Constructs an empty set sized to hold the given number of values without growing.
+     *
+     * @param expectedSize  the expected number of values, not negative
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public LongHashSet(final int expectedSize) {
+        allocate(Hashing.capacity(expectedSize));
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity);
+    }
+
+    /**
+     * Finds the slot of a value, or the free slot ending its probe.
+     *
+     * @param key  a value other than {@link #FREE}
+     * @return the slot index
+     */
+    private int slot(final long key) {
+        int i = Hashing.mix(key) & mask;
+        while (keys[i] != FREE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param key  the value to add
+     * @return true if the set did not already contain the value
+     */
+    public boolean add(final long key) {
+        if (key == FREE) {
+            final boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        final int i = slot(key);
+        if (keys[i] == key) {
+            return false;
+        }
+        keys[i] = key;
+        if (++count > threshold) {
+            rehash(Hashing.grow(keys.length));
+        }
+        return true;
+    }
+
+    /**
+     * Adds all the given values.
+     *
+     * @param values  the values to add, may be null
+     * @return true if the set changed
+     */
+    public boolean addAll(final long... values) {
+        boolean changed = false;
+        if (values != null) {
+            for (final long value : values) {
+                changed |= add(value);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Tests whether the set contains a value.
+     *
+     * @param key  the value to look for
+     * @return true if the set contains the value
+     */
+    public boolean contains(final long key) {
+        if (key == FREE) {
+            return containsZero;
+        }
+        return keys[slot(key)] == key;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param key  the value to remove
+     * @return true if the set contained the value
+     */
+    public boolean remove(final long key) {
+        if (key == FREE) {
+            final boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+        final int i = slot(key);
+        if (keys[i] != key) {
+            return false;
+        }
+        count--;
+        shiftKeys(i);
+        return true;
+    }
+
+    /**
+     * Closes the gap left by a removal, moving back the following values of the cluster that probed past it.
+     *
+     * @param gap  the slot emptied
+     */
+    private void shiftKeys(final int gap) {
+        int last = gap;
+        int pos = gap;
+        while (true) {
+            pos = (pos + 1) & mask;
+            final long key = keys[pos];
+            if (key == FREE) {
+                keys[last] = FREE;
+                return;
+            }
+            final int home = Hashing.mix(key) & mask;
+            // move the value back unless its home slot lies cyclically in (last, pos]
+            if (last <= pos ? last >= home || home > pos : last >= home && home > pos) {
+                keys[last] = key;
+                last = pos;
+            }
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final long[] old = keys;
+        allocate(capacity);
+        for (final long key : old) {
+            if (key != FREE) {
+                keys[slot(key)] = key;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of values in the set.
+     *
+     * @return the size
+     */
+    public int size() {
+        return containsZero ? count + 1 : count;
+    }
+
+    /**
+     * Tests whether the set is empty.
+     *
+     * @return true if the set contains no values
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all values, keeping the capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        count = 0;
+        containsZero = false;
+    }
+
+    /**
+     * Performs an action for each value, in no particular order.
+     *
+     * @param action  the action, not null
+     */
+    public void forEach(final LongConsumer action) {
+        if (containsZero) {
+            action.accept(FREE);
+        }
+        for (final long key : keys) {
+            if (key != FREE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Copies the values into a new array, in no particular order.
+     *
+     * @return the values
+     */
+    public long[] toArray() {
+        final long[] result = new long[size()];
+        int i = 0;
+        if (containsZero) {
+            result[i++] = FREE;
+        }
+        for (final long key : keys) {
+            if (key != FREE) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compares this set to another object; they are equal if it is a {@code LongHashSet} with the same values.
+     *
+     * @param obj  the object to compare to
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof LongHashSet)) {
+            return false;
+        }
+        final LongHashSet other = (LongHashSet) obj;
+        if (other.size() != size() || other.containsZero != containsZero) {
+            return false;
+        }
+        for (final long key : keys) {
+            if (key != FREE && !other.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a hash code, the sum of the hash codes of the values as in {@link java.util.Set#hashCode()}.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (final long key : keys) {
+            hash += Long.hashCode(key);
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the values as a String, such as {@code [1, 2, 3]}.
+     *
+     * @return a String representation
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -60,4 +60,17 @@ public int translate(final CharSequence input, final int index, final Writer out
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mayTranslate(final char c) {
+        for (final CharSequenceTranslator translator : translators) {
+            if (translator.isTranslatable(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
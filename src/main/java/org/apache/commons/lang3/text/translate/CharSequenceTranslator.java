@@ -36,6 +36,34 @@ public abstract class CharSequenceTranslator {
 
     static final char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
 
+    /** Marks a translator that may translate at any character, whose input is therefore not pre-scanned. */
+    private static final long[] ANY_CHAR = new long[0];
+
+    /**
+     * Whether the pre-scan applies to a class: {@link #mayTranslate(char)} must be declared by the class declaring
+     * {@link #translate(CharSequence, int, Writer)}, or {@link CodePointTranslator#translate(int, Writer)}, or by a
+     * subclass of it, so that a subclass which only overrides the translate method is called at every character,
+     * as it was before the pre-scan.
+     */
+    private static final ClassValue<Boolean> REFINES_MAY_TRANSLATE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> c = type; c != CharSequenceTranslator.class; c = c.getSuperclass()) {
+                if (declares(c, "mayTranslate", char.class)) {
+                    return Boolean.TRUE;
+                }
+                if (declares(c, "translate", CharSequence.class, int.class, Writer.class)
+                        || declares(c, "translate", int.class, Writer.class)) {
+                    return Boolean.FALSE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
+    /** Bit {@code c} is set when {@link #mayTranslate(char)} is true for {@code c}, computed on first use. */
+    private volatile long[] translatableChars;
+
     /**
      * Translate a set of codepoints, represented by an int index into a CharSequence,
      * into another set of codepoints. The number of codepoints consumed must be returned,
@@ -59,6 +87,11 @@ public final String translate(final CharSequence input) {
         if (input == null) {
             return null;
         }
+        final long[] translatable = getTranslatableChars();
+        if (translatable != ANY_CHAR && indexOfTranslatable(input, 0, translatable) == input.length()) {
+            // nothing to translate
+            return input.toString();
+        }
         try {
             final StringWriter writer = new StringWriter(input.length() * 2);
             translate(input, writer);
@@ -84,9 +117,25 @@ public final void translate(final CharSequence input, final Writer out) throws I
         if (input == null) {
             return;
         }
+        final long[] translatable = getTranslatableChars();
         int pos = 0;
         final int len = input.length();
         while (pos < len) {
+            if (translatable != ANY_CHAR) {
+                // copy the run of characters no translator would touch in one go
+                final int next = indexOfTranslatable(input, pos, translatable);
+                if (next > pos) {
+                    if (input instanceof String) {
+                        out.write((String) input, pos, next - pos);
+                    } else {
+                        out.append(input, pos, next);
+                    }
+                    pos = next;
+                    if (pos == len) {
+                        break;
+                    }
+                }
+            }
             final int consumed = translate(input, pos, out);
             if (consumed == 0) {
                 // inlined implementation of Character.toChars(Character.codePointAt(input, pos))
@@ -111,6 +160,105 @@ public final void translate(final CharSequence input, final Writer out) throws I
         }
     }
 
+    /**
+     * Tests whether this translator may consume input starting with the given character.
+     *
+     * <p>Where this returns false, {@link #translate(CharSequence, int, Writer)} must return 0 whatever
+     * the rest of the input, which lets the input be scanned for such characters and copied without
+     * calling the translator; clean input is then returned as is. For a high surrogate the answer must
+     * cover every supplementary code point it may start. The default implementation returns true, which
+     * is always safe. The pre-scan only applies when this method is declared by the class declaring the
+     * translate method, or {@link CodePointTranslator#translate(int, Writer)}, or by a subclass of it, so a
+     * subclass overriding only the translate method is called at every character. Implementations must not
+     * call the translate method, which may have side effects.</p>
+     *
+     * @param c the character at the current point of translation
+     * @return false if this translator never translates input starting with {@code c}
+     * @since 3.10
+     */
+    protected boolean mayTranslate(final char c) {
+        return true;
+    }
+
+    /**
+     * Tests whether this translator may consume input starting with the given character, considering
+     * {@link #mayTranslate(char)} only when it refines the translate method of this class.
+     *
+     * @param c the character at the current point of translation
+     * @return false if this translator never translates input starting with {@code c}
+     */
+    final boolean isTranslatable(final char c) {
+        return !REFINES_MAY_TRANSLATE.get(getClass()).booleanValue() || mayTranslate(c);
+    }
+
+    /**
+     * Tests whether a class declares a method.
+     *
+     * @param type the class
+     * @param name the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return true if the class declares the method
+     */
+    private static boolean declares(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        try {
+            type.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the characters {@link #isTranslatable(char)} accepts, as a bitset over the BMP.
+     *
+     * @return the bitset, or {@link #ANY_CHAR} if it accepts all characters
+     */
+    private long[] getTranslatableChars() {
+        long[] translatable = translatableChars;
+        if (translatable == null && !REFINES_MAY_TRANSLATE.get(getClass()).booleanValue()) {
+            translatable = ANY_CHAR;
+            translatableChars = translatable;
+        } else if (translatable == null) {
+            translatable = new long[(Character.MAX_VALUE + 1) >> 6];
+            boolean any = true;
+            for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+                if (mayTranslate((char) c)) {
+                    translatable[c >> 6] |= 1L << c;
+                } else {
+                    any = false;
+                }
+            }
+            if (any) {
+                translatable = ANY_CHAR;
+            }
+            translatableChars = translatable;
+        }
+        return translatable;
+    }
+
+    /**
+     * Finds the index of the next character a translation may start with, skipping surrogate pairs
+     * whose high surrogate is not translated as {@link #translate(CharSequence, Writer)} does.
+     *
+     * @param input the input to scan
+     * @param from the index to scan from
+     * @param translatable the bitset of {@link #isTranslatable(char)}
+     * @return the index of the next such character, or the length of the input if none
+     */
+    private static int indexOfTranslatable(final CharSequence input, final int from, final long[] translatable) {
+        final int len = input.length();
+        for (int i = from; i < len; i++) {
+            final char c = input.charAt(i);
+            if ((translatable[c >> 6] & 1L << c) != 0) {
+                return i;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(input.charAt(i + 1))) {
+                i++;
+            }
+        }
+        return len;
+    }
+
     /**
      * Helper method to create a merger of this translator with another set of
      * translators. Useful in customizing the standard functionality.
@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Applies a {@link CharSequenceTranslator} to input arriving in chunks, from one {@link CharBuffer}
+ * to another.
+ *
+ * <p>{@link CharSequenceTranslator#translate(CharSequence, Writer)} needs the whole input in memory.
+ * This class translates it piecewise instead, in the manner of a {@link java.nio.charset.CharsetEncoder}:
+ * each call to {@link #translate(CharBuffer, CharBuffer, boolean)} consumes what it can of the input and
+ * produces what it can of the output, and the last call says that the input is complete.</p>
+ *
+ * <p>A translation is never cut by a chunk boundary. When a translator looks past the input received so
+ * far, for instance a {@link LookupTranslator} reading {@code "&am"} or a {@link NumericEntityUnescaper}
+ * reading {@code "&#12"}, or when a high surrogate ends a chunk, the unfinished tail is kept back and
+ * translated again once more input arrives. The output is therefore the same as translating the whole
+ * input at once. This relies on translators only reading the input through {@link CharSequence} methods
+ * and not catching the {@link RuntimeException} used to stop them; all the translators of this package
+ * qualify.</p>
+ *
+ * <p>Memory use is bounded by the chunk size given at construction, except that the tail kept back
+ * grows as needed to hold a single translation longer than a chunk. Translators reading the input as a
+ * whole, such as {@code StringEscapeUtils.ESCAPE_CSV}, are held back until the end of the input, which is
+ * then buffered entirely.</p>
+ *
+ * <p>Instances hold the state of one translation and are not thread-safe. Use {@link #reset()} to start
+ * another one.</p>
+ *
+ * @since 3.10
+ * @deprecated use commons-text
+ * <a href="https://commons.apache.org/proper/commons-text/javadocs/api-release/org/apache/commons/text/translate/CharSequenceTranslator.html">
+ * CharSequenceTranslator</a> instead
+ */
+@Deprecated
+public final class ChunkedTranslator {
+
+    /**
+     * Thrown from {@link Input} when a translator reads past the input received so far.
+     */
+    private static final class UnderflowException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnderflowException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /** Shared, as it carries no stack trace or state. */
+    private static final UnderflowException UNDERFLOW = new UnderflowException();
+
+    /**
+     * The buffered input, as seen by the translator.
+     *
+     * <p>Until the end of the input, the length is reported as unbounded so that translators
+     * look for longer matches, and reading past the buffered characters throws {@link #UNDERFLOW}.</p>
+     */
+    private final class Input implements CharSequence {
+
+        /** Whether the buffered characters are the end of the input. */
+        boolean last;
+
+        @Override
+        public char charAt(final int index) {
+            if (index < limit) {
+                return buffer[index];
+            }
+            throw outOfRange(index);
+        }
+
+        @Override
+        public int length() {
+            return last ? limit : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (end > limit) {
+                throw outOfRange(end);
+            }
+            return new String(buffer, start, end - start);
+        }
+
+        private RuntimeException outOfRange(final int index) {
+            if (last) {
+                return new StringIndexOutOfBoundsException(index);
+            }
+            return UNDERFLOW;
+        }
+
+        @Override
+        public String toString() {
+            // the whole input is wanted
+            if (!last) {
+                throw UNDERFLOW;
+            }
+            return new String(buffer, 0, limit);
+        }
+    }
+
+    /**
+     * An unsynchronized {@link Writer} onto {@link ChunkedTranslator#output}.
+     */
+    private final class Output extends Writer {
+
+        @Override
+        public void write(final int c) {
+            output.append((char) c);
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) {
+            output.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) {
+            output.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+
+    /** The default chunk size. */
+    static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final CharSequenceTranslator translator;
+    private final int chunkSize;
+    private final Input input = new Input();
+    private final Output writer = new Output();
+
+    /** The input received but not yet translated, in {@code [position, limit)}. */
+    private char[] buffer;
+    private int position;
+    private int limit;
+
+    /** The output produced but not yet returned, from {@code outputPosition}. */
+    private final StringBuilder output;
+    private int outputPosition;
+
+    /**
+     * Creates a chunked translator with the default chunk size.
+     *
+     * @param translator  the translator to apply, not null
+     * @throws NullPointerException if the translator is {@code null}
+     */
+    public ChunkedTranslator(final CharSequenceTranslator translator) {
+        this(translator, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a chunked translator.
+     *
+     * @param translator  the translator to apply, not null
+     * @param chunkSize  the number of characters buffered on each side, positive
+     * @throws NullPointerException if the translator is {@code null}
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public ChunkedTranslator(final CharSequenceTranslator translator, final int chunkSize) {
+        Validate.notNull(translator, "The translator must not be null");
+        Validate.isTrue(chunkSize > 0, "The chunk size must be positive: %d", chunkSize);
+        this.translator = translator;
+        this.chunkSize = chunkSize;
+        this.buffer = new char[chunkSize];
+        this.output = new StringBuilder(chunkSize);
+    }
+
+    /**
+     * Discards any buffered input and output, to start a new translation.
+     *
+     * @return this, to enable chaining
+     */
+    public ChunkedTranslator reset() {
+        position = 0;
+        limit = 0;
+        output.setLength(0);
+        outputPosition = 0;
+        if (buffer.length > chunkSize) {
+            buffer = new char[chunkSize];
+        }
+        return this;
+    }
+
+    /**
+     * Translates as much of the input as possible into the output.
+     *
+     * <p>Returns {@link CoderResult#UNDERFLOW} once all of {@code in} has been consumed and no translated
+     * output is left over, and {@link CoderResult#OVERFLOW} when {@code out} is full and this method should
+     * be called again once it has been drained. Input consumed but not yet translated is held by this
+     * object; when {@code endOfInput} is true and the result is underflow, it has all been translated and
+     * written.</p>
+     *
+     * @param in  the input, consumed from its position
+     * @param out  the output, written from its position
+     * @param endOfInput  whether {@code in} holds the last of the input
+     * @return {@link CoderResult#UNDERFLOW} or {@link CoderResult#OVERFLOW}
+     */
+    public CoderResult translate(final CharBuffer in, final CharBuffer out, final boolean endOfInput) {
+        while (true) {
+            if (!drain(out)) {
+                return CoderResult.OVERFLOW;
+            }
+            fill(in);
+            final boolean stalled = !translateBuffered(endOfInput && !in.hasRemaining());
+            if (output.length() > 0) {
+                continue;
+            }
+            if (!in.hasRemaining()) {
+                return CoderResult.UNDERFLOW;
+            }
+            if (stalled && position == 0 && limit == buffer.length) {
+                // a single translation longer than the buffer
+                final char[] grown = new char[buffer.length * 2];
+                System.arraycopy(buffer, 0, grown, 0, limit);
+                buffer = grown;
+            }
+        }
+    }
+
+    /**
+     * Moves as much buffered output as fits into {@code out}.
+     *
+     * @param out  the output
+     * @return whether all buffered output was moved
+     */
+    private boolean drain(final CharBuffer out) {
+        final int count = Math.min(out.remaining(), output.length() - outputPosition);
+        if (out.hasArray()) {
+            final int offset = out.arrayOffset() + out.position();
+            output.getChars(outputPosition, outputPosition + count, out.array(), offset);
+            out.position(out.position() + count);
+        } else {
+            for (int i = outputPosition; i < outputPosition + count; i++) {
+                out.put(output.charAt(i));
+            }
+        }
+        outputPosition += count;
+        if (outputPosition < output.length()) {
+            return false;
+        }
+        output.setLength(0);
+        outputPosition = 0;
+        return true;
+    }
+
+    /**
+     * Moves as much of {@code in} as fits into the input buffer.
+     *
+     * @param in  the input
+     */
+    private void fill(final CharBuffer in) {
+        if (!in.hasRemaining()) {
+            return;
+        }
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        final int count = Math.min(in.remaining(), buffer.length - limit);
+        in.get(buffer, limit, count);
+        limit += count;
+    }
+
+    /**
+     * Translates the buffered input until it is exhausted, a translation needs more input, or a chunk of
+     * output has been produced.
+     *
+     * @param last  whether the buffered input is the end of the input
+     * @return false if stopped because a translation needs more input
+     */
+    private boolean translateBuffered(final boolean last) {
+        input.last = last;
+        while (position < limit && output.length() < chunkSize) {
+            final int mark = output.length();
+            try {
+                position = translateNext();
+            } catch (final UnderflowException e) {
+                output.setLength(mark);
+                return false;
+            } catch (final IOException ioe) {
+                // Output does not throw IOException
+                throw new RuntimeException(ioe);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Translates the code point or match at {@link #position}, as
+     * {@link CharSequenceTranslator#translate(CharSequence, Writer)} does.
+     *
+     * @return the position after the translated input
+     * @throws IOException never, as the writer does not throw
+     */
+    private int translateNext() throws IOException {
+        int pos = position;
+        final int consumed = translator.translate(input, pos, writer);
+        if (consumed == 0) {
+            final char c1 = input.charAt(pos++);
+            output.append(c1);
+            if (Character.isHighSurrogate(c1) && pos < input.length()) {
+                final char c2 = input.charAt(pos);
+                if (Character.isLowSurrogate(c2)) {
+                    output.append(c2);
+                    pos++;
+                }
+            }
+            return pos;
+        }
+        for (int pt = 0; pt < consumed; pt++) {
+            pos += Character.charCount(Character.codePointAt(input, pos));
+        }
+        return pos;
+    }
+}
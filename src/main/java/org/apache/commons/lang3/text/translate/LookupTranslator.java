@@ -18,8 +18,11 @@
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Translates a value using a lookup table.
@@ -32,10 +35,17 @@
 @Deprecated
 public class LookupTranslator extends CharSequenceTranslator {
 
-    private final HashMap<String, String> lookupMap;
-    private final HashSet<Character> prefixSet;
-    private final int shortest;
-    private final int longest;
+    /** The root node of the trie. */
+    private static final int ROOT = 0;
+
+    /** Bit {@code c} is set when a key starts with character {@code c}. */
+    private final long[] firstChars;
+    /** The sorted child characters of each trie node. */
+    private final char[][] keys;
+    /** The child nodes of each trie node, parallel to {@link #keys}. */
+    private final int[][] children;
+    /** The translation of the key ending at each trie node, or null. */
+    private final String[] values;
 
     /**
      * Define the lookup table to be used in translation
@@ -47,25 +57,50 @@ public class LookupTranslator extends CharSequenceTranslator {
      * @param lookup CharSequence[][] table of size [*][2]
      */
     public LookupTranslator(final CharSequence[]... lookup) {
-        lookupMap = new HashMap<>();
-        prefixSet = new HashSet<>();
-        int _shortest = Integer.MAX_VALUE;
-        int _longest = 0;
+        // build a trie of the keys, so that a lookup reads each input character once and allocates nothing
+        final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        final List<String> translations = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        translations.add(null);
+        int maxFirstChar = -1;
         if (lookup != null) {
             for (final CharSequence[] seq : lookup) {
-                this.lookupMap.put(seq[0].toString(), seq[1].toString());
-                this.prefixSet.add(seq[0].charAt(0));
-                final int sz = seq[0].length();
-                if (sz < _shortest) {
-                    _shortest = sz;
-                }
-                if (sz > _longest) {
-                    _longest = sz;
+                final String key = seq[0].toString();
+                maxFirstChar = Math.max(maxFirstChar, key.charAt(0));
+                int node = ROOT;
+                for (int i = 0; i < key.length(); i++) {
+                    final Character c = Character.valueOf(key.charAt(i));
+                    Integer child = trie.get(node).get(c);
+                    if (child == null) {
+                        child = Integer.valueOf(trie.size());
+                        trie.add(new TreeMap<>());
+                        translations.add(null);
+                        trie.get(node).put(c, child);
+                    }
+                    node = child.intValue();
                 }
+                // as with a map, a repeated key takes the last translation
+                translations.set(node, seq[1].toString());
+            }
+        }
+        firstChars = new long[(maxFirstChar >> 6) + 1];
+        keys = new char[trie.size()][];
+        children = new int[trie.size()][];
+        values = translations.toArray(new String[0]);
+        for (int node = 0; node < trie.size(); node++) {
+            final Map<Character, Integer> map = trie.get(node);
+            keys[node] = new char[map.size()];
+            children[node] = new int[map.size()];
+            int k = 0;
+            for (final Map.Entry<Character, Integer> e : map.entrySet()) {
+                keys[node][k] = e.getKey().charValue();
+                children[node][k] = e.getValue().intValue();
+                k++;
             }
         }
-        shortest = _shortest;
-        longest = _longest;
+        for (final char c : keys[ROOT]) {
+            firstChars[c >> 6] |= 1L << c;
+        }
     }
 
     /**
@@ -74,22 +109,40 @@ public LookupTranslator(final CharSequence[]... lookup) {
     @Override
     public int translate(final CharSequence input, final int index, final Writer out) throws IOException {
         // check if translation exists for the input at position index
-        if (prefixSet.contains(input.charAt(index))) {
-            int max = longest;
-            if (index + longest > input.length()) {
-                max = input.length() - index;
+        final char first = input.charAt(index);
+        if ((first >> 6) >= firstChars.length || (firstChars[first >> 6] & 1L << first) == 0) {
+            return 0;
+        }
+        // implement greedy algorithm by keeping the longest match found walking down the trie
+        final int length = input.length();
+        int node = ROOT;
+        String result = null;
+        int matched = 0;
+        for (int i = index; i < length; i++) {
+            final int k = Arrays.binarySearch(keys[node], input.charAt(i));
+            if (k < 0) {
+                break;
             }
-            // implement greedy algorithm by trying maximum match first
-            for (int i = max; i >= shortest; i--) {
-                final CharSequence subSeq = input.subSequence(index, index + i);
-                final String result = lookupMap.get(subSeq.toString());
-
-                if (result != null) {
-                    out.write(result);
-                    return i;
-                }
+            node = children[node][k];
+            if (values[node] != null) {
+                result = values[node];
+                matched = i + 1 - index;
             }
+            if (keys[node].length == 0) {
+                break;
+            }
+        }
+        if (result != null) {
+            out.write(result);
         }
-        return 0;
+        return matched;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mayTranslate(final char c) {
+        return (c >> 6) < firstChars.length && (firstChars[c >> 6] & 1L << c) != 0;
     }
 }
@@ -63,6 +63,14 @@ public int translate(final CharSequence input, final int index, final Writer out
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mayTranslate(final char c) {
+        return c == '\\';
+    }
+
     /**
      * Checks if the given char is an octal digit. Octal digits are the character representations of the digits 0 to 7.
      * @param ch the char to check
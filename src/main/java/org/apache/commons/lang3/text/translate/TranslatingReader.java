@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link Reader} translating the text read from another {@code Reader} with a
+ * {@link CharSequenceTranslator}.
+ *
+ * <pre>
+ * try (Reader in = new TranslatingReader(StringEscapeUtils.UNESCAPE_HTML4, fileReader)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>The text is translated in chunks with a {@link ChunkedTranslator}, so memory use does not depend on
+ * the length of the text.</p>
+ *
+ * <p>Like other {@code Reader}s, this class is not thread-safe.</p>
+ *
+ * @since 3.10
+ * @deprecated use commons-text
+ * <a href="https://commons.apache.org/proper/commons-text/javadocs/api-release/org/apache/commons/text/translate/CharSequenceTranslator.html">
+ * CharSequenceTranslator</a> instead
+ */
+@Deprecated
+public class TranslatingReader extends Reader {
+
+    private final Reader in;
+    private final ChunkedTranslator translator;
+    private final char[] chunk;
+    private final CharBuffer chunkBuffer;
+    private boolean endOfInput;
+    private boolean closed;
+
+    /**
+     * Creates a translating reader with the default chunk size.
+     *
+     * @param translator  the translator to apply, not null
+     * @param in  the reader to read the text to translate from, not null
+     * @throws NullPointerException if either argument is {@code null}
+     */
+    public TranslatingReader(final CharSequenceTranslator translator, final Reader in) {
+        this(translator, in, ChunkedTranslator.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a translating reader.
+     *
+     * @param translator  the translator to apply, not null
+     * @param in  the reader to read the text to translate from, not null
+     * @param chunkSize  the number of characters buffered on each side, positive
+     * @throws NullPointerException if either object argument is {@code null}
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public TranslatingReader(final CharSequenceTranslator translator, final Reader in, final int chunkSize) {
+        Validate.notNull(in, "The Reader must not be null");
+        this.translator = new ChunkedTranslator(translator, chunkSize);
+        this.in = in;
+        this.chunk = new char[chunkSize];
+        this.chunkBuffer = CharBuffer.wrap(chunk);
+        this.chunkBuffer.limit(0);
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        final CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (true) {
+            if (translator.translate(chunkBuffer, out, endOfInput).isOverflow() || out.position() > off) {
+                return out.position() - off;
+            }
+            if (endOfInput) {
+                return -1;
+            }
+            // all input consumed, read the next chunk
+            final int count = in.read(chunk);
+            if (count < 0) {
+                endOfInput = true;
+                chunkBuffer.limit(0);
+            } else {
+                chunkBuffer.limit(count).position(0);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        in.close();
+    }
+}
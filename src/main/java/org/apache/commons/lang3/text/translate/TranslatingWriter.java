@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link Writer} translating the text written to it with a {@link CharSequenceTranslator} before passing
+ * it on to another {@code Writer}.
+ *
+ * <pre>
+ * try (Writer out = new TranslatingWriter(StringEscapeUtils.ESCAPE_XML10, fileWriter)) {
+ *     out.write(payload);
+ * }
+ * </pre>
+ *
+ * <p>The text is translated in chunks with a {@link ChunkedTranslator}, so memory use does not depend on
+ * the length of the text. The end of a chunk that may start a longer translation is held back until more
+ * text is written or the writer is closed; {@link #flush()} cannot write it out. {@link #close()} must be
+ * called to complete the translation.</p>
+ *
+ * <p>Like other {@code Writer}s, this class is not thread-safe.</p>
+ *
+ * @since 3.10
+ * @deprecated use commons-text
+ * <a href="https://commons.apache.org/proper/commons-text/javadocs/api-release/org/apache/commons/text/translate/CharSequenceTranslator.html">
+ * CharSequenceTranslator</a> instead
+ */
+@Deprecated
+public class TranslatingWriter extends Writer {
+
+    private final Writer out;
+    private final ChunkedTranslator translator;
+    private final char[] chunk;
+    private final CharBuffer chunkBuffer;
+    private boolean closed;
+
+    /**
+     * Creates a translating writer with the default chunk size.
+     *
+     * @param translator  the translator to apply, not null
+     * @param out  the writer to write the translated text to, not null
+     * @throws NullPointerException if either argument is {@code null}
+     */
+    public TranslatingWriter(final CharSequenceTranslator translator, final Writer out) {
+        this(translator, out, ChunkedTranslator.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a translating writer.
+     *
+     * @param translator  the translator to apply, not null
+     * @param out  the writer to write the translated text to, not null
+     * @param chunkSize  the number of characters buffered on each side, positive
+     * @throws NullPointerException if either object argument is {@code null}
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public TranslatingWriter(final CharSequenceTranslator translator, final Writer out, final int chunkSize) {
+        Validate.notNull(out, "The Writer must not be null");
+        this.translator = new ChunkedTranslator(translator, chunkSize);
+        this.out = out;
+        this.chunk = new char[chunkSize];
+        this.chunkBuffer = CharBuffer.wrap(chunk);
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        write(new char[] {(char) c}, 0, 1);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        ensureOpen();
+        translate(CharBuffer.wrap(str, off, off + len), false);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        ensureOpen();
+        translate(CharBuffer.wrap(cbuf, off, len), false);
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+        ensureOpen();
+        translate(CharBuffer.wrap(csq == null ? "null" : csq, start, end), false);
+        return this;
+    }
+
+    /**
+     * Flushes the translated text written so far to the underlying writer, and flushes it.
+     *
+     * @throws IOException if the underlying writer fails
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    /**
+     * Translates and writes any text held back, then closes the underlying writer.
+     *
+     * @throws IOException if the underlying writer fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            translate(CharBuffer.wrap(chunk, 0, 0), true);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void translate(final CharBuffer in, final boolean endOfInput) throws IOException {
+        CoderResult result;
+        do {
+            result = translator.translate(in, chunkBuffer, endOfInput);
+            if (chunkBuffer.position() > 0) {
+                out.write(chunk, 0, chunkBuffer.position());
+                chunkBuffer.clear();
+            }
+        } while (result.isOverflow());
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -99,19 +99,35 @@ public static UnicodeEscaper between(final int codepointLow, final int codepoint
         return new UnicodeEscaper(codepointLow, codepointHigh, true);
     }
 
+    /**
+     * Tests whether a code point is in the range this escaper escapes.
+     *
+     * @param codepoint the code point
+     * @return true if the code point is escaped
+     */
+    private boolean isEscaped(final int codepoint) {
+        if (between) {
+            return codepoint >= below && codepoint <= above;
+        }
+        return codepoint < below || codepoint > above;
+    }
+
+    /**
+     * A high surrogate may start any supplementary code point, so it is always accepted.
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mayTranslate(final char c) {
+        return Character.isHighSurrogate(c) || isEscaped(c);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean translate(final int codepoint, final Writer out) throws IOException {
-        if (between) {
-            if (codepoint < below || codepoint > above) {
-                return false;
-            }
-        } else {
-            if (codepoint >= below && codepoint <= above) {
-                return false;
-            }
+        if (!isEscaped(codepoint)) {
+            return false;
         }
 
         // TODO: Handle potential + sign per various Unicode escape implementations
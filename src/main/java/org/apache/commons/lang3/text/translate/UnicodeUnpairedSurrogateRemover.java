@@ -41,5 +41,13 @@ public boolean translate(final int codepoint, final Writer out) throws IOExcepti
         // It's not a surrogate. Don't translate it.
         return false;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mayTranslate(final char c) {
+        return Character.isSurrogate(c);
+    }
 }
 
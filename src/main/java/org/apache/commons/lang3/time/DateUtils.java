@@ -18,13 +18,18 @@
 
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.time.zone.ZoneRules;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SimpleTimeZone;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.commons.lang3.Validate;
 
@@ -48,6 +53,12 @@
  * use a {@code Calendar} internally (with default timezone and locale) and may
  * be affected by changes to daylight saving time (DST).
  * </p>
+ * <p>
+ * The truncate, ceiling, round and fragment methods taking milliseconds since the epoch
+ * and a {@code TimeZone} usually do not allocate. They compute the result arithmetically
+ * when the time zone has a fixed offset, and otherwise reuse one of a few {@code Calendar}
+ * objects kept by time zone, creating a new one when another thread is using it.
+ * </p>
  *
  * @since 2.0
  */
@@ -80,6 +91,26 @@ public class DateUtils {
      */
     public static final int SEMI_MONTH = 1001;
 
+    /**
+     * The number of time zones kept with their Calendar for reuse, a power of two.
+     */
+    private static final int ZONE_SLOTS = 32;
+
+    /**
+     * The descriptors of the time zones last used, in the slot of the hash of their time zone ID
+     * or the other slot of its pair. They are immutable and read without being taken out.
+     */
+    private static final AtomicReferenceArray<ZoneDescriptor> ZONE_DESCRIPTORS =
+        new AtomicReferenceArray<>(ZONE_SLOTS);
+
+    /**
+     * The Calendars not in use, in the slot of the descriptor of their time zone. A thread takes
+     * the Calendar of a slot and puts it back after using it, so that no Calendar is used
+     * concurrently, and nothing is kept per thread.
+     */
+    private static final AtomicReferenceArray<ZoneCalendar> ZONE_CALENDARS =
+        new AtomicReferenceArray<>(ZONE_SLOTS);
+
     private static final int[][] fields = {
             {Calendar.MILLISECOND},
             {Calendar.SECOND},
@@ -706,10 +737,7 @@ public static Calendar toCalendar(final Date date, final TimeZone tz) {
      */
     public static Date round(final Date date, final int field) {
         validateDateNotNull(date);
-        final Calendar gval = Calendar.getInstance();
-        gval.setTime(date);
-        modify(gval, field, ModifyType.ROUND);
-        return gval.getTime();
+        return new Date(round(date.getTime(), field, TimeZone.getDefault()));
     }
 
     /**
@@ -793,6 +821,27 @@ public static Date round(final Object date, final int field) {
         }
     }
 
+    /**
+     * <p>Rounds an instant in a time zone, leaving the field specified as
+     * the most significant field.</p>
+     *
+     * <p>The result is the one of {@link #round(Calendar, int)} for a
+     * {@code Calendar.getInstance(timeZone)} set to the instant, computed
+     * without allocating a {@code Calendar}.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @param field  the field from {@code Calendar} or {@code SEMI_MONTH}
+     * @param timeZone  the time zone of the fields, not null
+     * @return the rounded instant, in milliseconds since the epoch
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws IllegalArgumentException if the field is not supported
+     * @throws ArithmeticException if the year is over 280 million
+     * @since 3.10
+     */
+    public static long round(final long millis, final int field, final TimeZone timeZone) {
+        return modify(millis, field, ModifyType.ROUND, timeZone);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * <p>Truncates a date, leaving the field specified as the most
@@ -811,10 +860,7 @@ public static Date round(final Object date, final int field) {
      */
     public static Date truncate(final Date date, final int field) {
         validateDateNotNull(date);
-        final Calendar gval = Calendar.getInstance();
-        gval.setTime(date);
-        modify(gval, field, ModifyType.TRUNCATE);
-        return gval.getTime();
+        return new Date(truncate(date.getTime(), field, TimeZone.getDefault()));
     }
 
     /**
@@ -870,6 +916,28 @@ public static Date truncate(final Object date, final int field) {
         }
     }
 
+    /**
+     * <p>Truncates an instant in a time zone, leaving the field specified as
+     * the most significant field.</p>
+     *
+     * <p>The result is the one of {@link #truncate(Calendar, int)} for a
+     * {@code Calendar.getInstance(timeZone)} set to the instant, computed
+     * without allocating a {@code Calendar}. For instance, events can be
+     * bucketed by hour with {@code truncate(millis, Calendar.HOUR_OF_DAY, timeZone)}.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @param field  the field from {@code Calendar} or {@code SEMI_MONTH}
+     * @param timeZone  the time zone of the fields, not null
+     * @return the truncated instant, in milliseconds since the epoch
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws IllegalArgumentException if the field is not supported
+     * @throws ArithmeticException if the year is over 280 million
+     * @since 3.10
+     */
+    public static long truncate(final long millis, final int field, final TimeZone timeZone) {
+        return modify(millis, field, ModifyType.TRUNCATE, timeZone);
+    }
+
   //-----------------------------------------------------------------------
     /**
      * <p>Gets a date ceiling, leaving the field specified as the most
@@ -889,10 +957,7 @@ public static Date truncate(final Object date, final int field) {
      */
     public static Date ceiling(final Date date, final int field) {
         validateDateNotNull(date);
-        final Calendar gval = Calendar.getInstance();
-        gval.setTime(date);
-        modify(gval, field, ModifyType.CEILING);
-        return gval.getTime();
+        return new Date(ceiling(date.getTime(), field, TimeZone.getDefault()));
     }
 
     /**
@@ -950,7 +1015,186 @@ public static Date ceiling(final Object date, final int field) {
         }
     }
 
+    /**
+     * <p>Gets the ceiling of an instant in a time zone, leaving the field
+     * specified as the most significant field.</p>
+     *
+     * <p>The result is the one of {@link #ceiling(Calendar, int)} for a
+     * {@code Calendar.getInstance(timeZone)} set to the instant, computed
+     * without allocating a {@code Calendar}.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @param field  the field from {@code Calendar} or {@code SEMI_MONTH}
+     * @param timeZone  the time zone of the fields, not null
+     * @return the ceiling instant, in milliseconds since the epoch
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws IllegalArgumentException if the field is not supported
+     * @throws ArithmeticException if the year is over 280 million
+     * @since 3.10
+     */
+    public static long ceiling(final long millis, final int field, final TimeZone timeZone) {
+        return modify(millis, field, ModifyType.CEILING, timeZone);
+    }
+
     //-----------------------------------------------------------------------
+    /**
+     * <p>Internal calculation method for instants.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @param field  the field constant
+     * @param modType  type to truncate, round or ceiling
+     * @param timeZone  the time zone of the fields, not null
+     * @return the modified instant
+     * @throws ArithmeticException if the year is over 280 million
+     */
+    private static long modify(final long millis, final int field, final ModifyType modType, final TimeZone timeZone) {
+        final ZoneDescriptor zone = ZoneDescriptor.of(timeZone);
+        if (zone.isFixedOffset(millis)) {
+            final long local = modifyLocal(millis + zone.offset, field, modType);
+            if (local != Long.MIN_VALUE) {
+                return local - zone.offset;
+            }
+        }
+        final ZoneCalendar zoneCalendar = zone.takeCalendar();
+        try {
+            final Calendar val = zoneCalendar.calendar;
+            val.setTimeInMillis(millis);
+            modify(val, field, modType);
+            return val.getTimeInMillis();
+        } finally {
+            zoneCalendar.release();
+        }
+    }
+
+    /**
+     * <p>Performs the calculation of {@link #modify(Calendar, int, ModifyType)}
+     * on a local time of the Gregorian calendar, without DST.</p>
+     *
+     * @param local  the local time, in milliseconds since the local epoch
+     * @param field  the field constant
+     * @param modType  type to truncate, round or ceiling
+     * @return the modified local time, or {@code Long.MIN_VALUE} if a Calendar is needed
+     */
+    private static long modifyLocal(final long local, final int field, final ModifyType modType) {
+        if (field == Calendar.MILLISECOND) {
+            return local;
+        }
+        final long date = FastDatePrinter.toDateFields(Math.floorDiv(local, MILLIS_PER_DAY));
+        int year = (int) (date >> 32);
+        int month = (int) date >> 5 & 0xf;
+        int day = (int) date & 0x1f;
+        final int millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+        int hour = millisOfDay / 3600000;
+        int minutes = millisOfDay / 60000 % 60;
+        int seconds = millisOfDay / 1000 % 60;
+        final int millisecs = millisOfDay % 1000;
+        final boolean truncate = modType == ModifyType.TRUNCATE;
+
+        // as the fix for LANG-59, the smaller fields are dropped unless they round up
+        if (field != Calendar.SECOND) {
+            if (truncate || seconds < 30) {
+                seconds = 0;
+            }
+            if (field != Calendar.MINUTE && (truncate || minutes < 30)) {
+                minutes = 0;
+            }
+        }
+
+        // then each field is removed in turn, rounding up on the last one removed
+        boolean roundUp = millisecs > 499;
+        if (field == Calendar.SECOND) {
+            seconds += up(modType, roundUp);
+        } else {
+            roundUp = seconds > 29;
+            seconds = 0;
+            if (field == Calendar.MINUTE) {
+                minutes += up(modType, roundUp);
+            } else {
+                roundUp = minutes > 29;
+                minutes = 0;
+                if (field == Calendar.HOUR_OF_DAY || field == Calendar.HOUR) {
+                    hour += up(modType, roundUp);
+                } else {
+                    if (field == Calendar.AM_PM) {
+                        final int offset = hour >= 12 ? hour - 12 : hour;
+                        roundUp = offset >= 6;
+                        hour -= offset;
+                    } else {
+                        roundUp = hour > 11;
+                        hour = 0;
+                    }
+                    if (field == Calendar.DATE || field == Calendar.DAY_OF_MONTH) {
+                        day += up(modType, roundUp);
+                    } else if (field == Calendar.AM_PM) {
+                        if (up(modType, roundUp) == 1) {
+                            if (hour == 0) {
+                                hour = 12;
+                            } else {
+                                hour = 0;
+                                day++;
+                            }
+                        }
+                    } else {
+                        if (field == SEMI_MONTH) {
+                            int offset = day - 1;
+                            if (offset >= 15) {
+                                offset -= 15;
+                            }
+                            roundUp = offset > 7;
+                            day -= offset;
+                        } else {
+                            final int max = lengthOfMonth(year, month);
+                            roundUp = day - 1 > (max - 1) / 2;
+                            day = 1;
+                        }
+                        if (field == Calendar.MONTH || field == SEMI_MONTH) {
+                            if (up(modType, roundUp) == 1) {
+                                if (field == Calendar.MONTH || day != 1) {
+                                    day = 1;
+                                    month++;
+                                } else {
+                                    day = 16;
+                                }
+                            }
+                        } else if (field == Calendar.YEAR) {
+                            roundUp = month > 5;
+                            month = Calendar.JANUARY;
+                            year += up(modType, roundUp);
+                        } else {
+                            // the era, or an unsupported field
+                            return Long.MIN_VALUE;
+                        }
+                    }
+                }
+            }
+        }
+        if (month > Calendar.DECEMBER) {
+            month = Calendar.JANUARY;
+            year++;
+        }
+        return (FastDateParser.toEpochDay(year, month) + day - 1) * MILLIS_PER_DAY
+            + hour * MILLIS_PER_HOUR + minutes * MILLIS_PER_MINUTE + seconds * MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Gets the amount added to the field a local time is modified to.
+     *
+     * @param modType  type to truncate, round or ceiling
+     * @param roundUp  whether the last field removed was more than half way
+     * @return 1 if the field is increased, 0 otherwise
+     */
+    private static int up(final ModifyType modType, final boolean roundUp) {
+        return modType == ModifyType.CEILING || modType == ModifyType.ROUND && roundUp ? 1 : 0;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        if (month == Calendar.FEBRUARY) {
+            return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+        return month == Calendar.APRIL || month == Calendar.JUNE || month == Calendar.SEPTEMBER
+            || month == Calendar.NOVEMBER ? 30 : 31;
+    }
+
     /**
      * <p>Internal calculation method.</p>
      *
@@ -1482,6 +1726,27 @@ public static long getFragmentInDays(final Date date, final int fragment) {
   public static long getFragmentInMilliseconds(final Calendar calendar, final int fragment) {
     return getFragment(calendar, fragment, TimeUnit.MILLISECONDS);
   }
+
+    /**
+     * <p>Returns the number of milliseconds within the
+     * fragment of an instant in a time zone. All datefields greater than
+     * the fragment will be ignored.</p>
+     *
+     * <p>The result is the one of {@link #getFragmentInMilliseconds(Calendar, int)}
+     * for a {@code Calendar.getInstance(timeZone)} set to the instant, computed
+     * without allocating a {@code Calendar}.</p>
+     *
+     * @param millis the milliseconds since the epoch
+     * @param fragment the {@code Calendar} field part of the instant to calculate
+     * @param timeZone the time zone of the fields, not null
+     * @return number of milliseconds within the fragment of the instant
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws IllegalArgumentException if the fragment is not supported
+     * @since 3.10
+     */
+    public static long getFragmentInMilliseconds(final long millis, final int fragment, final TimeZone timeZone) {
+        return getFragment(millis, fragment, TimeUnit.MILLISECONDS, timeZone);
+    }
     /**
      * <p>Returns the number of seconds within the
      * fragment. All datefields greater than the fragment will be ignored.</p>
@@ -1649,9 +1914,64 @@ public static long getFragmentInDays(final Calendar calendar, final int fragment
      */
     private static long getFragment(final Date date, final int fragment, final TimeUnit unit) {
         validateDateNotNull(date);
-        final Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        return getFragment(calendar, fragment, unit);
+        return getFragment(date.getTime(), fragment, unit, TimeZone.getDefault());
+    }
+
+    /**
+     * Gets the fragment of an instant for any unit.
+     *
+     * @param millis the milliseconds since the epoch
+     * @param fragment the Calendar field part of the instant to calculate
+     * @param unit the time unit
+     * @param timeZone the time zone of the fields, not null
+     * @return number of units within the fragment of the instant
+     * @throws IllegalArgumentException if the fragment is not supported
+     */
+    private static long getFragment(final long millis, final int fragment, final TimeUnit unit,
+            final TimeZone timeZone) {
+        final ZoneDescriptor zone = ZoneDescriptor.of(timeZone);
+        if (!zone.isGregorian || millis < ZoneOffsetWindow.MIN_CALENDAR_FREE_MILLIS
+                || millis >= ZoneOffsetWindow.MAX_CALENDAR_FREE_MILLIS) {
+            final ZoneCalendar zoneCalendar = zone.takeCalendar();
+            try {
+                final Calendar calendar = zoneCalendar.calendar;
+                calendar.setTimeInMillis(millis);
+                return getFragment(calendar, fragment, unit);
+            } finally {
+                zoneCalendar.release();
+            }
+        }
+        // the fields are those of the local time, whatever the DST rules
+        final long local = millis + timeZone.getOffset(millis);
+        final long date = FastDatePrinter.toDateFields(Math.floorDiv(local, MILLIS_PER_DAY));
+        final long millisOfDay = Math.floorMod(local, MILLIS_PER_DAY);
+        final long days;
+        switch (fragment) {
+            case Calendar.YEAR:
+                days = (int) date >> 12 & 0x1ff;
+                break;
+            case Calendar.MONTH:
+                days = (int) date & 0x1f;
+                break;
+            case Calendar.DAY_OF_YEAR:
+            case Calendar.DATE:
+                return unit.convert(millisOfDay, TimeUnit.MILLISECONDS);
+            case Calendar.HOUR_OF_DAY:
+                return unit.convert(millisOfDay % MILLIS_PER_HOUR, TimeUnit.MILLISECONDS);
+            case Calendar.MINUTE:
+                return unit.convert(millisOfDay % MILLIS_PER_MINUTE, TimeUnit.MILLISECONDS);
+            case Calendar.SECOND:
+                return unit.convert(millisOfDay % MILLIS_PER_SECOND, TimeUnit.MILLISECONDS);
+            case Calendar.MILLISECOND:
+                return 0;
+            default:
+                throw new IllegalArgumentException("The fragment " + fragment + " is not supported");
+        }
+        if (unit == TimeUnit.DAYS) {
+            // as the Calendar calculation, the day of a year or month is counted from one
+            return days;
+        }
+        return unit.convert((days - 1) * MILLIS_PER_DAY + millisOfDay, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -1785,10 +2105,155 @@ public static int truncatedCompareTo(final Date date1, final Date date2, final i
         return truncatedDate1.compareTo(truncatedDate2);
     }
 
+    /**
+     * Determines how two instants compare up to no more than the specified
+     * most significant field in a time zone.
+     *
+     * @param millis1 the first instant, in milliseconds since the epoch
+     * @param millis2 the second instant, in milliseconds since the epoch
+     * @param field the field from {@code Calendar}
+     * @param timeZone the time zone of the fields, not null
+     * @return a negative integer, zero, or a positive integer as the first
+     * instant is less than, equal to, or greater than the second.
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws IllegalArgumentException if the field is not supported
+     * @see #truncate(long, int, TimeZone)
+     * @since 3.10
+     */
+    public static int truncatedCompareTo(final long millis1, final long millis2, final int field,
+            final TimeZone timeZone) {
+        return Long.compare(truncate(millis1, field, timeZone), truncate(millis2, field, timeZone));
+    }
+
     private static void validateDateNotNull(final Date date) {
         Validate.isTrue(date != null, "The date must not be null");
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * <p>A time zone in the default locale, and whether the calculations
+     * in the zone can be done without a Calendar.</p>
+     */
+    private static final class ZoneDescriptor {
+
+        /**
+         * Gets the descriptor of a time zone in the default locale, creating it if neither
+         * slot of its pair holds it.
+         *
+         * @param timeZone the time zone, not null
+         * @return the descriptor of the time zone
+         */
+        static ZoneDescriptor of(final TimeZone timeZone) {
+            Objects.requireNonNull(timeZone, "timeZone");
+            final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+            final int hash = timeZone.getID().hashCode();
+            final int slot = (hash ^ hash >>> 16) & ZONE_SLOTS - 1;
+            final ZoneDescriptor first = ZONE_DESCRIPTORS.get(slot);
+            if (first != null && first.matches(timeZone, locale)) {
+                return first;
+            }
+            final ZoneDescriptor second = ZONE_DESCRIPTORS.get(slot ^ 1);
+            if (second != null && second.matches(timeZone, locale)) {
+                return second;
+            }
+            // two zones of a pair are both kept, a third one replaces the first
+            final ZoneDescriptor zone = new ZoneDescriptor(timeZone, locale,
+                first != null && second == null ? slot ^ 1 : slot);
+            ZONE_DESCRIPTORS.set(zone.slot, zone);
+            if (zone.isGregorian) {
+                ZONE_CALENDARS.set(zone.slot, zone.firstCalendar);
+            }
+            return zone;
+        }
+
+        /** A copy of the time zone, which the caller may modify. */
+        private final TimeZone timeZone;
+        private final Locale locale;
+        /** The slot of the descriptor, and of its Calendar. */
+        private final int slot;
+        /** Whether the Calendar uses the months and days of the Gregorian calendar. */
+        final boolean isGregorian;
+        /** Whether the time zone has always had the same offset. */
+        private final boolean isFixedOffset;
+        /** The offset of the time zone, if it is fixed. */
+        final int offset;
+        /** The Calendar created to check the calendar system, pooled once the descriptor is. */
+        private final ZoneCalendar firstCalendar;
+
+        private ZoneDescriptor(final TimeZone timeZone, final Locale locale, final int slot) {
+            this.timeZone = (TimeZone) timeZone.clone();
+            this.locale = locale;
+            this.slot = slot;
+            final Calendar calendar = Calendar.getInstance((TimeZone) this.timeZone.clone(), locale);
+            // a BuddhistCalendar only numbers the years differently
+            isGregorian = calendar instanceof GregorianCalendar;
+            firstCalendar = new ZoneCalendar(this, calendar);
+            offset = timeZone.getRawOffset();
+            final ZoneRules rules = ZoneOffsetWindow.getZoneRules(timeZone);
+            isFixedOffset = rules != null ? rules.isFixedOffset() && timeZone.getOffset(0) == offset
+                : !timeZone.useDaylightTime() && (timeZone instanceof GmtTimeZone || timeZone instanceof SimpleTimeZone);
+        }
+
+        private boolean matches(final TimeZone timeZone, final Locale locale) {
+            return this.locale.equals(locale) && this.timeZone.equals(timeZone);
+        }
+
+        /**
+         * Checks whether an instant can be truncated, rounded or ceiled arithmetically.
+         *
+         * @param millis the milliseconds since the epoch
+         * @return {@code true} if the instant is in the Gregorian calendar and the offset is fixed
+         */
+        boolean isFixedOffset(final long millis) {
+            return isFixedOffset && isGregorian && millis >= ZoneOffsetWindow.MIN_CALENDAR_FREE_MILLIS
+                && millis < ZoneOffsetWindow.MAX_CALENDAR_FREE_MILLIS;
+        }
+
+        /**
+         * Takes the Calendar of the time zone out of its slot, or creates it if the slot is
+         * empty, because another thread is using it, or holds the Calendar of a replaced
+         * descriptor. The caller puts it back with {@link ZoneCalendar#release()}.
+         *
+         * @return the Calendar of the time zone, or a new one with a new copy of the time zone
+         * if it is not a GregorianCalendar, as a JapaneseImperialCalendar may leave the DST
+         * rules of a reused time zone computing wrong offsets for some later instants
+         */
+        ZoneCalendar takeCalendar() {
+            if (isGregorian) {
+                final ZoneCalendar pooled = ZONE_CALENDARS.get(slot);
+                if (pooled != null && pooled.zone == this && ZONE_CALENDARS.compareAndSet(slot, pooled, null)) {
+                    return pooled;
+                }
+            }
+            return new ZoneCalendar(this, Calendar.getInstance((TimeZone) timeZone.clone(), locale));
+        }
+    }
+
+    /**
+     * <p>A Calendar set to the time zone of a descriptor, used by one thread at a time.</p>
+     */
+    private static final class ZoneCalendar {
+
+        private final ZoneDescriptor zone;
+        /** The Calendar, as {@code Calendar.getInstance(timeZone)}. */
+        final Calendar calendar;
+
+        ZoneCalendar(final ZoneDescriptor zone, final Calendar calendar) {
+            this.zone = zone;
+            this.calendar = calendar;
+        }
+
+        /**
+         * Puts this Calendar back in its slot, once the caller no longer uses it, unless the
+         * slot holds another Calendar or the descriptor has been replaced.
+         */
+        void release() {
+            if (zone.isGregorian && ZONE_DESCRIPTORS.get(zone.slot) == zone) {
+                ZONE_CALENDARS.compareAndSet(zone.slot, null, this);
+            }
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * <p>Date iterator.</p>
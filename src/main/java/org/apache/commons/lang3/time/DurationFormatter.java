@@ -0,0 +1,781 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.time.DurationFormatUtils.Token;
+
+/**
+ * <p>DurationFormatter formats durations and periods with a pattern which is parsed once.</p>
+ *
+ * <p>The pattern language is described in {@link DurationFormatUtils}, and the results are those
+ * of its {@code formatDuration} and {@code formatPeriod} methods. Unlike these methods, which parse
+ * the pattern on every call, a DurationFormatter is created once and reused. Instances are
+ * immutable and thread-safe.</p>
+ *
+ * <p>Durations are split into fields arithmetically. Periods are computed without a Calendar when
+ * the start is after 1582, the default calendar is Gregorian or Buddhist, and the time zone does
+ * not skip a local time the computation passes through. Otherwise a Calendar is used, as
+ * {@link DurationFormatUtils#formatPeriod(long, long, String, boolean, TimeZone)} does.</p>
+ *
+ * @since 3.10
+ */
+public class DurationFormatter {
+
+    private static final long MILLIS_PER_DAY = DateUtils.MILLIS_PER_DAY;
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private static final Object y = DurationFormatUtils.y;
+    private static final Object M = DurationFormatUtils.M;
+    private static final Object d = DurationFormatUtils.d;
+    private static final Object H = DurationFormatUtils.H;
+    private static final Object m = DurationFormatUtils.m;
+    private static final Object s = DurationFormatUtils.s;
+    private static final Object S = DurationFormatUtils.S;
+
+    /**
+     * <p>Gets a formatter which pads the left hand side of numbers with zeroes.</p>
+     *
+     * @param pattern  the pattern, as {@link DurationFormatUtils} describes it, not null
+     * @return a formatter for the pattern
+     * @throws IllegalArgumentException if the pattern has an unmatched quote
+     */
+    public static DurationFormatter getInstance(final String pattern) {
+        return getInstance(pattern, true);
+    }
+
+    /**
+     * <p>Gets a formatter.</p>
+     *
+     * @param pattern  the pattern, as {@link DurationFormatUtils} describes it, not null
+     * @param padWithZeros  whether to pad the left hand side of numbers with 0's
+     * @return a formatter for the pattern
+     * @throws IllegalArgumentException if the pattern has an unmatched quote
+     */
+    public static DurationFormatter getInstance(final String pattern, final boolean padWithZeros) {
+        return new DurationFormatter(pattern, padWithZeros);
+    }
+
+    private final String pattern;
+    private final boolean padWithZeros;
+    /** The field constants of {@link DurationFormatUtils}, or the literal Strings. */
+    private final Object[] values;
+    /** The number of times each field is repeated. */
+    private final int[] counts;
+    private final boolean hasYears;
+    private final boolean hasMonths;
+    private final boolean hasDays;
+    private final boolean hasHours;
+    private final boolean hasMinutes;
+    private final boolean hasSeconds;
+
+    /**
+     * <p>Constructs a new formatter.</p>
+     *
+     * @param pattern  the pattern, not null
+     * @param padWithZeros  whether to pad the left hand side of numbers with 0's
+     */
+    protected DurationFormatter(final String pattern, final boolean padWithZeros) {
+        final Token[] tokens = DurationFormatUtils.lexx(pattern);
+        this.pattern = pattern;
+        this.padWithZeros = padWithZeros;
+        values = new Object[tokens.length];
+        counts = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            final Object value = tokens[i].getValue();
+            values[i] = value instanceof StringBuilder ? value.toString() : value;
+            counts[i] = tokens[i].getCount();
+        }
+        hasYears = Token.containsTokenWithValue(tokens, y);
+        hasMonths = Token.containsTokenWithValue(tokens, M);
+        hasDays = Token.containsTokenWithValue(tokens, d);
+        hasHours = Token.containsTokenWithValue(tokens, H);
+        hasMinutes = Token.containsTokenWithValue(tokens, m);
+        hasSeconds = Token.containsTokenWithValue(tokens, s);
+    }
+
+    // Durations
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Formats a duration, using the days and lower fields of the pattern.</p>
+     *
+     * @param durationMillis  the duration to format
+     * @return the formatted duration, not null
+     * @throws IllegalArgumentException if durationMillis is negative
+     */
+    public String format(final long durationMillis) {
+        return format(durationMillis, new StringBuilder(pattern.length() + 16)).toString();
+    }
+
+    /**
+     * <p>Formats a duration into an Appendable, using the days and lower fields of the pattern.</p>
+     *
+     * @param durationMillis  the duration to format
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     * @throws IllegalArgumentException if durationMillis is negative
+     */
+    public <B extends Appendable> B format(final long durationMillis, final B buf) {
+        Validate.inclusiveBetween(0, Long.MAX_VALUE, durationMillis, "durationMillis must not be negative");
+        return formatDuration(durationMillis, buf);
+    }
+
+    /**
+     * <p>Formats a duration measured in nanoseconds, such as the difference of two
+     * {@link System#nanoTime()} values. The nanoseconds below a millisecond are truncated.</p>
+     *
+     * @param durationNanos  the duration to format
+     * @return the formatted duration, not null
+     * @throws IllegalArgumentException if durationNanos is negative
+     */
+    public String formatNanos(final long durationNanos) {
+        return formatNanos(durationNanos, new StringBuilder(pattern.length() + 16)).toString();
+    }
+
+    /**
+     * <p>Formats a duration measured in nanoseconds into an Appendable. The nanoseconds below a
+     * millisecond are truncated.</p>
+     *
+     * @param durationNanos  the duration to format
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     * @throws IllegalArgumentException if durationNanos is negative
+     */
+    public <B extends Appendable> B formatNanos(final long durationNanos, final B buf) {
+        Validate.inclusiveBetween(0, Long.MAX_VALUE, durationNanos, "durationNanos must not be negative");
+        return formatDuration(durationNanos / NANOS_PER_MILLI, buf);
+    }
+
+    private <B extends Appendable> B formatDuration(final long durationMillis, final B buf) {
+        long days = 0;
+        long hours = 0;
+        long minutes = 0;
+        long seconds = 0;
+        long milliseconds = durationMillis;
+
+        if (hasDays) {
+            days = milliseconds / DateUtils.MILLIS_PER_DAY;
+            milliseconds = milliseconds - (days * DateUtils.MILLIS_PER_DAY);
+        }
+        if (hasHours) {
+            hours = milliseconds / DateUtils.MILLIS_PER_HOUR;
+            milliseconds = milliseconds - (hours * DateUtils.MILLIS_PER_HOUR);
+        }
+        if (hasMinutes) {
+            minutes = milliseconds / DateUtils.MILLIS_PER_MINUTE;
+            milliseconds = milliseconds - (minutes * DateUtils.MILLIS_PER_MINUTE);
+        }
+        if (hasSeconds) {
+            seconds = milliseconds / DateUtils.MILLIS_PER_SECOND;
+            milliseconds = milliseconds - (seconds * DateUtils.MILLIS_PER_SECOND);
+        }
+        return appendTo(buf, 0, 0, days, hours, minutes, seconds, milliseconds);
+    }
+
+    // Periods
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Formats the period between two instants in the default time zone.</p>
+     *
+     * @param startMillis  the start of the period
+     * @param endMillis  the end of the period
+     * @return the formatted period, not null
+     * @throws IllegalArgumentException if startMillis is greater than endMillis
+     */
+    public String formatPeriod(final long startMillis, final long endMillis) {
+        return formatPeriod(startMillis, endMillis, TimeZone.getDefault());
+    }
+
+    /**
+     * <p>Formats the period between two instants in a time zone.</p>
+     *
+     * @param startMillis  the start of the period
+     * @param endMillis  the end of the period
+     * @param timeZone  the time zone of the fields, not null
+     * @return the formatted period, not null
+     * @throws IllegalArgumentException if startMillis is greater than endMillis
+     * @see DurationFormatUtils#formatPeriod(long, long, String, boolean, TimeZone)
+     */
+    public String formatPeriod(final long startMillis, final long endMillis, final TimeZone timeZone) {
+        return formatPeriod(startMillis, endMillis, timeZone, new StringBuilder(pattern.length() + 16)).toString();
+    }
+
+    /**
+     * <p>Formats the period between two instants in a time zone into an Appendable.</p>
+     *
+     * @param startMillis  the start of the period
+     * @param endMillis  the end of the period
+     * @param timeZone  the time zone of the fields, not null
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     * @throws IllegalArgumentException if startMillis is greater than endMillis
+     * @see DurationFormatUtils#formatPeriod(long, long, String, boolean, TimeZone)
+     */
+    public <B extends Appendable> B formatPeriod(final long startMillis, final long endMillis, final TimeZone timeZone,
+            final B buf) {
+        Validate.isTrue(startMillis <= endMillis, "startMillis must not be greater than endMillis");
+        if (isGregorianDefault()) {
+            final LocalFields start = new LocalFields(timeZone, startMillis);
+            if (start.getYear() > 1582 && formatPeriod(start, new LocalFields(timeZone, endMillis), buf)) {
+                return buf;
+            }
+        }
+        final Calendar start = Calendar.getInstance(timeZone);
+        start.setTime(new Date(startMillis));
+        final Calendar end = Calendar.getInstance(timeZone);
+        end.setTime(new Date(endMillis));
+        return formatPeriod(start, end, buf);
+    }
+
+    /**
+     * <p>Checks whether the default Calendar computes periods as a GregorianCalendar does.</p>
+     *
+     * @return {@code false} if {@link Calendar#getInstance()} returns a Japanese imperial calendar
+     */
+    private static boolean isGregorianDefault() {
+        // as Calendar.getInstance(), a Buddhist calendar only differs in the numbering of the years
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        return !"japanese".equals(locale.getUnicodeLocaleType("ca"))
+            && !("ja".equals(locale.getLanguage()) && "JP".equals(locale.getCountry())
+                && "JP".equals(locale.getVariant()));
+    }
+
+    /**
+     * <p>Formats a period with Calendars.</p>
+     *
+     * @param start  the start of the period, which is modified
+     * @param end  the end of the period
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     */
+    <B extends Appendable> B formatPeriod(final Calendar start, final Calendar end, final B buf) {
+        formatPeriod(new CalendarFields(start), new CalendarFields(end), buf);
+        return buf;
+    }
+
+    /**
+     * <p>Formats a period, moving the start forwards as {@link Calendar#add(int, int)} does.</p>
+     *
+     * @param start  the fields of the start, which are modified
+     * @param end  the fields of the end
+     * @param buf  the buffer to format into
+     * @return {@code false} if the start could not be moved, in which case nothing was appended
+     */
+    private boolean formatPeriod(final PeriodFields start, final PeriodFields end, final Appendable buf) {
+        final int startMillisOfDay = start.getMillisOfDay();
+        final int endMillisOfDay = end.getMillisOfDay();
+
+        // initial estimates
+        int milliseconds = endMillisOfDay % 1000 - startMillisOfDay % 1000;
+        int seconds = endMillisOfDay / 1000 % 60 - startMillisOfDay / 1000 % 60;
+        int minutes = endMillisOfDay / 60000 % 60 - startMillisOfDay / 60000 % 60;
+        int hours = endMillisOfDay / 3600000 - startMillisOfDay / 3600000;
+        int days = end.getDayOfMonth() - start.getDayOfMonth();
+        int months = end.getMonth() - start.getMonth();
+        int years = end.getYear() - start.getYear();
+
+        // each initial estimate is adjusted in case it is under 0
+        while (milliseconds < 0) {
+            milliseconds += 1000;
+            seconds -= 1;
+        }
+        while (seconds < 0) {
+            seconds += 60;
+            minutes -= 1;
+        }
+        while (minutes < 0) {
+            minutes += 60;
+            hours -= 1;
+        }
+        while (hours < 0) {
+            hours += 24;
+            days -= 1;
+        }
+
+        if (hasMonths) {
+            while (days < 0) {
+                days += start.getLengthOfMonth();
+                months -= 1;
+                if (!start.addMonth()) {
+                    return false;
+                }
+            }
+
+            while (months < 0) {
+                months += 12;
+                years -= 1;
+            }
+
+            if (!hasYears && years != 0) {
+                months += 12 * years;
+                years = 0;
+            }
+        } else {
+            // there are no M's in the format string
+
+            if (!hasYears) {
+                int target = end.getYear();
+                if (months < 0) {
+                    // target is end-year -1
+                    target -= 1;
+                }
+                if (start.isPastYear(target)) {
+                    return false;
+                }
+
+                while (start.getYear() != target) {
+                    days += start.getLengthOfYear() - start.getDayOfYear();
+
+                    // Not sure I grok why this is needed, but the brutal tests show it is
+                    if (start.isGregorianLeapDay()) {
+                        days += 1;
+                    }
+
+                    if (!start.addYear()) {
+                        return false;
+                    }
+
+                    days += start.getDayOfYear();
+                }
+
+                years = 0;
+            }
+
+            while (start.getMonth() != end.getMonth()) {
+                days += start.getLengthOfMonth();
+                if (!start.addMonth()) {
+                    return false;
+                }
+            }
+
+            months = 0;
+
+            while (days < 0) {
+                days += start.getLengthOfMonth();
+                months -= 1;
+                if (!start.addMonth()) {
+                    return false;
+                }
+            }
+        }
+
+        // The rest of this code adds in values that
+        // aren't requested. This allows the user to ask for the
+        // number of months and get the real count and not just 0->11.
+
+        if (!hasDays) {
+            hours += 24 * days;
+            days = 0;
+        }
+        if (!hasHours) {
+            minutes += 60 * hours;
+            hours = 0;
+        }
+        if (!hasMinutes) {
+            seconds += 60 * minutes;
+            minutes = 0;
+        }
+        if (!hasSeconds) {
+            milliseconds += 1000 * seconds;
+            seconds = 0;
+        }
+        appendTo(buf, years, months, days, hours, minutes, seconds, milliseconds);
+        return true;
+    }
+
+    // Output
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Appends the fields in the order of the pattern.</p>
+     *
+     * @param buf  the buffer to format into
+     * @param years  the number of years
+     * @param months  the number of months
+     * @param days  the number of days
+     * @param hours  the number of hours
+     * @param minutes  the number of minutes
+     * @param seconds  the number of seconds
+     * @param milliseconds  the number of millis
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     */
+    private <B extends Appendable> B appendTo(final B buf, final long years, final long months, final long days,
+            final long hours, final long minutes, final long seconds, final long milliseconds) {
+        try {
+            boolean lastOutputSeconds = false;
+            for (int i = 0; i < values.length; i++) {
+                final Object value = values[i];
+                final int count = counts[i];
+                if (value == y) {
+                    appendPadded(buf, years, padWithZeros, count);
+                    lastOutputSeconds = false;
+                } else if (value == M) {
+                    appendPadded(buf, months, padWithZeros, count);
+                    lastOutputSeconds = false;
+                } else if (value == d) {
+                    appendPadded(buf, days, padWithZeros, count);
+                    lastOutputSeconds = false;
+                } else if (value == H) {
+                    appendPadded(buf, hours, padWithZeros, count);
+                    lastOutputSeconds = false;
+                } else if (value == m) {
+                    appendPadded(buf, minutes, padWithZeros, count);
+                    lastOutputSeconds = false;
+                } else if (value == s) {
+                    appendPadded(buf, seconds, padWithZeros, count);
+                    lastOutputSeconds = true;
+                } else if (value == S) {
+                    if (lastOutputSeconds) {
+                        // ensure at least 3 digits are displayed even if padding is not selected
+                        appendPadded(buf, milliseconds, true, padWithZeros ? Math.max(3, count) : 3);
+                    } else {
+                        appendPadded(buf, milliseconds, padWithZeros, count);
+                    }
+                    lastOutputSeconds = false;
+                } else {
+                    buf.append((String) value);
+                }
+            }
+        } catch (final IOException ioe) {
+            ExceptionUtils.rethrow(ioe);
+        }
+        return buf;
+    }
+
+    /**
+     * <p>Appends the decimal digits of a value, optionally left padded with zeroes.</p>
+     *
+     * @param buf  the buffer to format into
+     * @param value  the value to append
+     * @param padWithZeros  whether to pad with zeroes
+     * @param count  the size to pad to (ignored if {@code padWithZeros} is false)
+     * @throws IOException if the buffer throws it
+     */
+    private static void appendPadded(final Appendable buf, final long value, final boolean padWithZeros,
+            final int count) throws IOException {
+        if (value < 0) {
+            // as StringUtils.leftPad, the zeroes go before the sign
+            final String longString = Long.toString(value);
+            for (int i = longString.length(); padWithZeros && i < count; i++) {
+                buf.append('0');
+            }
+            buf.append(longString);
+            return;
+        }
+        int digits = 1;
+        long power = 1;
+        while (digits < 19 && value >= power * 10) {
+            power *= 10;
+            digits++;
+        }
+        for (int i = digits; padWithZeros && i < count; i++) {
+            buf.append('0');
+        }
+        for (; power > 0; power /= 10) {
+            buf.append((char) ('0' + value / power % 10));
+        }
+    }
+
+    // Accessors
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the pattern used by this formatter.</p>
+     *
+     * @return the pattern, as {@link DurationFormatUtils} describes it
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * <p>Gets whether this formatter pads the left hand side of numbers with zeroes.</p>
+     *
+     * @return {@code true} if numbers are padded
+     */
+    public boolean isPadWithZeros() {
+        return padWithZeros;
+    }
+
+    /**
+     * <p>Gets a debugging string version of this formatter.</p>
+     *
+     * @return a debugging string
+     */
+    @Override
+    public String toString() {
+        return "DurationFormatter[" + pattern + "]";
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>The fields of an instant that the period computation reads, and the operations that move
+     * the start of a period forwards.</p>
+     */
+    private abstract static class PeriodFields {
+        abstract int getYear();
+
+        abstract int getMonth();
+
+        abstract int getDayOfMonth();
+
+        abstract int getDayOfYear();
+
+        abstract int getMillisOfDay();
+
+        abstract int getLengthOfMonth();
+
+        abstract int getLengthOfYear();
+
+        /**
+         * Checks whether the fields are on February 29th of a Gregorian calendar.
+         *
+         * @return {@code true} on a Gregorian leap day
+         */
+        abstract boolean isGregorianLeapDay();
+
+        /**
+         * Checks whether adding years can never reach a year.
+         *
+         * @param target  the year to reach
+         * @return {@code true} if the year is behind
+         */
+        abstract boolean isPastYear(int target);
+
+        /**
+         * Adds a month, as {@code Calendar.add(Calendar.MONTH, 1)}.
+         *
+         * @return {@code false} if the month could not be added
+         */
+        abstract boolean addMonth();
+
+        /**
+         * Adds a year, as {@code Calendar.add(Calendar.YEAR, 1)}.
+         *
+         * @return {@code false} if the year could not be added
+         */
+        abstract boolean addYear();
+    }
+
+    /**
+     * <p>The fields of a Calendar, which always moves.</p>
+     */
+    private static final class CalendarFields extends PeriodFields {
+        private final Calendar calendar;
+
+        CalendarFields(final Calendar calendar) {
+            this.calendar = calendar;
+        }
+
+        @Override
+        int getYear() {
+            return calendar.get(Calendar.YEAR);
+        }
+
+        @Override
+        int getMonth() {
+            return calendar.get(Calendar.MONTH);
+        }
+
+        @Override
+        int getDayOfMonth() {
+            return calendar.get(Calendar.DAY_OF_MONTH);
+        }
+
+        @Override
+        int getDayOfYear() {
+            return calendar.get(Calendar.DAY_OF_YEAR);
+        }
+
+        @Override
+        int getMillisOfDay() {
+            return ((calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE)) * 60
+                + calendar.get(Calendar.SECOND)) * 1000 + calendar.get(Calendar.MILLISECOND);
+        }
+
+        @Override
+        int getLengthOfMonth() {
+            return calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        }
+
+        @Override
+        int getLengthOfYear() {
+            return calendar.getActualMaximum(Calendar.DAY_OF_YEAR);
+        }
+
+        @Override
+        boolean isGregorianLeapDay() {
+            return calendar instanceof GregorianCalendar
+                && calendar.get(Calendar.MONTH) == Calendar.FEBRUARY
+                && calendar.get(Calendar.DAY_OF_MONTH) == 29;
+        }
+
+        @Override
+        boolean isPastYear(final int target) {
+            // the years of an era may count down, so leave it to Calendar.add
+            return false;
+        }
+
+        @Override
+        boolean addMonth() {
+            calendar.add(Calendar.MONTH, 1);
+            return true;
+        }
+
+        @Override
+        boolean addYear() {
+            calendar.add(Calendar.YEAR, 1);
+            return true;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>The local date and time of an instant in the Gregorian calendar, which can be moved
+     * forwards as a Calendar is.</p>
+     */
+    private static final class LocalFields extends PeriodFields {
+        private final TimeZone timeZone;
+        private int year;
+        private int month;
+        private int day;
+        private int dayOfYear;
+        private final int millisOfDay;
+
+        /**
+         * Computes the local fields of an instant.
+         *
+         * @param timeZone  the time zone
+         * @param millis  the milliseconds since the epoch
+         */
+        LocalFields(final TimeZone timeZone, final long millis) {
+            this.timeZone = timeZone;
+            final long local = millis + timeZone.getOffset(millis);
+            final long date = FastDatePrinter.toDateFields(Math.floorDiv(local, MILLIS_PER_DAY));
+            year = (int) (date >> 32);
+            month = (int) date >> 5 & 0xf;
+            day = (int) date & 0x1f;
+            dayOfYear = (int) date >> 12 & 0x1ff;
+            millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+        }
+
+        @Override
+        int getYear() {
+            return year;
+        }
+
+        @Override
+        int getMonth() {
+            return month;
+        }
+
+        @Override
+        int getDayOfMonth() {
+            return day;
+        }
+
+        @Override
+        int getDayOfYear() {
+            return dayOfYear;
+        }
+
+        @Override
+        int getMillisOfDay() {
+            return millisOfDay;
+        }
+
+        @Override
+        int getLengthOfMonth() {
+            if (month == Calendar.FEBRUARY) {
+                return isLeapYear() ? 29 : 28;
+            }
+            return month == Calendar.APRIL || month == Calendar.JUNE || month == Calendar.SEPTEMBER
+                || month == Calendar.NOVEMBER ? 30 : 31;
+        }
+
+        @Override
+        int getLengthOfYear() {
+            return isLeapYear() ? 366 : 365;
+        }
+
+        @Override
+        boolean isGregorianLeapDay() {
+            return month == Calendar.FEBRUARY && day == 29;
+        }
+
+        @Override
+        boolean isPastYear(final int target) {
+            // the local fields of the start can be after those of the end around a change of offset
+            return year > target;
+        }
+
+        private boolean isLeapYear() {
+            return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@code false} if the local time does not exist, so a Calendar would move it
+         */
+        @Override
+        boolean addMonth() {
+            if (++month > Calendar.DECEMBER) {
+                month = Calendar.JANUARY;
+                year++;
+            }
+            return pinDayOfMonth();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@code false} if the local time does not exist, so a Calendar would move it
+         */
+        @Override
+        boolean addYear() {
+            year++;
+            return pinDayOfMonth();
+        }
+
+        private boolean pinDayOfMonth() {
+            day = Math.min(day, getLengthOfMonth());
+            final long epochDay = FastDateParser.toEpochDay(year, month) + day - 1;
+            dayOfYear = (int) (epochDay - FastDateParser.toEpochDay(year, Calendar.JANUARY)) + 1;
+            // the local time exists if an instant has it, which can only have one of the offsets around it
+            final long local = epochDay * MILLIS_PER_DAY + millisOfDay;
+            final long guess = local - timeZone.getOffset(local);
+            final int offset = timeZone.getOffset(guess);
+            if (guess + offset == local) {
+                return true;
+            }
+            final long other = local - offset;
+            return other + timeZone.getOffset(other) == local;
+        }
+    }
+}
@@ -21,10 +21,21 @@
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 
 /**
  * <p>FastDateFormat is a fast and thread-safe version of
@@ -109,6 +120,121 @@ protected FastDateFormat createInstance(final String pattern, final TimeZone tim
     private final FastDatePrinter printer;
     private final FastDateParser parser;
 
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Sets the maximum number of formatters cached by the factory methods.</p>
+     *
+     * <p>The cache is unbounded by default. Beyond the maximum size, the least recently used formatters are
+     * evicted, and are created again the next time they are requested. Formatters already obtained remain
+     * valid. The cache of the patterns of the date and time styles is bounded by the same maximum size.</p>
+     *
+     * @param maximumSize  the maximum size, {@link Integer#MAX_VALUE} for an unbounded cache
+     * @throws IllegalArgumentException if the maximum size is not positive
+     * @since 3.10
+     */
+    public static void setCacheMaximumSize(final int maximumSize) {
+        cache.setMaximumSize(maximumSize);
+        FormatCache.setPatternCacheMaximumSize(maximumSize);
+    }
+
+    /**
+     * <p>Gets a snapshot of the statistics of the cache of the factory methods: the hits, misses and
+     * evictions since the class was loaded, the size and the maximum size.</p>
+     *
+     * @return the statistics
+     * @since 3.10
+     */
+    public static FormatCacheStatistics getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * <p>Preloads the formats of the factory methods for every combination of the patterns, time zones and locales,
+     * so that the first requests using them do not pay for their creation.</p>
+     *
+     * <p>Each format is obtained from {@link #getInstance(String, TimeZone, Locale)}, which caches it and the
+     * parsing strategies shared by the formats of its locale, then formats and parses the current date once.
+     * The formats are preloaded one after the other, in the calling thread.</p>
+     *
+     * @param patterns  the {@link java.text.SimpleDateFormat} compatible patterns, not null
+     * @param timeZones  the time zones, not null, null elements meaning the default TimeZone
+     * @param locales  the locales, not null, null elements meaning the default Locale
+     * @return the report of the time taken by each format
+     * @throws NullPointerException if a collection or a pattern is null
+     * @throws IllegalArgumentException if a pattern is invalid, after the other formats are preloaded
+     * @since 3.10
+     */
+    public static FormatPreloadReport preload(final Collection<String> patterns, final Collection<TimeZone> timeZones,
+            final Collection<Locale> locales) {
+        return preload(patterns, timeZones, locales, Runnable::run);
+    }
+
+    /**
+     * <p>Preloads the formats of the factory methods for every combination of the patterns, time zones and locales,
+     * in parallel on an executor, so that the first requests using them do not pay for their creation.</p>
+     *
+     * <p>Each format is obtained from {@link #getInstance(String, TimeZone, Locale)}, which caches it and the
+     * parsing strategies shared by the formats of its locale, then formats and parses the current date once.
+     * This method returns when all the formats are preloaded.</p>
+     *
+     * @param patterns  the {@link java.text.SimpleDateFormat} compatible patterns, not null
+     * @param timeZones  the time zones, not null, null elements meaning the default TimeZone
+     * @param locales  the locales, not null, null elements meaning the default Locale
+     * @param executor  the executor running the preload of each format, not null
+     * @return the report of the time taken by each format
+     * @throws NullPointerException if a collection, a pattern or the executor is null
+     * @throws IllegalArgumentException if a pattern is invalid, after the other formats are preloaded
+     * @since 3.10
+     */
+    public static FormatPreloadReport preload(final Collection<String> patterns, final Collection<TimeZone> timeZones,
+            final Collection<Locale> locales, final Executor executor) {
+        Validate.notNull(patterns, "patterns");
+        Validate.notNull(timeZones, "timeZones");
+        Validate.notNull(locales, "locales");
+        Validate.notNull(executor, "executor");
+        final long start = System.nanoTime();
+        final List<CompletableFuture<FormatPreloadReport.Entry>> futures = new ArrayList<>();
+        for (final String pattern : patterns) {
+            for (final TimeZone timeZone : timeZones) {
+                for (final Locale locale : locales) {
+                    futures.add(CompletableFuture.supplyAsync(() -> preload(pattern, timeZone, locale), executor));
+                }
+            }
+        }
+        final List<FormatPreloadReport.Entry> entries = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        for (final CompletableFuture<FormatPreloadReport.Entry> future : futures) {
+            try {
+                entries.add(future.join());
+            } catch (final CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null) {
+            ExceptionUtils.rethrow(failure);
+        }
+        return new FormatPreloadReport(entries, System.nanoTime() - start);
+    }
+
+    /**
+     * <p>Preloads a format.</p>
+     *
+     * @param pattern  the pattern
+     * @param timeZone  the time zone, null means use the default TimeZone
+     * @param locale  the locale, null means use the default Locale
+     * @return the entry of the report
+     */
+    private static FormatPreloadReport.Entry preload(final String pattern, final TimeZone timeZone,
+            final Locale locale) {
+        final long start = System.nanoTime();
+        final FastDateFormat format = getInstance(pattern, timeZone, locale);
+        // loads the classes and tables the printer and parser only use when called
+        format.parseObject(format.format(System.currentTimeMillis()), new ParsePosition(0));
+        return new FormatPreloadReport.Entry(format, System.nanoTime() - start);
+    }
+
     //-----------------------------------------------------------------------
     /**
      * <p>Gets a formatter instance using the default pattern in the
@@ -402,7 +528,7 @@ protected FastDateFormat(final String pattern, final TimeZone timeZone, final Lo
     // Format methods
     //-----------------------------------------------------------------------
     /**
-     * <p>Formats a {@code Date}, {@code Calendar} or
+     * <p>Formats a {@code Date}, {@code Calendar}, {@code TemporalAccessor} or
      * {@code Long} (milliseconds) object.</p>
      * This method is an implementation of {@link Format#format(Object, StringBuffer, FieldPosition)}
      *
@@ -538,6 +664,84 @@ public <B extends Appendable> B format(final Calendar calendar, final B buf) {
         return printer.format(calendar, buf);
     }
 
+    /**
+     * <p>Formats an instant, such as an {@code Instant} or a {@code ZonedDateTime}, in the time zone
+     * of this formatter.</p>
+     *
+     * @param temporal  the temporal to format, which must support {@code ChronoField.INSTANT_SECONDS}
+     * @return the formatted string
+     * @throws java.time.DateTimeException if the temporal is not an instant
+     * @since 3.10
+     */
+    public String format(final TemporalAccessor temporal) {
+        return printer.format(temporal);
+    }
+
+    /**
+     * <p>Formats an instant, such as an {@code Instant} or a {@code ZonedDateTime}, in the time zone
+     * of this formatter into the supplied {@code Appendable}.</p>
+     *
+     * @param temporal  the temporal to format, which must support {@code ChronoField.INSTANT_SECONDS}
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     * @throws java.time.DateTimeException if the temporal is not an instant
+     * @since 3.10
+     */
+    public <B extends Appendable> B format(final TemporalAccessor temporal, final B buf) {
+        return printer.format(temporal, buf);
+    }
+
+    /**
+     * <p>Formats an array of millisecond values into a buffer, separated by a separator.</p>
+     *
+     * <p>The text of the leading fields which did not change since the previous value is copied
+     * instead of formatted again, which is faster than formatting each value.</p>
+     *
+     * @param millis  the millisecond values to format
+     * @param separator  the separator between two values, null for none
+     * @param buf  the buffer to format into, such as a StringBuilder or a CharBuffer
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     * @throws NullPointerException if the values or the buffer is null
+     * @since 3.10
+     */
+    public <B extends Appendable> B format(final long[] millis, final CharSequence separator, final B buf) {
+        return printer.format(millis, separator, buf);
+    }
+
+    /**
+     * <p>Formats a stream of millisecond values into a buffer, separated by a separator, as
+     * {@link #format(long[], CharSequence, Appendable)} does.</p>
+     *
+     * @param millis  the millisecond values to format, in the order of the stream
+     * @param separator  the separator between two values, null for none
+     * @param buf  the buffer to format into, such as a StringBuilder or a CharBuffer
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     * @throws NullPointerException if the stream or the buffer is null
+     * @since 3.10
+     */
+    public <B extends Appendable> B format(final LongStream millis, final CharSequence separator, final B buf) {
+        return printer.format(millis, separator, buf);
+    }
+
+    /**
+     * <p>Formats an array of millisecond values into an array of strings, as
+     * {@link #format(long[], CharSequence, Appendable)} does.</p>
+     *
+     * @param millis  the millisecond values to format
+     * @param results  the array receiving the formatted values at the same indices, at least as long as
+     *  the values
+     * @return the specified array of strings
+     * @throws NullPointerException if an array is null
+     * @throws IllegalArgumentException if the array of strings is shorter than the values
+     * @since 3.10
+     */
+    public String[] format(final long[] millis, final String[] results) {
+        return printer.format(millis, results);
+    }
+
     // Parsing
     //-----------------------------------------------------------------------
 
@@ -567,6 +771,23 @@ public boolean parse(final String source, final ParsePosition pos, final Calenda
         return parser.parse(source, pos, calendar);
     }
 
+    /**
+     * <p>Parses a region of text into milliseconds since the epoch, without allocating a Calendar, a Date
+     * or an exception, reporting errors through the ParsePosition.</p>
+     *
+     * @param source  the text to parse, not null
+     * @param offset  the index of the first char to parse
+     * @param length  the number of chars which may be parsed
+     * @param pos  receives the index after the parsed text, or the error index, not null
+     * @return the milliseconds since the epoch, or 0 if the text does not match the pattern
+     * @throws IndexOutOfBoundsException if the region is not within the source
+     * @see FastDateParser#parseMillis(CharSequence, int, int, ParsePosition)
+     * @since 3.10
+     */
+    public long parseMillis(final CharSequence source, final int offset, final int length, final ParsePosition pos) {
+        return parser.parseMillis(source, offset, length, pos);
+    }
+
     /* (non-Javadoc)
      * @see java.text.Format#parseObject(java.lang.String, java.text.ParsePosition)
      */
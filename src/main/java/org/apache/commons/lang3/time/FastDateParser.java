@@ -22,10 +22,13 @@
 import java.text.DateFormatSymbols;
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.time.zone.ZoneRules;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
@@ -33,9 +36,11 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -64,6 +69,11 @@
  *
  * <p>The class operates in lenient mode, so for example a time of 90 minutes is treated as 1 hour 30 minutes.</p>
  *
+ * <p>Numbers, ISO 8601 time zones and literals are scanned directly from the source, and text fields and
+ * time zone names are matched against a case insensitive trie of the display names of the locale,
+ * without regular expressions and without copying the source. Display names that cannot be matched one
+ * {@code char} at a time are matched with a regular expression instead.</p>
+ *
  * <p>Timing tests indicate this class is as about as fast as SimpleDateFormat
  * in single thread applications and about 25% faster in multi-thread applications.</p>
  *
@@ -81,6 +91,9 @@ public class FastDateParser implements DateParser, Serializable {
 
     static final Locale JAPANESE_IMPERIAL = new Locale("ja", "JP", "JP");
 
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
     // defining fields
     private final String pattern;
     private final TimeZone timeZone;
@@ -90,6 +103,20 @@ public class FastDateParser implements DateParser, Serializable {
 
     // derived fields
     private transient List<StrategyAndWidth> patterns;
+    // the maximum width of each field, for parsing without an iterator
+    private transient int[] maxWidths;
+    // true if the fields are parsed and converted to an instant without a Calendar
+    private transient boolean calendarFree;
+    // the rules of the time zone, or null if local times must be converted with a Calendar
+    private transient ZoneRules zoneRules;
+    // the last time zone offset used, immutable so it can be replaced without synchronization
+    private transient ZoneOffsetWindow offsetWindow;
+
+    // the number of ParsedFields kept for reuse, a power of two
+    private static final int PARSED_FIELDS_SLOTS = 16;
+    // the fields parsed without a Calendar not in use, taken out of their slot by the parsing thread
+    private static final AtomicReferenceArray<ParsedFields> PARSED_FIELDS =
+        new AtomicReferenceArray<>(PARSED_FIELDS_SLOTS);
 
     // comparator used to sort regex alternatives
     // alternatives should be ordered longer first, and shorter last. ('february' before 'feb')
@@ -163,6 +190,18 @@ private void init(final Calendar definingCalendar) {
             }
             patterns.add(field);
         }
+
+        // the other calendars, and the fields involving the week, are resolved by the Calendar
+        boolean free = definingCalendar.getClass() == GregorianCalendar.class;
+        maxWidths = new int[patterns.size()];
+        for (int i = 0; i < maxWidths.length; i++) {
+            final StrategyAndWidth strategyAndWidth = patterns.get(i);
+            maxWidths[i] = strategyAndWidth.getMaxWidth(i + 1 < maxWidths.length ? patterns.get(i + 1) : null);
+            free &= strategyAndWidth.strategy.isCalendarFree();
+        }
+        calendarFree = free;
+        zoneRules = free ? ZoneOffsetWindow.getZoneRules(timeZone) : null;
+        offsetWindow = null;
     }
 
     // helper classes to parse the format string
@@ -188,6 +227,16 @@ int getMaxWidth(final ListIterator<StrategyAndWidth> lt) {
             lt.previous();
             return nextStrategy.isNumber() ?width :0;
        }
+
+        /**
+         * Gets the maximum width of the field, as {@link #getMaxWidth(ListIterator)} without an iterator.
+         *
+         * @param next the next field, or null if this is the last one
+         * @return the maximum width of the field, or 0 if it is not limited
+         */
+        int getMaxWidth(final StrategyAndWidth next) {
+            return strategy.isNumber() && next != null && next.strategy.isNumber() ? width : 0;
+        }
     }
 
     /**
@@ -386,6 +435,21 @@ public Object parseObject(final String source, final ParsePosition pos) {
      */
     @Override
     public Date parse(final String source, final ParsePosition pos) {
+        if (calendarFree) {
+            final int start = pos.getIndex();
+            final ParsedFields fields = ParsedFields.take();
+            try {
+                if (parseFields(source, pos, fields)) {
+                    return new Date(fields.millis);
+                }
+                if (!fields.needsCalendar) {
+                    return null;
+                }
+            } finally {
+                fields.release();
+            }
+            pos.setIndex(start);
+        }
         // timing tests indicate getting new instance is 19% faster than cloning
         final Calendar cal= Calendar.getInstance(timeZone, locale);
         cal.clear();
@@ -408,6 +472,87 @@ public Date parse(final String source, final ParsePosition pos) {
      */
     @Override
     public boolean parse(final String source, final ParsePosition pos, final Calendar calendar) {
+        return parse((CharSequence) source, pos, calendar);
+    }
+
+    /**
+     * <p>Parses a region of text into milliseconds since the epoch, without allocating a Calendar, a Date
+     * or an exception.</p>
+     *
+     * <p>Parsing starts at {@code offset} and never reads beyond {@code offset + length}, but not all the
+     * region needs to be consumed. Upon success, the ParsePosition index is set to the index after the parsed
+     * text. Upon failure, the ParsePosition error index is set to the index of the text which does not match
+     * the pattern, or which is out of range, and 0 is returned. Both indexes are reset first, so a single
+     * ParsePosition can be reused for all the parses of a thread:</p>
+     *
+     * <pre>
+     * final long millis = parser.parseMillis(line, start, end - start, pos);
+     * if (pos.getErrorIndex() &gt;= 0) {
+     *     ...
+     * }
+     * </pre>
+     *
+     * <p>Numeric fields, month names, am/pm markers, time zones and literals are parsed without a Calendar
+     * for the years 1583 to 9999 of locales using the Gregorian calendar. Other patterns, dates and
+     * locales give the same results, but allocate a Calendar.</p>
+     *
+     * @param source the text to parse, not null
+     * @param offset the index of the first char to parse
+     * @param length the number of chars which may be parsed
+     * @param pos receives the index after the parsed text, or the error index, not null
+     * @return the milliseconds since the epoch, or 0 if the text does not match the pattern
+     * @throws IndexOutOfBoundsException if the region is not within the source
+     * @since 3.10
+     */
+    public long parseMillis(final CharSequence source, final int offset, final int length, final ParsePosition pos) {
+        if (offset < 0 || length < 0 || offset > source.length() - length) {
+            throw new IndexOutOfBoundsException("Region [" + offset + ", " + length + "] out of bounds for length "
+                + source.length());
+        }
+        pos.setIndex(0);
+        pos.setErrorIndex(-1);
+        final ParsedFields fields = ParsedFields.take();
+        final Region region = fields.region.reset(source, offset, length);
+        try {
+            long millis = 0;
+            if (calendarFree && parseFields(region, pos, fields)) {
+                millis = fields.millis;
+            } else if (!calendarFree || fields.needsCalendar) {
+                pos.setIndex(0);
+                final Calendar cal = Calendar.getInstance(timeZone, locale);
+                cal.clear();
+                try {
+                    if (parse(region, pos, cal)) {
+                        millis = cal.getTimeInMillis();
+                    }
+                } catch (final IllegalArgumentException e) {
+                    // a number too large for an int, or a GMT offset out of range
+                    pos.setErrorIndex(pos.getIndex());
+                }
+            }
+            if (pos.getErrorIndex() >= 0) {
+                pos.setErrorIndex(offset + pos.getErrorIndex());
+                pos.setIndex(offset);
+                return 0;
+            }
+            pos.setIndex(offset + pos.getIndex());
+            return millis;
+        } finally {
+            // do not hold on to the source
+            region.reset(null, 0, 0);
+            fields.release();
+        }
+    }
+
+    /**
+     * Parses the text into a Calendar.
+     *
+     * @param source The text to parse.
+     * @param pos On input, the position in the source to start parsing, on output, updated position.
+     * @param calendar The calendar into which to set parsed fields.
+     * @return true, if source has been parsed (pos parsePosition is updated); otherwise false (and pos errorIndex is updated)
+     */
+    private boolean parse(final CharSequence source, final ParsePosition pos, final Calendar calendar) {
         final ListIterator<StrategyAndWidth> lt = patterns.listIterator();
         while (lt.hasNext()) {
             final StrategyAndWidth strategyAndWidth = lt.next();
@@ -419,6 +564,119 @@ public boolean parse(final String source, final ParsePosition pos, final Calenda
         return true;
     }
 
+    /**
+     * Parses the text, and converts the fields to an instant, without a Calendar.
+     *
+     * @param source The text to parse.
+     * @param pos On input, the position in the source to start parsing, on output, updated position.
+     * @param fields Receives the parsed fields, and the milliseconds since the epoch.
+     * @return true, if source has been parsed; otherwise false, and either pos errorIndex is updated,
+     * or the fields must be parsed with a Calendar to get the same result or exception
+     */
+    private boolean parseFields(final CharSequence source, final ParsePosition pos, final ParsedFields fields) {
+        fields.clear();
+        for (int i = 0; i < maxWidths.length; i++) {
+            if (!patterns.get(i).strategy.parse(this, fields, source, pos, maxWidths[i])) {
+                return false;
+            }
+        }
+        if (!toMillis(fields)) {
+            fields.needsCalendar = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Converts the parsed fields to milliseconds since the epoch, as a lenient {@link GregorianCalendar}
+     * would.
+     *
+     * @param fields The parsed fields, which receive the milliseconds since the epoch.
+     * @return true, if the fields have been converted; false if the date is outside the years 1583 to 9999,
+     * or if the local time is ambiguous or skipped in the time zone
+     */
+    private boolean toMillis(final ParsedFields fields) {
+        // the days before the Gregorian cutover are Julian
+        final int yearField = fields.isSet(Calendar.YEAR) ? fields.get(Calendar.YEAR) : 1970;
+        final int month = fields.get(Calendar.MONTH);
+        final long year = yearField + (long) Math.floorDiv(month, MONTHS_PER_YEAR);
+        if (yearField <= 1582 || year <= 1582 || year > 9999) {
+            return false;
+        }
+        final long epochDay = toEpochDay((int) year, Math.floorMod(month, MONTHS_PER_YEAR))
+            + (fields.isSet(Calendar.DAY_OF_MONTH) ? fields.get(Calendar.DAY_OF_MONTH) : 1) - 1;
+
+        // the later of HOUR_OF_DAY and HOUR with AM_PM wins, see GregorianCalendar.selectFields()
+        final int hourOfDayStamp = fields.stamps[Calendar.HOUR_OF_DAY];
+        final int hourStamp = fields.isSet(Calendar.HOUR) && fields.isSet(Calendar.AM_PM)
+            ? Math.max(fields.stamps[Calendar.HOUR], fields.stamps[Calendar.AM_PM]) : 0;
+        long local;
+        if (hourOfDayStamp != 0 && hourOfDayStamp >= hourStamp) {
+            local = fields.get(Calendar.HOUR_OF_DAY);
+        } else {
+            local = fields.get(Calendar.HOUR) + 12L * fields.get(Calendar.AM_PM);
+        }
+        local = ((local * 60 + fields.get(Calendar.MINUTE)) * 60 + fields.get(Calendar.SECOND)) * 1000
+            + fields.get(Calendar.MILLISECOND) + epochDay * MILLIS_PER_DAY;
+        if (local < ZoneOffsetWindow.MIN_CALENDAR_FREE_MILLIS || local >= ZoneOffsetWindow.MAX_CALENDAR_FREE_MILLIS) {
+            return false;
+        }
+
+        // a zone name sets the ZONE_OFFSET and DST_OFFSET fields, which win over the time zone
+        if (fields.zoneNameSet) {
+            fields.millis = local - fields.zoneNameOffset;
+        } else if (fields.gmtOffsetSet) {
+            fields.millis = local - fields.gmtOffset;
+        } else {
+            final ZoneOffsetWindow window = getOffsetWindow(local);
+            if (window == null) {
+                return false;
+            }
+            fields.millis = local - window.mOffset;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the time zone offset of a local time, reusing the last offset until the next transition.
+     *
+     * @param local The local time, in milliseconds since the local epoch.
+     * @return The offset window in which the local time occurs, or null if the local time is ambiguous or
+     * skipped, or if the time zone is a custom one
+     */
+    private ZoneOffsetWindow getOffsetWindow(final long local) {
+        if (zoneRules == null) {
+            return null;
+        }
+        ZoneOffsetWindow window = offsetWindow;
+        if (window == null || !window.containsLocal(local)) {
+            window = new ZoneOffsetWindow(timeZone, zoneRules, local - timeZone.getOffset(local - timeZone.getRawOffset()));
+            if (!window.containsLocal(local)) {
+                // the raw offset guess was on the other side of a transition
+                window = new ZoneOffsetWindow(timeZone, zoneRules, local - window.mOffset);
+            }
+            offsetWindow = window;
+        }
+        return window.containsLocal(local) ? window : null;
+    }
+
+    /**
+     * Gets the number of days from 1970-01-01 to the first day of a month of the Gregorian calendar.
+     *
+     * @param year The year.
+     * @param month The month, 0 for January.
+     * @return The epoch day.
+     */
+    static long toEpochDay(final int year, final int month) {
+        // the years start in March, so that the leap day is the last day of the year
+        final int y = month < 2 ? year - 1 : year;
+        final int era = Math.floorDiv(y, 400);
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * ((month + 10) % MONTHS_PER_YEAR) + 2) / 5;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
     // Support for strategies
     //-----------------------------------------------------------------------
 
@@ -475,6 +733,153 @@ private static Map<String, Integer> appendDisplayNames(final Calendar cal, final
         return values;
     }
 
+    /**
+     * Folds the case of a character as a case insensitive, unicode aware regular expression does.
+     *
+     * @param c the character
+     * @return the folded character
+     */
+    private static char foldCase(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit, as matched by {@code \d}.
+     *
+     * @param c the character
+     * @return true if the character is between '0' and '9'
+     */
+    private static boolean isAsciiDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * A trie of display names, matched case insensitively and longest first, as the alternatives of the
+     * regular expressions built by {@link #appendDisplayNames} and {@link #simpleQuote} are.
+     * A trailing period of a name is optional.
+     *
+     * @param <V> the type of the values of the names
+     */
+    private static final class DisplayNameTrie<V> {
+        private static final int ROOT = 0;
+
+        /** The index in {@link #edgeChars} of the first edge of each node, and the edge count last. */
+        private final int[] firstEdges;
+        /** The folded characters of the edges, sorted within each node. */
+        private final char[] edgeChars;
+        /** The target nodes of the edges, parallel to {@link #edgeChars}. */
+        private final int[] edgeTargets;
+        /** The value of the name ending in each node, or null. */
+        private final Object[] values;
+
+        /**
+         * Builds a trie of the given names.
+         *
+         * @param names the display names and their values
+         * @param <V> the type of the values
+         * @return the trie, or null if a name holds surrogates, which must be matched by code point
+         */
+        static <V> DisplayNameTrie<V> of(final Map<String, V> names) {
+            for (final String name : names.keySet()) {
+                for (int i = 0; i < name.length(); i++) {
+                    if (Character.isSurrogate(name.charAt(i))) {
+                        return null;
+                    }
+                }
+            }
+            return new DisplayNameTrie<>(names);
+        }
+
+        private DisplayNameTrie(final Map<String, V> names) {
+            final List<TreeMap<Character, Integer>> nodes = new ArrayList<>();
+            final List<Object> valueList = new ArrayList<>();
+            nodes.add(new TreeMap<>());
+            valueList.add(null);
+            for (final Map.Entry<String, V> entry : names.entrySet()) {
+                final String name = entry.getKey();
+                int node = ROOT;
+                for (int i = 0; i < name.length(); i++) {
+                    final Character c = Character.valueOf(foldCase(name.charAt(i)));
+                    Integer next = nodes.get(node).get(c);
+                    if (next == null) {
+                        next = Integer.valueOf(nodes.size());
+                        nodes.add(new TreeMap<>());
+                        valueList.add(null);
+                        nodes.get(node).put(c, next);
+                    }
+                    node = next.intValue();
+                }
+                valueList.set(node, entry.getValue());
+            }
+            // a name with a trailing period also matches without it, unless another name is spelled so
+            for (final Map.Entry<String, V> entry : names.entrySet()) {
+                final String name = entry.getKey();
+                if (name.length() > 1 && name.charAt(name.length() - 1) == '.') {
+                    int node = ROOT;
+                    for (int i = 0; i < name.length() - 1; i++) {
+                        node = nodes.get(node).get(Character.valueOf(foldCase(name.charAt(i)))).intValue();
+                    }
+                    if (valueList.get(node) == null) {
+                        valueList.set(node, entry.getValue());
+                    }
+                }
+            }
+
+            // the tries of the time zone names of every locale may be cached, so keep them compact
+            final int size = nodes.size();
+            firstEdges = new int[size + 1];
+            edgeChars = new char[size - 1];
+            edgeTargets = new int[size - 1];
+            values = valueList.toArray();
+            int edge = 0;
+            for (int node = 0; node < size; node++) {
+                firstEdges[node] = edge;
+                for (final Map.Entry<Character, Integer> e : nodes.get(node).entrySet()) {
+                    edgeChars[edge] = e.getKey().charValue();
+                    edgeTargets[edge] = e.getValue().intValue();
+                    edge++;
+                }
+            }
+            firstEdges[size] = edge;
+        }
+
+        /**
+         * Finds the longest name at a position of the source.
+         *
+         * @param source the text to match
+         * @param start the index of the first character to match
+         * @return the node of the longest name matched in the high 32 bits and its length in the low 32 bits,
+         *  or -1 if none matches
+         */
+        long match(final CharSequence source, final int start) {
+            int node = ROOT;
+            long found = -1;
+            for (int i = start; i < source.length(); i++) {
+                final int edge = Arrays.binarySearch(edgeChars, firstEdges[node], firstEdges[node + 1],
+                    foldCase(source.charAt(i)));
+                if (edge < 0) {
+                    break;
+                }
+                node = edgeTargets[edge];
+                if (values[node] != null) {
+                    found = (long) node << 32 | i + 1 - start;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Gets the value of the name matched.
+         *
+         * @param match a match returned by {@link #match(CharSequence, int)}
+         * @return the value
+         */
+        @SuppressWarnings("unchecked") // the values are only set from the map of V
+        V value(final long match) {
+            return (V) values[(int) (match >>> 32)];
+        }
+    }
+
     /**
      * Adjust dates to be within appropriate century
      * @param twoDigitYear The year to adjust
@@ -499,7 +904,179 @@ boolean isNumber() {
             return false;
         }
 
-        abstract boolean parse(FastDateParser parser, Calendar calendar, String source, ParsePosition pos, int maxWidth);
+        abstract boolean parse(FastDateParser parser, Calendar calendar, CharSequence source, ParsePosition pos, int maxWidth);
+
+        /**
+         * Can this field be parsed without a Calendar?
+         * The default implementation returns false.
+         *
+         * @return true, if {@link #parse(FastDateParser, ParsedFields, CharSequence, ParsePosition, int)} is
+         * supported
+         */
+        boolean isCalendarFree() {
+            return false;
+        }
+
+        /**
+         * Parses the field without a Calendar.
+         * The default implementation sets {@link ParsedFields#needsCalendar}, so that the text is parsed
+         * with a Calendar instead.
+         *
+         * @param parser The parser
+         * @param fields Receives the parsed field
+         * @param source The text to parse
+         * @param pos On input, the position in the source to start parsing, on output, updated position
+         * @param maxWidth The maximum width of the field, or 0 if it is not limited
+         * @return true, if the field has been parsed; otherwise false, and either pos errorIndex is updated, or
+         * {@link ParsedFields#needsCalendar} is set
+         */
+        boolean parse(final FastDateParser parser, final ParsedFields fields, final CharSequence source,
+                final ParsePosition pos, final int maxWidth) {
+            fields.needsCalendar = true;
+            return false;
+        }
+    }
+
+    /**
+     * Calendar fields parsed without a Calendar. An instance is used by one thread at a time, and kept in
+     * {@link FastDateParser#PARSED_FIELDS} between uses, so that nothing is kept per thread.
+     */
+    private static final class ParsedFields {
+
+        /**
+         * Takes an instance out of the first full slot from the one of the current thread, or creates
+         * one if all the slots are empty. The caller puts it back with {@link #release()}.
+         *
+         * @return the fields, for the current thread only
+         */
+        static ParsedFields take() {
+            final int start = (int) Thread.currentThread().getId();
+            for (int i = 0; i < PARSED_FIELDS_SLOTS; i++) {
+                final int slot = start + i & PARSED_FIELDS_SLOTS - 1;
+                final ParsedFields fields = PARSED_FIELDS.get(slot);
+                if (fields != null && PARSED_FIELDS.compareAndSet(slot, fields, null)) {
+                    return fields;
+                }
+            }
+            return new ParsedFields();
+        }
+
+        /**
+         * Puts this instance back in the first empty slot from the one of the current thread, once the
+         * caller no longer uses it, or drops it if all the slots are full.
+         */
+        void release() {
+            final int start = (int) Thread.currentThread().getId();
+            for (int i = 0; i < PARSED_FIELDS_SLOTS; i++) {
+                if (PARSED_FIELDS.compareAndSet(start + i & PARSED_FIELDS_SLOTS - 1, null, this)) {
+                    return;
+                }
+            }
+        }
+
+        // the values of the fields, and the order in which they were set as the stamps of a Calendar
+        final int[] values = new int[Calendar.FIELD_COUNT];
+        final int[] stamps = new int[Calendar.FIELD_COUNT];
+        int nextStamp;
+        // the offset of a time zone name, as the ZONE_OFFSET and DST_OFFSET fields of a Calendar
+        boolean zoneNameSet;
+        int zoneNameOffset;
+        // the offset of the last GMT time zone, as Calendar.setTimeZone()
+        boolean gmtOffsetSet;
+        int gmtOffset;
+        // true if the text must be parsed with a Calendar to get the same result, or the same exception
+        boolean needsCalendar;
+        // the result
+        long millis;
+        // the region of text parsed by parseMillis()
+        final Region region = new Region();
+
+        void clear() {
+            Arrays.fill(stamps, 0);
+            nextStamp = 1;
+            zoneNameSet = false;
+            gmtOffsetSet = false;
+            needsCalendar = false;
+        }
+
+        void set(final int field, final int value) {
+            values[field] = value;
+            stamps[field] = nextStamp++;
+        }
+
+        boolean isSet(final int field) {
+            return stamps[field] != 0;
+        }
+
+        /**
+         * Gets a field, 0 if it is not set as for a cleared Calendar.
+         */
+        int get(final int field) {
+            return stamps[field] != 0 ? values[field] : 0;
+        }
+
+        void setZoneName(final int offset) {
+            zoneNameSet = true;
+            zoneNameOffset = offset;
+        }
+
+        /**
+         * Sets the offset returned by {@link FastTimeZone#getGmtOffset(CharSequence, int, int)}.
+         *
+         * @return false if the GMT offset is not valid, and a Calendar is needed
+         */
+        boolean setGmtOffset(final int offset) {
+            if (offset == FastTimeZone.NOT_GMT_OFFSET || offset == FastTimeZone.INVALID_GMT_OFFSET) {
+                needsCalendar = true;
+                return false;
+            }
+            gmtOffsetSet = true;
+            gmtOffset = offset;
+            return true;
+        }
+    }
+
+    /**
+     * A view of a region of text, indexed from the start of the region.
+     */
+    private static final class Region implements CharSequence {
+        private CharSequence source;
+        private int offset;
+        private int length;
+
+        Region reset(final CharSequence source, final int offset, final int length) {
+            this.source = source;
+            this.offset = offset;
+            this.length = length;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+            }
+            return source.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || start > end || end > length) {
+                throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length "
+                    + length);
+            }
+            return source.subSequence(offset + start, offset + end);
+        }
+
+        @Override
+        public String toString() {
+            return source.subSequence(offset, offset + length).toString();
+        }
     }
 
     /**
@@ -529,13 +1106,15 @@ boolean isNumber() {
         }
 
         @Override
-        boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
-            final Matcher matcher = pattern.matcher(source.substring(pos.getIndex()));
+        boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+            final Matcher matcher = pattern.matcher(source);
+            // a region avoids copying the tail of the source
+            matcher.region(pos.getIndex(), source.length());
             if (!matcher.lookingAt()) {
                 pos.setErrorIndex(pos.getIndex());
                 return false;
             }
-            pos.setIndex(pos.getIndex() + matcher.end(1));
+            pos.setIndex(matcher.end(1));
             setCalendar(parser, calendar, matcher.group(1));
             return true;
         }
@@ -664,7 +1243,22 @@ boolean isNumber() {
         }
 
         @Override
-        boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
+        boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+            return match(source, pos);
+        }
+
+        @Override
+        boolean isCalendarFree() {
+            return true;
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final ParsedFields fields, final CharSequence source,
+                final ParsePosition pos, final int maxWidth) {
+            return match(source, pos);
+        }
+
+        private boolean match(final CharSequence source, final ParsePosition pos) {
             for (int idx = 0; idx < formatField.length(); ++idx) {
                 final int sIdx = idx + pos.getIndex();
                 if (sIdx == source.length()) {
@@ -688,6 +1282,7 @@ private static class CaseInsensitiveTextStrategy extends PatternStrategy {
         private final int field;
         final Locale locale;
         private final Map<String, Integer> lKeyValues;
+        private final DisplayNameTrie<Integer> trie;
 
         /**
          * Constructs a Strategy that parses a Text field
@@ -702,9 +1297,59 @@ private static class CaseInsensitiveTextStrategy extends PatternStrategy {
             final StringBuilder regex = new StringBuilder();
             regex.append("((?iu)");
             lKeyValues = appendDisplayNames(definingCalendar, locale, field, regex);
-            regex.setLength(regex.length()-1);
-            regex.append(")");
-            createPattern(regex);
+            trie = DisplayNameTrie.of(lKeyValues);
+            if (trie == null) {
+                regex.setLength(regex.length()-1);
+                regex.append(")");
+                createPattern(regex);
+            }
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+            if (trie == null) {
+                return super.parse(parser, calendar, source, pos, maxWidth);
+            }
+            final int value = match(source, pos);
+            if (value < 0) {
+                return false;
+            }
+            calendar.set(field, value);
+            return true;
+        }
+
+        @Override
+        boolean isCalendarFree() {
+            // the day of the week and the era are resolved by the Calendar
+            return trie != null && (field == Calendar.MONTH || field == Calendar.AM_PM);
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final ParsedFields fields, final CharSequence source,
+                final ParsePosition pos, final int maxWidth) {
+            final int value = match(source, pos);
+            if (value < 0) {
+                return false;
+            }
+            fields.set(field, value);
+            return true;
+        }
+
+        /**
+         * Matches a display name with the trie.
+         *
+         * @param source The text to parse
+         * @param pos On input, the position in the source to start parsing, on output, updated position
+         * @return the value of the field, or -1 if no display name matches
+         */
+        private int match(final CharSequence source, final ParsePosition pos) {
+            final long match = trie.match(source, pos.getIndex());
+            if (match < 0) {
+                pos.setErrorIndex(pos.getIndex());
+                return -1;
+            }
+            pos.setIndex(pos.getIndex() + (int) match);
+            return trie.value(match).intValue();
         }
 
         /**
@@ -727,6 +1372,9 @@ void setCalendar(final FastDateParser parser, final Calendar cal, final String v
      * A strategy that handles a number field in the parsing pattern
      */
     private static class NumberStrategy extends Strategy {
+        /** The number of digits that always fit in an int. */
+        private static final int MAX_SAFE_DIGITS = 9;
+
         private final int field;
 
         /**
@@ -746,7 +1394,70 @@ boolean isNumber() {
         }
 
         @Override
-        boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
+        boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+            final int end = scan(source, pos, maxWidth);
+            if (end < 0) {
+                return false;
+            }
+            final int start = pos.getIndex();
+            final int value;
+            if (end - start > MAX_SAFE_DIGITS) {
+                // may overflow, let parseInt decide
+                value = Integer.parseInt(source.subSequence(start, end).toString());
+            } else {
+                value = toInt(source, start, end);
+            }
+            pos.setIndex(end);
+
+            calendar.set(field, modify(parser, value));
+            return true;
+        }
+
+        @Override
+        boolean isCalendarFree() {
+            switch (field) {
+            case Calendar.YEAR:
+            case Calendar.MONTH:
+            case Calendar.DAY_OF_MONTH:
+            case Calendar.HOUR_OF_DAY:
+            case Calendar.HOUR:
+            case Calendar.MINUTE:
+            case Calendar.SECOND:
+            case Calendar.MILLISECOND:
+                return true;
+            default:
+                // the week fields are resolved by the Calendar
+                return false;
+            }
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final ParsedFields fields, final CharSequence source,
+                final ParsePosition pos, final int maxWidth) {
+            final int end = scan(source, pos, maxWidth);
+            if (end < 0) {
+                return false;
+            }
+            final int start = pos.getIndex();
+            if (end - start > MAX_SAFE_DIGITS) {
+                fields.needsCalendar = true;
+                return false;
+            }
+            pos.setIndex(end);
+
+            fields.set(field, modify(parser, toInt(source, start, end)));
+            return true;
+        }
+
+        /**
+         * Finds the digits of the number, skipping leading white space if there is no maximum width.
+         *
+         * @param source The text to parse
+         * @param pos On input, the position in the source to start parsing, on output, the first digit
+         * @param maxWidth The maximum width of the field, or 0 if it is not limited
+         * @return The end of the digits, or -1 if there are none, and pos errorIndex is updated
+         */
+        private static int scan(final CharSequence source, final ParsePosition pos, final int maxWidth) {
             int idx = pos.getIndex();
             int last = source.length();
 
@@ -766,23 +1477,24 @@ boolean parse(final FastDateParser parser, final Calendar calendar, final String
                 }
             }
 
-            for (; idx < last; ++idx) {
-                final char c = source.charAt(idx);
-                if (!Character.isDigit(c)) {
-                    break;
-                }
+            final int start = idx;
+            while (idx < last && Character.digit(source.charAt(idx), 10) >= 0) {
+                ++idx;
             }
 
-            if (pos.getIndex() == idx) {
+            if (start == idx) {
                 pos.setErrorIndex(idx);
-                return false;
+                return -1;
             }
+            return idx;
+        }
 
-            final int value = Integer.parseInt(source.substring(pos.getIndex(), idx));
-            pos.setIndex(idx);
-
-            calendar.set(field, modify(parser, value));
-            return true;
+        private static int toInt(final CharSequence source, final int start, final int end) {
+            int value = 0;
+            for (int idx = start; idx < end; ++idx) {
+                value = value * 10 + Character.digit(source.charAt(idx), 10);
+            }
+            return value;
         }
 
         /**
@@ -816,6 +1528,7 @@ static class TimeZoneStrategy extends PatternStrategy {
 
         private final Locale locale;
         private final Map<String, TzInfo> tzNames= new HashMap<>();
+        private final DisplayNameTrie<TzInfo> trie;
 
         private static class TzInfo {
             TimeZone zone;
@@ -851,7 +1564,7 @@ private static class TzInfo {
                 if (tzId.equalsIgnoreCase(TimeZones.GMT_ID)) {
                     continue;
                 }
-                final TimeZone tz = TimeZone.getTimeZone(tzId);
+                final TimeZone tz = FastTimeZone.getCachedTimeZone(tzId);
                 // offset 1 is long standard name
                 // offset 2 is short standard name
                 final TzInfo standard = new TzInfo(tz, false);
@@ -878,13 +1591,124 @@ private static class TzInfo {
                     }
                 }
             }
-            // order the regex alternatives with longer strings first, greedy
-            // match will ensure longest string will be consumed
-            for (final String zoneName : sorted) {
-                simpleQuote(sb.append('|'), zoneName);
+            trie = DisplayNameTrie.of(tzNames);
+            if (trie == null) {
+                // order the regex alternatives with longer strings first, greedy
+                // match will ensure longest string will be consumed
+                for (final String zoneName : sorted) {
+                    simpleQuote(sb.append('|'), zoneName);
+                }
+                sb.append(")");
+                createPattern(sb);
             }
-            sb.append(")");
-            createPattern(sb);
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+            if (trie == null) {
+                return super.parse(parser, calendar, source, pos, maxWidth);
+            }
+            final int start = pos.getIndex();
+            final long match = match(source, start);
+            if (match < 0) {
+                pos.setErrorIndex(start);
+                return false;
+            }
+            final int end = start + (int) match;
+            setCalendar(parser, calendar, source.subSequence(start, end).toString());
+            pos.setIndex(end);
+            return true;
+        }
+
+        @Override
+        boolean isCalendarFree() {
+            return trie != null;
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final ParsedFields fields, final CharSequence source,
+                final ParsePosition pos, final int maxWidth) {
+            final int start = pos.getIndex();
+            final long match = match(source, start);
+            if (match < 0) {
+                pos.setErrorIndex(start);
+                return false;
+            }
+            final int end = start + (int) match;
+            // as setCalendar(), GMT offsets first
+            final int offset = FastTimeZone.getGmtOffset(source, start, end);
+            if (offset == FastTimeZone.NOT_GMT_OFFSET) {
+                final TzInfo tzInfo = trie.value(match);
+                fields.setZoneName(tzInfo.zone.getRawOffset() + tzInfo.dstOffset);
+            } else if (!fields.setGmtOffset(offset)) {
+                return false;
+            }
+            pos.setIndex(end);
+            return true;
+        }
+
+        /**
+         * Matches the alternatives in the order of the regular expression.
+         *
+         * @param source the text to match
+         * @param start the index to match at
+         * @return the length of the match in the low 32 bits, with the matching node of the trie in the high
+         * 32 bits if a time zone name matched, or -1 if nothing matches
+         */
+        private long match(final CharSequence source, final int start) {
+            int end = matchRfc822(source, start);
+            if (end < 0) {
+                end = matchGmtOption(source, start);
+            }
+            return end < 0 ? trie.match(source, start) : end - start;
+        }
+
+        /**
+         * Matches {@link #RFC_822_TIME_ZONE}.
+         *
+         * @param source the text to match
+         * @param start the index to match at
+         * @return the end of the match, or -1 if it does not match
+         */
+        private static int matchRfc822(final CharSequence source, final int start) {
+            if (start + 5 > source.length() || source.charAt(start) != '+' && source.charAt(start) != '-') {
+                return -1;
+            }
+            for (int i = start + 1; i < start + 5; i++) {
+                if (!isAsciiDigit(source.charAt(i))) {
+                    return -1;
+                }
+            }
+            return start + 5;
+        }
+
+        /**
+         * Matches {@link #GMT_OPTION}, ignoring case.
+         *
+         * @param source the text to match
+         * @param start the index to match at
+         * @return the end of the match, or -1 if it does not match
+         */
+        private static int matchGmtOption(final CharSequence source, final int start) {
+            final int length = source.length();
+            // "GMT", a sign and at least "0:00"
+            if (start + 8 > length || foldCase(source.charAt(start)) != 'g' || foldCase(source.charAt(start + 1)) != 'm'
+                    || foldCase(source.charAt(start + 2)) != 't') {
+                return -1;
+            }
+            final char sign = source.charAt(start + 3);
+            if (sign != '+' && sign != '-' || !isAsciiDigit(source.charAt(start + 4))) {
+                return -1;
+            }
+            int colon = start + 5;
+            if (isAsciiDigit(source.charAt(colon)) && colon + 1 < length && source.charAt(colon + 1) == ':') {
+                colon++;
+            }
+            if (colon + 3 > length || source.charAt(colon) != ':' || !isAsciiDigit(source.charAt(colon + 1))
+                    || !isAsciiDigit(source.charAt(colon + 2))) {
+                return -1;
+            }
+            return colon + 3;
         }
 
         /**
@@ -908,28 +1732,97 @@ void setCalendar(final FastDateParser parser, final Calendar cal, final String t
         }
     }
 
-    private static class ISO8601TimeZoneStrategy extends PatternStrategy {
+    private static class ISO8601TimeZoneStrategy extends Strategy {
         // Z, +hh, -hh, +hhmm, -hhmm, +hh:mm or -hh:mm
 
+        /** True to expect minutes after the hours. */
+        private final boolean minutes;
+        /** True to expect a colon between the hours and minutes. */
+        private final boolean colon;
+
         /**
          * Constructs a Strategy that parses a TimeZone
-         * @param pattern The Pattern
+         * @param minutes true to expect minutes after the hours
+         * @param colon true to expect a colon between the hours and minutes
          */
-        ISO8601TimeZoneStrategy(final String pattern) {
-            createPattern(pattern);
+        ISO8601TimeZoneStrategy(final boolean minutes, final boolean colon) {
+            this.minutes = minutes;
+            this.colon = colon;
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+            final int start = pos.getIndex();
+            final int end = match(source, start);
+            if (end < 0) {
+                pos.setErrorIndex(start);
+                return false;
+            }
+            calendar.setTimeZone(FastTimeZone.getGmtTimeZone(source.subSequence(start, end).toString()));
+            pos.setIndex(end);
+            return true;
+        }
+
+        @Override
+        boolean isCalendarFree() {
+            return true;
+        }
+
+        @Override
+        boolean parse(final FastDateParser parser, final ParsedFields fields, final CharSequence source,
+                final ParsePosition pos, final int maxWidth) {
+            final int start = pos.getIndex();
+            final int end = match(source, start);
+            if (end < 0) {
+                pos.setErrorIndex(start);
+                return false;
+            }
+            if (!fields.setGmtOffset(FastTimeZone.getGmtOffset(source, start, end))) {
+                return false;
+            }
+            pos.setIndex(end);
+            return true;
         }
 
         /**
-         * {@inheritDoc}
+         * Matches {@code Z} or a signed offset.
+         *
+         * @param source the text to match
+         * @param start the index to match at
+         * @return the end of the match, or -1 if it does not match
          */
-        @Override
-        void setCalendar(final FastDateParser parser, final Calendar cal, final String value) {
-            cal.setTimeZone(FastTimeZone.getGmtTimeZone(value));
+        private int match(final CharSequence source, final int start) {
+            final int length = source.length();
+            if (start >= length) {
+                return -1;
+            }
+            final char sign = source.charAt(start);
+            if (sign == 'Z') {
+                return start + 1;
+            }
+            if (sign != '+' && sign != '-' || start + 3 > length || !isAsciiDigit(source.charAt(start + 1))
+                    || !isAsciiDigit(source.charAt(start + 2))) {
+                return -1;
+            }
+            int end = start + 3;
+            if (!minutes) {
+                return end;
+            }
+            if (colon) {
+                if (end >= length || source.charAt(end) != ':') {
+                    return -1;
+                }
+                end++;
+            }
+            if (end + 2 > length || !isAsciiDigit(source.charAt(end)) || !isAsciiDigit(source.charAt(end + 1))) {
+                return -1;
+            }
+            return end + 2;
         }
 
-        private static final Strategy ISO_8601_1_STRATEGY = new ISO8601TimeZoneStrategy("(Z|(?:[+-]\\d{2}))");
-        private static final Strategy ISO_8601_2_STRATEGY = new ISO8601TimeZoneStrategy("(Z|(?:[+-]\\d{2}\\d{2}))");
-        private static final Strategy ISO_8601_3_STRATEGY = new ISO8601TimeZoneStrategy("(Z|(?:[+-]\\d{2}(?::)\\d{2}))");
+        private static final Strategy ISO_8601_1_STRATEGY = new ISO8601TimeZoneStrategy(false, false);
+        private static final Strategy ISO_8601_2_STRATEGY = new ISO8601TimeZoneStrategy(true, false);
+        private static final Strategy ISO_8601_3_STRATEGY = new ISO8601TimeZoneStrategy(true, true);
 
         /**
          * Factory method for ISO8601TimeZoneStrategies.
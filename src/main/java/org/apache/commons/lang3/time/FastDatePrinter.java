@@ -22,15 +22,24 @@
 import java.text.DateFormat;
 import java.text.DateFormatSymbols;
 import java.text.FieldPosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneRules;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
 
+import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 /**
@@ -74,6 +83,14 @@
  * 'YYY' will be formatted as '2003', while it was '03' in former Java
  * versions. FastDatePrinter implements the behavior of Java 7.</p>
  *
+ * <p>Instants given as milliseconds, {@code Date} or {@link TemporalAccessor} are formatted without
+ * a {@code Calendar} when the locale uses the Gregorian calendar, the time zone is one of the
+ * zones known to {@link TimeZone#getTimeZone(String)}, the pattern has no week of year, week of
+ * month or week year field, and the date is between the years 1583 and 9999. The fields are
+ * then computed arithmetically, and the time zone offset is cached between transitions, so that
+ * nothing is allocated beyond the output. The output is the same as that of the {@code Calendar}
+ * based formatting.</p>
+ *
  * @since 3.2
  * @see FastDateParser
  */
@@ -114,6 +131,26 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      */
     public static final int SHORT = DateFormat.SHORT;
 
+    /**
+     * The number of milliseconds in a day.
+     */
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    /**
+     * The flag set in the packed time fields when daylight saving time is in effect.
+     */
+    private static final long DAYLIGHT = 1L << 31;
+
+    /**
+     * The first instant formatted without a Calendar by a pattern with week fields, 1584-01-02T00:00:00Z.
+     * A GregorianCalendar numbers the weeks of the year after its cutover year like the Julian calendar.
+     */
+    private static final long MIN_WEEK_CALENDAR_FREE_MILLIS = -12180931200000L;
+
+    /**
+     * The period of a rule whose text never changes.
+     */
+    private static final long CONSTANT = Long.MAX_VALUE;
+
     /**
      * The pattern.
      */
@@ -126,6 +163,10 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      * The locale.
      */
     private final Locale mLocale;
+    /**
+     * The week definition of the locale, used by the week fields.
+     */
+    private transient WeekDefinition mWeekDefinition;
     /**
      * The parsed rules.
      */
@@ -134,6 +175,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      * The estimated maximum length.
      */
     private transient int mMaxLengthEstimate;
+    /**
+     * The periods of local time during which the text of the leading rules does not change, the
+     * shortest period of the first rules at each index, see {@link Rule#getPeriod()}.
+     */
+    private transient long[] mPrefixPeriods;
+    /**
+     * The rules of the time zone, or null if instants must be formatted with a Calendar.
+     */
+    private transient ZoneRules mZoneRules;
+    /**
+     * The first instant formatted without a Calendar.
+     */
+    private transient long mMinCalendarFreeMillis;
+    /**
+     * The last time zone offset used. The window is immutable, so it can be replaced without synchronization.
+     */
+    private transient ZoneOffsetWindow mOffsetWindow;
 
     // Constructor
     //-----------------------------------------------------------------------
@@ -159,6 +217,8 @@ protected FastDatePrinter(final String pattern, final TimeZone timeZone, final L
      * <p>Initializes the instance for first use.</p>
      */
     private void init() {
+        final Calendar calendar = newCalendar();
+        mWeekDefinition = new WeekDefinition(calendar.getFirstDayOfWeek(), calendar.getMinimalDaysInFirstWeek());
         final List<Rule> rulesList = parsePattern();
         mRules = rulesList.toArray(new Rule[0]);
 
@@ -168,6 +228,44 @@ private void init() {
         }
 
         mMaxLengthEstimate = len;
+        int prefixLength = 0;
+        while (prefixLength < mRules.length && mRules[prefixLength].getPeriod() != 0) {
+            prefixLength++;
+        }
+        mPrefixPeriods = new long[prefixLength];
+        long period = CONSTANT;
+        for (int i = 0; i < prefixLength; i++) {
+            period = Math.min(period, mRules[i].getPeriod());
+            mPrefixPeriods[i] = period;
+        }
+        // the rules compute the fields of the Gregorian calendar
+        mZoneRules = calendar.getClass() == GregorianCalendar.class ? ZoneOffsetWindow.getZoneRules(mTimeZone) : null;
+        mMinCalendarFreeMillis = hasWeekFields() ? MIN_WEEK_CALENDAR_FREE_MILLIS
+            : ZoneOffsetWindow.MIN_CALENDAR_FREE_MILLIS;
+        mOffsetWindow = null;
+    }
+
+    /**
+     * <p>Checks whether the pattern has week fields.</p>
+     *
+     * @return {@code true} if the pattern formats the week of the year or of the month, or the week year
+     */
+    private boolean hasWeekFields() {
+        final int length = mPattern.length();
+        final int[] indexRef = new int[1];
+        for (int i = 0; i < length; i++) {
+            indexRef[0] = i;
+            final String token = parseToken(mPattern, indexRef);
+            i = indexRef[0];
+            if (token.isEmpty()) {
+                break;
+            }
+            final char c = token.charAt(0);
+            if (c == 'w' || c == 'W' || c == 'Y') {
+                return true;
+            }
+        }
+        return false;
     }
 
     // Parse the pattern
@@ -217,7 +315,7 @@ protected List<Rule> parsePattern() {
                     rule = selectNumberRule(Calendar.YEAR, tokenLen < 4 ? 4 : tokenLen);
                 }
                 if (c == 'Y') {
-                    rule = new WeekYear((NumberRule) rule);
+                    rule = new WeekYear((NumberRule) rule, mWeekDefinition);
                 }
                 break;
             case 'M': // month in year (text and number)
@@ -262,10 +360,12 @@ protected List<Rule> parsePattern() {
                 rule = selectNumberRule(Calendar.DAY_OF_WEEK_IN_MONTH, tokenLen);
                 break;
             case 'w': // week in year (number)
-                rule = selectNumberRule(Calendar.WEEK_OF_YEAR, tokenLen);
+                rule = new WeekField(selectNumberRule(Calendar.WEEK_OF_YEAR, tokenLen), Calendar.WEEK_OF_YEAR,
+                    mWeekDefinition);
                 break;
             case 'W': // week in month (number)
-                rule = selectNumberRule(Calendar.WEEK_OF_MONTH, tokenLen);
+                rule = new WeekField(selectNumberRule(Calendar.WEEK_OF_MONTH, tokenLen), Calendar.WEEK_OF_MONTH,
+                    mWeekDefinition);
                 break;
             case 'a': // am/pm marker (text)
                 rule = new TextField(Calendar.AM_PM, AmPmStrings);
@@ -410,6 +510,8 @@ public StringBuffer format(final Object obj, final StringBuffer toAppendTo, fina
             return format((Calendar) obj, toAppendTo);
         } else if (obj instanceof Long) {
             return format(((Long) obj).longValue(), toAppendTo);
+        } else if (obj instanceof TemporalAccessor) {
+            return format((TemporalAccessor) obj, toAppendTo);
         } else {
             throw new IllegalArgumentException("Unknown class: " +
                 (obj == null ? "<null>" : obj.getClass().getName()));
@@ -417,7 +519,7 @@ public StringBuffer format(final Object obj, final StringBuffer toAppendTo, fina
     }
 
     /**
-     * <p>Formats a {@code Date}, {@code Calendar} or
+     * <p>Formats a {@code Date}, {@code Calendar}, {@code TemporalAccessor} or
      * {@code Long} (milliseconds) object.</p>
      * @since 3.5
      * @param obj  the object to format
@@ -430,6 +532,8 @@ String format(final Object obj) {
             return format((Calendar) obj);
         } else if (obj instanceof Long) {
             return format(((Long) obj).longValue());
+        } else if (obj instanceof TemporalAccessor) {
+            return format((TemporalAccessor) obj);
         } else {
             throw new IllegalArgumentException("Unknown class: " +
                 (obj == null ? "<null>" : obj.getClass().getName()));
@@ -441,11 +545,56 @@ String format(final Object obj) {
      */
     @Override
     public String format(final long millis) {
+        if (isCalendarFree(millis)) {
+            return applyRules(millis, new StringBuilder(mMaxLengthEstimate)).toString();
+        }
         final Calendar c = newCalendar();
         c.setTimeInMillis(millis);
         return applyRulesToString(c);
     }
 
+    /**
+     * <p>Formats an instant, such as an {@link Instant} or a {@code ZonedDateTime}, in the time zone
+     * of this printer.</p>
+     *
+     * @param temporal  the temporal to format, which must support {@link ChronoField#INSTANT_SECONDS}
+     * @return the formatted string
+     * @throws DateTimeException if the temporal is not an instant
+     * @since 3.10
+     */
+    public String format(final TemporalAccessor temporal) {
+        return format(toEpochMilli(temporal));
+    }
+
+    /**
+     * <p>Formats an instant, such as an {@link Instant} or a {@code ZonedDateTime}, in the time zone
+     * of this printer into the supplied {@code Appendable}.</p>
+     *
+     * @param temporal  the temporal to format, which must support {@link ChronoField#INSTANT_SECONDS}
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     * @throws DateTimeException if the temporal is not an instant
+     * @since 3.10
+     */
+    public <B extends Appendable> B format(final TemporalAccessor temporal, final B buf) {
+        return format(toEpochMilli(temporal), buf);
+    }
+
+    /**
+     * Gets the milliseconds since the epoch of an instant.
+     *
+     * @param temporal  the instant
+     * @return the milliseconds since the epoch, truncating any finer precision
+     * @throws DateTimeException if the temporal is not an instant
+     */
+    private static long toEpochMilli(final TemporalAccessor temporal) {
+        final long seconds = temporal.getLong(ChronoField.INSTANT_SECONDS);
+        final long millis = temporal.isSupported(ChronoField.MILLI_OF_SECOND)
+            ? temporal.getLong(ChronoField.MILLI_OF_SECOND) : 0;
+        return Math.addExact(Math.multiplyExact(seconds, 1000L), millis);
+    }
+
     /**
      * Creates a String representation of the given Calendar by applying the rules of this printer to it.
      * @param c the Calender to apply the rules to.
@@ -468,6 +617,9 @@ private Calendar newCalendar() {
      */
     @Override
     public String format(final Date date) {
+        if (isCalendarFree(date.getTime())) {
+            return format(date.getTime());
+        }
         final Calendar c = newCalendar();
         c.setTime(date);
         return applyRulesToString(c);
@@ -486,6 +638,9 @@ public String format(final Calendar calendar) {
      */
     @Override
     public StringBuffer format(final long millis, final StringBuffer buf) {
+        if (isCalendarFree(millis)) {
+            return applyRules(millis, buf);
+        }
         final Calendar c = newCalendar();
         c.setTimeInMillis(millis);
         return (StringBuffer) applyRules(c, (Appendable) buf);
@@ -496,6 +651,9 @@ public StringBuffer format(final long millis, final StringBuffer buf) {
      */
     @Override
     public StringBuffer format(final Date date, final StringBuffer buf) {
+        if (isCalendarFree(date.getTime())) {
+            return applyRules(date.getTime(), buf);
+        }
         final Calendar c = newCalendar();
         c.setTime(date);
         return (StringBuffer) applyRules(c, (Appendable) buf);
@@ -515,6 +673,9 @@ public StringBuffer format(final Calendar calendar, final StringBuffer buf) {
      */
     @Override
     public <B extends Appendable> B format(final long millis, final B buf) {
+        if (isCalendarFree(millis)) {
+            return applyRules(millis, buf);
+        }
         final Calendar c = newCalendar();
         c.setTimeInMillis(millis);
         return applyRules(c, buf);
@@ -525,6 +686,9 @@ public <B extends Appendable> B format(final long millis, final B buf) {
      */
     @Override
     public <B extends Appendable> B format(final Date date, final B buf) {
+        if (isCalendarFree(date.getTime())) {
+            return applyRules(date.getTime(), buf);
+        }
         final Calendar c = newCalendar();
         c.setTime(date);
         return applyRules(c, buf);
@@ -543,6 +707,76 @@ public <B extends Appendable> B format(Calendar calendar, final B buf) {
         return applyRules(calendar, buf);
     }
 
+    /**
+     * <p>Formats an array of millisecond values into a buffer, separated by a separator.</p>
+     *
+     * <p>Consecutive values are usually close, so the text of the leading fields which did not
+     * change since the previous value, such as {@code "yyyy-MM-dd'T'HH:mm:"} for values in the
+     * same minute, is copied instead of formatted again, which is faster than formatting each
+     * value.</p>
+     *
+     * @param millis  the millisecond values to format
+     * @param separator  the separator between two values, null for none
+     * @param buf  the buffer to format into, such as a StringBuilder or a CharBuffer
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     * @throws NullPointerException if the values or the buffer is null
+     * @since 3.10
+     */
+    public <B extends Appendable> B format(final long[] millis, final CharSequence separator, final B buf) {
+        Validate.notNull(millis, "millis");
+        final BatchFormatter formatter = new BatchFormatter(Validate.notNull(buf, "buf"), separator);
+        for (final long value : millis) {
+            formatter.accept(value);
+        }
+        return buf;
+    }
+
+    /**
+     * <p>Formats a stream of millisecond values into a buffer, separated by a separator, as
+     * {@link #format(long[], CharSequence, Appendable)} does.</p>
+     *
+     * @param millis  the millisecond values to format, in the order of the stream
+     * @param separator  the separator between two values, null for none
+     * @param buf  the buffer to format into, such as a StringBuilder or a CharBuffer
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified buffer
+     * @throws NullPointerException if the stream or the buffer is null
+     * @since 3.10
+     */
+    public <B extends Appendable> B format(final LongStream millis, final CharSequence separator, final B buf) {
+        Validate.notNull(millis, "millis");
+        millis.forEachOrdered(new BatchFormatter(Validate.notNull(buf, "buf"), separator));
+        return buf;
+    }
+
+    /**
+     * <p>Formats an array of millisecond values into an array of strings, as
+     * {@link #format(long[], CharSequence, Appendable)} does.</p>
+     *
+     * @param millis  the millisecond values to format
+     * @param results  the array receiving the formatted values at the same indices, at least as long as
+     *  the values
+     * @return the specified array of strings
+     * @throws NullPointerException if an array is null
+     * @throws IllegalArgumentException if the array of strings is shorter than the values
+     * @since 3.10
+     */
+    public String[] format(final long[] millis, final String[] results) {
+        Validate.notNull(millis, "millis");
+        Validate.notNull(results, "results");
+        Validate.isTrue(results.length >= millis.length, "The results array is shorter than the values: %d",
+            results.length);
+        final StringBuilder buf = new StringBuilder(mMaxLengthEstimate);
+        final BatchFormatter formatter = new BatchFormatter(buf, null);
+        for (int i = 0; i < millis.length; i++) {
+            buf.setLength(0);
+            formatter.accept(millis[i]);
+            results[i] = buf.toString();
+        }
+        return results;
+    }
+
     /**
      * Performs the formatting by applying the rules to the
      * specified calendar.
@@ -578,6 +812,153 @@ private <B extends Appendable> B applyRules(final Calendar calendar, final B buf
         return buf;
     }
 
+    /**
+     * <p>Checks whether an instant can be formatted without a Calendar.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @return {@code true} if the fields of the instant can be computed arithmetically
+     */
+    private boolean isCalendarFree(final long millis) {
+        // the bounds leave a day for the time zone offset, and exclude the Julian calendar
+        return mZoneRules != null && millis >= mMinCalendarFreeMillis
+            && millis < ZoneOffsetWindow.MAX_CALENDAR_FREE_MILLIS;
+    }
+
+    /**
+     * <p>Performs the formatting by applying the rules to the
+     * fields of the specified instant, computed without a Calendar.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     */
+    private <B extends Appendable> B applyRules(final long millis, final B buf) {
+        final ZoneOffsetWindow window = getOffsetWindow(millis);
+        final long local = millis + window.mOffset;
+        final long date = toDateFields(Math.floorDiv(local, MILLIS_PER_DAY));
+        final long time = (long) window.mOffset << 32
+            | (window.mDaylight ? DAYLIGHT : 0)
+            | Math.floorMod(local, MILLIS_PER_DAY);
+        try {
+            for (final Rule rule : mRules) {
+                rule.appendTo(buf, date, time);
+            }
+        } catch (final IOException ioe) {
+            ExceptionUtils.rethrow(ioe);
+        }
+        return buf;
+    }
+
+    /**
+     * <p>Gets the time zone offset in effect at an instant, reusing the last offset until the
+     * next transition.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @return the offset window containing the instant
+     */
+    private ZoneOffsetWindow getOffsetWindow(final long millis) {
+        ZoneOffsetWindow window = mOffsetWindow;
+        if (window == null || !window.contains(millis)) {
+            window = new ZoneOffsetWindow(mTimeZone, mZoneRules, millis);
+            mOffsetWindow = window;
+        }
+        return window;
+    }
+
+    /**
+     * <p>Formats consecutive instants into a buffer, reusing the text of the leading rules which
+     * did not change since the previous instant.</p>
+     */
+    private final class BatchFormatter implements LongConsumer {
+        private final Appendable mBuffer;
+        private final CharSequence mSeparator;
+        private final StringBuilder mPrefix = new StringBuilder();
+        /** The end of the text of each leading rule in the prefix. */
+        private final int[] mPrefixEnds = new int[mPrefixPeriods.length + 1];
+        /** The millisecond in day from which the text of each leading rule is valid. */
+        private final int[] mValidFrom = new int[mPrefixPeriods.length];
+        /** The millisecond in day until which the text of each leading rule is valid, exclusive. */
+        private final int[] mValidTo = new int[mPrefixPeriods.length];
+        private boolean mFirst = true;
+        private long mEpochDay = Long.MIN_VALUE;
+        private long mDate;
+        private ZoneOffsetWindow mWindow;
+
+        /**
+         * Constructs a formatter.
+         *
+         * @param buffer  the buffer to format into
+         * @param separator  the separator between two instants, null for none
+         */
+        BatchFormatter(final Appendable buffer, final CharSequence separator) {
+            mBuffer = buffer;
+            mSeparator = separator;
+        }
+
+        /**
+         * Formats an instant, after the separator if it is not the first one.
+         *
+         * @param millis  the milliseconds since the epoch
+         */
+        @Override
+        public void accept(final long millis) {
+            try {
+                final boolean first = mFirst;
+                if (!first && mSeparator != null) {
+                    mBuffer.append(mSeparator);
+                }
+                mFirst = false;
+                if (!isCalendarFree(millis)) {
+                    format(millis, mBuffer);
+                    // the prefix may be reused after the fields changed
+                    mEpochDay = Long.MIN_VALUE;
+                    return;
+                }
+                if (mWindow == null || !mWindow.contains(millis)) {
+                    mWindow = getOffsetWindow(millis);
+                }
+                final long local = millis + mWindow.mOffset;
+                final long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+                final boolean sameDay = epochDay == mEpochDay;
+                if (!sameDay) {
+                    mEpochDay = epochDay;
+                    mDate = toDateFields(epochDay);
+                }
+                final int millisOfDay = (int) (local - epochDay * MILLIS_PER_DAY);
+                final long time = (long) mWindow.mOffset << 32
+                    | (mWindow.mDaylight ? DAYLIGHT : 0)
+                    | millisOfDay;
+                int valid = 0;
+                if (!first && sameDay) {
+                    while (valid < mPrefixPeriods.length && millisOfDay >= mValidFrom[valid]
+                            && millisOfDay < mValidTo[valid]) {
+                        valid++;
+                    }
+                }
+                mPrefix.setLength(mPrefixEnds[valid]);
+                for (int i = valid; i < mPrefixPeriods.length; i++) {
+                    mRules[i].appendTo(mPrefix, mDate, time);
+                    mPrefixEnds[i + 1] = mPrefix.length();
+                    final long period = mPrefixPeriods[i];
+                    if (period >= MILLIS_PER_DAY) {
+                        mValidFrom[i] = 0;
+                        mValidTo[i] = (int) MILLIS_PER_DAY;
+                    } else {
+                        mValidFrom[i] = millisOfDay - millisOfDay % (int) period;
+                        mValidTo[i] = mValidFrom[i] + (int) period;
+                    }
+                }
+                mBuffer.append(mPrefix);
+                for (int i = mPrefixPeriods.length; i < mRules.length; i++) {
+                    mRules[i].appendTo(mBuffer, mDate, time);
+                }
+            } catch (final IOException ioe) {
+                ExceptionUtils.rethrow(ioe);
+            }
+        }
+    }
+
     // Accessors
     //-----------------------------------------------------------------------
     /* (non-Javadoc)
@@ -756,6 +1137,144 @@ private static void appendFullDigits(final Appendable buffer, int value, int min
         }
     }
 
+    /**
+     * <p>Computes the date fields of a day, packed into a {@code long}.</p>
+     *
+     * <p>The year is in the high 32 bits, then come the day in year (9 bits), the day of week
+     * (3 bits), the month (4 bits, zero based as in Calendar) and the day in month (5 bits).</p>
+     *
+     * @param epochDay  the number of days since 1970-01-01
+     * @return the packed date fields
+     */
+    static long toDateFields(final long epochDay) {
+        // days since 0000-03-01, so that the leap day is the last day of the year
+        final long shifted = epochDay + 719468;
+        final long era = Math.floorDiv(shifted, 146097);
+        final int dayOfEra = (int) (shifted - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfMarchYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int marchMonth = (5 * dayOfMarchYear + 2) / 153;
+        final int dayOfMonth = dayOfMarchYear - (153 * marchMonth + 2) / 5 + 1;
+        final int month = marchMonth < 10 ? marchMonth + 2 : marchMonth - 10;
+        final int year = (int) (era * 400) + yearOfEra + (month < Calendar.MARCH ? 1 : 0);
+        final int dayOfYear;
+        if (month < Calendar.MARCH) {
+            dayOfYear = dayOfMarchYear - 305;
+        } else {
+            final boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            dayOfYear = dayOfMarchYear + (leap ? 61 : 60);
+        }
+        // 1970-01-01 was a Thursday
+        final int dayOfWeek = (int) Math.floorMod(epochDay + 4, 7L) + Calendar.SUNDAY;
+        return (long) year << 32 | dayOfYear << 12 | dayOfWeek << 9 | month << 5 | dayOfMonth;
+    }
+
+    /**
+     * <p>Gets a Calendar field from the packed fields of an instant.</p>
+     *
+     * @param field  the Calendar field, not a week field
+     * @param date  the date fields, see {@link #toDateFields(long)}
+     * @param time  the time zone offset in the high 32 bits, the {@link #DAYLIGHT} flag and the
+     *  millisecond in day
+     * @return the value of the field, as {@link Calendar#get(int)} would return it
+     */
+    private static int getField(final int field, final long date, final long time) {
+        final int millisOfDay = (int) time & 0x7ffffff;
+        switch (field) {
+        case Calendar.ERA:
+            return GregorianCalendar.AD;
+        case Calendar.YEAR:
+            return (int) (date >> 32);
+        case Calendar.MONTH:
+            return (int) date >> 5 & 0xf;
+        case Calendar.DAY_OF_MONTH:
+            return (int) date & 0x1f;
+        case Calendar.DAY_OF_WEEK:
+            return (int) date >> 9 & 0x7;
+        case Calendar.DAY_OF_YEAR:
+            return (int) date >> 12 & 0x1ff;
+        case Calendar.DAY_OF_WEEK_IN_MONTH:
+            return (((int) date & 0x1f) - 1) / 7 + 1;
+        case Calendar.AM_PM:
+            return millisOfDay / (12 * 60 * 60 * 1000);
+        case Calendar.HOUR:
+            return millisOfDay / (60 * 60 * 1000) % 12;
+        case Calendar.HOUR_OF_DAY:
+            return millisOfDay / (60 * 60 * 1000);
+        case Calendar.MINUTE:
+            return millisOfDay / (60 * 1000) % 60;
+        case Calendar.SECOND:
+            return millisOfDay / 1000 % 60;
+        case Calendar.MILLISECOND:
+            return millisOfDay % 1000;
+        default:
+            throw new IllegalArgumentException("Field " + field + " needs a Calendar");
+        }
+    }
+
+    /**
+     * <p>Gets the period of local time during which a Calendar field does not change.</p>
+     *
+     * @param field  the Calendar field
+     * @return the period in milliseconds, or 0 for the week and time zone fields
+     */
+    private static long getFieldPeriod(final int field) {
+        switch (field) {
+        case Calendar.ERA:
+        case Calendar.YEAR:
+        case Calendar.MONTH:
+        case Calendar.DAY_OF_MONTH:
+        case Calendar.DAY_OF_WEEK:
+        case Calendar.DAY_OF_YEAR:
+        case Calendar.DAY_OF_WEEK_IN_MONTH:
+            return MILLIS_PER_DAY;
+        case Calendar.AM_PM:
+        case Calendar.HOUR:
+        case Calendar.HOUR_OF_DAY:
+            return 60 * 60 * 1000;
+        case Calendar.MINUTE:
+            return 60 * 1000;
+        case Calendar.SECOND:
+            return 1000;
+        case Calendar.MILLISECOND:
+            return 1;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * <p>Appends a time zone offset as {@code +/-HH}, {@code +/-HHMM} or {@code +/-HH:MM}.</p>
+     *
+     * @param buffer  the output buffer
+     * @param offset  the offset in milliseconds
+     * @param minutes  true to append the minutes
+     * @param colon  true to separate the hours and minutes with a colon
+     * @throws IOException if an I/O error occurs
+     */
+    private static void appendOffset(final Appendable buffer, int offset, final boolean minutes,
+            final boolean colon) throws IOException {
+        if (offset < 0) {
+            buffer.append('-');
+            offset = -offset;
+        } else {
+            buffer.append('+');
+        }
+
+        final int hours = offset / (60 * 60 * 1000);
+        appendDigits(buffer, hours);
+
+        if (!minutes) {
+            return;
+        }
+
+        if (colon) {
+            buffer.append(':');
+        }
+
+        appendDigits(buffer, offset / (60 * 1000) - 60 * hours);
+    }
+
     // Rules
     //-----------------------------------------------------------------------
     /**
@@ -777,6 +1296,28 @@ private interface Rule {
          * @throws IOException if an I/O error occurs
          */
         void appendTo(Appendable buf, Calendar calendar) throws IOException;
+
+        /**
+         * Appends the value of the specified instant to the output buffer based on the rule implementation.
+         *
+         * @param buf the output buffer
+         * @param date the packed date fields of the instant
+         * @param time the packed time fields of the instant
+         * @throws IOException if an I/O error occurs
+         * @see FastDatePrinter#getField(int, long, long)
+         */
+        void appendTo(Appendable buf, long date, long time) throws IOException;
+
+        /**
+         * Returns the period of local time during which the output does not change, such as an hour for the
+         * hour of day, starting at midnight.
+         *
+         * @return the period in milliseconds, {@link FastDatePrinter#CONSTANT} if the output never changes,
+         * or 0 if it depends on the time zone
+         */
+        default long getPeriod() {
+            return 0;
+        }
     }
 
     /**
@@ -817,6 +1358,14 @@ public int estimateLength() {
             return 1;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return CONSTANT;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -824,6 +1373,14 @@ public int estimateLength() {
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             buffer.append(mValue);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            buffer.append(mValue);
+        }
     }
 
     /**
@@ -850,6 +1407,14 @@ public int estimateLength() {
             return mValue.length();
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return CONSTANT;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -857,6 +1422,14 @@ public int estimateLength() {
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             buffer.append(mValue);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            buffer.append(mValue);
+        }
     }
 
     /**
@@ -893,6 +1466,14 @@ public int estimateLength() {
             return max;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return getFieldPeriod(mField);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -900,6 +1481,14 @@ public int estimateLength() {
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             buffer.append(mValues[calendar.get(mField)]);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            buffer.append(mValues[getField(mField, date, time)]);
+        }
     }
 
     /**
@@ -925,6 +1514,14 @@ public int estimateLength() {
             return 4;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return getFieldPeriod(mField);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -933,6 +1530,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(mField));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            appendTo(buffer, getField(mField, date, time));
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -970,6 +1575,14 @@ public int estimateLength() {
             return 2;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return MILLIS_PER_DAY;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -978,6 +1591,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            appendTo(buffer, getField(Calendar.MONTH, date, time) + 1);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1021,6 +1642,14 @@ public int estimateLength() {
             return mSize;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return getFieldPeriod(mField);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1029,6 +1658,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(mField));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            appendTo(buffer, getField(mField, date, time));
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1061,6 +1698,14 @@ public int estimateLength() {
             return 2;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return getFieldPeriod(mField);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1069,6 +1714,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(mField));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            appendTo(buffer, getField(mField, date, time));
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1103,6 +1756,14 @@ public int estimateLength() {
             return 2;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return MILLIS_PER_DAY;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1111,6 +1772,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(Calendar.YEAR) % 100);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            appendTo(buffer, getField(Calendar.YEAR, date, time) % 100);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1141,6 +1810,14 @@ public int estimateLength() {
             return 2;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return MILLIS_PER_DAY;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1149,6 +1826,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            appendTo(buffer, getField(Calendar.MONTH, date, time) + 1);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1182,6 +1867,14 @@ public int estimateLength() {
             return mRule.estimateLength();
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return getFieldPeriod(Calendar.HOUR);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1194,6 +1887,15 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             mRule.appendTo(buffer, value);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            final int value = getField(Calendar.HOUR, date, time);
+            mRule.appendTo(buffer, value == 0 ? 12 : value);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1227,6 +1929,14 @@ public int estimateLength() {
             return mRule.estimateLength();
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getPeriod() {
+            return getFieldPeriod(Calendar.HOUR_OF_DAY);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1239,6 +1949,15 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             mRule.appendTo(buffer, value);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            final int value = getField(Calendar.HOUR_OF_DAY, date, time);
+            mRule.appendTo(buffer, value == 0 ? 24 : value);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1263,12 +1982,23 @@ public int estimateLength() {
             return mRule.estimateLength();
         }
 
+        @Override
+        public long getPeriod() {
+            return MILLIS_PER_DAY;
+        }
+
         @Override
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             final int value = calendar.get(Calendar.DAY_OF_WEEK);
             mRule.appendTo(buffer, value == Calendar.SUNDAY ? 7 : value - 1);
         }
 
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            final int value = getField(Calendar.DAY_OF_WEEK, date, time);
+            mRule.appendTo(buffer, value == Calendar.SUNDAY ? 7 : value - 1);
+        }
+
         @Override
         public void appendTo(final Appendable buffer, final int value) throws IOException {
             mRule.appendTo(buffer, value);
@@ -1276,13 +2006,169 @@ public void appendTo(final Appendable buffer, final int value) throws IOExceptio
     }
 
     /**
-     * <p>Inner class to output the numeric day in week.</p>
+     * <p>Inner class computing the week fields of the Gregorian calendar from the packed date fields,
+     * as a GregorianCalendar with the same week definition does after its cutover year.</p>
+     */
+    private static final class WeekDefinition {
+        private final int mFirstDayOfWeek;
+        private final int mMinimalDaysInFirstWeek;
+
+        /**
+         * Constructs an instance of {@code WeekDefinition}.
+         *
+         * @param firstDayOfWeek the first day of the week, as {@link Calendar#getFirstDayOfWeek()}
+         * @param minimalDaysInFirstWeek the minimal days in the first week, as
+         *  {@link Calendar#getMinimalDaysInFirstWeek()}
+         */
+        WeekDefinition(final int firstDayOfWeek, final int minimalDaysInFirstWeek) {
+            mFirstDayOfWeek = firstDayOfWeek;
+            mMinimalDaysInFirstWeek = minimalDaysInFirstWeek;
+        }
+
+        /**
+         * Gets the first day of the first week of a year or month, which may be before its first day.
+         *
+         * @param day a day, 1 for the first day of the year or month
+         * @param dayOfWeek the day of week of the day
+         * @return the first day of the first week
+         */
+        private int getFirstWeekStart(final int day, final int dayOfWeek) {
+            // the days of the week containing day 1 which are before day 1
+            final int before = Math.floorMod(dayOfWeek - day + 1 - mFirstDayOfWeek, 7);
+            return 7 - before >= mMinimalDaysInFirstWeek ? 1 - before : 8 - before;
+        }
+
+        /**
+         * Gets the number of the week containing a day of a year or month, 0 for the days before the
+         * first week.
+         *
+         * @param day the day, 1 for the first day of the year or month
+         * @param dayOfWeek the day of week of the day
+         * @return the number of the week
+         */
+        private int getWeekNumber(final int day, final int dayOfWeek) {
+            return Math.floorDiv(day - getFirstWeekStart(day, dayOfWeek), 7) + 1;
+        }
+
+        /**
+         * Gets the week of the year.
+         *
+         * @param date the date fields, see {@link #toDateFields(long)}
+         * @return the value of {@link Calendar#WEEK_OF_YEAR}
+         */
+        int getWeekOfYear(final long date) {
+            final int year = (int) (date >> 32);
+            final int dayOfYear = (int) date >> 12 & 0x1ff;
+            final int dayOfWeek = (int) date >> 9 & 0x7;
+            final int week = getWeekNumber(dayOfYear, dayOfWeek);
+            if (week == 0) {
+                // the last week of the previous year
+                return getWeekNumber(dayOfYear + getLengthOfYear(year - 1), dayOfWeek);
+            }
+            if (week >= 52) {
+                final int dayOfNextYear = dayOfYear - getLengthOfYear(year);
+                if (dayOfNextYear >= getFirstWeekStart(dayOfNextYear, dayOfWeek)) {
+                    // the first week of the next year
+                    return 1;
+                }
+            }
+            return week;
+        }
+
+        /**
+         * Gets the week of the month.
+         *
+         * @param date the date fields, see {@link #toDateFields(long)}
+         * @return the value of {@link Calendar#WEEK_OF_MONTH}
+         */
+        int getWeekOfMonth(final long date) {
+            return getWeekNumber((int) date & 0x1f, (int) date >> 9 & 0x7);
+        }
+
+        /**
+         * Gets the week year.
+         *
+         * @param date the date fields, see {@link #toDateFields(long)}
+         * @return the value of {@link Calendar#getWeekYear()}
+         */
+        int getWeekYear(final long date) {
+            final int year = (int) (date >> 32);
+            final int week = getWeekOfYear(date);
+            if (((int) date >> 5 & 0xf) == Calendar.JANUARY) {
+                return week >= 52 ? year - 1 : year;
+            }
+            return week == 1 ? year + 1 : year;
+        }
+
+        /**
+         * Gets the number of days in a year of the Gregorian calendar.
+         *
+         * @param year the year
+         * @return 366 for a leap year, 365 otherwise
+         */
+        private static int getLengthOfYear(final int year) {
+            return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 366 : 365;
+        }
+    }
+
+    /**
+     * <p>Inner class to output the week of the year or of the month.</p>
+     */
+    private static class WeekField implements NumberRule {
+        private final NumberRule mRule;
+        private final int mField;
+        private final WeekDefinition mWeekDefinition;
+
+        /**
+         * Constructs an instance of {@code WeekField}.
+         *
+         * @param rule the rule formatting the number
+         * @param field the field, {@link Calendar#WEEK_OF_YEAR} or {@link Calendar#WEEK_OF_MONTH}
+         * @param weekDefinition the week definition of the locale
+         */
+        WeekField(final NumberRule rule, final int field, final WeekDefinition weekDefinition) {
+            mRule = rule;
+            mField = field;
+            mWeekDefinition = weekDefinition;
+        }
+
+        @Override
+        public int estimateLength() {
+            return mRule.estimateLength();
+        }
+
+        @Override
+        public long getPeriod() {
+            return MILLIS_PER_DAY;
+        }
+
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
+            mRule.appendTo(buffer, calendar.get(mField));
+        }
+
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            mRule.appendTo(buffer, mField == Calendar.WEEK_OF_YEAR ? mWeekDefinition.getWeekOfYear(date)
+                : mWeekDefinition.getWeekOfMonth(date));
+        }
+
+        @Override
+        public void appendTo(final Appendable buffer, final int value) throws IOException {
+            mRule.appendTo(buffer, value);
+        }
+    }
+
+    /**
+     * <p>Inner class to output the week year.</p>
      */
     private static class WeekYear implements NumberRule {
         private final NumberRule mRule;
+        private final WeekDefinition mWeekDefinition;
 
-        WeekYear(final NumberRule rule) {
+        WeekYear(final NumberRule rule, final WeekDefinition weekDefinition) {
             mRule = rule;
+            mWeekDefinition = weekDefinition;
         }
 
         @Override
@@ -1290,11 +2176,21 @@ public int estimateLength() {
             return mRule.estimateLength();
         }
 
+        @Override
+        public long getPeriod() {
+            return MILLIS_PER_DAY;
+        }
+
         @Override
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             mRule.appendTo(buffer, calendar.getWeekYear());
         }
 
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            mRule.appendTo(buffer, mWeekDefinition.getWeekYear(date));
+        }
+
         @Override
         public void appendTo(final Appendable buffer, final int value) throws IOException {
             mRule.appendTo(buffer, value);
@@ -1375,6 +2271,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
                 buffer.append(getTimeZoneDisplay(zone, true, mStyle, mLocale));
             }
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            buffer.append((time & DAYLIGHT) != 0 ? mDaylight : mStandard);
+        }
     }
 
     /**
@@ -1409,25 +2313,16 @@ public int estimateLength() {
          */
         @Override
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
+            final int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+            appendOffset(buffer, offset, true, mColon);
+        }
 
-            int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
-
-            if (offset < 0) {
-                buffer.append('-');
-                offset = -offset;
-            } else {
-                buffer.append('+');
-            }
-
-            final int hours = offset / (60 * 60 * 1000);
-            appendDigits(buffer, hours);
-
-            if (mColon) {
-                buffer.append(':');
-            }
-
-            final int minutes = offset / (60 * 1000) - 60 * hours;
-            appendDigits(buffer, minutes);
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            appendOffset(buffer, (int) (time >> 32), true, mColon);
         }
     }
 
@@ -1488,32 +2383,25 @@ public int estimateLength() {
          */
         @Override
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
-            int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+            final int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
             if (offset == 0) {
                 buffer.append("Z");
                 return;
             }
+            appendOffset(buffer, offset, length >= 5, length == 6);
+        }
 
-            if (offset < 0) {
-                buffer.append('-');
-                offset = -offset;
-            } else {
-                buffer.append('+');
-            }
-
-            final int hours = offset / (60 * 60 * 1000);
-            appendDigits(buffer, hours);
-
-            if (length<5) {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long date, final long time) throws IOException {
+            final int offset = (int) (time >> 32);
+            if (offset == 0) {
+                buffer.append("Z");
                 return;
             }
-
-            if (length==6) {
-                buffer.append(':');
-            }
-
-            final int minutes = offset / (60 * 1000) - 60 * hours;
-            appendDigits(buffer, minutes);
+            appendOffset(buffer, offset, length >= 5, length == 6);
         }
     }
 
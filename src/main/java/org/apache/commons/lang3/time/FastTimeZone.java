@@ -17,12 +17,18 @@
 package org.apache.commons.lang3.time;
 
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Faster methods to produce custom time zones.
  *
+ * <p>The GMT offset time zones are immutable and shared. The time zones with an Olson id are cached, and a copy of the
+ * cached time zone is returned, as {@link TimeZone#getTimeZone(String)} does, so that callers may modify it.</p>
+ *
  * @since 3.7
  */
 public class FastTimeZone {
@@ -31,6 +37,28 @@ public class FastTimeZone {
 
     private static final TimeZone GREENWICH = new GmtTimeZone(false, 0, 0);
 
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * The GMT offset time zones, indexed by their offset in minutes plus the minutes of a day less one.
+     */
+    private static final AtomicReferenceArray<TimeZone> GMT_ZONES = new AtomicReferenceArray<>(2 * MINUTES_PER_DAY - 1);
+
+    /**
+     * The time zones with an Olson id, which must not be modified, by id.
+     */
+    private static final ConcurrentMap<String, TimeZone> ZONES = new ConcurrentHashMap<>();
+
+    /**
+     * Returned by {@link #getGmtOffset(CharSequence, int, int)} when the text is not a GMT offset.
+     */
+    static final int NOT_GMT_OFFSET = Integer.MIN_VALUE;
+
+    /**
+     * Returned by {@link #getGmtOffset(CharSequence, int, int)} when the text is a GMT offset out of range.
+     */
+    static final int INVALID_GMT_OFFSET = Integer.MAX_VALUE;
+
     /**
      * Gets the GMT TimeZone.
      * @return A TimeZone with a raw offset of zero.
@@ -47,10 +75,25 @@ public static TimeZone getGmtTimeZone() {
      * @return A TimeZone with offset from GMT or null, if pattern does not match.
      */
     public static TimeZone getGmtTimeZone(final String pattern) {
-        if ("Z".equals(pattern) || "UTC".equals(pattern)) {
+        final int offset = getGmtOffset(pattern, 0, pattern.length());
+        if (offset == NOT_GMT_OFFSET) {
+            return null;
+        }
+        if (offset == 0) {
             return GREENWICH;
         }
+        if (offset != INVALID_GMT_OFFSET) {
+            final int index = offset / (60 * 1000) + MINUTES_PER_DAY - 1;
+            final TimeZone tz = GMT_ZONES.get(index);
+            if (tz != null) {
+                return tz;
+            }
+            final int minutes = Math.abs(offset) / (60 * 1000);
+            GMT_ZONES.compareAndSet(index, null, new GmtTimeZone(offset < 0, minutes / 60, minutes % 60));
+            return GMT_ZONES.get(index);
+        }
 
+        // throws the exception of the hours or minutes out of range
         final Matcher m = GMT_PATTERN.matcher(pattern);
         if (m.matches()) {
             final int hours = parseInt(m.group(2));
@@ -63,6 +106,92 @@ public static TimeZone getGmtTimeZone(final String pattern) {
         return null;
     }
 
+    /**
+     * Gets the offset of the TimeZone {@link #getGmtTimeZone(String)} returns for a region of text,
+     * without creating the String or the TimeZone.
+     *
+     * @param text The text holding the GMT offset
+     * @param start The index of the first char of the GMT offset
+     * @param end The index after the last char of the GMT offset
+     * @return The offset in milliseconds, {@link #NOT_GMT_OFFSET} if getGmtTimeZone returns null, or
+     * {@link #INVALID_GMT_OFFSET} if it throws because the hours or minutes are out of range.
+     */
+    static int getGmtOffset(final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        if (length == 1 && text.charAt(start) == 'Z'
+                || length == 3 && text.charAt(start) == 'U' && text.charAt(start + 1) == 'T'
+                && text.charAt(start + 2) == 'C') {
+            return 0;
+        }
+
+        int idx = start;
+        if (length >= 3 && isIgnoreCase(text.charAt(idx), 'G') && isIgnoreCase(text.charAt(idx + 1), 'M')
+                && isIgnoreCase(text.charAt(idx + 2), 'T')) {
+            idx += 3;
+        }
+        boolean negate = false;
+        if (idx < end && (text.charAt(idx) == '+' || text.charAt(idx) == '-')) {
+            negate = text.charAt(idx) == '-';
+            idx++;
+        }
+        // as GMT_PATTERN, the hours take as many digits as allow the minutes to match
+        int digits = 0;
+        while (digits < 2 && idx + digits < end && isDigit(text.charAt(idx + digits))) {
+            digits++;
+        }
+        for (; digits >= 0; digits--) {
+            final int minutes = getMinutes(text, idx + digits, end);
+            if (minutes >= 0) {
+                final int hours = digits == 0 ? 0 : getDigits(text, idx, idx + digits);
+                if (hours == 0 && minutes == 0) {
+                    return 0;
+                }
+                if (hours >= 24 || minutes >= 60) {
+                    return INVALID_GMT_OFFSET;
+                }
+                final int offset = (hours * 60 + minutes) * 60 * 1000;
+                return negate ? -offset : offset;
+            }
+        }
+        return NOT_GMT_OFFSET;
+    }
+
+    /**
+     * Matches the optional minutes at the end of a GMT offset.
+     *
+     * @param text The text holding the GMT offset
+     * @param start The index after the hours
+     * @param end The index after the last char of the GMT offset
+     * @return The minutes, 0 if they are missing, or -1 if the text does not match
+     */
+    private static int getMinutes(final CharSequence text, final int start, final int end) {
+        if (start == end) {
+            return 0;
+        }
+        final int idx = text.charAt(start) == ':' ? start + 1 : start;
+        final int digits = end - idx;
+        if (digits < 1 || digits > 2 || !isDigit(text.charAt(idx)) || !isDigit(text.charAt(end - 1))) {
+            return -1;
+        }
+        return getDigits(text, idx, end);
+    }
+
+    private static int getDigits(final CharSequence text, final int start, final int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIgnoreCase(final char c, final char upperCase) {
+        return c == upperCase || c == Character.toLowerCase(upperCase);
+    }
+
     /**
      * Gets a TimeZone, looking first for GMT custom ids, then falling back to Olson ids.
      * A GMT custom id can be 'Z', or 'UTC', or has an optional prefix of GMT,
@@ -77,7 +206,30 @@ public static TimeZone getTimeZone(final String id) {
         if (tz != null) {
             return tz;
         }
-        return TimeZone.getTimeZone(id);
+        return (TimeZone) getCachedTimeZone(id).clone();
+    }
+
+    /**
+     * Gets the time zone {@link TimeZone#getTimeZone(String)} returns for an id, without copying it when the id is
+     * known. The time zone is shared, so it must not be modified.
+     *
+     * @param id An Olson id, or a custom id of {@link TimeZone#getTimeZone(String)}
+     * @return A timezone
+     */
+    static TimeZone getCachedTimeZone(final String id) {
+        final TimeZone cached = ZONES.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final TimeZone tz = TimeZone.getTimeZone(id);
+        // only the known ids, whose number is bounded, and not the ones falling back to GMT
+        if (tz.getID().equals(id)) {
+            final TimeZone inCache = ZONES.putIfAbsent(id, tz);
+            if (inCache != null) {
+                return inCache;
+            }
+        }
+        return tz;
     }
 
     private static int parseInt(final String group) {
@@ -19,17 +19,24 @@
 import java.text.DateFormat;
 import java.text.Format;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.Queue;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.lang3.Validate;
 
 /**
  * <p>FormatCache is a cache and factory for {@link Format}s.</p>
  *
+ * <p>The cache is unbounded unless a maximum size is set, in which case the least recently used formats are
+ * evicted first, approximated with the CLOCK algorithm so that lookups never lock. The cache of the patterns
+ * of the date and time styles is shared by all instances, and bounded separately.</p>
+ *
  * @since 3.0
  */
 // TODO: Before making public move from getDateTimeInstance(Integer, ...) to int; or some other approach.
@@ -40,11 +47,9 @@
      */
     static final int NONE= -1;
 
-    private final ConcurrentMap<MultipartKey, F> cInstanceCache
-        = new ConcurrentHashMap<>(7);
+    private final ClockCache<F> cInstanceCache = new ClockCache<>();
 
-    private static final ConcurrentMap<MultipartKey, String> cDateTimeInstanceCache
-        = new ConcurrentHashMap<>(7);
+    private static final ClockCache<String> cDateTimeInstanceCache = new ClockCache<>();
 
     /**
      * <p>Gets a formatter instance using the default pattern in the
@@ -90,6 +95,49 @@ public F getInstance(final String pattern, TimeZone timeZone, Locale locale) {
         return format;
     }
 
+    /**
+     * <p>Sets the maximum number of cached formats, evicting the least recently used formats
+     * beyond it.</p>
+     *
+     * @param maximumSize  the maximum size, {@link Integer#MAX_VALUE} for an unbounded cache
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    void setMaximumSize(final int maximumSize) {
+        Validate.isTrue(maximumSize > 0, "The maximum size must be positive: %d", maximumSize);
+        cInstanceCache.setMaximumSize(maximumSize);
+    }
+
+    /**
+     * <p>Sets the maximum number of cached patterns of the date and time styles, shared by all
+     * instances, evicting the least recently used patterns beyond it.</p>
+     *
+     * @param maximumSize  the maximum size, {@link Integer#MAX_VALUE} for an unbounded cache
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    static void setPatternCacheMaximumSize(final int maximumSize) {
+        Validate.isTrue(maximumSize > 0, "The maximum size must be positive: %d", maximumSize);
+        cDateTimeInstanceCache.setMaximumSize(maximumSize);
+    }
+
+    /**
+     * <p>Gets a snapshot of the statistics of the cached patterns of the date and time styles.</p>
+     *
+     * @return the statistics
+     */
+    // package protected, for access from test code; do not make public or protected
+    static FormatCacheStatistics getPatternCacheStatistics() {
+        return cDateTimeInstanceCache.getStatistics();
+    }
+
+    /**
+     * <p>Gets a snapshot of the statistics of the cached formats.</p>
+     *
+     * @return the statistics
+     */
+    FormatCacheStatistics getStatistics() {
+        return cInstanceCache.getStatistics();
+    }
+
     /**
      * <p>Create a format instance using the specified pattern, time zone
      * and locale.</p>
@@ -216,6 +264,95 @@ static String getPatternForStyle(final Integer dateStyle, final Integer timeStyl
         return pattern;
     }
 
+    // ----------------------------------------------------------------------
+    /**
+     * <p>A concurrent map with an optional maximum size, evicting with the CLOCK algorithm.</p>
+     *
+     * <p>Lookups only set the referenced flag of the entry found. Insertions append the key to the clock,
+     * and while the map is too large the hand of the clock evicts the first key not referenced since it was
+     * last passed, clearing the flags it passes.</p>
+     *
+     * @param <V> the type of the values
+     */
+    private static final class ClockCache<V> {
+        private final ConcurrentMap<MultipartKey, Entry<V>> map = new ConcurrentHashMap<>(7);
+        // the keys in the order the hand of the clock passes them, guarded by itself
+        private final Queue<MultipartKey> clock = new ArrayDeque<>();
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder evictionCount = new LongAdder();
+        private volatile int maximumSize = Integer.MAX_VALUE;
+
+        private static final class Entry<V> {
+            final V value;
+            volatile boolean referenced;
+
+            Entry(final V value) {
+                this.value = value;
+            }
+        }
+
+        V get(final MultipartKey key) {
+            final Entry<V> entry = map.get(key);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            if (!entry.referenced) {
+                // avoid writing a shared cache line when there is no change
+                entry.referenced = true;
+            }
+            return entry.value;
+        }
+
+        V putIfAbsent(final MultipartKey key, final V value) {
+            final Entry<V> previous = map.putIfAbsent(key, new Entry<>(value));
+            if (previous != null) {
+                return previous.value;
+            }
+            synchronized (clock) {
+                clock.add(key);
+                evict();
+            }
+            return null;
+        }
+
+        void setMaximumSize(final int maximumSize) {
+            synchronized (clock) {
+                this.maximumSize = maximumSize;
+                evict();
+            }
+        }
+
+        FormatCacheStatistics getStatistics() {
+            return new FormatCacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(), map.size(),
+                maximumSize);
+        }
+
+        // must be called holding the lock of the clock
+        private void evict() {
+            // the entries referenced concurrently are evicted anyway once the hand went round twice
+            int chances = 2 * clock.size();
+            while (map.size() > maximumSize) {
+                final MultipartKey key = clock.poll();
+                if (key == null) {
+                    return;
+                }
+                final Entry<V> entry = map.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.referenced && chances-- > 0) {
+                    entry.referenced = false;
+                    clock.add(key);
+                } else if (map.remove(key, entry)) {
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
     // ----------------------------------------------------------------------
     /**
      * <p>Helper class to hold multi-part Map keys</p>
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+/**
+ * <p>A snapshot of the statistics of the cache behind the {@link FastDateFormat} factory methods.</p>
+ *
+ * <p>The counts are cumulative since the class was loaded. As the cache is updated concurrently, the
+ * values of a snapshot are not necessarily consistent with one another.</p>
+ *
+ * <p>#Immutable#</p>
+ *
+ * @see FastDateFormat#getCacheStatistics()
+ * @since 3.10
+ */
+public final class FormatCacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maximumSize;
+
+    /**
+     * Constructs a snapshot.
+     *
+     * @param hitCount  the number of lookups which found a cached format
+     * @param missCount  the number of lookups which created a format
+     * @param evictionCount  the number of formats evicted to respect the maximum size
+     * @param size  the number of cached formats
+     * @param maximumSize  the maximum number of cached formats
+     */
+    FormatCacheStatistics(final long hitCount, final long missCount, final long evictionCount, final int size,
+            final int maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets the number of lookups which found a cached format.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups which created a format, because it was not cached.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of formats evicted to respect the maximum size.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of cached formats.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of cached formats.
+     *
+     * @return the maximum size, {@link Integer#MAX_VALUE} if the cache is unbounded
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the ratio of lookups which found a cached format.
+     *
+     * @return the hit rate between 0 and 1, 1 if there was no lookup
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Gets a debugging string for the statistics.
+     *
+     * @return the statistics
+     */
+    @Override
+    public String toString() {
+        return "FormatCacheStatistics[hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+            + ", size=" + size + ", maximumSize=" + maximumSize + "]";
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * <p>The report of a warm-up of the {@link FastDateFormat} factory methods: the formats preloaded, and how long
+ * each one took to create, or to find in the cache, and to format and parse a date once.</p>
+ *
+ * <p>#Immutable#</p>
+ *
+ * @see FastDateFormat#preload(java.util.Collection, java.util.Collection, java.util.Collection)
+ * @since 3.10
+ */
+public final class FormatPreloadReport {
+
+    /**
+     * <p>The preload of a format.</p>
+     *
+     * <p>#Immutable#</p>
+     */
+    public static final class Entry {
+
+        private final FastDateFormat format;
+        private final long nanoTime;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param format  the format preloaded
+         * @param nanoTime  the time taken in nanoseconds
+         */
+        Entry(final FastDateFormat format, final long nanoTime) {
+            this.format = format;
+            this.nanoTime = nanoTime;
+        }
+
+        /**
+         * Gets the format preloaded, as cached by the factory methods.
+         *
+         * @return the format
+         */
+        public FastDateFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * Gets the pattern of the format.
+         *
+         * @return the pattern
+         */
+        public String getPattern() {
+            return format.getPattern();
+        }
+
+        /**
+         * Gets the time zone of the format, the default time zone if none was given.
+         *
+         * @return the time zone
+         */
+        public TimeZone getTimeZone() {
+            return format.getTimeZone();
+        }
+
+        /**
+         * Gets the locale of the format, the default locale if none was given.
+         *
+         * @return the locale
+         */
+        public Locale getLocale() {
+            return format.getLocale();
+        }
+
+        /**
+         * Gets the time taken to preload the format.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getNanoTime() {
+            return nanoTime;
+        }
+
+        /**
+         * Gets a debugging string for the entry.
+         *
+         * @return the pattern, time zone id, locale and time in nanoseconds
+         */
+        @Override
+        public String toString() {
+            return "Entry[" + getPattern() + ", " + getTimeZone().getID() + ", " + getLocale() + ", nanoTime="
+                + nanoTime + "]";
+        }
+    }
+
+    private final List<Entry> entries;
+    private final long nanoTime;
+
+    /**
+     * Constructs a report.
+     *
+     * @param entries  the entries, in the order the formats were requested
+     * @param nanoTime  the elapsed time of the whole preload in nanoseconds
+     */
+    FormatPreloadReport(final List<Entry> entries, final long nanoTime) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Gets the entries of the formats preloaded, in the order they were requested.
+     *
+     * @return the unmodifiable list of entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the elapsed time of the whole preload. When the formats are preloaded in parallel, this is less than the
+     * sum of the times of the entries.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    /**
+     * Gets a debugging string for the report.
+     *
+     * @return the number of formats and the elapsed time in nanoseconds
+     */
+    @Override
+    public String toString() {
+        return "FormatPreloadReport[formats=" + entries.size() + ", nanoTime=" + nanoTime + "]";
+    }
+}
@@ -65,6 +65,11 @@ public void setRawOffset(final int offsetMillis) {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setID(final String id) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public int getRawOffset() {
         return offset;
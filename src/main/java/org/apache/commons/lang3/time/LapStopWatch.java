@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>
+ * {@code LapStopWatch} is a companion to {@link StopWatch} that records any number of named laps, up to a capacity
+ * fixed at construction, in nanoseconds.
+ * </p>
+ *
+ * <p>
+ * To start the watch, call {@link #start()} or {@link #createStarted(int)}. Each call to {@link #lap(String)} ends the
+ * current lap, records its name and end time into preallocated arrays, and starts the next lap. {@link #stop()} ends
+ * the timing session. Recording a lap does not allocate, so a watch can be reset and reused to time the stages of
+ * each request, and the lap times fed to a {@link TimingHistogram} shared by all threads.
+ * </p>
+ *
+ * <pre>
+ * final LapStopWatch watch = LapStopWatch.createStarted(3);
+ * parse(request);
+ * parseTimes.record(watch.lap("parse"));
+ * execute(request);
+ * executeTimes.record(watch.lap("execute"));
+ * </pre>
+ *
+ * <p>This class is not thread-safe</p>
+ *
+ * @see StopWatch
+ * @see TimingHistogram
+ * @since 3.10
+ */
+public class LapStopWatch {
+
+    /**
+     * Enumeration type which indicates the status of stopwatch.
+     */
+    private enum State {
+        UNSTARTED,
+        RUNNING,
+        STOPPED
+    }
+
+    /**
+     * Creates a started stopwatch for convenience.
+     *
+     * @param capacity the maximum number of laps, greater than zero
+     * @return a stopwatch that's already been started.
+     * @throws IllegalArgumentException if the capacity is not greater than zero
+     */
+    public static LapStopWatch createStarted(final int capacity) {
+        final LapStopWatch watch = new LapStopWatch(capacity);
+        watch.start();
+        return watch;
+    }
+
+    /**
+     * The names of the laps.
+     */
+    private final String[] names;
+
+    /**
+     * The end times of the laps, from {@link System#nanoTime()}.
+     */
+    private final long[] endTimes;
+
+    /**
+     * The number of laps recorded.
+     */
+    private int lapCount;
+
+    /**
+     * The current running state of the stopwatch.
+     */
+    private State runningState = State.UNSTARTED;
+
+    /**
+     * The start time.
+     */
+    private long startTime;
+
+    /**
+     * The stop time.
+     */
+    private long stopTime;
+
+    /**
+     * <p>
+     * Constructor.
+     * </p>
+     *
+     * @param capacity the maximum number of laps, greater than zero
+     * @throws IllegalArgumentException if the capacity is not greater than zero
+     */
+    public LapStopWatch(final int capacity) {
+        Validate.isTrue(capacity > 0, "The capacity must be greater than zero: %d", capacity);
+        this.names = new String[capacity];
+        this.endTimes = new long[capacity];
+    }
+
+    /**
+     * Gets the maximum number of laps.
+     *
+     * @return the maximum number of laps
+     */
+    public int getCapacity() {
+        return names.length;
+    }
+
+    /**
+     * Gets the number of laps recorded since the stopwatch was started.
+     *
+     * @return the number of laps
+     */
+    public int getLapCount() {
+        return lapCount;
+    }
+
+    /**
+     * Gets the name of a lap.
+     *
+     * @param index the index of the lap, in the order recorded
+     * @return the name of the lap, may be null
+     * @throws IndexOutOfBoundsException if no lap was recorded at the index
+     */
+    public String getLapName(final int index) {
+        checkLapIndex(index);
+        return names[index];
+    }
+
+    /**
+     * Gets the duration of a lap, from the end of the previous lap, or the start of the stopwatch for the first lap.
+     *
+     * @param index the index of the lap, in the order recorded
+     * @return the duration of the lap in nanoseconds
+     * @throws IndexOutOfBoundsException if no lap was recorded at the index
+     */
+    public long getLapNanoTime(final int index) {
+        checkLapIndex(index);
+        return endTimes[index] - (index == 0 ? startTime : endTimes[index - 1]);
+    }
+
+    /**
+     * Gets the time from the start of the stopwatch to the end of a lap.
+     *
+     * @param index the index of the lap, in the order recorded
+     * @return the split time of the lap in nanoseconds
+     * @throws IndexOutOfBoundsException if no lap was recorded at the index
+     */
+    public long getSplitNanoTime(final int index) {
+        checkLapIndex(index);
+        return endTimes[index] - startTime;
+    }
+
+    /**
+     * <p>
+     * Gets the time on the stopwatch in nanoseconds.
+     * </p>
+     *
+     * <p>
+     * This is either the time between the start and the moment this method is called, or the amount of time between
+     * start and stop.
+     * </p>
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanoTime() {
+        switch (runningState) {
+        case RUNNING:
+            return System.nanoTime() - startTime;
+        case STOPPED:
+            return stopTime - startTime;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the time on the stopwatch in the specified TimeUnit, with any remainder rounded down.
+     *
+     * @param timeUnit the unit of time, not null
+     * @return the time in the specified TimeUnit, rounded down
+     */
+    public long getTime(final TimeUnit timeUnit) {
+        return timeUnit.convert(getNanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns whether the stopwatch is started, and not yet stopped.
+     *
+     * @return boolean If the stopwatch is started.
+     */
+    public boolean isStarted() {
+        return runningState == State.RUNNING;
+    }
+
+    /**
+     * Returns whether the stopwatch is stopped. A stopwatch not yet started is considered stopped.
+     *
+     * @return boolean If the stopwatch is stopped.
+     */
+    public boolean isStopped() {
+        return runningState != State.RUNNING;
+    }
+
+    /**
+     * <p>
+     * Ends the current lap and starts the next one.
+     * </p>
+     *
+     * @param name the name of the lap, may be null
+     * @return the duration of the lap in nanoseconds
+     * @throws IllegalStateException if the stopwatch is not running, or the capacity is reached
+     */
+    public long lap(final String name) {
+        if (runningState != State.RUNNING) {
+            throw new IllegalStateException("Stopwatch is not running. ");
+        }
+        if (lapCount == names.length) {
+            throw new IllegalStateException("Stopwatch has recorded its " + names.length + " laps. ");
+        }
+        final long endTime = System.nanoTime();
+        final long lapTime = endTime - (lapCount == 0 ? startTime : endTimes[lapCount - 1]);
+        names[lapCount] = name;
+        endTimes[lapCount] = endTime;
+        lapCount++;
+        return lapTime;
+    }
+
+    /**
+     * <p>
+     * Resets the stopwatch. Stops it if need be, and forgets the laps.
+     * </p>
+     */
+    public void reset() {
+        Arrays.fill(names, 0, lapCount, null);
+        lapCount = 0;
+        runningState = State.UNSTARTED;
+    }
+
+    /**
+     * <p>
+     * Starts the stopwatch.
+     * </p>
+     *
+     * @throws IllegalStateException if the stopwatch is already running, or was stopped without being reset.
+     */
+    public void start() {
+        if (runningState == State.STOPPED) {
+            throw new IllegalStateException("Stopwatch must be reset before being restarted. ");
+        }
+        if (runningState != State.UNSTARTED) {
+            throw new IllegalStateException("Stopwatch already started. ");
+        }
+        startTime = System.nanoTime();
+        runningState = State.RUNNING;
+    }
+
+    /**
+     * <p>
+     * Stops the stopwatch. The time since the last lap is not recorded as a lap.
+     * </p>
+     *
+     * @throws IllegalStateException if the stopwatch is not running.
+     */
+    public void stop() {
+        if (runningState != State.RUNNING) {
+            throw new IllegalStateException("Stopwatch is not running. ");
+        }
+        stopTime = System.nanoTime();
+        runningState = State.STOPPED;
+    }
+
+    /**
+     * <p>
+     * Gets a summary of the laps and the time that the stopwatch recorded as a string.
+     * </p>
+     *
+     * <p>
+     * The format used is <i>name</i> <i>lap time</i>, ..., <i>total time</i>, each time formatted by
+     * {@link DurationFormatUtils#formatDurationHMS}.
+     * </p>
+     *
+     * @return the laps and the time as a String
+     */
+    @Override
+    public String toString() {
+        final StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < lapCount; i++) {
+            buf.append(Objects.toString(names[i], StringUtils.EMPTY)).append(StringUtils.SPACE)
+                .append(DurationFormatUtils.formatDurationHMS(TimeUnit.NANOSECONDS.toMillis(getLapNanoTime(i))))
+                .append(", ");
+        }
+        return buf.append(DurationFormatUtils.formatDurationHMS(getTime(TimeUnit.MILLISECONDS))).toString();
+    }
+
+    private void checkLapIndex(final int index) {
+        if (index < 0 || index >= lapCount) {
+            throw new IndexOutOfBoundsException("Lap index: " + index + ", lap count: " + lapCount);
+        }
+    }
+}
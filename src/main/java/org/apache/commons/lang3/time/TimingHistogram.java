@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>
+ * A thread-safe aggregate of timings in nanoseconds, such as the {@link System#nanoTime()} deltas of a
+ * {@link LapStopWatch}, which many threads can record and query without locking.
+ * </p>
+ *
+ * <p>
+ * The count, sum, minimum and maximum are kept in {@link LongAdder} and {@link LongAccumulator} cells. The
+ * percentiles are computed from a log-linear histogram of fixed buckets: every power of two is split in 16 buckets
+ * of equal width, so a percentile is within 6.25% of the recorded value, from 0 to {@link Long#MAX_VALUE}
+ * nanoseconds. The buckets are striped by thread, up to 8 stripes of 960 counters, so that threads recording the
+ * same range of timings do not contend. Recording a timing does not allocate or block.
+ * </p>
+ *
+ * <p>
+ * The queries are weakly consistent: a timing recorded during a query, or a {@link #reset()}, may be counted in
+ * some values and not in others.
+ * </p>
+ *
+ * @see LapStopWatch
+ * @since 3.10
+ */
+public class TimingHistogram {
+
+    /**
+     * The number of bits of a timing kept by its bucket, after the highest one bit.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets of a stripe: the timings below 16, then 16 buckets for each higher power of two.
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private static final int MAX_STRIPES = 8;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * The buckets of all the stripes, one stripe after the other.
+     */
+    private final AtomicLongArray buckets;
+
+    private final int stripeMask;
+
+    /**
+     * Constructs an empty histogram, with a stripe per available processor, up to 8.
+     */
+    public TimingHistogram() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final int stripes = Math.min(Integer.highestOneBit(processors * 2 - 1), MAX_STRIPES);
+        this.stripeMask = stripes - 1;
+        this.buckets = new AtomicLongArray(stripes * BUCKET_COUNT);
+    }
+
+    /**
+     * Records a timing.
+     *
+     * @param nanos the timing in nanoseconds, not negative
+     * @throws IllegalArgumentException if the timing is negative
+     */
+    public void record(final long nanos) {
+        Validate.isTrue(nanos >= 0, "The timing must not be negative: %d", nanos);
+        final int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        buckets.incrementAndGet(stripe * BUCKET_COUNT + getBucket(nanos));
+        sum.add(nanos);
+        min.accumulate(nanos);
+        max.accumulate(nanos);
+        count.increment();
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()}.
+     *
+     * @param startNanoTime the value of {@link System#nanoTime()} at the start of the timing
+     * @return the timing recorded, in nanoseconds
+     */
+    public long recordSince(final long startNanoTime) {
+        final long nanos = Math.max(System.nanoTime() - startNanoTime, 0);
+        record(nanos);
+        return nanos;
+    }
+
+    /**
+     * Gets the number of timings recorded.
+     *
+     * @return the number of timings
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of the timings recorded.
+     *
+     * @return the sum in nanoseconds, which overflows past {@link Long#MAX_VALUE}
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the smallest timing recorded.
+     *
+     * @return the smallest timing in nanoseconds, or 0 if none was recorded
+     */
+    public long getMin() {
+        final long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+
+    /**
+     * Gets the largest timing recorded.
+     *
+     * @return the largest timing in nanoseconds, or 0 if none was recorded
+     */
+    public long getMax() {
+        final long value = max.get();
+        return value == Long.MIN_VALUE ? 0 : value;
+    }
+
+    /**
+     * Gets the mean of the timings recorded.
+     *
+     * @return the mean in nanoseconds, or 0 if none was recorded
+     */
+    public double getMean() {
+        final long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * <p>
+     * Gets a percentile of the timings recorded: the smallest timing that is greater than or equal to the given
+     * percentage of the timings.
+     * </p>
+     *
+     * <p>
+     * The result is the highest value of the bucket holding that timing, within the minimum and the maximum
+     * recorded, so it is at most 6.25% greater than the exact percentile.
+     * </p>
+     *
+     * @param percentile the percentage, from 0 to 100
+     * @return the percentile in nanoseconds, or 0 if no timing was recorded
+     * @throws IllegalArgumentException if the percentage is not between 0 and 100
+     */
+    public long getPercentile(final double percentile) {
+        Validate.inclusiveBetween(0, 100, percentile);
+        final long[] totals = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            final long n = buckets.get(i);
+            totals[i % BUCKET_COUNT] += n;
+            total += n;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max((long) Math.ceil(percentile / 100 * total), 1);
+        long cumulative = 0;
+        int bucket = 0;
+        while (bucket < BUCKET_COUNT - 1) {
+            cumulative += totals[bucket];
+            if (cumulative >= rank) {
+                break;
+            }
+            bucket++;
+        }
+        return Math.max(Math.min(getBucketMax(bucket), getMax()), getMin());
+    }
+
+    /**
+     * Forgets the timings recorded.
+     */
+    public void reset() {
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+    }
+
+    /**
+     * Gets a summary of the timings recorded, in nanoseconds.
+     *
+     * @return the count, minimum, mean, median, 99th percentile and maximum as a String
+     */
+    @Override
+    public String toString() {
+        return "TimingHistogram[count=" + getCount() + ", min=" + getMin() + ", mean=" + (long) getMean()
+            + ", p50=" + getPercentile(50) + ", p99=" + getPercentile(99) + ", max=" + getMax() + "]";
+    }
+
+    /**
+     * Gets the bucket of a timing.
+     *
+     * @param nanos the timing, not negative
+     * @return the index of the bucket in a stripe
+     */
+    static int getBucket(final long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) {
+            return (int) nanos;
+        }
+        // the power of two, above the first 16 timings, and the next 4 bits
+        final int shift = Long.SIZE - SUB_BUCKET_BITS - 1 - Long.numberOfLeadingZeros(nanos);
+        return (shift + 1 << SUB_BUCKET_BITS) + (int) (nanos >>> shift & SUB_BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Gets the highest timing of a bucket.
+     *
+     * @param bucket the index of the bucket in a stripe
+     * @return the highest timing of the bucket
+     */
+    static long getBucketMax(final int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        final int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        final long low = (long) (SUB_BUCKET_COUNT | bucket & SUB_BUCKET_COUNT - 1) << shift;
+        return low + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * <p>The offset of a time zone between two transitions, which lets {@link FastDatePrinter} and
+ * {@link FastDateParser} convert between instants and local times without a Calendar.</p>
+ *
+ * <p>Instances are immutable, so a field caching the last window used can be replaced without
+ * synchronization.</p>
+ *
+ * @since 3.10
+ */
+final class ZoneOffsetWindow {
+
+    /**
+     * The first instant converted without a Calendar, 1583-01-02T00:00:00Z.
+     */
+    static final long MIN_CALENDAR_FREE_MILLIS = -12212467200000L;
+    /**
+     * The instant after the last one converted without a Calendar, 9999-12-31T00:00:00Z.
+     */
+    static final long MAX_CALENDAR_FREE_MILLIS = 253402214400000L;
+
+    /**
+     * The instant from which TimeZone keeps the transitions, 1900-01-01T00:00:00Z.
+     */
+    private static final long UTC_1900_MILLIS = -2208988800000L;
+
+    /** The first instant of the window, inclusive. */
+    final long mStart;
+    /** The last instant of the window, exclusive. */
+    final long mEnd;
+    /** The total offset from UTC, as {@link TimeZone#getOffset(long)}. */
+    final int mOffset;
+    /** Whether daylight saving time is in effect. */
+    final boolean mDaylight;
+    /** The first local time which only occurs within the window, inclusive. */
+    final long mLocalStart;
+    /** The last local time which only occurs within the window, exclusive. */
+    final long mLocalEnd;
+
+    /**
+     * <p>Gets the transition rules of a time zone known to {@link TimeZone#getTimeZone(String)}.</p>
+     *
+     * @param timeZone  the time zone
+     * @return the rules, or null if the zone is a custom one
+     */
+    static ZoneRules getZoneRules(final TimeZone timeZone) {
+        if (!FastTimeZone.getCachedTimeZone(timeZone.getID()).hasSameRules(timeZone)) {
+            return null;
+        }
+        try {
+            return timeZone.toZoneId().getRules();
+        } catch (final DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>Constructs the window containing an instant.</p>
+     *
+     * @param timeZone  the time zone, which supplies the offsets
+     * @param rules  the rules of the time zone, which supply the transitions
+     * @param millis  the instant
+     */
+    ZoneOffsetWindow(final TimeZone timeZone, final ZoneRules rules, final long millis) {
+        mOffset = timeZone.getOffset(millis);
+        mDaylight = timeZone.inDaylightTime(new Date(millis));
+        // the transitions fall on whole seconds
+        final ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochMilli(millis + 1));
+        final ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochMilli(millis));
+        long start = previous == null ? MIN_CALENDAR_FREE_MILLIS : previous.toEpochSecond() * 1000;
+        long end = next == null ? MAX_CALENDAR_FREE_MILLIS : next.toEpochSecond() * 1000;
+        // TimeZone drops the transitions before 1900, so its offset may change then
+        if (start < UTC_1900_MILLIS && end > UTC_1900_MILLIS) {
+            if (millis < UTC_1900_MILLIS) {
+                end = UTC_1900_MILLIS;
+            } else {
+                start = UTC_1900_MILLIS;
+            }
+        }
+        // the TimeZone and ZoneRules data may disagree; if so only this instant is cached
+        if (timeZone.getOffset(start) == mOffset && timeZone.getOffset(end - 1) == mOffset
+                && timeZone.inDaylightTime(new Date(start)) == mDaylight
+                && timeZone.inDaylightTime(new Date(end - 1)) == mDaylight) {
+            mStart = start;
+            mEnd = end;
+        } else {
+            mStart = millis;
+            mEnd = millis + 1;
+        }
+        // local times skipped by a gap or repeated by an overlap at either end are left out
+        mLocalStart = mStart + Math.max(mOffset, timeZone.getOffset(mStart - 1));
+        mLocalEnd = mEnd + Math.min(mOffset, timeZone.getOffset(mEnd));
+    }
+
+    /**
+     * <p>Checks whether an instant is within the window.</p>
+     *
+     * @param millis  the milliseconds since the epoch
+     * @return {@code true} if the instant has the offset of the window
+     */
+    boolean contains(final long millis) {
+        return millis >= mStart && millis < mEnd;
+    }
+
+    /**
+     * <p>Checks whether a local time occurs exactly once, within the window.</p>
+     *
+     * <p>Such a local time is converted to an instant by subtracting the offset of the window,
+     * which is also what {@link java.util.GregorianCalendar} does.</p>
+     *
+     * @param local  the local time, in milliseconds since the local epoch
+     * @return {@code true} if the local time is unambiguous and within the window
+     */
+    boolean containsLocal(final long local) {
+        return local >= mLocalStart && local < mLocalEnd;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the {@link ArrayUtils} removeAll, removeElements, addAll, indexOf and bulk search hot paths.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=ArrayUtilsBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArrayUtilsBenchmark {
+
+    /** The length of the source arrays. */
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private int[] ints;
+    private Integer[] objects;
+    private int[] indices;
+    private int[] values;
+    private int missing;
+    private int[] copy;
+    private byte[] bytes;
+    private byte[] bytesCopy;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        ints = new int[size];
+        objects = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = random.nextInt(size);
+            objects[i] = Integer.valueOf(ints[i]);
+        }
+        // remove roughly a tenth of the elements
+        final int count = Math.max(1, size / 10);
+        indices = new int[count];
+        values = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = random.nextInt(size);
+            values[i] = ints[random.nextInt(size)];
+        }
+        missing = -1;
+        copy = ints.clone();
+        bytes = new byte[size];
+        random.nextBytes(bytes);
+        bytes[size - 1] = 0;
+        for (int i = 0; i < size - 1; i++) {
+            if (bytes[i] == 0) {
+                bytes[i] = 1;
+            }
+        }
+        // differs in the last element only
+        bytesCopy = bytes.clone();
+        bytesCopy[size - 1] = 1;
+    }
+
+    @Benchmark
+    public int[] removeAllIndices() {
+        return ArrayUtils.removeAll(ints, indices);
+    }
+
+    @Benchmark
+    public Integer[] removeAllObjectIndices() {
+        return ArrayUtils.removeAll(objects, indices);
+    }
+
+    @Benchmark
+    public int[] removeElements() {
+        return ArrayUtils.removeElements(ints, values);
+    }
+
+    @Benchmark
+    public int[] removeAllOccurences() {
+        return ArrayUtils.removeAllOccurences(ints, ints[0]);
+    }
+
+    @Benchmark
+    public int[] addAll() {
+        return ArrayUtils.addAll(ints, values);
+    }
+
+    @Benchmark
+    public Integer[] addAllObjects() {
+        return ArrayUtils.addAll(objects, objects);
+    }
+
+    @Benchmark
+    public int indexOfMissing() {
+        return ArrayUtils.indexOf(ints, missing);
+    }
+
+    @Benchmark
+    public int indexOfObjectMissing() {
+        return ArrayUtils.indexOf(objects, Integer.valueOf(missing));
+    }
+
+    @Benchmark
+    public int indexOfBytesLast() {
+        return ArrayUtils.indexOf(bytes, (byte) 0, 0, size);
+    }
+
+    @Benchmark
+    public int countOccurrences() {
+        return ArrayUtils.countOccurrences(ints, ints[0]);
+    }
+
+    @Benchmark
+    public boolean containsAnyMissing() {
+        return ArrayUtils.containsAny(ints, -1, -2, -3);
+    }
+
+    @Benchmark
+    public int mismatchEqual() {
+        return ArrayUtils.mismatch(ints, copy);
+    }
+
+    @Benchmark
+    public int mismatchBytesLast() {
+        return ArrayUtils.mismatch(bytes, bytesCopy);
+    }
+}
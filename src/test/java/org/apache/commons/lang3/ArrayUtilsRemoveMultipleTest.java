@@ -984,6 +984,15 @@ public void testRemoveElementCharArray() {
         assertEquals(Character.TYPE, array.getClass().getComponentType());
     }
 
+    @Test
+    public void testRemoveElementDoubleArrayNaNAndSignedZero() {
+        // elements compare as with Double.equals()
+        assertArrayEquals(new double[] {1, -0.0},
+            ArrayUtils.removeElements(new double[] {Double.NaN, 1, 0.0, -0.0}, Double.NaN, 0.0));
+        assertArrayEquals(new float[] {1, 0.0f},
+            ArrayUtils.removeElements(new float[] {Float.NaN, 1, 0.0f, -0.0f}, Float.NaN, -0.0f));
+    }
+
     @Test
     @SuppressWarnings("cast")
     public void testRemoveElementDoubleArray() {
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests ArrayUtils mismatch, ranged equals and indexOf, countOccurrences and containsAny methods.
+ */
+public class ArrayUtilsSearchTest {
+
+    @Test
+    public void testMismatch() {
+        assertEquals(-1, ArrayUtils.mismatch(new int[] {1, 2, 3}, new int[] {1, 2, 3}));
+        assertEquals(1, ArrayUtils.mismatch(new int[] {1, 2, 3}, new int[] {1, 5, 3}));
+        assertEquals(2, ArrayUtils.mismatch(new int[] {1, 2}, new int[] {1, 2, 3}));
+        assertEquals(0, ArrayUtils.mismatch(new int[0], new int[] {1}));
+        assertEquals(-1, ArrayUtils.mismatch(new byte[0], new byte[0]));
+        assertEquals(3, ArrayUtils.mismatch(new char[] {'a', 'b', 'c', 'd'}, new char[] {'a', 'b', 'c', 'e'}));
+        assertEquals(0, ArrayUtils.mismatch(new long[] {1L}, new long[] {2L}));
+        assertEquals(1, ArrayUtils.mismatch(new byte[] {0, 1, 2, 3}, 1, 4, new byte[] {1, 3}, 0, 2));
+        assertEquals(-1, ArrayUtils.mismatch(new long[] {0, 1, 2, 3}, 2, 4, new long[] {2, 3, 4}, 0, 2));
+    }
+
+    @Test
+    public void testMismatchInvalidArguments() {
+        final int[] array = {1, 2, 3};
+        assertThrows(NullPointerException.class, () -> ArrayUtils.mismatch(null, array));
+        assertThrows(NullPointerException.class, () -> ArrayUtils.mismatch(array, (int[]) null));
+        assertThrows(IllegalArgumentException.class, () -> ArrayUtils.mismatch(array, 2, 1, array, 0, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> ArrayUtils.mismatch(array, -1, 1, array, 0, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> ArrayUtils.mismatch(array, 0, 1, array, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> ArrayUtils.scalarMismatch(array, 2, 1, array, 0, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+            () -> ArrayUtils.scalarMismatch(array, 0, 1, array, 0, 4));
+    }
+
+    @Test
+    public void testScalarMismatchMatchesMismatch() {
+        final Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            final byte[] a = new byte[random.nextInt(40)];
+            final byte[] b = new byte[random.nextInt(40)];
+            // small values so that long common prefixes are frequent
+            for (int i = 0; i < a.length; i++) {
+                a[i] = (byte) (random.nextInt(20) == 0 ? 1 : 0);
+            }
+            for (int i = 0; i < b.length; i++) {
+                b[i] = (byte) (random.nextInt(20) == 0 ? 1 : 0);
+            }
+            final int aFrom = random.nextInt(a.length + 1);
+            final int bFrom = random.nextInt(b.length + 1);
+            final int aTo = aFrom + random.nextInt(a.length - aFrom + 1);
+            final int bTo = bFrom + random.nextInt(b.length - bFrom + 1);
+            final int expected = ArrayUtils.scalarMismatch(a, aFrom, aTo, b, bFrom, bTo);
+            assertEquals(expected, ArrayUtils.mismatch(a, aFrom, aTo, b, bFrom, bTo));
+            assertEquals(expected, ArrayUtils.scalarMismatch(toChars(a), aFrom, aTo, toChars(b), bFrom, bTo));
+            assertEquals(expected, ArrayUtils.mismatch(toInts(a), aFrom, aTo, toInts(b), bFrom, bTo));
+            assertEquals(expected, ArrayUtils.scalarMismatch(toLongs(a), aFrom, aTo, toLongs(b), bFrom, bTo));
+            assertEquals(expected == -1, ArrayUtils.equals(a, aFrom, aTo, b, bFrom, bTo));
+        }
+    }
+
+    @Test
+    public void testEqualsRange() {
+        assertTrue(ArrayUtils.equals(new int[] {1, 2, 3}, 1, 3, new int[] {2, 3}, 0, 2));
+        assertFalse(ArrayUtils.equals(new int[] {1, 2, 3}, 1, 3, new int[] {2, 3}, 0, 1));
+        assertTrue(ArrayUtils.equals(new char[] {'a'}, 0, 0, new char[0], 0, 0));
+        assertFalse(ArrayUtils.equals(new long[] {1, 2}, 0, 2, new long[] {1, 3}, 0, 2));
+        assertThrows(NullPointerException.class, () -> ArrayUtils.equals((byte[]) null, 0, 0, new byte[0], 0, 0));
+    }
+
+    @Test
+    public void testIndexOfRange() {
+        final int[] array = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 2};
+        assertEquals(2, ArrayUtils.indexOf(array, 2, 0, array.length));
+        assertEquals(19, ArrayUtils.indexOf(array, 2, 3, array.length));
+        assertEquals(-1, ArrayUtils.indexOf(array, 2, 3, 19));
+        assertEquals(2, ArrayUtils.indexOf(array, 2, -5, 100));
+        assertEquals(-1, ArrayUtils.indexOf(array, 2, 10, 5));
+        assertEquals(-1, ArrayUtils.indexOf((int[]) null, 2, 0, 1));
+        assertEquals(-1, ArrayUtils.indexOf(array, 99, 0, array.length));
+        assertEquals(17, ArrayUtils.indexOf(new long[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17},
+            17L, 0, 18));
+        assertEquals(9, ArrayUtils.indexOf(new char[] {'a', 'a', 'a', 'a', 'a', 'a', 'a', 'a', 'a', 'b'}, 'b', 1, 10));
+        assertEquals(-1, ArrayUtils.indexOf(new byte[] {1, 1, 1}, (byte) 1, 3, 3));
+    }
+
+    @Test
+    public void testIndexOfRangeNegativeEnd() {
+        for (final int end : new int[] {-1, -8, Integer.MIN_VALUE, Integer.MIN_VALUE + 3}) {
+            assertEquals(-1, ArrayUtils.indexOf(new byte[16], (byte) 0, 0, end), "byte " + end);
+            assertEquals(-1, ArrayUtils.indexOf(new char[16], (char) 0, 0, end), "char " + end);
+            assertEquals(-1, ArrayUtils.indexOf(new int[16], 0, 0, end), "int " + end);
+            assertEquals(-1, ArrayUtils.indexOf(new long[16], 0L, 5, end), "long " + end);
+            assertEquals(-1, ArrayUtils.indexOf(new int[16], 0, Integer.MAX_VALUE - 10, end), "int from max " + end);
+        }
+    }
+
+    @Test
+    public void testIndexOfRangeMatchesScan() {
+        final Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            final byte[] array = new byte[random.nextInt(50)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (byte) random.nextInt(16);
+            }
+            final byte value = (byte) random.nextInt(16);
+            final int start = random.nextInt(60) - 5;
+            final int end = random.nextInt(60) - 5;
+            int expected = -1;
+            for (int i = Math.max(0, start); i < Math.min(end, array.length); i++) {
+                if (array[i] == value) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertEquals(expected, ArrayUtils.indexOf(array, value, start, end));
+            assertEquals(expected, ArrayUtils.indexOf(toInts(array), value, start, end));
+        }
+    }
+
+    @Test
+    public void testCountOccurrences() {
+        assertEquals(0, ArrayUtils.countOccurrences((int[]) null, 1));
+        assertEquals(0, ArrayUtils.countOccurrences(new int[0], 1));
+        assertEquals(3, ArrayUtils.countOccurrences(new int[] {1, 2, 1, 3, 1}, 1));
+        assertEquals(2, ArrayUtils.countOccurrences(new byte[] {-1, 0, -1}, (byte) -1));
+        assertEquals(1, ArrayUtils.countOccurrences(new char[] {'a', 'b'}, 'b'));
+        assertEquals(0, ArrayUtils.countOccurrences(new long[] {1L, 2L}, 3L));
+    }
+
+    @Test
+    public void testContainsAny() {
+        assertFalse(ArrayUtils.containsAny((int[]) null, 1));
+        assertFalse(ArrayUtils.containsAny(new int[] {1, 2}));
+        assertFalse(ArrayUtils.containsAny(new int[] {1, 2}, (int[]) null));
+        assertTrue(ArrayUtils.containsAny(new int[] {1, 2}, 5, 2));
+        // 65 shares the filter bit of 1
+        assertFalse(ArrayUtils.containsAny(new int[] {65, 129, -63}, 1));
+        assertTrue(ArrayUtils.containsAny(new long[] {Long.MIN_VALUE, 3L}, 0L, Long.MIN_VALUE));
+        assertFalse(ArrayUtils.containsAny(new long[] {64L}, 0L));
+        assertTrue(ArrayUtils.containsAny(new char[] {'x', 'y'}, 'y'));
+        assertFalse(ArrayUtils.containsAny(new char[] {'x', 'y'}, 'z', (char) ('x' + 64)));
+        for (int b = Byte.MIN_VALUE; b <= Byte.MAX_VALUE; b++) {
+            assertTrue(ArrayUtils.containsAny(new byte[] {0, (byte) b}, (byte) b));
+            assertEquals(b == 7, ArrayUtils.containsAny(new byte[] {(byte) b}, (byte) 7));
+        }
+    }
+
+    private static char[] toChars(final byte[] bytes) {
+        final char[] chars = new char[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i] = (char) bytes[i];
+        }
+        return chars;
+    }
+
+    private static int[] toInts(final byte[] bytes) {
+        final int[] ints = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            ints[i] = bytes[i];
+        }
+        return ints;
+    }
+
+    private static long[] toLongs(final byte[] bytes) {
+        final long[] longs = new long[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            longs[i] = bytes[i];
+        }
+        return longs;
+    }
+}
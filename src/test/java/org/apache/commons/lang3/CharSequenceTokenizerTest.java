@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link CharSequenceTokenizer}.
+ */
+public class CharSequenceTokenizerTest {
+
+    private static String[] tokens(final CharSequenceTokenizer tokenizer, final CharSequence input) {
+        tokenizer.reset(input);
+        final List<String> list = new ArrayList<>();
+        while (tokenizer.hasNext()) {
+            list.add(tokenizer.next().toString());
+        }
+        return list.toArray(ArrayUtils.EMPTY_STRING_ARRAY);
+    }
+
+    private static String[] orEmpty(final String[] array) {
+        return array == null ? ArrayUtils.EMPTY_STRING_ARRAY : array;
+    }
+
+    @Test
+    public void testSplit() {
+        assertArrayEquals(new String[] {"a", "b", "c"}, tokens(CharSequenceTokenizer.split(), " a  b\tc "));
+        assertArrayEquals(new String[] {"a", "b", "c"}, tokens(CharSequenceTokenizer.split('.'), "a..b.c"));
+        assertArrayEquals(new String[] {"a", "b", "c"}, tokens(CharSequenceTokenizer.split(".:"), "a.:b:c"));
+        assertArrayEquals(new String[] {"a", "b:c"}, tokens(CharSequenceTokenizer.split(".:", 2), "a.:b:c"));
+        assertArrayEquals(new String[0], tokens(CharSequenceTokenizer.split(), null));
+        assertArrayEquals(new String[0], tokens(CharSequenceTokenizer.split(), ""));
+    }
+
+    @Test
+    public void testSplitPreserveAllTokens() {
+        assertArrayEquals(new String[] {"", "a", "", "b", ""},
+            tokens(CharSequenceTokenizer.splitPreserveAllTokens(":"), ":a::b:"));
+        assertArrayEquals(new String[] {"", "a::b:"},
+            tokens(CharSequenceTokenizer.splitPreserveAllTokens(":", 2), ":a::b:"));
+        assertArrayEquals(new String[] {"", ""}, tokens(CharSequenceTokenizer.splitPreserveAllTokens(null), " "));
+    }
+
+    @Test
+    public void testSplitByWholeSeparator() {
+        assertArrayEquals(new String[] {"ab", "cd", "ef"},
+            tokens(CharSequenceTokenizer.splitByWholeSeparator("-!-"), "ab-!-cd-!--!-ef"));
+        assertArrayEquals(new String[] {"ab", "cd-!--!-ef"},
+            tokens(CharSequenceTokenizer.splitByWholeSeparator("-!-", 2), "ab-!-cd-!--!-ef"));
+        assertArrayEquals(new String[] {"ab", "cd", "", "ef"},
+            tokens(CharSequenceTokenizer.splitByWholeSeparatorPreserveAllTokens("-!-"), "ab-!-cd-!--!-ef"));
+        assertArrayEquals(new String[] {"ab", "cd"}, tokens(CharSequenceTokenizer.splitByWholeSeparator(null), "ab cd"));
+    }
+
+    @Test
+    public void testAdvanceReportsOffsets() {
+        final CharSequenceTokenizer tokenizer = CharSequenceTokenizer.split(',').reset("ab,,cde");
+        assertEquals(-1, tokenizer.getTokenStart());
+        assertTrue(tokenizer.advance());
+        assertEquals(0, tokenizer.getTokenStart());
+        assertEquals(2, tokenizer.getTokenEnd());
+        assertTrue(tokenizer.advance());
+        assertEquals(4, tokenizer.getTokenStart());
+        assertEquals(7, tokenizer.getTokenEnd());
+        assertFalse(tokenizer.advance());
+        assertFalse(tokenizer.hasNext());
+    }
+
+    @Test
+    public void testResetReusesTokenizer() {
+        final CharSequenceTokenizer tokenizer = CharSequenceTokenizer.split(',');
+        assertSame(tokenizer, tokenizer.reset("a,b"));
+        assertArrayEquals(new String[] {"a", "b"}, tokens(tokenizer, "a,b"));
+        tokenizer.reset("c,d");
+        assertTrue(tokenizer.advance());
+        assertArrayEquals(new String[] {"x", "y", "z"}, tokens(tokenizer, "x,y,z"));
+    }
+
+    @Test
+    public void testNextWhenExhausted() {
+        final CharSequenceTokenizer tokenizer = CharSequenceTokenizer.split(',').reset("a");
+        tokenizer.next();
+        assertThrows(NoSuchElementException.class, tokenizer::next);
+    }
+
+    @Test
+    public void testViews() {
+        final StringBuilder input = new StringBuilder("one two");
+        final CharSequenceTokenizer tokenizer = CharSequenceTokenizer.split().reset(input);
+        final CharSequence first = tokenizer.next();
+        assertEquals(3, first.length());
+        assertEquals('n', first.charAt(1));
+        assertEquals("ne", first.subSequence(1, 3).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> first.charAt(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> first.subSequence(2, 4));
+        assertEquals("two", tokenizer.next().toString());
+    }
+
+    @Test
+    public void testStream() {
+        assertEquals("a|b|c", CharSequenceTokenizer.split(',').reset("a,b,,c").stream()
+            .map(CharSequence::toString).collect(Collectors.joining("|")));
+    }
+
+    @Test
+    public void testMatchesStringUtils() {
+        final Random random = new Random(42);
+        final char[] alphabet = {'a', 'b', ' ', ':', '-', '\t'};
+        for (int n = 0; n < 2000; n++) {
+            final char[] chars = new char[random.nextInt(12)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            final String str = new String(chars);
+            final StringBuilder builder = new StringBuilder(str);
+            final int max = random.nextInt(4) - 1;
+            for (final String separator : new String[] {null, ":", ":-", "-:", "--"}) {
+                final String[] expectedChars = orEmpty(StringUtils.split(str, separator, max));
+                assertArrayEquals(expectedChars, tokens(CharSequenceTokenizer.split(separator, max), str), str);
+                assertArrayEquals(expectedChars, tokens(CharSequenceTokenizer.split(separator, max), builder), str);
+                assertArrayEquals(orEmpty(StringUtils.splitPreserveAllTokens(str, separator, max)),
+                    tokens(CharSequenceTokenizer.splitPreserveAllTokens(separator, max), str), str);
+                final String[] expectedWhole = orEmpty(StringUtils.splitByWholeSeparator(str, separator, max));
+                assertArrayEquals(expectedWhole, tokens(CharSequenceTokenizer.splitByWholeSeparator(separator, max), str),
+                    str);
+                assertArrayEquals(expectedWhole,
+                    tokens(CharSequenceTokenizer.splitByWholeSeparator(separator, max), builder), str);
+                assertArrayEquals(orEmpty(StringUtils.splitByWholeSeparatorPreserveAllTokens(str, separator, max)),
+                    tokens(CharSequenceTokenizer.splitByWholeSeparatorPreserveAllTokens(separator, max), str), str);
+            }
+            assertArrayEquals(orEmpty(StringUtils.split(str, ':')),
+                tokens(CharSequenceTokenizer.split(':'), str), str);
+        }
+    }
+}
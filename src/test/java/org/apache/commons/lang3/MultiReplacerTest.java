@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link MultiReplacer}.
+ */
+public class MultiReplacerTest {
+
+    @Test
+    public void testReplace() {
+        final MultiReplacer replacer = new MultiReplacer(new String[] {"ab", "d"}, new String[] {"w", "t"});
+        assertEquals("wcte", replacer.replace("abcde"));
+        assertEquals("wwtt", replacer.replace("ababdd"));
+        assertNull(replacer.replace(null));
+        assertEquals("", replacer.replace(""));
+    }
+
+    @Test
+    public void testReplaceDoesNotRepeat() {
+        final MultiReplacer replacer = new MultiReplacer(new String[] {"ab", "d"}, new String[] {"d", "t"});
+        assertEquals("dcte", replacer.replace("abcde"));
+    }
+
+    @Test
+    public void testNoMatchReturnsSameInstance() {
+        final String text = "nothing to see here";
+        assertSame(text, new MultiReplacer(new String[] {"xyz"}, new String[] {"abc"}).replace(text));
+    }
+
+    @Test
+    public void testIgnoredEntries() {
+        final MultiReplacer replacer = new MultiReplacer(new String[] {null, "", "a", "b"},
+            new String[] {"x", "y", null, "c"});
+        assertEquals("acac", replacer.replace("abab"));
+    }
+
+    @Test
+    public void testFirstListedWinsAtSameIndex() {
+        assertEquals("1c", new MultiReplacer(new String[] {"ab", "abc"}, new String[] {"1", "2"}).replace("abc"));
+        assertEquals("2", new MultiReplacer(new String[] {"abc", "ab"}, new String[] {"2", "1"}).replace("abc"));
+        assertEquals("first", new MultiReplacer(new String[] {"a", "a"}, new String[] {"first", "second"})
+            .replace("a"));
+    }
+
+    @Test
+    public void testLeftmostMatchWins() {
+        // "bcd" starts before "cd" although "cd" ends first
+        assertEquals("aXe", new MultiReplacer(new String[] {"cd", "bcd"}, new String[] {"Y", "X"}).replace("abcde"));
+        // "abcd" is abandoned at 'x', "bc" is the leftmost complete match
+        assertEquals("aYxd", new MultiReplacer(new String[] {"abcd", "bc"}, new String[] {"X", "Y"})
+            .replace("abcxd"));
+    }
+
+    @Test
+    public void testNonAscii() {
+        final MultiReplacer replacer = new MultiReplacer(new String[] {"é", "中文"},
+            new String[] {"e", "zh"});
+        assertEquals("café zh".replace("é", "e"), replacer.replace("café 中文"));
+    }
+
+    @Test
+    public void testReplaceToAppendable() throws IOException {
+        final MultiReplacer replacer = new MultiReplacer(new String[] {"<", ">", "&"},
+            new String[] {"&lt;", "&gt;", "&amp;"});
+        final StringWriter writer = new StringWriter();
+        replacer.replace(new StringBuilder("<a href='x'>&</a>"), writer);
+        assertEquals("&lt;a href='x'&gt;&amp;&lt;/a&gt;", writer.toString());
+
+        final StringBuilder buf = new StringBuilder("prefix:");
+        assertSame(buf, replacer.replace("<>", buf));
+        assertEquals("prefix:&lt;&gt;", buf.toString());
+        replacer.replace(null, buf);
+        assertEquals("prefix:&lt;&gt;", buf.toString());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> new MultiReplacer(null, new String[0]));
+        assertThrows(NullPointerException.class, () -> new MultiReplacer(new String[0], null));
+        assertThrows(IllegalArgumentException.class, () -> new MultiReplacer(new String[] {"a"}, new String[0]));
+    }
+
+    @Test
+    public void testSameResultsAsReplaceEach() {
+        final Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            final int count = 1 + random.nextInt(6);
+            final String[] search = new String[count];
+            final String[] replace = new String[count];
+            for (int i = 0; i < count; i++) {
+                search[i] = RandomStringUtils.random(1 + random.nextInt(3), 0, 0, false, false, "abc".toCharArray(),
+                    random);
+                replace[i] = RandomStringUtils.random(random.nextInt(3), 0, 0, false, false, "xyz".toCharArray(),
+                    random);
+            }
+            final String text = RandomStringUtils.random(random.nextInt(30), 0, 0, false, false,
+                "abcd".toCharArray(), random);
+            // fewer search strings than the StringUtils threshold, so replaceEach scans once per string
+            assertEquals(StringUtils.replaceEach(text, search, replace),
+                new MultiReplacer(search, replace).replace(text), text);
+        }
+    }
+}
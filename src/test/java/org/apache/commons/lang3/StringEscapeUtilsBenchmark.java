@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the {@link StringEscapeUtils} escapers on clean input, which needs no escaping, and on
+ * dirty input.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=StringEscapeUtilsBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Deprecated
+public class StringEscapeUtilsBenchmark {
+
+    /** Whether the input holds characters to escape. */
+    @Param({"clean", "dirty"})
+    private String kind;
+
+    /** The length of the input. */
+    @Param({"16", "1024"})
+    private int size;
+
+    private String text;
+    private String escapedHtml;
+
+    @Setup
+    public void setup() {
+        final String unit = "clean".equals(kind) ? "Plain text, 42. " : "\"Quoted\" <a & b>";
+        final StringBuilder sb = new StringBuilder(size);
+        while (sb.length() < size) {
+            sb.append(unit);
+        }
+        sb.setLength(size);
+        text = sb.toString();
+        escapedHtml = StringEscapeUtils.escapeHtml4(text);
+    }
+
+    @Benchmark
+    public String escapeJava() {
+        return StringEscapeUtils.escapeJava(text);
+    }
+
+    @Benchmark
+    public String escapeJson() {
+        return StringEscapeUtils.escapeJson(text);
+    }
+
+    @Benchmark
+    public String escapeHtml4() {
+        return StringEscapeUtils.escapeHtml4(text);
+    }
+
+    @Benchmark
+    public String escapeXml11() {
+        return StringEscapeUtils.escapeXml11(text);
+    }
+
+    @Benchmark
+    public String unescapeHtml4() {
+        return StringEscapeUtils.unescapeHtml4(escapedHtml);
+    }
+}
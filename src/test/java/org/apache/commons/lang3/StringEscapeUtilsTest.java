@@ -20,17 +20,20 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Random;
 
 import org.apache.commons.lang3.text.translate.CharSequenceTranslator;
 import org.apache.commons.lang3.text.translate.NumericEntityEscaper;
@@ -573,4 +576,56 @@ public void testUnescapeJson() {
 
         assertEquals(expected, StringEscapeUtils.unescapeJson(input));
     }
+
+    @Test
+    public void testEscapeCleanInputReturnsSameInstance() {
+        final String clean = "The quick brown fox jumps over the lazy dog 0123456789";
+        assertSame(clean, StringEscapeUtils.escapeJava(clean));
+        assertSame(clean, StringEscapeUtils.escapeJson(clean));
+        assertSame(clean, StringEscapeUtils.escapeHtml4(clean));
+        assertSame(clean, StringEscapeUtils.escapeXml11(clean));
+        assertSame(clean, StringEscapeUtils.unescapeHtml4(clean));
+        assertSame(clean, StringEscapeUtils.unescapeJava(clean));
+        final String accented = "caf\u00e9";
+        assertSame(accented, StringEscapeUtils.escapeXml10(accented));
+        assertEquals("caf\\u00E9 \\uD83D\\uDE00", StringEscapeUtils.escapeJava(accented + " \ud83d\ude00"));
+    }
+
+    @Test
+    public void testPreScanMatchesFullTranslation() {
+        final CharSequenceTranslator[] translators = {
+            StringEscapeUtils.ESCAPE_JAVA, StringEscapeUtils.ESCAPE_ECMASCRIPT, StringEscapeUtils.ESCAPE_JSON,
+            StringEscapeUtils.ESCAPE_XML10, StringEscapeUtils.ESCAPE_XML11, StringEscapeUtils.ESCAPE_HTML3,
+            StringEscapeUtils.ESCAPE_HTML4, StringEscapeUtils.UNESCAPE_JAVA, StringEscapeUtils.UNESCAPE_HTML4,
+            StringEscapeUtils.UNESCAPE_XML, NumericEntityEscaper.above(0x7f)};
+        final char[] alphabet = {'a', ' ', '&', '#', ';', 'x', '4', '1', '\\', 'u', '"', '<', '\n', '\u0001',
+            '\u00e9', '\u2666', '\ud83d', '\ude00', '\uffff'};
+        final Random random = new Random(42);
+        for (final CharSequenceTranslator translator : translators) {
+            // the default mayTranslate of a plain delegate disables the pre-scan
+            final CharSequenceTranslator unscanned = new CharSequenceTranslator() {
+                @Override
+                public int translate(final CharSequence input, final int index, final Writer out) throws IOException {
+                    return translator.translate(input, index, out);
+                }
+            };
+            for (int n = 0; n < 300; n++) {
+                final char[] chars = new char[random.nextInt(12)];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = alphabet[random.nextInt(alphabet.length)];
+                }
+                final String input = new String(chars);
+                String expected;
+                try {
+                    expected = unscanned.translate(input);
+                } catch (final IllegalArgumentException e) {
+                    // malformed unicode escape
+                    assertThrows(IllegalArgumentException.class, () -> translator.translate(input));
+                    continue;
+                }
+                assertEquals(expected, translator.translate(input));
+                assertEquals(expected, translator.translate(new StringBuilder(input)));
+            }
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the {@link StringUtils} split, join, replace and indexOfAny hot paths.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=StringUtilsBenchmark}; the {@code gc} profiler is enabled
+ * by the benchmark profile so allocation rates are reported next to the timings.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StringUtilsBenchmark {
+
+    /** The number of tokens in the generated input. */
+    @Param({"10", "100", "10000"})
+    private int size;
+
+    private String text;
+    private String[] tokens;
+    private char[] searchChars;
+    private String[] searchStrings;
+    private String[] templateKeys;
+    private String[] templateValues;
+    private MultiReplacer templateReplacer;
+    private CharSequenceTokenizer tokenizer;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        tokens = new String[size];
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            tokens[i] = RandomStringUtils.random(1 + random.nextInt(12), 0, 0, true, false, null, random);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(tokens[i]);
+        }
+        text = sb.toString();
+        // characters and strings that never occur in the alphabetic input force a full scan
+        searchChars = new char[] {'0', '1', '2', '3', '4'};
+        searchStrings = new String[] {"01", "12", "23", "34"};
+        // a template sanitizer with a few dozen tokens
+        templateKeys = new String[32];
+        templateValues = new String[32];
+        for (int i = 0; i < templateKeys.length; i++) {
+            templateKeys[i] = tokens[i % size] + i;
+            templateValues[i] = "${" + i + "}";
+        }
+        templateKeys[0] = ",";
+        templateReplacer = new MultiReplacer(templateKeys, templateValues);
+        tokenizer = CharSequenceTokenizer.split(',');
+    }
+
+    @Benchmark
+    public String[] split() {
+        return StringUtils.split(text, ',');
+    }
+
+    @Benchmark
+    public String[] splitPreserveAllTokens() {
+        return StringUtils.splitPreserveAllTokens(text, ',');
+    }
+
+    @Benchmark
+    public String[] splitByWholeSeparator() {
+        return StringUtils.splitByWholeSeparator(text, ",");
+    }
+
+    @Benchmark
+    public int tokenizer() {
+        tokenizer.reset(text);
+        int hash = 0;
+        while (tokenizer.advance()) {
+            hash = 31 * hash + tokenizer.getTokenEnd() - tokenizer.getTokenStart();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public String joinChar() {
+        return StringUtils.join(tokens, ',');
+    }
+
+    @Benchmark
+    public String joinString() {
+        return StringUtils.join(tokens, ", ");
+    }
+
+    @Benchmark
+    public String replace() {
+        return StringUtils.replace(text, ",", ";");
+    }
+
+    @Benchmark
+    public String replaceEach() {
+        return StringUtils.replaceEach(text, new String[] {",", "a", "b"}, new String[] {";", "A", "B"});
+    }
+
+    @Benchmark
+    public String replaceEachManyKeys() {
+        return StringUtils.replaceEach(text, templateKeys, templateValues);
+    }
+
+    @Benchmark
+    public String multiReplacer() {
+        return templateReplacer.replace(text);
+    }
+
+    @Benchmark
+    public int indexOfAnyChars() {
+        return StringUtils.indexOfAny(text, searchChars);
+    }
+
+    @Benchmark
+    public int indexOfAnyStrings() {
+        return StringUtils.indexOfAny(text, searchStrings);
+    }
+}
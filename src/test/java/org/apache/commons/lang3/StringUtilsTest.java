@@ -1913,6 +1913,27 @@ public void testReplace_StringStringArrayStringArrayBoolean() {
         //JAVADOC TESTS END
     }
 
+    @Test
+    public void testReplace_StringStringArrayStringArrayManySearchStrings() {
+        // enough search strings for replaceEach to use a MultiReplacer
+        final String[] search = {"a", "b", "c", "d", "e", "f", "g", "h", "ij"};
+        final String[] replace = {"1", "2", "3", "4", "5", "6", "7", "8", "9"};
+        assertEquals("12345678x9", StringUtils.replaceEach("abcdefghxij", search, replace));
+        final String unchanged = "xyz";
+        assertSame(unchanged, StringUtils.replaceEach(unchanged, search, replace));
+
+        final String[] chained = {"a", "b", "c", "d", "e", "f", "g", "h", "i"};
+        final String[] next = {"b", "c", "d", "e", "f", "g", "h", "i", "z"};
+        assertEquals("bz", StringUtils.replaceEach("ai", chained, next));
+        assertEquals("zz", StringUtils.replaceEachRepeatedly("ai", chained, next));
+        final String[] circular = {"a", "b", "c", "d", "e", "f", "g", "h", "i"};
+        final String[] back = {"b", "c", "d", "e", "f", "g", "h", "i", "a"};
+        assertThrows(
+                IllegalStateException.class,
+                () -> StringUtils.replaceEachRepeatedly("a", circular, back),
+                "Should be a circular reference");
+    }
+
     @Test
     public void testReplace_StringStringString() {
         assertNull(StringUtils.replace(null, null, null));
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link FieldAccessor}.
+ */
+public class FieldAccessorTest {
+
+    @SuppressWarnings("unused")
+    static class Fixture {
+        static String staticField = "static";
+        private boolean z = true;
+        private byte b = -1;
+        private char c = 'c';
+        private short s = -2;
+        private int i = -3;
+        private long j = -4L;
+        private float f = -5.5f;
+        private double d = -6.5d;
+        private Object o = "object";
+    }
+
+    /**
+     * Collects the visited values, boxed, so that their types can be checked.
+     */
+    static class Collector implements FieldAccessor.Visitor<List<Object>>, FieldAccessor.PairVisitor<List<Object>> {
+        @Override
+        public void visit(final List<Object> values, final boolean value) {
+            values.add(Boolean.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final byte value) {
+            values.add(Byte.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final char value) {
+            values.add(Character.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final short value) {
+            values.add(Short.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final int value) {
+            values.add(Integer.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final long value) {
+            values.add(Long.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final float value) {
+            values.add(Float.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final double value) {
+            values.add(Double.valueOf(value));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final Object value) {
+            values.add(value);
+        }
+
+        @Override
+        public void visit(final List<Object> values, final boolean lhs, final boolean rhs) {
+            values.add(Boolean.valueOf(lhs));
+            values.add(Boolean.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final byte lhs, final byte rhs) {
+            values.add(Byte.valueOf(lhs));
+            values.add(Byte.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final char lhs, final char rhs) {
+            values.add(Character.valueOf(lhs));
+            values.add(Character.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final short lhs, final short rhs) {
+            values.add(Short.valueOf(lhs));
+            values.add(Short.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final int lhs, final int rhs) {
+            values.add(Integer.valueOf(lhs));
+            values.add(Integer.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final long lhs, final long rhs) {
+            values.add(Long.valueOf(lhs));
+            values.add(Long.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final float lhs, final float rhs) {
+            values.add(Float.valueOf(lhs));
+            values.add(Float.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final double lhs, final double rhs) {
+            values.add(Double.valueOf(lhs));
+            values.add(Double.valueOf(rhs));
+        }
+
+        @Override
+        public void visit(final List<Object> values, final Object lhs, final Object rhs) {
+            values.add(lhs);
+            values.add(rhs);
+        }
+    }
+
+    private static FieldAccessor accessor(final String name) throws NoSuchFieldException {
+        final Field field = Fixture.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return FieldAccessor.of(field);
+    }
+
+    @Test
+    public void testKinds() throws Exception {
+        assertEquals(FieldAccessor.Kind.BOOLEAN, accessor("z").getKind());
+        assertEquals(FieldAccessor.Kind.BYTE, accessor("b").getKind());
+        assertEquals(FieldAccessor.Kind.CHAR, accessor("c").getKind());
+        assertEquals(FieldAccessor.Kind.SHORT, accessor("s").getKind());
+        assertEquals(FieldAccessor.Kind.INT, accessor("i").getKind());
+        assertEquals(FieldAccessor.Kind.LONG, accessor("j").getKind());
+        assertEquals(FieldAccessor.Kind.FLOAT, accessor("f").getKind());
+        assertEquals(FieldAccessor.Kind.DOUBLE, accessor("d").getKind());
+        assertEquals(FieldAccessor.Kind.OBJECT, accessor("o").getKind());
+    }
+
+    @Test
+    public void testTypedGetters() throws Exception {
+        final Fixture fixture = new Fixture();
+        assertEquals(true, accessor("z").getBoolean(fixture));
+        assertEquals(-1, accessor("b").getByte(fixture));
+        assertEquals('c', accessor("c").getChar(fixture));
+        assertEquals(-2, accessor("s").getShort(fixture));
+        assertEquals(-3, accessor("i").getInt(fixture));
+        assertEquals(-4L, accessor("j").getLong(fixture));
+        assertEquals(-5.5f, accessor("f").getFloat(fixture), 0f);
+        assertEquals(-6.5d, accessor("d").getDouble(fixture), 0d);
+    }
+
+    @Test
+    public void testGetBoxesLikeField() throws Exception {
+        final Fixture fixture = new Fixture();
+        for (final String name : new String[] {"z", "b", "c", "s", "i", "j", "f", "d", "o"}) {
+            final FieldAccessor accessor = accessor(name);
+            assertEquals(accessor.getField().get(fixture), accessor.get(fixture), name);
+        }
+        assertSame(fixture.o, accessor("o").get(fixture));
+    }
+
+    @Test
+    public void testAcceptVisitsKind() throws Exception {
+        final Fixture fixture = new Fixture();
+        final Fixture other = new Fixture();
+        other.i = 42;
+        other.o = "other";
+        final Collector collector = new Collector();
+        for (final String name : new String[] {"z", "b", "c", "s", "i", "j", "f", "d", "o"}) {
+            final FieldAccessor accessor = accessor(name);
+            final List<Object> values = new ArrayList<>();
+            accessor.accept(fixture, collector, values);
+            assertEquals(Collections.singletonList(accessor.getField().get(fixture)), values, name);
+            values.clear();
+            accessor.accept(fixture, other, collector, values);
+            assertEquals(Arrays.asList(accessor.getField().get(fixture), accessor.getField().get(other)), values, name);
+        }
+    }
+
+    @Test
+    public void testStaticField() throws Exception {
+        assertEquals("static", accessor("staticField").get(new Fixture()));
+        assertEquals("static", accessor("staticField").get(null));
+    }
+
+    @Test
+    public void testWrongTarget() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> accessor("i").getInt("not a fixture"));
+        assertThrows(IllegalArgumentException.class, () -> accessor("o").get(Integer.valueOf(1)));
+    }
+
+    @Test
+    public void testNullTarget() throws Exception {
+        assertThrows(NullPointerException.class, () -> accessor("i").getInt(null));
+    }
+}
@@ -148,6 +148,23 @@ public void testReflectionHashCode() {
         assertEquals(17 * 37 + 123456, HashCodeBuilder.reflectionHashCode(new TestObject(123456)));
     }
 
+    static class TestPrimitivesObject {
+        @SuppressWarnings("unused")
+        private final boolean a = true;
+        @SuppressWarnings("unused")
+        private final double b = -1.5d;
+        @SuppressWarnings("unused")
+        private final long c = -2L;
+    }
+
+    @Test
+    public void testReflectionHashCodePrimitivesHashLikeWrappers() {
+        // fields are visited in name order and hashed as their wrapper objects
+        assertEquals(new HashCodeBuilder().append((Object) Boolean.TRUE).append((Object) Double.valueOf(-1.5d))
+            .append((Object) Long.valueOf(-2L)).toHashCode(),
+            HashCodeBuilder.reflectionHashCode(new TestPrimitivesObject()));
+    }
+
     @Test
     public void testReflectionHierarchyHashCode() {
         assertEquals(17 * 37 * 37, HashCodeBuilder.reflectionHashCode(new TestSubObject(0, 0, 0)));
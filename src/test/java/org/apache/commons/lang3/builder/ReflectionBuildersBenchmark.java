@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.builder;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the reflective builders: {@link HashCodeBuilder#reflectionHashCode(Object, String...)},
+ * {@link EqualsBuilder#reflectionEquals(Object, Object, String...)},
+ * {@link CompareToBuilder#reflectionCompare(Object, Object)} and
+ * {@link ReflectionToStringBuilder#toString(Object)}.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=ReflectionBuildersBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReflectionBuildersBenchmark {
+
+    /**
+     * A small value object with a mix of primitive and reference fields.
+     */
+    static class SmallBean {
+        int id;
+        long timestamp;
+        String name;
+
+        SmallBean(final int id) {
+            this.id = id;
+            this.timestamp = 1_000_000L * id;
+            this.name = "bean" + id;
+        }
+    }
+
+    /**
+     * A wider value object with an inherited state and an array field.
+     */
+    static class LargeBean extends SmallBean {
+        boolean active;
+        byte flags;
+        char code;
+        short rank;
+        float ratio;
+        double score;
+        Integer boxed;
+        String description;
+        int[] values;
+
+        LargeBean(final int id) {
+            super(id);
+            this.active = (id & 1) == 0;
+            this.flags = (byte) id;
+            this.code = (char) ('a' + id % 26);
+            this.rank = (short) id;
+            this.ratio = id / 3f;
+            this.score = id / 7d;
+            this.boxed = Integer.valueOf(id);
+            this.description = "description of bean " + id;
+            this.values = new int[] {id, id + 1, id + 2, id + 3};
+        }
+    }
+
+    /** Selects which bean shape is benchmarked. */
+    @Param({"small", "large"})
+    private String shape;
+
+    private Object left;
+    private Object right;
+
+    @Setup
+    public void setup() {
+        if ("small".equals(shape)) {
+            left = new SmallBean(42);
+            right = new SmallBean(42);
+        } else {
+            left = new LargeBean(42);
+            right = new LargeBean(42);
+        }
+    }
+
+    @Benchmark
+    public int reflectionHashCode() {
+        return HashCodeBuilder.reflectionHashCode(left);
+    }
+
+    @Benchmark
+    public boolean reflectionEquals() {
+        return EqualsBuilder.reflectionEquals(left, right);
+    }
+
+    @Benchmark
+    public int reflectionCompare() {
+        return CompareToBuilder.reflectionCompare(left, right);
+    }
+
+    @Benchmark
+    public String reflectionToString() {
+        return ReflectionToStringBuilder.toString(left);
+    }
+}
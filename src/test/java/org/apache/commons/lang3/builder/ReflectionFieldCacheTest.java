@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.builder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link ReflectionFieldCache}.
+ */
+public class ReflectionFieldCacheTest {
+
+    @SuppressWarnings("unused")
+    static class Fixture {
+        static int staticField;
+        transient int transientField;
+        int zeta;
+        int alpha;
+        @EqualsExclude
+        int equalsExcluded;
+        @HashCodeExclude
+        int hashCodeExcluded;
+        @ToStringExclude
+        int toStringExcluded;
+    }
+
+    private static String[] names(final Field[] fields) {
+        final String[] names = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            names[i] = fields[i].getName();
+        }
+        return names;
+    }
+
+    @Test
+    public void testSortedFields() {
+        final Field[] fields = ReflectionFieldCache.getSortedFields(Fixture.class);
+        assertArrayEquals(new String[] {"alpha", "equalsExcluded", "hashCodeExcluded", "staticField",
+            "toStringExcluded", "transientField", "zeta"}, names(fields));
+        for (final Field field : fields) {
+            assertTrue(field.isAccessible());
+        }
+    }
+
+    @Test
+    public void testFilteredFieldsAnnotations() {
+        assertArrayEquals(new String[] {"alpha", "hashCodeExcluded", "toStringExcluded", "zeta"},
+            names(ReflectionFieldCache.getFilteredFields(Fixture.class, false, false, EqualsExclude.class, true)));
+        assertArrayEquals(new String[] {"alpha", "equalsExcluded", "toStringExcluded", "zeta"},
+            names(ReflectionFieldCache.getFilteredFields(Fixture.class, false, false, HashCodeExclude.class, true)));
+        assertArrayEquals(new String[] {"alpha", "equalsExcluded", "hashCodeExcluded", "zeta"},
+            names(ReflectionFieldCache.getFilteredFields(Fixture.class, false, false, ToStringExclude.class, true)));
+    }
+
+    @Test
+    public void testFilteredFieldsModifiers() {
+        assertEquals(5, ReflectionFieldCache.getFilteredFields(Fixture.class, false, false, null, true).length);
+        assertArrayEquals(new String[] {"alpha", "equalsExcluded", "hashCodeExcluded", "staticField",
+            "toStringExcluded", "transientField", "zeta"},
+            names(ReflectionFieldCache.getFilteredFields(Fixture.class, true, true, null, true)));
+    }
+
+    @Test
+    public void testFilteredFieldsAreCached() {
+        assertSame(ReflectionFieldCache.getFilteredFields(Fixture.class, false, false, null, false),
+            ReflectionFieldCache.getFilteredFields(Fixture.class, false, false, null, false));
+    }
+
+    @Test
+    public void testInnerClassFieldsAreRejected() {
+        class Inner {
+            @SuppressWarnings("unused")
+            int value;
+        }
+        // the synthetic this$0 field is never visited
+        assertArrayEquals(new String[] {"value"},
+            names(ReflectionFieldCache.getFilteredFields(Inner.class, true, true, null, true)));
+    }
+
+    @Test
+    public void testUnsupportedAnnotation() {
+        assertThrows(IllegalArgumentException.class,
+            () -> ReflectionFieldCache.getFilteredFields(Fixture.class, false, false, Deprecated.class, true));
+    }
+}
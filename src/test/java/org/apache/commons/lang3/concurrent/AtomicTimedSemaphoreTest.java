@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for AtomicTimedSemaphore.
+ */
+public class AtomicTimedSemaphoreTest {
+    /** Constant for the time period. */
+    private static final long PERIOD = 500;
+
+    /** Constant for the time unit. */
+    private static final TimeUnit UNIT = TimeUnit.MILLISECONDS;
+
+    /** Constant for the default limit. */
+    private static final int LIMIT = 10;
+
+    /** The time of the test clock in nanoseconds. */
+    private final AtomicLong time = new AtomicLong(123456789L);
+
+    private AtomicTimedSemaphore createSemaphore(final int limit) {
+        return new AtomicTimedSemaphore(PERIOD, UNIT, limit, time::get);
+    }
+
+    private void advance(final long millis) {
+        time.addAndGet(UNIT.toNanos(millis));
+    }
+
+    /**
+     * Tests creating a new instance.
+     */
+    @Test
+    public void testInit() {
+        final AtomicTimedSemaphore semaphore = new AtomicTimedSemaphore(PERIOD, UNIT, LIMIT);
+        assertEquals(PERIOD, semaphore.getPeriod(), "Wrong period");
+        assertEquals(UNIT, semaphore.getUnit(), "Wrong unit");
+        assertEquals(0, semaphore.getLastAcquiresPerPeriod(), "Statistic available");
+        assertEquals(0.0, semaphore.getAverageCallsPerPeriod(), .05, "Average available");
+        assertEquals(0, semaphore.getAcquireCount(), "Acquire count");
+        assertEquals(LIMIT, semaphore.getAvailablePermits(), "Available permits");
+        assertFalse(semaphore.isShutdown(), "Already shutdown");
+        assertEquals(LIMIT, semaphore.getLimit(), "Wrong limit");
+    }
+
+    /**
+     * Tries to create an instance with an invalid period or unit.
+     */
+    @Test
+    public void testInitInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new AtomicTimedSemaphore(0L, UNIT, LIMIT));
+        assertThrows(NullPointerException.class, () -> new AtomicTimedSemaphore(PERIOD, null, LIMIT));
+    }
+
+    /**
+     * Tests that tryAcquire() fails when the limit is reached, until the next period.
+     */
+    @Test
+    public void testTryAcquireLimit() {
+        final AtomicTimedSemaphore semaphore = createSemaphore(LIMIT);
+        for (int i = 0; i < LIMIT; i++) {
+            assertTrue(semaphore.tryAcquire(), "Acquire " + i);
+            advance(1);
+        }
+        assertFalse(semaphore.tryAcquire(), "Acquire over limit");
+        assertEquals(LIMIT, semaphore.getAcquireCount(), "Acquire count");
+        assertEquals(0, semaphore.getAvailablePermits(), "Available permits");
+        assertEquals(0, semaphore.getLastAcquiresPerPeriod(), "Last acquires");
+
+        advance(PERIOD - LIMIT);
+        assertTrue(semaphore.tryAcquire(), "Acquire in next period");
+        assertEquals(1, semaphore.getAcquireCount(), "Acquire count in next period");
+        assertEquals(LIMIT, semaphore.getLastAcquiresPerPeriod(), "Last acquires in next period");
+    }
+
+    /**
+     * Tests that the periods are told apart after more periods than an int can count.
+     */
+    @Test
+    public void testPeriodIndexOverflow() {
+        final AtomicTimedSemaphore semaphore = createSemaphore(LIMIT);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(semaphore.tryAcquire(), "Acquire " + i);
+        }
+        advance((1L << 31) * PERIOD);
+        assertEquals(0, semaphore.getAcquireCount(), "Acquire count after 2^31 periods");
+        assertTrue(semaphore.tryAcquire(), "Acquire after 2^31 periods");
+        assertEquals(1, semaphore.getAcquireCount(), "Acquire count after 2^31 periods");
+        assertEquals(0, semaphore.getLastAcquiresPerPeriod(), "Last acquires after 2^31 periods");
+
+        advance(PERIOD);
+        assertEquals(1, semaphore.getLastAcquiresPerPeriod(), "Last acquires in next period");
+        assertTrue(semaphore.tryAcquire(2), "Acquire in next period");
+        assertEquals(2, semaphore.getAcquireCount(), "Acquire count in next period");
+        assertEquals(1, semaphore.getLastAcquiresPerPeriod(), "Last acquires in next period");
+
+        advance(((1L << 32) + 2) * PERIOD);
+        assertEquals(0, semaphore.getAcquireCount(), "Acquire count after 2^32 periods");
+        assertTrue(semaphore.tryAcquire(), "Acquire after 2^32 periods");
+        assertEquals(1, semaphore.getAcquireCount(), "Acquire count after 2^32 periods");
+        assertEquals(0, semaphore.getLastAcquiresPerPeriod(), "Last acquires after 2^32 periods");
+        assertEquals(6.0 / ((1L << 31) + (1L << 32) + 3), semaphore.getAverageCallsPerPeriod(), 1e-15,
+            "Average");
+    }
+
+    /**
+     * Tests acquiring several permits at once.
+     */
+    @Test
+    public void testTryAcquirePermits() {
+        final AtomicTimedSemaphore semaphore = createSemaphore(3);
+        assertTrue(semaphore.tryAcquire(2), "Acquire 2");
+        assertFalse(semaphore.tryAcquire(2), "Acquire 2 over limit");
+        assertEquals(2, semaphore.getAcquireCount(), "Acquire count");
+        assertTrue(semaphore.tryAcquire(1), "Acquire last");
+        assertFalse(semaphore.tryAcquire(4), "Acquire more than the limit");
+        assertThrows(IllegalArgumentException.class, () -> semaphore.tryAcquire(0));
+        assertThrows(IllegalArgumentException.class, () -> semaphore.acquire(-1));
+    }
+
+    /**
+     * Tests that more permits than the limit are not waited for.
+     *
+     * @throws java.lang.InterruptedException so we don't have to catch it
+     */
+    @Test
+    public void testAcquireOverLimit() throws InterruptedException {
+        final AtomicTimedSemaphore semaphore = createSemaphore(3);
+        assertThrows(IllegalArgumentException.class, () -> semaphore.acquire(5));
+        assertFalse(semaphore.tryAcquire(5, 1, TimeUnit.DAYS), "Acquire over limit with timeout");
+        assertEquals(0, semaphore.getAcquireCount(), "Acquire count");
+        semaphore.setLimit(AtomicTimedSemaphore.NO_LIMIT);
+        semaphore.acquire(5);
+        assertEquals(5, semaphore.getAcquireCount(), "Acquire count without limit");
+    }
+
+    /**
+     * Tests that a waiting thread fails when the limit is lowered under its permits.
+     *
+     * @throws java.lang.InterruptedException so we don't have to catch it
+     */
+    @Test
+    public void testAcquireWaitingLimitLowered() throws InterruptedException {
+        // the test clock does not move, so the waiter parks until the limit is lowered
+        final AtomicTimedSemaphore semaphore = createSemaphore(3);
+        semaphore.acquire(3);
+        final AtomicInteger failures = new AtomicInteger();
+        final Thread waiter = new Thread(() -> {
+            try {
+                semaphore.acquire(3);
+            } catch (final IllegalArgumentException e) {
+                failures.incrementAndGet();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.TIMED_WAITING) {
+            Thread.yield();
+        }
+        semaphore.setLimit(2);
+        waiter.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(waiter.isAlive(), "Still waiting");
+        assertEquals(1, failures.get(), "Failures");
+    }
+
+    /**
+     * Tests that tryAcquire() with a timeout fails immediately when the next period starts after the timeout.
+     *
+     * @throws java.lang.InterruptedException so we don't have to catch it
+     */
+    @Test
+    public void testTryAcquireTimeout() throws InterruptedException {
+        final AtomicTimedSemaphore semaphore = createSemaphore(1);
+        assertTrue(semaphore.tryAcquire(1, 0, UNIT), "Acquire");
+        advance(PERIOD / 2);
+        assertFalse(semaphore.tryAcquire(1, PERIOD / 4, UNIT), "Acquire before timeout");
+        assertEquals(1, semaphore.getAcquireCount(), "Acquire count");
+    }
+
+    /**
+     * Tests that a thread waits for the next period.
+     *
+     * @throws java.lang.InterruptedException so we don't have to catch it
+     */
+    @Test
+    public void testAcquireWaitsForNextPeriod() throws InterruptedException {
+        final AtomicTimedSemaphore semaphore = new AtomicTimedSemaphore(20, UNIT, 1);
+        semaphore.acquire();
+        final long start = System.nanoTime();
+        semaphore.acquire();
+        assertTrue(semaphore.tryAcquire(1, 1, TimeUnit.SECONDS), "Acquire with timeout");
+        assertTrue(System.nanoTime() - start >= UNIT.toNanos(20), "Not waited");
+        assertTrue(semaphore.getLastAcquiresPerPeriod() <= 1, "Last acquires");
+    }
+
+    /**
+     * Tests that a waiting thread can be interrupted.
+     */
+    @Test
+    public void testAcquireInterrupted() {
+        final AtomicTimedSemaphore semaphore = createSemaphore(1);
+        assertTrue(semaphore.tryAcquire(), "Acquire");
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, semaphore::acquire);
+        assertFalse(Thread.interrupted(), "Still interrupted");
+    }
+
+    /**
+     * Tests the statistics over several periods.
+     */
+    @Test
+    public void testStatistics() {
+        final AtomicTimedSemaphore semaphore = createSemaphore(LIMIT);
+        assertTrue(semaphore.tryAcquire(4), "Acquire in first period");
+        assertEquals(0.0, semaphore.getAverageCallsPerPeriod(), .05, "Average in first period");
+        advance(PERIOD);
+        assertTrue(semaphore.tryAcquire(2), "Acquire in second period");
+        assertEquals(4, semaphore.getLastAcquiresPerPeriod(), "Last acquires in second period");
+        assertEquals(4.0, semaphore.getAverageCallsPerPeriod(), .05, "Average in second period");
+        advance(PERIOD);
+        assertEquals(2, semaphore.getLastAcquiresPerPeriod(), "Last acquires in third period");
+        assertEquals(0, semaphore.getAcquireCount(), "Acquire count in third period");
+        assertEquals(3.0, semaphore.getAverageCallsPerPeriod(), .05, "Average in third period");
+        advance(PERIOD);
+        assertEquals(0, semaphore.getLastAcquiresPerPeriod(), "Last acquires in fourth period");
+        assertEquals(2.0, semaphore.getAverageCallsPerPeriod(), .05, "Average in fourth period");
+    }
+
+    /**
+     * Tests that the limit can be changed and switched off.
+     */
+    @Test
+    public void testSetLimit() {
+        final AtomicTimedSemaphore semaphore = createSemaphore(LIMIT);
+        assertTrue(semaphore.tryAcquire(2), "Acquire");
+        semaphore.setLimit(2);
+        assertFalse(semaphore.tryAcquire(), "Acquire over reduced limit");
+        semaphore.setLimit(AtomicTimedSemaphore.NO_LIMIT);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(semaphore.tryAcquire(), "Acquire without limit " + i);
+        }
+        assertEquals(1002, semaphore.getAcquireCount(), "Acquire count");
+    }
+
+    /**
+     * Tests that exactly the limit of permits is acquired by concurrent threads.
+     *
+     * @throws java.lang.InterruptedException so we don't have to catch it
+     */
+    @Test
+    public void testTryAcquireMultipleThreads() throws InterruptedException {
+        final AtomicTimedSemaphore semaphore = createSemaphore(LIMIT * 100);
+        final int threadCount = 8;
+        final AtomicInteger acquired = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < LIMIT * 100; j++) {
+                    if (semaphore.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        latch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(LIMIT * 100, acquired.get(), "Acquired permits");
+        assertEquals(LIMIT * 100, semaphore.getAcquireCount(), "Acquire count");
+    }
+
+    /**
+     * Tests that the semaphore cannot be used after a shutdown.
+     */
+    @Test
+    public void testPassAfterShutdown() {
+        final AtomicTimedSemaphore semaphore = createSemaphore(LIMIT);
+        semaphore.shutdown();
+        semaphore.shutdown();
+        assertTrue(semaphore.isShutdown(), "Not shutdown");
+        assertThrows(IllegalStateException.class, semaphore::tryAcquire);
+        assertThrows(IllegalStateException.class, semaphore::acquire);
+    }
+}
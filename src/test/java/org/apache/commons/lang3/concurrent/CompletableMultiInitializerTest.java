@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link CompletableMultiInitializer}.
+ */
+public class CompletableMultiInitializerTest {
+    /** The executor of the initializations. */
+    private ExecutorService executor;
+
+    /** The initializer to be tested. */
+    private CompletableMultiInitializer initializer;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        initializer = new CompletableMultiInitializer(executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tests the results of independent initializers.
+     *
+     * @throws ConcurrentException so we don't have to catch it
+     */
+    @Test
+    public void testIndependentInitializers() throws ConcurrentException {
+        initializer.addInitializer("b", () -> "B");
+        initializer.addInitializer("a", new ConstantInitializer<>(Integer.valueOf(1)));
+        final CompletableMultiInitializer.Results results = initializer.get();
+
+        assertTrue(initializer.isStarted(), "Not started");
+        assertTrue(results.isSuccessful(), "Not successful");
+        assertEquals(Arrays.asList("b", "a"), Arrays.asList(results.initializerNames().toArray()), "Wrong names");
+        assertEquals("B", results.getResultObject("b"), "Wrong result");
+        assertEquals(Integer.valueOf(1), results.getResultObject("a"), "Wrong result");
+        assertFalse(results.isException("a"), "Exception");
+        assertNull(results.getException("a"), "Exception");
+        assertTrue(results.getStartNanoTime("a") >= 0, "Not run");
+        assertTrue(results.getNanoTime("a") >= 0, "Negative time");
+        assertTrue(results.getNanoTime() >= results.getStartNanoTime("a") + results.getNanoTime("a"),
+            "Total time too short");
+        assertThrows(NoSuchElementException.class, () -> results.getResultObject("c"));
+        assertThrows(NoSuchElementException.class, () -> results.getNanoTime("c"));
+    }
+
+    /**
+     * Tests that the initializers receive the results of their dependencies and start after them.
+     *
+     * @throws ConcurrentException so we don't have to catch it
+     */
+    @Test
+    public void testDependencies() throws ConcurrentException {
+        initializer.addInitializer("sum", dependencies -> (Integer) dependencies.getResultObject("one")
+            + (Integer) dependencies.getResultObject("two"), "one", "two");
+        initializer.addInitializer("two", dependencies -> (Integer) dependencies.getResultObject("one") * 2, "one");
+        initializer.addInitializer("one", () -> 1);
+        initializer.addInitializer("other", dependencies -> dependencies.getResultObject("one"), "two");
+        final CompletableMultiInitializer.Results results = initializer.get();
+
+        assertEquals(3, results.getResultObject("sum"), "Wrong sum");
+        assertTrue(results.getStartNanoTime("two")
+            >= results.getStartNanoTime("one") + results.getNanoTime("one"), "Started before dependency");
+        assertFalse(results.isSuccessful(), "Successful");
+        assertTrue(results.isException("other"), "Result of undeclared dependency");
+        assertTrue(results.getException("other") instanceof NoSuchElementException, "Wrong exception");
+    }
+
+    /**
+     * Tests that a single thread is enough, as no initialization waits for another.
+     *
+     * @throws ConcurrentException so we don't have to catch it
+     */
+    @Test
+    public void testSingleThread() throws ConcurrentException {
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableMultiInitializer init = new CompletableMultiInitializer(single);
+            init.addInitializer("top", () -> "top");
+            for (int i = 0; i < 10; i++) {
+                init.addInitializer("child" + i, dependencies -> dependencies.getResultObject("top"), "top");
+            }
+            init.addInitializer("bottom", dependencies -> "bottom", "child0", "child9");
+            final CompletableMultiInitializer.Results results = init.get();
+            assertTrue(results.isSuccessful(), "Not successful");
+            assertEquals("top", results.getResultObject("child5"), "Wrong result");
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the initializers depending on a failed one are not run.
+     *
+     * @throws ConcurrentException so we don't have to catch it
+     */
+    @Test
+    public void testFailedDependency() throws ConcurrentException {
+        final IOException failure = new IOException("failed");
+        initializer.addInitializer("failing", dependencies -> {
+            throw failure;
+        });
+        initializer.addInitializer("dependent", dependencies -> "dependent", "failing");
+        initializer.addInitializer("transitive", dependencies -> "transitive", "dependent");
+        initializer.addInitializer("runtime", () -> {
+            throw new IllegalStateException();
+        });
+        initializer.addInitializer("independent", () -> "independent");
+        final CompletableMultiInitializer.Results results = initializer.get();
+
+        assertFalse(results.isSuccessful(), "Successful");
+        assertSame(failure, results.getException("failing"), "Wrong exception");
+        assertTrue(results.getException("dependent") instanceof CancellationException, "Not cancelled");
+        assertSame(failure, results.getException("dependent").getCause(), "Wrong cause");
+        assertTrue(results.getException("transitive") instanceof CancellationException, "Not cancelled");
+        assertTrue(results.getException("runtime") instanceof IllegalStateException, "Wrong exception");
+        assertEquals(-1, results.getStartNanoTime("dependent"), "Run");
+        assertEquals(0, results.getNanoTime("dependent"), "Run");
+        assertEquals("independent", results.getResultObject("independent"), "Wrong result");
+    }
+
+    /**
+     * Tests the critical path.
+     *
+     * @throws ConcurrentException so we don't have to catch it
+     */
+    @Test
+    public void testCriticalPath() throws ConcurrentException {
+        initializer.addInitializer("slow", () -> {
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                throw new ConcurrentException(e);
+            }
+            return "slow";
+        });
+        initializer.addInitializer("fast", () -> "fast");
+        initializer.addInitializer("last", dependencies -> "last", "fast", "slow");
+        initializer.addInitializer("early", () -> "early");
+        final CompletableMultiInitializer.Results results = initializer.get();
+
+        assertEquals(Arrays.asList("last", "slow"), results.getCriticalPath(), "Wrong critical path");
+        assertTrue(results.getNanoTime("slow") >= TimeUnit.MILLISECONDS.toNanos(50), "Too fast");
+    }
+
+    /**
+     * Tests that start() can be called several times and returns the future of the results.
+     *
+     * @throws Exception so we don't have to catch it
+     */
+    @Test
+    public void testStart() throws Exception {
+        initializer.addInitializer("a", () -> "a");
+        assertFalse(initializer.isStarted(), "Started");
+        assertSame(initializer.start(), initializer.start(), "Started twice");
+        assertEquals("a", initializer.start().get().getResultObject("a"), "Wrong result");
+        assertThrows(IllegalStateException.class, () -> initializer.addInitializer("b", () -> "b"));
+    }
+
+    /**
+     * Tests that invalid initializers are rejected.
+     */
+    @Test
+    public void testInvalidInitializers() {
+        assertThrows(NullPointerException.class, () -> new CompletableMultiInitializer(null));
+        assertThrows(NullPointerException.class, () -> initializer.addInitializer(null, () -> "a"));
+        assertThrows(NullPointerException.class,
+            () -> initializer.addInitializer("a", (ConcurrentInitializer<?>) null));
+        assertThrows(IllegalArgumentException.class, () -> initializer.addInitializer("a", () -> "a", (String) null));
+        initializer.addInitializer("a", () -> "a");
+        assertThrows(IllegalArgumentException.class, () -> initializer.addInitializer("a", () -> "a"));
+    }
+
+    /**
+     * Tests that unknown and cyclic dependencies are rejected by start().
+     */
+    @Test
+    public void testInvalidDependencies() {
+        initializer.addInitializer("a", dependencies -> "a", "unknown");
+        assertThrows(IllegalStateException.class, initializer::start);
+
+        final CompletableMultiInitializer cyclic = new CompletableMultiInitializer(executor);
+        cyclic.addInitializer("a", dependencies -> "a", "c");
+        cyclic.addInitializer("b", dependencies -> "b", "a");
+        cyclic.addInitializer("c", dependencies -> "c", "b");
+        assertThrows(IllegalStateException.class, cyclic::start);
+    }
+
+    /**
+     * Tests that get() throws when the thread is interrupted.
+     */
+    @Test
+    public void testGetInterrupted() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        initializer.addInitializer("blocking", () -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                throw new ConcurrentException(e);
+            }
+            return "blocking";
+        });
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ConcurrentException.class, initializer::get);
+            assertTrue(Thread.interrupted(), "Not interrupted");
+        } finally {
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of lookups in a {@link Memoizer} and in {@link EvictingMemoizer} instances shared by 4 threads,
+ * with 1024 arguments, of which an evicting memoizer bounded to 512 results keeps the most recently used.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=EvictingMemoizerBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EvictingMemoizerBenchmark {
+
+    private static final int ARGUMENTS = 1024;
+
+    private static final Computable<Integer, Integer> SQUARE = arg -> arg * arg;
+
+    private final Memoizer<Integer, Integer> memoizer = new Memoizer<>(SQUARE);
+
+    private final EvictingMemoizer<Integer, Integer> unbounded = new EvictingMemoizer.Builder<Integer, Integer>()
+        .computable(SQUARE).build();
+
+    private final EvictingMemoizer<Integer, Integer> expiring = new EvictingMemoizer.Builder<Integer, Integer>()
+        .computable(SQUARE).maximumSize(ARGUMENTS).expireAfterAccess(1, TimeUnit.MINUTES).build();
+
+    private final EvictingMemoizer<Integer, Integer> bounded = new EvictingMemoizer<>(SQUARE, ARGUMENTS / 2);
+
+    private static Integer argument() {
+        return Integer.valueOf(ThreadLocalRandom.current().nextInt(ARGUMENTS));
+    }
+
+    @Benchmark
+    public Integer memoizer() throws InterruptedException {
+        return memoizer.compute(argument());
+    }
+
+    @Benchmark
+    public Integer evictingMemoizer() throws InterruptedException {
+        return unbounded.compute(argument());
+    }
+
+    @Benchmark
+    public Integer evictingMemoizerExpireAfterAccess() throws InterruptedException {
+        return expiring.compute(argument());
+    }
+
+    @Benchmark
+    public Integer evictingMemoizerHalfSize() throws InterruptedException {
+        return bounded.compute(argument());
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class EvictingMemoizerTest {
+
+    /** The time of the test ticker in nanoseconds. */
+    private final AtomicLong time = new AtomicLong();
+
+    /** The number of calculations. */
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /** A calculation counting its calls. */
+    private final Computable<Integer, Integer> square = arg -> {
+        calls.incrementAndGet();
+        return arg * arg;
+    };
+
+    private EvictingMemoizer.Builder<Integer, Integer> builder() {
+        return new EvictingMemoizer.Builder<Integer, Integer>().computable(square).ticker(time::get);
+    }
+
+    @Test
+    public void testOnlyCallComputableOnceIfDoesNotThrowException() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = builder().build();
+
+        assertEquals(25, memoizer.compute(5).intValue());
+        assertEquals(25, memoizer.compute(5).intValue());
+        assertEquals(1, calls.get());
+
+        final MemoizerStatistics statistics = memoizer.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getLoadSuccessCount());
+        assertEquals(0, statistics.getLoadFailureCount());
+        assertEquals(0, statistics.getEvictionCount());
+        assertEquals(1, statistics.getSize());
+        assertEquals(0.5, statistics.getHitRate(), 0);
+        assertEquals("MemoizerStatistics[hits=1, misses=1, loadSuccesses=1, loadFailures=0, totalLoadTime=0, "
+            + "evictions=0, size=1]", statistics.toString());
+    }
+
+    @Test
+    public void testMaximumSizeEvictsLeastRecentlyUsed() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = new EvictingMemoizer<>(square, 2);
+
+        memoizer.compute(1);
+        memoizer.compute(2);
+        memoizer.compute(1);
+        memoizer.compute(3);
+        assertEquals(2, memoizer.getStatistics().getSize());
+        assertEquals(1, memoizer.getStatistics().getEvictionCount());
+
+        memoizer.compute(1);
+        assertEquals(3, calls.get(), "Recently used result evicted");
+        memoizer.compute(2);
+        assertEquals(4, calls.get(), "Least recently used result not evicted");
+        assertEquals(2, memoizer.getStatistics().getSize());
+    }
+
+    @Test
+    public void testExpireAfterWrite() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = builder().expireAfterWrite(10, TimeUnit.NANOSECONDS)
+            .build();
+
+        memoizer.compute(2);
+        time.set(9);
+        memoizer.compute(2);
+        assertEquals(1, calls.get(), "Expired early");
+        time.set(10);
+        assertEquals(4, memoizer.compute(2).intValue());
+        assertEquals(2, calls.get(), "Not expired");
+        assertEquals(1, memoizer.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testExpireAfterAccess() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = builder().expireAfterAccess(10, TimeUnit.NANOSECONDS)
+            .build();
+
+        memoizer.compute(2);
+        time.set(9);
+        memoizer.compute(2);
+        time.set(18);
+        memoizer.compute(2);
+        assertEquals(1, calls.get(), "Expired despite access");
+        time.set(28);
+        memoizer.compute(2);
+        assertEquals(2, calls.get(), "Not expired");
+    }
+
+    @Test
+    public void testCleanUpRemovesExpiredResults() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = builder().expireAfterWrite(10, TimeUnit.NANOSECONDS)
+            .build();
+
+        memoizer.compute(1);
+        memoizer.compute(2);
+        time.set(5);
+        memoizer.compute(3);
+        time.set(12);
+        memoizer.cleanUp();
+        assertEquals(1, memoizer.getStatistics().getSize());
+        assertEquals(2, memoizer.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testAddingRemovesExpiredResults() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = builder().expireAfterWrite(10, TimeUnit.NANOSECONDS)
+            .build();
+
+        for (int i = 0; i < 100; i++) {
+            time.set(i);
+            memoizer.compute(i);
+        }
+        assertTrue(memoizer.getStatistics().getSize() <= 11, "Expired results kept");
+    }
+
+    @Test
+    public void testSoftAndWeakValues() throws Exception {
+        final EvictingMemoizer<Integer, Integer> soft = builder().softValues().build();
+        final Integer value = soft.compute(1000);
+        assertSame(value, soft.compute(1000));
+
+        final EvictingMemoizer<Integer, Object> weak = new EvictingMemoizer.Builder<Integer, Object>()
+            .computable(arg -> arg == 0 ? null : new Object()).weakValues().build();
+        final Object object = weak.compute(1);
+        assertSame(object, weak.compute(1));
+        assertNull(weak.compute(0));
+        assertNull(weak.compute(0));
+        assertEquals(2, weak.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testDefaultBehaviourNotToRecalculateExecutionExceptions() throws Exception {
+        final IllegalArgumentException failure = new IllegalArgumentException();
+        final EvictingMemoizer<Integer, Integer> memoizer = new EvictingMemoizer.Builder<Integer, Integer>()
+            .computable(arg -> {
+                calls.incrementAndGet();
+                throw failure;
+            }).build();
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> memoizer.compute(1)));
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> memoizer.compute(1)));
+        assertEquals(1, calls.get());
+        assertEquals(1, memoizer.getStatistics().getLoadFailureCount());
+    }
+
+    @Test
+    public void testRecalculateExecutionExceptions() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = new EvictingMemoizer.Builder<Integer, Integer>()
+            .computable(arg -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException();
+                }
+                return arg;
+            }).recalculate(true).build();
+
+        assertThrows(IllegalStateException.class, () -> memoizer.compute(1));
+        assertEquals(1, memoizer.compute(1).intValue());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testLoadTime() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = new EvictingMemoizer.Builder<Integer, Integer>()
+            .computable(arg -> {
+                time.addAndGet(arg);
+                return arg;
+            }).ticker(time::get).build();
+
+        memoizer.compute(4);
+        memoizer.compute(8);
+        assertEquals(12, memoizer.getStatistics().getTotalLoadTime());
+        assertEquals(6.0, memoizer.getStatistics().getAverageLoadPenalty(), 0);
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final EvictingMemoizer<Integer, Integer> memoizer = new EvictingMemoizer.Builder<Integer, Integer>()
+            .computable(arg -> {
+                calls.incrementAndGet();
+                started.countDown();
+                release.await();
+                return arg;
+            }).maximumSize(10).build();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    memoizer.compute(1);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[i].start();
+        }
+        started.await();
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, memoizer.getStatistics().getMissCount());
+        assertEquals(3, memoizer.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testMaximumSizeKeepsResultsBeingComputed() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final EvictingMemoizer<Integer, Integer> memoizer = new EvictingMemoizer.Builder<Integer, Integer>()
+            .computable(arg -> {
+                calls.incrementAndGet();
+                if (arg == 1) {
+                    started.countDown();
+                    release.await();
+                }
+                return arg;
+            }).maximumSize(1).build();
+        final Thread[] threads = new Thread[2];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    memoizer.compute(1);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        threads[0].start();
+        started.await();
+        // adding another result must not evict the one being computed
+        assertEquals(2, memoizer.compute(2).intValue());
+        threads[1].start();
+        while (threads[1].getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2, calls.get(), "Result computed twice");
+        assertEquals(1, memoizer.getStatistics().getSize());
+    }
+
+    @Test
+    public void testComputeAll() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = builder().build();
+        memoizer.compute(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Map<Integer, Integer> results = memoizer.computeAll(Arrays.asList(3, 1, 2, 3), executor);
+            assertEquals(Arrays.asList(3, 1, 2), Arrays.asList(results.keySet().toArray()));
+            assertEquals(Arrays.asList(9, 1, 4), Arrays.asList(results.values().toArray()));
+            assertEquals(3, calls.get());
+            assertEquals(Collections.emptyMap(), memoizer.computeAll(Collections.emptyList(), executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testComputeAllFailure() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = new EvictingMemoizer.Builder<Integer, Integer>()
+            .computable(arg -> {
+                calls.incrementAndGet();
+                if (arg == 2) {
+                    throw new IllegalArgumentException();
+                }
+                return arg;
+            }).build();
+
+        assertThrows(IllegalArgumentException.class, () -> memoizer.computeAll(Arrays.asList(1, 2, 3), Runnable::run));
+        assertEquals(3, calls.get());
+        assertEquals(3, memoizer.compute(3).intValue());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testComputeAllRejected() throws Exception {
+        final EvictingMemoizer<Integer, Integer> memoizer = builder().build();
+
+        assertThrows(RejectedExecutionException.class, () -> memoizer.computeAll(Arrays.asList(1, 2), task -> {
+            throw new RejectedExecutionException();
+        }));
+        assertEquals(0, memoizer.getStatistics().getSize());
+        assertEquals(4, memoizer.compute(2).intValue());
+        assertThrows(NullPointerException.class, () -> memoizer.computeAll(null, Runnable::run));
+        assertThrows(NullPointerException.class, () -> memoizer.computeAll(Arrays.asList(1), null));
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        final EvictingMemoizer.Builder<Integer, Integer> builder = new EvictingMemoizer.Builder<>();
+        assertThrows(NullPointerException.class, builder::build);
+        assertThrows(NullPointerException.class, () -> builder.computable(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.maximumSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.expireAfterWrite(0, TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> builder.expireAfterAccess(1, null));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of counting events in an {@link EventCountCircuitBreaker} and a {@link SlidingWindowCircuitBreaker}
+ * shared by 8 threads, with thresholds which are never reached.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=SlidingWindowCircuitBreakerBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SlidingWindowCircuitBreakerBenchmark {
+
+    private final EventCountCircuitBreaker eventCountBreaker =
+        new EventCountCircuitBreaker(Integer.MAX_VALUE, 1, TimeUnit.SECONDS);
+
+    private final SlidingWindowCircuitBreaker slidingWindowBreaker =
+        new SlidingWindowCircuitBreaker(Integer.MAX_VALUE, 1, TimeUnit.SECONDS, Integer.MAX_VALUE);
+
+    @Benchmark
+    public boolean eventCountIncrement() {
+        return eventCountBreaker.incrementAndCheckState();
+    }
+
+    @Benchmark
+    public boolean slidingWindowIncrement() {
+        return slidingWindowBreaker.incrementAndCheckState();
+    }
+
+    @Benchmark
+    public boolean slidingWindowRecordSuccess() {
+        return slidingWindowBreaker.recordCall(false, 1, TimeUnit.MILLISECONDS);
+    }
+}
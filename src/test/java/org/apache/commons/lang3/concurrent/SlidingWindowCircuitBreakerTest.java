@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code SlidingWindowCircuitBreaker}.
+ */
+public class SlidingWindowCircuitBreakerTest {
+    /** Constant for the opening threshold. */
+    private static final int OPENING_THRESHOLD = 10;
+
+    /** Constant for the closing threshold. */
+    private static final int CLOSING_THRESHOLD = 5;
+
+    /** Constant for the factor for converting nanoseconds. */
+    private static final long NANO_FACTOR = 1000L * 1000L * 1000L;
+
+    /**
+     * Creates a test circuit breaker with a window of a second in 10 buckets.
+     *
+     * @param builder the builder with the thresholds
+     * @return the circuit breaker
+     */
+    private static SlidingWindowCircuitBreakerTestImpl create(final SlidingWindowCircuitBreaker.Builder builder) {
+        return new SlidingWindowCircuitBreakerTestImpl(builder.window(1, TimeUnit.SECONDS).bucketCount(10));
+    }
+
+    /**
+     * Tests the default configuration and the public constructor.
+     */
+    @Test
+    public void testConfiguration() {
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker(OPENING_THRESHOLD, 2,
+                TimeUnit.SECONDS, CLOSING_THRESHOLD);
+        assertEquals(OPENING_THRESHOLD, breaker.getOpeningThreshold(), "Wrong opening threshold");
+        assertEquals(CLOSING_THRESHOLD, breaker.getClosingThreshold(), "Wrong closing threshold");
+        assertEquals(2 * NANO_FACTOR, breaker.getWindow(), "Wrong window");
+        assertEquals(SlidingWindowCircuitBreaker.DEFAULT_BUCKET_COUNT, breaker.getBucketCount(), "Wrong buckets");
+        assertTrue(breaker.getFailureRateThreshold() > 1, "Failure rate enabled");
+        assertTrue(breaker.getSlowCallRateThreshold() > 1, "Slow call rate enabled");
+        assertEquals(1, breaker.getMinimumNumberOfCalls(), "Wrong minimum calls");
+        assertTrue(breaker.isClosed(), "Not closed");
+
+        final SlidingWindowCircuitBreaker.Builder builder = new SlidingWindowCircuitBreaker.Builder();
+        final SlidingWindowCircuitBreaker other = builder.window(1000, TimeUnit.NANOSECONDS).bucketCount(3)
+                .openingThreshold(OPENING_THRESHOLD).failureRateThreshold(0.5).slowCallRateThreshold(0.25)
+                .slowCallDuration(2, TimeUnit.MILLISECONDS).minimumNumberOfCalls(20).build();
+        assertEquals(999, other.getWindow(), "Window not a multiple of the buckets");
+        assertEquals(3, other.getBucketCount(), "Wrong buckets");
+        assertEquals(OPENING_THRESHOLD, other.getClosingThreshold(), "Closing threshold not the opening one");
+        assertEquals(0.5, other.getFailureRateThreshold(), 0, "Wrong failure rate");
+        assertEquals(0.25, other.getSlowCallRateThreshold(), 0, "Wrong slow call rate");
+        assertEquals(2 * NANO_FACTOR / 1000, other.getSlowCallDuration(), "Wrong slow call duration");
+        assertEquals(20, other.getMinimumNumberOfCalls(), "Wrong minimum calls");
+        assertEquals(Integer.MAX_VALUE, builder.build().getOpeningThreshold(), "Builder not reset");
+    }
+
+    /**
+     * Tests that an invalid configuration is rejected.
+     */
+    @Test
+    public void testInvalidConfiguration() {
+        final SlidingWindowCircuitBreaker.Builder builder = new SlidingWindowCircuitBreaker.Builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.window(0, TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> builder.window(1, null));
+        assertThrows(IllegalArgumentException.class, () -> builder.bucketCount(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.failureRateThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.slowCallRateThreshold(1.5));
+        assertThrows(IllegalArgumentException.class, () -> builder.slowCallDuration(-1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class,
+            () -> builder.window(2, TimeUnit.NANOSECONDS).bucketCount(3).build());
+    }
+
+    /**
+     * Tests that the circuit breaker opens when the opening threshold is exceeded.
+     */
+    @Test
+    public void testOpeningWhenThresholdReached() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder()
+                .openingThreshold(OPENING_THRESHOLD).closingThreshold(CLOSING_THRESHOLD));
+        final ChangeListener listener = new ChangeListener(breaker);
+        breaker.addChangeListener(listener);
+        for (int i = 0; i < OPENING_THRESHOLD; i++) {
+            assertTrue(breaker.at(i * NANO_FACTOR / 20).incrementAndCheckState(), "In open state " + i);
+        }
+        assertEquals(OPENING_THRESHOLD, breaker.getEventCount(), "Wrong event count");
+        assertFalse(breaker.incrementAndCheckState(), "Not open");
+        assertTrue(breaker.isOpen(), "Not open");
+        assertEquals(0, breaker.getEventCount(), "Window not cleared");
+        listener.verify(Boolean.TRUE);
+    }
+
+    /**
+     * Tests that events of the previous fixed interval are counted in a burst across two intervals.
+     */
+    @Test
+    public void testBurstAcrossIntervals() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder()
+                .openingThreshold(OPENING_THRESHOLD));
+        assertTrue(breaker.at(NANO_FACTOR * 9 / 10).incrementAndCheckState(OPENING_THRESHOLD / 2 + 1),
+            "Open before the burst");
+        assertFalse(breaker.at(NANO_FACTOR * 11 / 10).incrementAndCheckState(OPENING_THRESHOLD / 2 + 1),
+            "Not open after the burst");
+    }
+
+    /**
+     * Tests that the events leave the window after its length.
+     */
+    @Test
+    public void testEventsLeaveWindow() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder()
+                .openingThreshold(OPENING_THRESHOLD));
+        assertTrue(breaker.at(0).incrementAndCheckState(OPENING_THRESHOLD), "Open");
+        assertEquals(OPENING_THRESHOLD, breaker.at(NANO_FACTOR * 9 / 10).getEventCount(), "Events left early");
+        assertEquals(0, breaker.at(NANO_FACTOR).getEventCount(), "Events still in window");
+        assertTrue(breaker.incrementAndCheckState(OPENING_THRESHOLD), "Open after window");
+        assertTrue(breaker.at(3 * NANO_FACTOR).incrementAndCheckState(OPENING_THRESHOLD), "Open with reused buckets");
+        assertEquals(OPENING_THRESHOLD, breaker.getEventCount(), "Bucket not reset");
+    }
+
+    /**
+     * Tests the failure rate threshold and the minimum number of calls.
+     */
+    @Test
+    public void testFailureRate() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder()
+                .failureRateThreshold(0.5).minimumNumberOfCalls(4));
+        breaker.at(0);
+        assertTrue(breaker.recordCall(false, 1, TimeUnit.MILLISECONDS), "Open after success");
+        assertTrue(breaker.recordCall(true, 1, TimeUnit.MILLISECONDS), "Open before minimum calls");
+        assertTrue(breaker.recordCall(false, 1, TimeUnit.MILLISECONDS), "Open after success");
+        assertEquals(3, breaker.getCallCount(), "Wrong call count");
+        assertEquals(1.0 / 3, breaker.getFailureRate(), 1e-9, "Wrong failure rate");
+        assertFalse(breaker.recordCall(true, 1, TimeUnit.MILLISECONDS), "Not open at failure rate");
+    }
+
+    /**
+     * Tests the slow call rate threshold.
+     */
+    @Test
+    public void testSlowCallRate() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder()
+                .slowCallRateThreshold(0.75).slowCallDuration(1, TimeUnit.SECONDS));
+        breaker.at(0);
+        assertTrue(breaker.recordCall(false, 999, TimeUnit.MILLISECONDS), "Open after fast call");
+        assertTrue(breaker.recordCall(false, 1, TimeUnit.SECONDS), "Open after slow call");
+        assertTrue(breaker.recordCall(false, 2, TimeUnit.SECONDS), "Open after slow call");
+        assertEquals(2, breaker.getSlowCallCount(), "Wrong slow call count");
+        assertEquals(2.0 / 3, breaker.getSlowCallRate(), 1e-9, "Wrong slow call rate");
+        assertEquals(0, breaker.getFailureRate(), 0, "Wrong failure rate");
+        assertFalse(breaker.recordCall(false, 1, TimeUnit.SECONDS), "Not open at slow call rate");
+    }
+
+    /**
+     * Tests that an open circuit breaker closes after a window below the closing threshold.
+     */
+    @Test
+    public void testClosingWhenThresholdReached() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder()
+                .openingThreshold(OPENING_THRESHOLD).closingThreshold(CLOSING_THRESHOLD));
+        final ChangeListener listener = new ChangeListener(breaker);
+        breaker.addChangeListener(listener);
+        breaker.at(0).incrementAndCheckState(OPENING_THRESHOLD + 1);
+        assertTrue(breaker.isOpen(), "Not open");
+        assertFalse(breaker.at(NANO_FACTOR / 2).incrementAndCheckState(CLOSING_THRESHOLD), "Closed early");
+        assertFalse(breaker.at(NANO_FACTOR).checkState(), "Closed above closing threshold");
+        assertTrue(breaker.at(NANO_FACTOR * 3 / 2).checkState(), "Not closed");
+        listener.verify(Boolean.TRUE, Boolean.FALSE);
+    }
+
+    /**
+     * Tests that a manual state change clears the window.
+     */
+    @Test
+    public void testManualStateChangeClearsWindow() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder()
+                .openingThreshold(OPENING_THRESHOLD));
+        breaker.at(0).incrementAndCheckState(OPENING_THRESHOLD);
+        breaker.open();
+        assertEquals(0, breaker.getEventCount(), "Window not cleared on open");
+        assertFalse(breaker.checkState(), "Closed");
+        breaker.incrementAndCheckState(OPENING_THRESHOLD);
+        breaker.close();
+        assertEquals(0, breaker.getEventCount(), "Window not cleared on close");
+        assertTrue(breaker.incrementAndCheckState(), "Not closed");
+    }
+
+    /**
+     * Tests that buckets of negative times are reused, as {@link System#nanoTime()} may be negative.
+     */
+    @Test
+    public void testNegativeTimes() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(
+            new SlidingWindowCircuitBreaker.Builder().openingThreshold(OPENING_THRESHOLD).window(10, TimeUnit.SECONDS));
+        assertTrue(breaker.at(-1).incrementAndCheckState(), "Open at -1");
+        assertEquals(1, breaker.at(NANO_FACTOR / 2).getEventCount(), "Event not in window");
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> assertTrue(breaker.at(9 * NANO_FACTOR).incrementAndCheckState(), "Open at 9s"));
+        assertEquals(1, breaker.getEventCount(), "Bucket not reset");
+    }
+
+    /**
+     * Tests that a thread which loses a state transition to another thread does not clear
+     * the window again.
+     */
+    @Test
+    public void testLostStateTransitionKeepsWindow() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(
+                new SlidingWindowCircuitBreaker.Builder().openingThreshold(OPENING_THRESHOLD)
+                    .window(1, TimeUnit.SECONDS).bucketCount(10)) {
+            private boolean racing = true;
+
+            @Override
+            protected void changeState(final State newState) {
+                if (racing) {
+                    racing = false;
+                    // another thread opens the circuit breaker first and records an event
+                    open();
+                    incrementAndCheckState();
+                }
+                super.changeState(newState);
+            }
+        };
+        assertFalse(breaker.at(0).incrementAndCheckState(OPENING_THRESHOLD + 1), "Not open");
+        assertEquals(1, breaker.getEventCount(), "Window cleared by the losing thread");
+    }
+
+    /**
+     * Tests that the automatic state transitions go through an overridden {@code changeState()}.
+     */
+    @Test
+    public void testAutomaticTransitionsCallChangeState() {
+        final List<AbstractCircuitBreaker.State> states = new ArrayList<>();
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(
+                new SlidingWindowCircuitBreaker.Builder().openingThreshold(OPENING_THRESHOLD)
+                    .closingThreshold(CLOSING_THRESHOLD).window(1, TimeUnit.SECONDS).bucketCount(10)) {
+            @Override
+            protected void changeState(final State newState) {
+                states.add(newState);
+                super.changeState(newState);
+            }
+        };
+        final ChangeListener listener = new ChangeListener(breaker);
+        breaker.addChangeListener(listener);
+        assertFalse(breaker.at(0).incrementAndCheckState(OPENING_THRESHOLD + 1), "Not open");
+        assertEquals(0, breaker.getEventCount(), "Window not cleared");
+        assertTrue(breaker.at(2 * NANO_FACTOR).checkState(), "Not closed");
+        assertEquals(0, breaker.getEventCount(), "Window not cleared");
+        assertEquals(2, states.size(), "Wrong number of transitions");
+        assertEquals(AbstractCircuitBreaker.State.OPEN, states.get(0), "Not opened");
+        assertEquals(AbstractCircuitBreaker.State.CLOSED, states.get(1), "Not closed");
+        listener.verify(Boolean.TRUE, Boolean.FALSE);
+    }
+
+    /**
+     * Tests that concurrent calls are all counted.
+     *
+     * @throws InterruptedException if an error occurs
+     */
+    @Test
+    public void testConcurrentCalls() throws InterruptedException {
+        final SlidingWindowCircuitBreakerTestImpl breaker = create(new SlidingWindowCircuitBreaker.Builder());
+        breaker.at(NANO_FACTOR);
+        final int threadCount = 8;
+        final int callCount = 10000;
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < callCount; j++) {
+                    breaker.recordCall(j % 10 == 0, 1, TimeUnit.MILLISECONDS);
+                }
+            });
+            threads[i].start();
+        }
+        latch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * callCount, breaker.getCallCount(), "Wrong call count");
+        assertEquals(threadCount * callCount / 10, breaker.getEventCount(), "Wrong event count");
+    }
+
+    /**
+     * A test implementation of {@code SlidingWindowCircuitBreaker} which supports mocking the timer.
+     */
+    private static class SlidingWindowCircuitBreakerTestImpl extends SlidingWindowCircuitBreaker {
+        /** The current time in nanoseconds. */
+        private volatile long currentTime;
+
+        SlidingWindowCircuitBreakerTestImpl(final SlidingWindowCircuitBreaker.Builder builder) {
+            super(builder);
+        }
+
+        /**
+         * Sets the current time to be used by this test object for the next operation.
+         *
+         * @param time the time to set
+         * @return a reference to this object
+         */
+        public SlidingWindowCircuitBreakerTestImpl at(final long time) {
+            currentTime = time;
+            return this;
+        }
+
+        /**
+         * {@inheritDoc} This implementation returns the value passed to the {@code at()}
+         * method.
+         */
+        @Override
+        long now() {
+            return currentTime;
+        }
+    }
+
+    /**
+     * A test change listener for checking whether correct change events are generated.
+     */
+    private static class ChangeListener implements PropertyChangeListener {
+        /** The expected event source. */
+        private final Object expectedSource;
+
+        /** A list with the updated values extracted from received change events. */
+        private final List<Boolean> changedValues;
+
+        /**
+         * Creates a new instance of {@code ChangeListener} and sets the expected event
+         * source.
+         *
+         * @param source the expected event source
+         */
+        ChangeListener(final Object source) {
+            expectedSource = source;
+            changedValues = new ArrayList<>();
+        }
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            assertEquals(expectedSource, evt.getSource(), "Wrong event source");
+            assertEquals("open", evt.getPropertyName(), "Wrong property name");
+            changedValues.add((Boolean) evt.getNewValue());
+        }
+
+        /**
+         * Verifies that change events for the expected values have been received.
+         *
+         * @param values the expected values
+         */
+        public void verify(final Boolean... values) {
+            assertArrayEquals(values, changedValues.toArray(new Boolean[0]));
+        }
+    }
+}
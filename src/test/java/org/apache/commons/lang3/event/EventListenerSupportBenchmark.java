@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of firing an event to 4 listeners with the proxy of {@link EventListenerSupport#fire()} and with
+ * {@link EventListenerSupport#fire(java.util.function.Consumer)}.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=EventListenerSupportBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EventListenerSupportBenchmark {
+
+    /**
+     * The listener interface of the benchmarks.
+     */
+    public interface CountListener {
+        void countChanged(int count);
+    }
+
+    private final EventListenerSupport<CountListener> listenerSupport =
+        EventListenerSupport.create(CountListener.class);
+
+    private int count;
+
+    private long total;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 4; i++) {
+            listenerSupport.addListener(value -> total += value);
+        }
+    }
+
+    @Benchmark
+    public long fireProxy() {
+        listenerSupport.fire().countChanged(++count);
+        return total;
+    }
+
+    @Benchmark
+    public long fireConsumer() {
+        final int value = ++count;
+        listenerSupport.fire(listener -> listener.countChanged(value));
+        return total;
+    }
+}
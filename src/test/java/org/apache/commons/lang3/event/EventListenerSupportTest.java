@@ -18,8 +18,10 @@
 package org.apache.commons.lang3.event;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyVetoException;
@@ -31,8 +33,12 @@
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.Test;
@@ -89,6 +95,138 @@ public void testEventDispatchOrder() throws PropertyVetoException {
         assertSame(calledListeners.get(1), listener2);
     }
 
+    @Test
+    public void testFireConsumer() {
+        final EventListenerSupport<VetoableChangeListener> listenerSupport = EventListenerSupport.create(VetoableChangeListener.class);
+        final List<VetoableChangeListener> calledListeners = new ArrayList<>();
+
+        final VetoableChangeListener listener1 = createListener(calledListeners);
+        final VetoableChangeListener listener2 = createListener(calledListeners);
+        listenerSupport.addListener(listener1);
+        listenerSupport.addListener(listener2);
+        final PropertyChangeEvent evt = new PropertyChangeEvent(new Date(), "Day", 4, 5);
+        listenerSupport.fire(listener -> {
+            try {
+                listener.vetoableChange(evt);
+            } catch (final PropertyVetoException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertEquals(2, calledListeners.size());
+        assertSame(listener1, calledListeners.get(0));
+        assertSame(listener2, calledListeners.get(1));
+        assertThrows(NullPointerException.class, () -> listenerSupport.fire(null));
+    }
+
+    @Test
+    public void testAsynchronousDelivery() throws PropertyVetoException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final EventListenerSupport<VetoableChangeListener> listenerSupport =
+            EventListenerSupport.create(VetoableChangeListener.class, tasks::add, 10);
+        final List<VetoableChangeListener> calledListeners = new ArrayList<>();
+
+        final VetoableChangeListener listener1 = createListener(calledListeners);
+        final VetoableChangeListener listener2 = createListener(calledListeners);
+        listenerSupport.addListener(listener1);
+        listenerSupport.addListener(listener2);
+        listenerSupport.fire().vetoableChange(new PropertyChangeEvent(new Date(), "Day", 4, 5));
+        listenerSupport.fire(listener -> calledListeners.add(null));
+        assertTrue(calledListeners.isEmpty(), "Delivered synchronously");
+        assertEquals(1, tasks.size(), "Not delivered by a single task");
+
+        tasks.remove(0).run();
+        assertEquals(4, calledListeners.size());
+        assertSame(listener1, calledListeners.get(0));
+        assertSame(listener2, calledListeners.get(1));
+        assertNull(calledListeners.get(2));
+        assertTrue(tasks.isEmpty(), "Task submitted without events");
+
+        listenerSupport.fire(listener -> calledListeners.add(null));
+        assertEquals(1, tasks.size(), "No task submitted");
+    }
+
+    @Test
+    public void testAsynchronousQueueFull() throws PropertyVetoException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final EventListenerSupport<VetoableChangeListener> listenerSupport =
+            EventListenerSupport.create(VetoableChangeListener.class, tasks::add, 2);
+        final List<VetoableChangeListener> calledListeners = new ArrayList<>();
+        listenerSupport.addListener(createListener(calledListeners));
+
+        final PropertyChangeEvent evt = new PropertyChangeEvent(new Date(), "Day", 4, 5);
+        listenerSupport.fire().vetoableChange(evt);
+        listenerSupport.fire().vetoableChange(evt);
+        assertThrows(RejectedExecutionException.class, () -> listenerSupport.fire().vetoableChange(evt));
+        tasks.remove(0).run();
+        assertEquals(2, calledListeners.size());
+        listenerSupport.fire().vetoableChange(evt);
+        assertEquals(1, tasks.size(), "No task submitted");
+    }
+
+    @Test
+    public void testAsynchronousListenerException() throws PropertyVetoException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final EventListenerSupport<VetoableChangeListener> listenerSupport =
+            EventListenerSupport.create(VetoableChangeListener.class, tasks::add, 10);
+        final List<VetoableChangeListener> calledListeners = new ArrayList<>();
+        listenerSupport.addListener(createListener(calledListeners));
+        listenerSupport.addListener(e -> {
+            throw new PropertyVetoException("veto", e);
+        });
+
+        final PropertyChangeEvent evt = new PropertyChangeEvent(new Date(), "Day", 4, 5);
+        listenerSupport.fire().vetoableChange(evt);
+        listenerSupport.fire().vetoableChange(evt);
+        assertThrows(PropertyVetoException.class, () -> tasks.remove(0).run());
+        assertEquals(1, calledListeners.size());
+        assertEquals(1, tasks.size(), "Events left not delivered");
+        assertThrows(PropertyVetoException.class, () -> tasks.remove(0).run());
+        assertEquals(2, calledListeners.size());
+        assertTrue(tasks.isEmpty(), "Task submitted without events");
+    }
+
+    @Test
+    public void testAsynchronousExecutorRejection() {
+        final EventListenerSupport<VetoableChangeListener> listenerSupport =
+            EventListenerSupport.create(VetoableChangeListener.class, command -> {
+                throw new RejectedExecutionException();
+            }, 1);
+        listenerSupport.addListener(createListener(new ArrayList<>()));
+        // the rejected event does not fill the queue
+        for (int i = 0; i < 2; i++) {
+            assertThrows(RejectedExecutionException.class, () -> listenerSupport.fire(listener -> { }));
+        }
+    }
+
+    @Test
+    public void testAsynchronousExecutorRejectionKeepsOtherEvents() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<String> delivered = new ArrayList<>();
+        final AtomicReference<EventListenerSupport<VetoableChangeListener>> support = new AtomicReference<>();
+        final AtomicBoolean rejecting = new AtomicBoolean(true);
+        support.set(EventListenerSupport.create(VetoableChangeListener.class, command -> {
+            if (rejecting.getAndSet(false)) {
+                // another thread fires while this task is being rejected
+                support.get().fire(listener -> delivered.add("other"));
+                throw new RejectedExecutionException();
+            }
+            tasks.add(command);
+        }, 10));
+        support.get().addListener(createListener(new ArrayList<>()));
+        assertThrows(RejectedExecutionException.class, () -> support.get().fire(listener -> delivered.add("rejected")));
+        assertEquals(1, tasks.size(), "No task for the other event");
+        tasks.remove(0).run();
+        assertEquals(Collections.singletonList("other"), delivered);
+    }
+
+    @Test
+    public void testCreateAsynchronousWithInvalidParameters() {
+        assertThrows(NullPointerException.class,
+            () -> EventListenerSupport.create(VetoableChangeListener.class, null, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> EventListenerSupport.create(VetoableChangeListener.class, Runnable::run, 0));
+    }
+
     @Test
     public void testCreateWithNonInterfaceParameter() {
         assertThrows(IllegalArgumentException.class, () -> EventListenerSupport.create(String.class));
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link IntArrayList}.
+ */
+public class IntArrayListTest {
+
+    @Test
+    public void testAddGetSet() {
+        final IntArrayList list = new IntArrayList(0);
+        assertTrue(list.isEmpty());
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        assertEquals(100, list.size());
+        assertEquals(42, list.get(42));
+        assertEquals(42, list.set(42, -1));
+        assertEquals(-1, list.get(42));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(-1, 0));
+    }
+
+    @Test
+    public void testAddAllRemoveAt() {
+        final IntArrayList list = new IntArrayList();
+        list.addAll(5, 6, 7, 8);
+        list.addAll((int[]) null);
+        assertEquals(6, list.removeAt(1));
+        assertArrayEquals(new int[] {5, 7, 8}, list.toArray());
+        assertEquals(8, list.removeAt(2));
+        assertArrayEquals(new int[] {5, 7}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(2));
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new int[0], list.toArray());
+    }
+
+    @Test
+    public void testSearchSortStream() {
+        final IntArrayList list = new IntArrayList();
+        list.addAll(3, 1, 2, 1);
+        assertEquals(1, list.indexOf(1));
+        assertEquals(-1, list.indexOf(9));
+        assertTrue(list.contains(2));
+        assertFalse(list.contains(9));
+        assertEquals(7, list.stream().sum());
+        list.sort();
+        assertArrayEquals(new int[] {1, 1, 2, 3}, list.toArray());
+        final int[] sum = new int[1];
+        list.forEach(v -> sum[0] += v);
+        assertEquals(7, sum[0]);
+    }
+
+    @Test
+    public void testEqualsHashCodeToString() {
+        final IntArrayList a = new IntArrayList();
+        final IntArrayList b = new IntArrayList(1);
+        a.addAll(1, 2, 3);
+        b.addAll(1, 2, 3);
+        assertEquals(a, b);
+        assertEquals(Arrays.asList(1, 2, 3).hashCode(), a.hashCode());
+        assertEquals("[1, 2, 3]", a.toString());
+        b.add(4);
+        assertNotEquals(a, b);
+        assertNotEquals(a, "a");
+    }
+
+    @Test
+    public void testNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IntArrayList(-1));
+    }
+}
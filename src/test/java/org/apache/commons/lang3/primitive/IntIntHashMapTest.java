@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link IntIntHashMap}.
+ */
+public class IntIntHashMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        final IntIntHashMap map = new IntIntHashMap();
+        assertTrue(map.isEmpty());
+        map.put(1, 10);
+        map.put(0, 5);
+        map.put(1, 11);
+        assertEquals(2, map.size());
+        assertEquals(11, map.getOrDefault(1, -1));
+        assertEquals(5, map.getOrDefault(0, -1));
+        assertEquals(-1, map.getOrDefault(2, -1));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(2));
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertEquals(-1, map.getOrDefault(0, -1));
+        assertEquals("{1=11}", map.toString());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void testAddTo() {
+        final IntIntHashMap map = new IntIntHashMap(0);
+        assertEquals(1, map.addTo(7, 1));
+        assertEquals(3, map.addTo(7, 2));
+        assertEquals(-1, map.addTo(0, -1));
+        assertEquals(0, map.addTo(0, 1));
+        final int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(new int[] {0, 7}, keys);
+    }
+
+    @Test
+    public void testDecrementIfPositive() {
+        final IntIntHashMap map = new IntIntHashMap(0);
+        map.put(7, 2);
+        map.put(0, 1);
+        map.put(3, 0);
+        assertTrue(map.decrementIfPositive(7));
+        assertTrue(map.decrementIfPositive(7));
+        assertFalse(map.decrementIfPositive(7));
+        assertEquals(0, map.getOrDefault(7, -1));
+        assertTrue(map.decrementIfPositive(0));
+        assertFalse(map.decrementIfPositive(0));
+        assertEquals(0, map.getOrDefault(0, -1));
+        assertFalse(map.decrementIfPositive(3));
+        assertFalse(map.decrementIfPositive(5));
+        assertFalse(map.containsKey(5));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testNegativeExpectedSize() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntHashMap(-1));
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        final Random random = new Random(42);
+        final IntIntHashMap map = new IntIntHashMap(0);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        for (int n = 0; n < 100000; n++) {
+            // a small range with colliding high bits exercises probing and removal
+            final int key = (random.nextInt(512) - 256) << (random.nextBoolean() ? 0 : 20);
+            final int value = random.nextInt();
+            switch (random.nextInt(4)) {
+            case 0:
+                expected.put(key, value);
+                map.put(key, value);
+                break;
+            case 1:
+                assertEquals(expected.remove(key) != null, map.remove(key));
+                break;
+            case 2:
+                assertEquals(expected.merge(key, 1, Integer::sum).intValue(), map.addTo(key, 1));
+                break;
+            default:
+                assertEquals(expected.getOrDefault(key, 42).intValue(), map.getOrDefault(key, 42));
+                break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (final Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue().intValue(), map.getOrDefault(e.getKey(), 0));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.primitive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link LongHashSet}.
+ */
+public class LongHashSetTest {
+
+    @Test
+    public void testAddContainsRemove() {
+        final LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(1));
+        assertTrue(set.add(0));
+        assertTrue(set.add(-7));
+        assertFalse(set.add(1));
+        assertFalse(set.add(0));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-7));
+        assertFalse(set.contains(2));
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        assertTrue(set.remove(1));
+        assertEquals(1, set.size());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(-7));
+    }
+
+    @Test
+    public void testAddAllAndToArray() {
+        final LongHashSet set = new LongHashSet(0);
+        assertTrue(set.addAll(3L, 1L, 2L, 3L, 0L));
+        assertFalse(set.addAll((long[]) null));
+        final long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new long[] {0, 1, 2, 3}, values);
+        final long[] sum = new long[1];
+        set.forEach(v -> sum[0] += v);
+        assertEquals(6, sum[0]);
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        final LongHashSet a = new LongHashSet();
+        final LongHashSet b = new LongHashSet(100);
+        a.addAll(1L, 2L, 0L);
+        b.addAll(0L, 2L, 1L);
+        assertEquals(a, b);
+        assertEquals(new HashSet<>(Arrays.asList(0L, 1L, 2L)).hashCode(), a.hashCode());
+        assertEquals(a.hashCode(), b.hashCode());
+        b.remove(0);
+        assertNotEquals(a, b);
+        assertNotEquals(a, "a");
+        b.remove(1);
+        assertEquals("[2]", b.toString());
+    }
+
+    @Test
+    public void testNegativeExpectedSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1));
+    }
+
+    @Test
+    public void testMatchesHashSet() {
+        final Random random = new Random(42);
+        final LongHashSet set = new LongHashSet(0);
+        final Set<Long> expected = new HashSet<>();
+        for (int n = 0; n < 100000; n++) {
+            // a small range with colliding high bits exercises probing and removal
+            final long key = (long) (random.nextInt(512) - 256) << (random.nextBoolean() ? 0 : 40);
+            switch (random.nextInt(3)) {
+            case 0:
+                assertEquals(expected.add(key), set.add(key));
+                break;
+            case 1:
+                assertEquals(expected.remove(key), set.remove(key));
+                break;
+            default:
+                assertEquals(expected.contains(key), set.contains(key));
+                break;
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (final Long key : expected) {
+            assertTrue(set.contains(key));
+        }
+    }
+}
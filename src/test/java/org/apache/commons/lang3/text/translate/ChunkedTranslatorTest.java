@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.translate.ChunkedTranslator}.
+ */
+@Deprecated
+public class ChunkedTranslatorTest {
+
+    /**
+     * Translates the input fed in chunks of random sizes, into an output of random sizes.
+     */
+    private static String translate(final ChunkedTranslator translator, final String input, final Random random) {
+        final StringBuilder result = new StringBuilder();
+        final CharBuffer out = CharBuffer.allocate(1 + random.nextInt(8));
+        int pos = 0;
+        boolean end = false;
+        while (!end) {
+            final int next = Math.min(input.length(), pos + random.nextInt(6));
+            final CharBuffer in = CharBuffer.wrap(input, pos, next);
+            end = next == input.length();
+            while (translator.translate(in, out, end).isOverflow()) {
+                out.flip();
+                result.append(out);
+                out.clear();
+            }
+            assertEquals(0, in.remaining());
+            out.flip();
+            result.append(out);
+            out.clear();
+            pos = next;
+        }
+        return result.toString();
+    }
+
+    private static void assertChunkedTranslation(final CharSequenceTranslator translator, final String... inputs) {
+        final Random random = new Random(42);
+        final ChunkedTranslator chunked = new ChunkedTranslator(translator, 4);
+        for (final String input : inputs) {
+            final String expected = translator.translate(input);
+            for (int i = 0; i < 20; i++) {
+                assertEquals(expected, translate(chunked.reset(), input, random), input);
+            }
+        }
+    }
+
+    @Test
+    public void testLookupTranslatorLongestMatch() {
+        assertChunkedTranslation(StringEscapeUtils.UNESCAPE_HTML4,
+            "&amp;&lt;&gt;&quot;&nbsp;&am&amp", "x &eacute; y &Eacute;&eacute", "&&&;&amp;amp;");
+        assertChunkedTranslation(StringEscapeUtils.ESCAPE_HTML4, "<a href=\"x\">\u00e9&</a>");
+    }
+
+    @Test
+    public void testNumericEntities() {
+        assertChunkedTranslation(StringEscapeUtils.UNESCAPE_HTML4,
+            "&#65;&#x41;&#0000000000065;&#x1F600;&#12", "&#;&#x;&#");
+        assertChunkedTranslation(new NumericEntityUnescaper(NumericEntityUnescaper.OPTION.semiColonOptional),
+            "&#65&#x41&#12345678901234567890;&#x1F600");
+    }
+
+    @Test
+    public void testOctalAndUnicodeEscapes() {
+        assertChunkedTranslation(StringEscapeUtils.UNESCAPE_JAVA,
+            "\\1\\12\\123\\1234\\400\\8\\\\\\n\\t", "\\u0041\\uuuu0042", "end\\");
+        assertChunkedTranslation(StringEscapeUtils.ESCAPE_JAVA, "tab\t \"quote\" \u1234 \ud83d\ude00");
+    }
+
+    @Test
+    public void testSurrogatePairs() {
+        assertChunkedTranslation(StringEscapeUtils.ESCAPE_XML10,
+            "\ud83d\ude00\ud83d\ude00<\ud83d\ude00", "\ud83d", "a\ude00\ud83d");
+        assertChunkedTranslation(new UnicodeUnpairedSurrogateRemover(), "\ud83d\ude00x\ud83d");
+        assertChunkedTranslation(NumericEntityEscaper.above(0x7f), "\ud83d\ude00\u00e9\ud83d");
+    }
+
+    @Test
+    public void testWholeInputTranslator() {
+        assertChunkedTranslation(StringEscapeUtils.ESCAPE_CSV, "plain", "a,b", "say \"hi\"");
+    }
+
+    @Test
+    public void testRandomEscapeUnescapeRoundTrip() {
+        final Random random = new Random(7);
+        final char[] alphabet = {'a', '&', '<', '#', ';', '\\', '1', 'x', '\u00e9', '\ud83d', '\ude00', '"'};
+        final ChunkedTranslator escape = new ChunkedTranslator(StringEscapeUtils.ESCAPE_HTML4, 3);
+        final ChunkedTranslator unescape = new ChunkedTranslator(StringEscapeUtils.UNESCAPE_HTML4, 3);
+        for (int n = 0; n < 500; n++) {
+            final char[] chars = new char[random.nextInt(30)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            final String input = new String(chars);
+            assertEquals(StringEscapeUtils.ESCAPE_HTML4.translate(input), translate(escape.reset(), input, random));
+            assertEquals(StringEscapeUtils.UNESCAPE_HTML4.translate(input),
+                translate(unescape.reset(), input, random));
+        }
+    }
+
+    @Test
+    public void testHoldsBackUnfinishedMatch() {
+        final ChunkedTranslator translator = new ChunkedTranslator(StringEscapeUtils.UNESCAPE_HTML4);
+        final CharBuffer out = CharBuffer.allocate(16);
+        assertTrue(translator.translate(CharBuffer.wrap("a&am"), out, false).isUnderflow());
+        assertEquals(1, out.position());
+        assertTrue(translator.translate(CharBuffer.wrap("p;b"), out, true).isUnderflow());
+        out.flip();
+        assertEquals("a&b", out.toString());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> new ChunkedTranslator(null));
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedTranslator(StringEscapeUtils.ESCAPE_JAVA, 0));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.translate.CodePointTranslator}.
+ */
+@Deprecated
+public class CodePointTranslatorTest  {
+
+    @Test
+    public void testSubclassIsCalledOncePerCodePoint() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CodePointTranslator counting = new CodePointTranslator() {
+            @Override
+            public boolean translate(final int codepoint, final Writer out) throws IOException {
+                calls.incrementAndGet();
+                return false;
+            }
+        };
+        assertEquals("abc", counting.translate("abc"));
+        assertEquals(3, calls.get());
+        assertEquals("a\ud83d\ude00", counting.translate("a\ud83d\ude00"));
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    public void testSubclassThrowingOnSomeCodePoints() {
+        final CodePointTranslator throwing = new CodePointTranslator() {
+            @Override
+            public boolean translate(final int codepoint, final Writer out) throws IOException {
+                if (codepoint == '!') {
+                    throw new IllegalArgumentException("!");
+                }
+                return false;
+            }
+        };
+        assertEquals("abc", throwing.translate("abc"));
+        assertThrows(IllegalArgumentException.class, () -> throwing.translate("a!"));
+    }
+}
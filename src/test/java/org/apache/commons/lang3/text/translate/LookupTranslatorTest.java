@@ -21,6 +21,7 @@
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 
 import org.junit.jupiter.api.Test;
 
@@ -49,4 +50,53 @@ public void testLang882() throws IOException {
         assertEquals("two", out.toString(), "Incorrect value");
     }
 
+    @Test
+    public void testLongestMatch() throws IOException {
+        final LookupTranslator lt = new LookupTranslator(new CharSequence[][] {
+            { "a", "1" }, { "abc", "3" }, { "abcde", "5" } });
+        final StringWriter out = new StringWriter();
+        assertEquals(3, lt.translate("abcdx", 0, out));
+        assertEquals("3", out.toString());
+        assertEquals("5x3d", lt.translate("abcdexabcd"));
+        assertEquals("1b1", lt.translate("aba"));
+    }
+
+    @Test
+    public void testNoMatch() throws IOException {
+        final LookupTranslator lt = new LookupTranslator(new CharSequence[][] { { "abc", "x" }, { "\u2666", "y" } });
+        final StringWriter out = new StringWriter();
+        assertEquals(0, lt.translate("ab", 0, out));
+        assertEquals(0, lt.translate("z\u2665", 1, out));
+        assertEquals("", out.toString());
+        assertEquals("ab y\uffff", lt.translate("ab \u2666\uffff"));
+        assertEquals("abc", new LookupTranslator().translate("abc"));
+        assertEquals("abc", new LookupTranslator((CharSequence[][]) null).translate("abc"));
+    }
+
+    @Test
+    public void testSubclassOverridingOnlyTranslate() throws IOException {
+        // unaware of mayTranslate, so the pre-scan must not skip the characters it handles
+        final LookupTranslator lt = new LookupTranslator(new CharSequence[][] { { "a", "1" } }) {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer out) throws IOException {
+                if (input.charAt(index) == 'x') {
+                    out.write("[x]");
+                    return 1;
+                }
+                return super.translate(input, index, out);
+            }
+        };
+        assertEquals("1bc [x]", lt.translate("abc x"));
+        assertEquals("[x]", lt.translate("x"));
+        final StringWriter out = new StringWriter();
+        lt.translate("xa", out);
+        assertEquals("[x]1", out.toString());
+        assertEquals("[x]1", new AggregateTranslator(lt).translate("xa"));
+    }
+
+    @Test
+    public void testRepeatedKeyTakesLastValue() {
+        final LookupTranslator lt = new LookupTranslator(new CharSequence[][] { { "a", "1" }, { "a", "2" } });
+        assertEquals("2", lt.translate("a"));
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.translate.TranslatingReader}.
+ */
+@Deprecated
+public class TranslatingReaderTest {
+
+    private static String readFully(final Reader reader, final int bufferSize) throws IOException {
+        final StringBuilder result = new StringBuilder();
+        final char[] buffer = new char[bufferSize];
+        int count;
+        while ((count = reader.read(buffer, 0, bufferSize)) >= 0) {
+            result.append(buffer, 0, count);
+        }
+        return result.toString();
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        final String input = "&lt;p&gt;caf&eacute; &#x1F600; &amp&#65;&#66</p>";
+        for (int chunkSize = 1; chunkSize < 8; chunkSize++) {
+            for (int bufferSize = 1; bufferSize < 8; bufferSize++) {
+                try (Reader reader = new TranslatingReader(StringEscapeUtils.UNESCAPE_HTML4,
+                        new StringReader(input), chunkSize)) {
+                    assertEquals(StringEscapeUtils.unescapeHtml4(input), readFully(reader, bufferSize));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReadEmpty() throws IOException {
+        try (Reader reader = new TranslatingReader(StringEscapeUtils.ESCAPE_JAVA, new StringReader(""))) {
+            assertEquals(-1, reader.read());
+            assertEquals(-1, reader.read());
+        }
+    }
+
+    @Test
+    public void testReadAfterClose() throws IOException {
+        final Reader reader = new TranslatingReader(StringEscapeUtils.ESCAPE_JAVA, new StringReader("x"));
+        reader.close();
+        assertThrows(IOException.class, reader::read);
+    }
+}
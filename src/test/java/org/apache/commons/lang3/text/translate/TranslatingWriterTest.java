@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.translate.TranslatingWriter}.
+ */
+@Deprecated
+public class TranslatingWriterTest {
+
+    @Test
+    public void testWrite() throws IOException {
+        final StringWriter target = new StringWriter();
+        try (Writer out = new TranslatingWriter(StringEscapeUtils.UNESCAPE_HTML4, target, 4)) {
+            out.write("a &l");
+            out.write('t');
+            out.write(";b&#1".toCharArray());
+            out.append("23;c&#x1F600;");
+            out.flush();
+            assertEquals("a <b{c", target.toString().substring(0, 6));
+        }
+        assertEquals("a <b{c\ud83d\ude00", target.toString());
+    }
+
+    @Test
+    public void testLargeInput() throws IOException {
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append("<tag attr=\"").append(i).append("\">&\u00e9</tag>");
+        }
+        final StringWriter target = new StringWriter();
+        try (Writer out = new TranslatingWriter(StringEscapeUtils.ESCAPE_HTML4, target)) {
+            for (int i = 0; i < input.length(); i += 1000) {
+                out.append(input, i, Math.min(input.length(), i + 1000));
+            }
+        }
+        assertEquals(StringEscapeUtils.escapeHtml4(input.toString()), target.toString());
+    }
+
+    @Test
+    public void testWriteAfterClose() throws IOException {
+        final Writer out = new TranslatingWriter(StringEscapeUtils.ESCAPE_JAVA, new StringWriter());
+        out.close();
+        out.close();
+        assertThrows(IOException.class, () -> out.write("x"));
+    }
+}
@@ -19,6 +19,9 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
+import java.io.Writer;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -53,4 +56,19 @@ public void testAbove() {
         final String result = ue.translate(input);
         assertEquals("ADF\\u0047\\u005A", result, "Failed to escape Unicode characters via the above method");
     }
+
+    @Test
+    public void testSubclassOverridingTranslateCodePoint() {
+        final UnicodeEscaper ue = new UnicodeEscaper(0, 0x7f, false) {
+            @Override
+            public boolean translate(final int codepoint, final Writer out) throws IOException {
+                if (codepoint == 'x') {
+                    out.write("[x]");
+                    return true;
+                }
+                return super.translate(codepoint, out);
+            }
+        };
+        assertEquals("a[x]\\u00E9", ue.translate("ax\u00e9"));
+    }
 }
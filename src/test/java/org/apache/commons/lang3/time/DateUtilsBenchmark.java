@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing the epoch-millis {@link DateUtils#truncate(long, int, TimeZone)} with the
+ * {@code Calendar} version, in a fixed offset and a daylight saving time zone. The concurrent
+ * benchmarks share the time zones between threads; run them with {@code -prof gc} to check that the
+ * calculations without a {@code Calendar} do not allocate one.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=DateUtilsBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DateUtilsBenchmark {
+
+    private final TimeZone utc = TimeZone.getTimeZone("UTC");
+    private final TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+
+    private long millis = 1552201200123L;
+
+    @Benchmark
+    public long truncateCalendar() {
+        final Calendar calendar = Calendar.getInstance(newYork);
+        calendar.setTimeInMillis(millis++);
+        return DateUtils.truncate(calendar, Calendar.HOUR_OF_DAY).getTimeInMillis();
+    }
+
+    @Benchmark
+    public long truncateMillisFixedOffset() {
+        return DateUtils.truncate(millis++, Calendar.HOUR_OF_DAY, utc);
+    }
+
+    @Benchmark
+    public long truncateMillis() {
+        return DateUtils.truncate(millis++, Calendar.HOUR_OF_DAY, newYork);
+    }
+
+    @Benchmark
+    public long fragmentCalendar() {
+        final Calendar calendar = Calendar.getInstance(newYork);
+        calendar.setTimeInMillis(millis++);
+        return DateUtils.getFragmentInMilliseconds(calendar, Calendar.DATE);
+    }
+
+    @Benchmark
+    public long fragmentMillis() {
+        return DateUtils.getFragmentInMilliseconds(millis++, Calendar.DATE, newYork);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long truncateMillisFixedOffsetConcurrently() {
+        return DateUtils.truncate(millis++, Calendar.HOUR_OF_DAY, utc);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long fragmentMillisConcurrently() {
+        return DateUtils.getFragmentInMilliseconds(millis++, Calendar.DATE, newYork);
+    }
+}
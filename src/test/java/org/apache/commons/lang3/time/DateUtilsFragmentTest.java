@@ -24,6 +24,8 @@
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
 
 public class DateUtilsFragmentTest {
 
@@ -544,4 +546,47 @@ public void testDaysOfYearWithDate() {
         cal.setTime(aDate);
         assertEquals(cal.get(Calendar.DAY_OF_YEAR), testResult);
     }
+
+    @Test
+    public void testFragmentInMillisecondsWithMillis() {
+        final TimeZone timeZone = aCalendar.getTimeZone();
+        final long time = aDate.getTime();
+        final int[] fragments = {Calendar.YEAR, Calendar.MONTH, Calendar.DAY_OF_YEAR, Calendar.DATE,
+            Calendar.HOUR_OF_DAY, Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND};
+        for (final int fragment : fragments) {
+            assertEquals(DateUtils.getFragmentInMilliseconds(aCalendar, fragment),
+                DateUtils.getFragmentInMilliseconds(time, fragment, timeZone));
+        }
+        assertEquals(millis, DateUtils.getFragmentInMilliseconds(time, Calendar.SECOND, timeZone));
+        assertEquals(millis + seconds * DateUtils.MILLIS_PER_SECOND,
+            DateUtils.getFragmentInMilliseconds(time, Calendar.MINUTE, timeZone));
+    }
+
+    @Test
+    public void testFragmentInMillisecondsWithMillisInTimeZones() {
+        final String[] zones = {"UTC", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe"};
+        final int[] fragments = {Calendar.YEAR, Calendar.MONTH, Calendar.DAY_OF_YEAR, Calendar.DATE,
+            Calendar.HOUR_OF_DAY, Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND};
+        final Random random = new Random(20191016L);
+        for (final String id : zones) {
+            final TimeZone timeZone = TimeZone.getTimeZone(id);
+            for (int i = 0; i < 1000; i++) {
+                // 1900 to 2100
+                final long time = -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+                final Calendar calendar = Calendar.getInstance(timeZone);
+                calendar.setTimeInMillis(time);
+                for (final int fragment : fragments) {
+                    assertEquals(DateUtils.getFragmentInMilliseconds(calendar, fragment),
+                        DateUtils.getFragmentInMilliseconds(time, fragment, timeZone), id + " " + time + " " + fragment);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFragmentInMillisecondsWithMillisInvalid() {
+        assertThrows(NullPointerException.class, () -> DateUtils.getFragmentInMilliseconds(0L, Calendar.YEAR, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> DateUtils.getFragmentInMilliseconds(0L, Calendar.ERA, TimeZone.getTimeZone("UTC")));
+    }
 }
@@ -21,12 +21,21 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * These Unit-tests will check all possible extremes when using some rounding-methods of DateUtils.
@@ -601,6 +610,199 @@ public void testTruncateMilliSecond() {
         baseTruncateTest(targetMilliSecondDate, targetMilliSecondDate, calendarField);
     }
 
+    /**
+     * Test the epoch-millis round, truncate and ceiling against the Calendar implementation,
+     * in fixed offset and daylight saving time zones.
+     *
+     * @since 3.10
+     */
+    @Test
+    public void testRoundTruncateCeilingMillis() {
+        final int[] fields = {Calendar.MILLISECOND, Calendar.SECOND, Calendar.MINUTE, Calendar.HOUR,
+            Calendar.HOUR_OF_DAY, Calendar.AM_PM, Calendar.DATE, Calendar.DAY_OF_MONTH, DateUtils.SEMI_MONTH,
+            Calendar.MONTH, Calendar.YEAR};
+        final String[] zones = {"UTC", "GMT+05:30", "America/New_York", "Europe/London", "Australia/Lord_Howe"};
+        final Random random = new Random(20191016L);
+        for (final String id : zones) {
+            final TimeZone timeZone = TimeZone.getTimeZone(id);
+            for (int i = 0; i < 2000; i++) {
+                // 1900 to 2100
+                final long millis = -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+                for (final int field : fields) {
+                    final Calendar calendar = Calendar.getInstance(timeZone);
+                    calendar.setTimeInMillis(millis);
+                    final String message = id + " " + millis + " " + field;
+                    assertEquals(DateUtils.round(calendar, field).getTimeInMillis(),
+                        DateUtils.round(millis, field, timeZone), message);
+                    assertEquals(DateUtils.truncate(calendar, field).getTimeInMillis(),
+                        DateUtils.truncate(millis, field, timeZone), message);
+                    assertEquals(DateUtils.ceiling(calendar, field).getTimeInMillis(),
+                        DateUtils.ceiling(millis, field, timeZone), message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test the epoch-millis methods when alternating between many time zones, some of which
+     * share a reused Calendar, and between time zones sharing an ID.
+     *
+     * @since 3.10
+     */
+    @Test
+    public void testTruncateMillisAlternatingTimeZones() {
+        final String[] zones = {"America/New_York", "Europe/London", "Europe/Paris", "Asia/Tokyo",
+            "Australia/Sydney", "America/Sao_Paulo", "Africa/Cairo", "Asia/Tehran", "America/Chicago",
+            "Pacific/Auckland"};
+        final TimeZone[] timeZones = new TimeZone[zones.length + 1];
+        for (int i = 0; i < zones.length; i++) {
+            timeZones[i] = TimeZone.getTimeZone(zones[i]);
+        }
+        // same ID as the first time zone, other rules
+        timeZones[zones.length] = new SimpleTimeZone(3600000, zones[0], Calendar.MARCH, 1, 0, 0,
+            Calendar.OCTOBER, 1, 0, 0);
+        final Random random = new Random(20191017L);
+        for (int i = 0; i < 1000; i++) {
+            final long millis = -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+            for (final TimeZone timeZone : timeZones) {
+                final Calendar calendar = Calendar.getInstance(timeZone);
+                calendar.setTimeInMillis(millis);
+                assertEquals(DateUtils.truncate(calendar, Calendar.DATE).getTimeInMillis(),
+                    DateUtils.truncate(millis, Calendar.DATE, timeZone), timeZone + " " + millis);
+            }
+        }
+    }
+
+    /**
+     * Test the epoch-millis methods from several threads, which must not use a Calendar concurrently.
+     *
+     * @throws InterruptedException if the test is interrupted
+     * @since 3.10
+     */
+    @Test
+    public void testTruncateMillisConcurrently() throws InterruptedException {
+        final TimeZone timeZone = TimeZone.getTimeZone("Europe/London");
+        final AtomicInteger errors = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final Random random = new Random(t);
+            threads[t] = new Thread(() -> {
+                final Calendar calendar = Calendar.getInstance(timeZone);
+                for (int i = 0; i < 20000; i++) {
+                    final long millis = -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+                    calendar.setTimeInMillis(millis);
+                    if (DateUtils.truncate(calendar, Calendar.DATE).getTimeInMillis()
+                            != DateUtils.truncate(millis, Calendar.DATE, timeZone)) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, errors.get(), "Wrong results");
+    }
+
+    /**
+     * Test that the epoch-millis methods do not allocate a Calendar in a fixed offset time zone,
+     * nor for a fragment in the Gregorian calendar, when several threads use the same time zone.
+     *
+     * @throws InterruptedException if the test is interrupted
+     * @since 3.10
+     */
+    @Test
+    public void testTruncateMillisConcurrentlyWithoutCalendar() throws InterruptedException {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+        final TimeZone utc = TimeZone.getTimeZone("UTC");
+        final TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        final int calls = 20000;
+        final long[] allocated = new long[4];
+        final long[] sums = new long[allocated.length];
+        final Thread[] threads = new Thread[allocated.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int index = t;
+            threads[t] = new Thread(() -> {
+                long sum = 0;
+                for (int i = 0; i < calls; i++) {
+                    sum += DateUtils.truncate(1552201200123L + i, Calendar.HOUR_OF_DAY, utc);
+                    sum += DateUtils.getFragmentInMilliseconds(1552201200123L + i, Calendar.DATE, newYork);
+                }
+                final long id = Thread.currentThread().getId();
+                final long start = allocations.getThreadAllocatedBytes(id);
+                for (int i = 0; i < calls; i++) {
+                    sum += DateUtils.truncate(1552201200123L + i, Calendar.HOUR_OF_DAY, utc);
+                    sum += DateUtils.getFragmentInMilliseconds(1552201200123L + i, Calendar.DATE, newYork);
+                }
+                allocated[index] = allocations.getThreadAllocatedBytes(id) - start;
+                sums[index] = sum;
+            });
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (final long bytes : allocated) {
+            // a single Calendar takes several hundred bytes
+            assertTrue(bytes < calls, "Allocated " + bytes + " bytes");
+        }
+    }
+
+    /**
+     * Test the epoch-millis round, truncate and ceiling with the extremes used by the Date tests.
+     *
+     * @since 3.10
+     */
+    @Test
+    public void testRoundTruncateCeilingMillisDefaultTimeZone() {
+        final TimeZone timeZone = TimeZone.getDefault();
+        assertEquals(targetDateDate.getTime(), DateUtils.truncate(targetDateDate.getTime() + 1, Calendar.DATE, timeZone));
+        assertEquals(targetHourDate.getTime(),
+            DateUtils.round(targetHourDate.getTime() + 29 * 60 * 1000, Calendar.HOUR_OF_DAY, timeZone));
+        assertEquals(targetMinuteDate.getTime(),
+            DateUtils.ceiling(targetMinuteDate.getTime() - 1, Calendar.MINUTE, timeZone));
+        assertEquals(januaryOneDate.getTime(), DateUtils.truncate(januaryOneDate.getTime(), Calendar.YEAR, timeZone));
+    }
+
+    /**
+     * Test the epoch-millis methods reject a missing time zone and unsupported fields.
+     *
+     * @since 3.10
+     */
+    @Test
+    public void testRoundTruncateCeilingMillisInvalid() {
+        final TimeZone timeZone = TimeZone.getTimeZone("UTC");
+        assertThrows(NullPointerException.class, () -> DateUtils.round(0L, Calendar.DATE, null));
+        assertThrows(NullPointerException.class, () -> DateUtils.truncate(0L, Calendar.DATE, null));
+        assertThrows(NullPointerException.class, () -> DateUtils.ceiling(0L, Calendar.DATE, null));
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.round(0L, Calendar.ZONE_OFFSET, timeZone));
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.truncate(0L, Calendar.ZONE_OFFSET, timeZone));
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.ceiling(0L, Calendar.ZONE_OFFSET, timeZone));
+    }
+
+    /**
+     * Test the epoch-millis truncatedCompareTo.
+     *
+     * @since 3.10
+     */
+    @Test
+    public void testTruncatedCompareToMillis() {
+        final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        // 2008-06-01T08:15:14.231 and 2008-06-01T23:59:59.999 in New York
+        final long morning = 1212322514231L;
+        final long midnight = 1212379199999L;
+        assertEquals(0, DateUtils.truncatedCompareTo(morning, midnight, Calendar.DATE, timeZone));
+        assertEquals(-1, DateUtils.truncatedCompareTo(morning, midnight, Calendar.HOUR_OF_DAY, timeZone));
+        assertEquals(1, DateUtils.truncatedCompareTo(midnight + 1, midnight, Calendar.DATE, timeZone));
+        assertEquals(0, DateUtils.truncatedCompareTo(midnight + 1, midnight, Calendar.MONTH, timeZone));
+    }
+
     /**
      * When using this basetest all extremes are tested.<br>
      * It will test the Date, Calendar and Object-implementation<br>
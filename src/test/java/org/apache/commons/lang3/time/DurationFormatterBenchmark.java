@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing a reused {@link DurationFormatter} with {@link DurationFormatUtils}, which parses the
+ * pattern on every call.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=DurationFormatterBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DurationFormatterBenchmark {
+
+    private static final String PATTERN = "d' days 'HH:mm:ss.SSS";
+    private static final String PERIOD_PATTERN = "y' years 'M' months 'd' days 'HH:mm:ss";
+
+    private final DurationFormatter formatter = DurationFormatter.getInstance(PATTERN);
+    private final DurationFormatter periodFormatter = DurationFormatter.getInstance(PERIOD_PATTERN);
+    private final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+    private final StringBuilder buffer = new StringBuilder(32);
+
+    private final long durationMillis = 2 * DateUtils.MILLIS_PER_DAY + 3723004L;
+    private final long startMillis = 1552201200123L;
+    private final long endMillis = 1583823600456L;
+
+    @Benchmark
+    public String formatDuration() {
+        return DurationFormatUtils.formatDuration(durationMillis, PATTERN);
+    }
+
+    @Benchmark
+    public String formatter() {
+        return formatter.format(durationMillis);
+    }
+
+    @Benchmark
+    public StringBuilder formatterToBuffer() {
+        buffer.setLength(0);
+        return formatter.format(durationMillis, buffer);
+    }
+
+    @Benchmark
+    public String formatPeriod() {
+        return DurationFormatUtils.formatPeriod(startMillis, endMillis, PERIOD_PATTERN, true, timeZone);
+    }
+
+    @Benchmark
+    public StringBuilder formatterPeriodToBuffer() {
+        buffer.setLength(0);
+        return periodFormatter.formatPeriod(startMillis, endMillis, timeZone, buffer);
+    }
+}
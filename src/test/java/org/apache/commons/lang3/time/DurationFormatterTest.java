@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junitpioneer.jupiter.DefaultLocale;
+import org.junitpioneer.jupiter.DefaultTimeZone;
+
+/**
+ * Unit tests {@link DurationFormatter}.
+ */
+public class DurationFormatterTest {
+
+    private static final String[] PATTERNS = {
+        "y' 'M' 'd' 'H:m:s.S", "M' 'd' 'HH:mm:ss.SSS", "d' 'H", "y' 'd", "d", "H", "S", "M", "yM", "s.S", "mmm",
+        DurationFormatUtils.ISO_EXTENDED_FORMAT_PATTERN
+    };
+
+    @Test
+    public void testFormat() {
+        final long millis = 2 * DateUtils.MILLIS_PER_DAY + 3723004L;
+        assertEquals("01:02:03.004", DurationFormatter.getInstance("HH:mm:ss.SSS").format(3723004L));
+        assertEquals("1:2:3.004", DurationFormatter.getInstance("H:m:s.S", false).format(3723004L));
+        assertEquals("2 days 01:02", DurationFormatter.getInstance("d' days 'HH:mm").format(millis));
+        assertEquals("0049", DurationFormatter.getInstance("HHHH").format(millis));
+        assertEquals("0", DurationFormatter.getInstance("S").format(0L));
+        assertEquals(Long.toString(Long.MAX_VALUE), DurationFormatter.getInstance("S").format(Long.MAX_VALUE));
+        assertEquals("P0Y0M2DT1H2M3.004S",
+            DurationFormatter.getInstance(DurationFormatUtils.ISO_EXTENDED_FORMAT_PATTERN, false).format(millis));
+    }
+
+    @Test
+    public void testFormatSameAsDurationFormatUtils() {
+        final Random random = new Random(15);
+        for (int i = 0; i < 10000; i++) {
+            final String pattern = PATTERNS[random.nextInt(PATTERNS.length)];
+            final boolean padWithZeros = random.nextBoolean();
+            final long millis = random.nextBoolean() ? random.nextInt(Integer.MAX_VALUE)
+                : random.nextLong() & Long.MAX_VALUE;
+            assertEquals(DurationFormatUtils.formatDuration(millis, pattern, padWithZeros),
+                DurationFormatter.getInstance(pattern, padWithZeros).format(millis), pattern + " " + millis);
+        }
+    }
+
+    @Test
+    public void testFormatToAppendable() {
+        final DurationFormatter formatter = DurationFormatter.getInstance("mm:ss");
+        final StringBuilder sb = new StringBuilder("took ");
+        assertSame(sb, formatter.format(61000L, sb));
+        assertEquals("took 01:01", sb.toString());
+        assertEquals("took 01:01 02:00", formatter.format(120000L, new StringBuffer("took 01:01 ")).toString());
+    }
+
+    @Test
+    public void testFormatNanos() {
+        final DurationFormatter formatter = DurationFormatter.getInstance("s.SSS");
+        assertEquals("1.500", formatter.formatNanos(TimeUnit.MILLISECONDS.toNanos(1500) + 999999));
+        assertEquals("0.000", formatter.formatNanos(999999L));
+        assertEquals("took 2.000", formatter.formatNanos(TimeUnit.SECONDS.toNanos(2), new StringBuilder("took "))
+            .toString());
+    }
+
+    @Test
+    public void testFormatNegative() {
+        final DurationFormatter formatter = DurationFormatter.getInstance("S");
+        assertThrows(IllegalArgumentException.class, () -> formatter.format(-1L));
+        assertThrows(IllegalArgumentException.class, () -> formatter.formatNanos(-1L));
+        assertThrows(IllegalArgumentException.class, () -> formatter.formatPeriod(5000L, 2500L));
+    }
+
+    @Test
+    public void testGetInstanceUnmatchedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> DurationFormatter.getInstance("'yMdHms''S"));
+    }
+
+    @Test
+    public void testAccessors() {
+        final DurationFormatter formatter = DurationFormatter.getInstance("HH:mm", false);
+        assertEquals("HH:mm", formatter.getPattern());
+        assertFalse(formatter.isPadWithZeros());
+        assertTrue(DurationFormatter.getInstance("HH:mm").isPadWithZeros());
+        assertEquals("DurationFormatter[HH:mm]", formatter.toString());
+    }
+
+    @Test
+    @DefaultTimeZone("UTC")
+    public void testFormatPeriod() {
+        final Calendar start = Calendar.getInstance();
+        start.clear();
+        start.set(2019, Calendar.JANUARY, 15);
+        final Calendar end = Calendar.getInstance();
+        end.clear();
+        end.set(2019, Calendar.MARCH, 10, 12, 30);
+        final long startMillis = start.getTimeInMillis();
+        final long endMillis = end.getTimeInMillis();
+
+        assertEquals("1 month 26 days 12:30", DurationFormatter.getInstance("M' month 'd' days 'HH:mm")
+            .formatPeriod(startMillis, endMillis));
+        assertEquals("54 days", DurationFormatter.getInstance("d' days'").formatPeriod(startMillis, endMillis));
+        assertEquals("0 1", DurationFormatter.getInstance("y M").formatPeriod(startMillis, endMillis));
+        final StringBuilder sb = new StringBuilder("P");
+        assertSame(sb, DurationFormatter.getInstance("M'M'd'D'").formatPeriod(startMillis, endMillis,
+            TimeZone.getTimeZone("UTC"), sb));
+        assertEquals("P1M26D", sb.toString());
+    }
+
+    @Test
+    @DefaultLocale(language = "en", country = "US")
+    public void testFormatPeriodSameAsCalendar() {
+        final String[] ids = TimeZone.getAvailableIDs();
+        final Random random = new Random(15);
+        for (int i = 0; i < 20000; i++) {
+            final TimeZone timeZone = TimeZone.getTimeZone(ids[random.nextInt(ids.length)]);
+            final String pattern = PATTERNS[random.nextInt(PATTERNS.length)];
+            final DurationFormatter formatter = DurationFormatter.getInstance(pattern, random.nextBoolean());
+            // from 1500 to 2200, with periods of up to a century
+            final long startMillis = -14831769600000L + (long) (random.nextDouble() * 22089888000000L);
+            final long endMillis = startMillis + (long) (random.nextDouble() * (random.nextBoolean()
+                ? 100 * 365 * DateUtils.MILLIS_PER_DAY : 60 * DateUtils.MILLIS_PER_DAY));
+            assertEquals(formatPeriodWithCalendar(formatter, startMillis, endMillis, timeZone),
+                formatter.formatPeriod(startMillis, endMillis, timeZone),
+                () -> pattern + " " + startMillis + " " + endMillis + " " + timeZone.getID());
+        }
+    }
+
+    @Test
+    public void testFormatPeriodSkippedDay() {
+        // Samoa skipped 2011-12-30
+        final TimeZone timeZone = TimeZone.getTimeZone("Pacific/Apia");
+        final Calendar start = Calendar.getInstance(timeZone);
+        start.clear();
+        start.set(2011, Calendar.NOVEMBER, 30, 12, 0);
+        final Calendar end = Calendar.getInstance(timeZone);
+        end.clear();
+        end.set(2012, Calendar.JANUARY, 29, 12, 0);
+        for (final String pattern : PATTERNS) {
+            final DurationFormatter formatter = DurationFormatter.getInstance(pattern);
+            assertEquals(formatPeriodWithCalendar(formatter, start.getTimeInMillis(), end.getTimeInMillis(), timeZone),
+                formatter.formatPeriod(start.getTimeInMillis(), end.getTimeInMillis(), timeZone), pattern);
+        }
+    }
+
+    @Test
+    @DefaultLocale(language = "th", country = "TH")
+    public void testFormatPeriodBuddhistCalendar() {
+        final TimeZone timeZone = TimeZone.getTimeZone("Asia/Bangkok");
+        final Random random = new Random(15);
+        for (int i = 0; i < 1000; i++) {
+            final String pattern = PATTERNS[random.nextInt(PATTERNS.length)];
+            final DurationFormatter formatter = DurationFormatter.getInstance(pattern);
+            final long startMillis = (long) (random.nextDouble() * 2000000000000L);
+            final long endMillis = startMillis + (long) (random.nextDouble() * 200000000000L);
+            assertEquals(formatPeriodWithCalendar(formatter, startMillis, endMillis, timeZone),
+                formatter.formatPeriod(startMillis, endMillis, timeZone), pattern);
+        }
+    }
+
+    private static String formatPeriodWithCalendar(final DurationFormatter formatter, final long startMillis,
+            final long endMillis, final TimeZone timeZone) {
+        final Calendar start = Calendar.getInstance(timeZone);
+        start.setTimeInMillis(startMillis);
+        final Calendar end = Calendar.getInstance(timeZone);
+        end.setTimeInMillis(endMillis);
+        return formatter.formatPeriod(start, end, new StringBuilder()).toString();
+    }
+}
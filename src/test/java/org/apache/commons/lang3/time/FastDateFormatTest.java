@@ -20,13 +20,18 @@
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.concurrent.ExecutorService;
@@ -319,4 +324,79 @@ public void testLANG_1152() {
     public void testLANG_1267() {
         FastDateFormat.getInstance("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
     }
+
+    @Test
+    public void testCacheStatistics() {
+        final FormatCacheStatistics before = FastDateFormat.getCacheStatistics();
+        final FastDateFormat format = FastDateFormat.getInstance("yyyy 'statistics'", Locale.US);
+        assertSame(format, FastDateFormat.getInstance("yyyy 'statistics'", Locale.US));
+        final FormatCacheStatistics after = FastDateFormat.getCacheStatistics();
+        assertTrue(after.getHitCount() >= before.getHitCount() + 1);
+        assertTrue(after.getHitCount() + after.getMissCount() >= before.getHitCount() + before.getMissCount() + 2);
+        assertEquals(Integer.MAX_VALUE, after.getMaximumSize());
+    }
+
+    @Test
+    public void testCacheMaximumSizeInvalid() {
+        // the eviction is tested on a private cache by FormatCacheTest, this cache is shared by the other tests
+        final int maximumSize = FastDateFormat.getCacheStatistics().getMaximumSize();
+        assertThrows(IllegalArgumentException.class, () -> FastDateFormat.setCacheMaximumSize(0));
+        assertThrows(IllegalArgumentException.class, () -> FastDateFormat.setCacheMaximumSize(-1));
+        assertEquals(maximumSize, FastDateFormat.getCacheStatistics().getMaximumSize());
+    }
+
+    @Test
+    public void testPreload() {
+        final FormatPreloadReport report = FastDateFormat.preload(Arrays.asList("yyyy 'preload' z", "HH:mm 'preload'"),
+            Arrays.asList(TimeZone.getTimeZone("UTC"), null), Arrays.asList(Locale.GERMANY, Locale.JAPAN));
+        final List<FormatPreloadReport.Entry> entries = report.getEntries();
+        assertEquals(8, entries.size());
+        long total = 0;
+        for (final FormatPreloadReport.Entry entry : entries) {
+            assertSame(entry.getFormat(),
+                FastDateFormat.getInstance(entry.getPattern(), entry.getTimeZone(), entry.getLocale()));
+            assertTrue(entry.getNanoTime() > 0);
+            total += entry.getNanoTime();
+        }
+        assertTrue(report.getNanoTime() >= total);
+        assertEquals("yyyy 'preload' z", entries.get(0).getPattern());
+        assertEquals("UTC", entries.get(0).getTimeZone().getID());
+        assertEquals(Locale.JAPAN, entries.get(1).getLocale());
+        assertEquals(TimeZone.getDefault(), entries.get(2).getTimeZone());
+        assertEquals("HH:mm 'preload'", entries.get(4).getPattern());
+        assertEquals("FormatPreloadReport[formats=8, nanoTime=" + report.getNanoTime() + "]", report.toString());
+    }
+
+    @Test
+    public void testPreloadExecutor() throws InterruptedException {
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final FormatPreloadReport report = FastDateFormat.preload(
+                Arrays.asList("yyyy-MM-dd 'executor'", "yyyy-MM-dd HH:mm 'executor' zzzz"),
+                Collections.singleton(TimeZone.getTimeZone("America/New_York")),
+                Arrays.asList(Locale.FRANCE, Locale.KOREA, Locale.ITALY), pool);
+            assertEquals(6, report.getEntries().size());
+            assertEquals(Locale.KOREA, report.getEntries().get(4).getLocale());
+            assertSame(report.getEntries().get(5).getFormat(), FastDateFormat.getInstance(
+                "yyyy-MM-dd HH:mm 'executor' zzzz", TimeZone.getTimeZone("America/New_York"), Locale.ITALY));
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(20, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testPreloadInvalid() {
+        final List<Locale> locales = Collections.singletonList(Locale.US);
+        final List<TimeZone> timeZones = Collections.singletonList(null);
+        assertThrows(IllegalArgumentException.class,
+            () -> FastDateFormat.preload(Arrays.asList("'unterminated", "yyyy 'valid'"), timeZones, locales));
+        assertEquals("yyyy 'valid'", FastDateFormat.getInstance("yyyy 'valid'", Locale.US).getPattern());
+        assertThrows(NullPointerException.class,
+            () -> FastDateFormat.preload(Collections.singleton(null), timeZones, locales));
+        assertThrows(NullPointerException.class, () -> FastDateFormat.preload(null, timeZones, locales));
+        assertThrows(NullPointerException.class,
+            () -> FastDateFormat.preload(Collections.emptyList(), timeZones, locales, null));
+        assertTrue(FastDateFormat.preload(Collections.emptyList(), timeZones, locales).getEntries().isEmpty());
+    }
 }
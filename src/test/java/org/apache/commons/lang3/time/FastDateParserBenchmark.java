@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for {@link FastDateParser} on numeric, text and time zone fields, and on a region of text
+ * parsed without a Calendar.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=FastDateParserBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FastDateParserBenchmark {
+
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    private final FastDateParser iso = new FastDateParser("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", GMT, Locale.US);
+    private final FastDateParser text = new FastDateParser("dd MMMM yyyy HH:mm", GMT, Locale.US);
+    private final FastDateParser zoneName = new FastDateParser("yyyy-MM-dd HH:mm:ss z", GMT, Locale.US);
+    private final StringBuilder line = new StringBuilder("42,2019-03-10T03:00:00.123+05:30,x");
+    private final ParsePosition pos = new ParsePosition(0);
+
+    @Benchmark
+    public Date parseIso() throws ParseException {
+        return iso.parse("2019-03-10T03:00:00.123+05:30");
+    }
+
+    @Benchmark
+    public long parseMillisIso() {
+        return iso.parseMillis(line, 3, 29, pos);
+    }
+
+    @Benchmark
+    public Date parseMonthName() throws ParseException {
+        return text.parse("10 September 2019 03:00");
+    }
+
+    @Benchmark
+    public Date parseZoneName() throws ParseException {
+        return zoneName.parse("2019-03-10 03:00:00 Eastern Standard Time");
+    }
+}
@@ -32,7 +32,10 @@
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Random;
 import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang3.LocaleUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.jupiter.api.Test;
@@ -702,4 +705,198 @@ public void testLang1380() throws ParseException {
         assertEquals(expected.getTime(), fdp.parse("14 avr. 2014"));
         assertEquals(expected.getTime(), fdp.parse("14 avr 2014"));
     }
+
+    @Test
+    public void testParseTextFieldsIgnoringCase() throws ParseException {
+        final Calendar expected = Calendar.getInstance(GMT, Locale.US);
+        expected.clear();
+        expected.set(2014, Calendar.SEPTEMBER, 14);
+
+        final DateParser fdp = getInstance("dd MMM yyyy", GMT, Locale.US);
+        assertEquals(expected.getTime(), fdp.parse("14 SEPTEMBER 2014"));
+        assertEquals(expected.getTime(), fdp.parse("14 sep 2014"));
+        final ParsePosition pos = new ParsePosition(0);
+        assertEquals(null, fdp.parse("14 Sxp 2014", pos));
+        assertEquals(3, pos.getErrorIndex());
+    }
+
+    @Test
+    public void testParseNonAsciiDigits() throws ParseException {
+        final Calendar expected = Calendar.getInstance(GMT, Locale.US);
+        expected.clear();
+        expected.set(2019, Calendar.MARCH, 10);
+
+        // ARABIC-INDIC DIGITs
+        assertEquals(expected.getTime(), getInstance(YMD_SLASH, GMT, Locale.US)
+            .parse("\u0662\u0660\u0661\u0669/\u0660\u0663/\u0661\u0660"));
+        assertThrows(NumberFormatException.class, () -> getInstance(YMD_SLASH, GMT, Locale.US).parse("99999999999/1/1"));
+    }
+
+    @Test
+    public void testParseTimeZoneAlternatives() throws ParseException {
+        final DateParser fdp = getInstance("yyyy-MM-dd HH:mm z", GMT, Locale.US);
+        final Calendar expected = Calendar.getInstance(GMT, Locale.US);
+        expected.clear();
+        expected.set(2019, Calendar.MARCH, 10, 3, 0);
+
+        expected.set(Calendar.ZONE_OFFSET, 5 * 3600000 + 30 * 60000);
+        assertEquals(expected.getTime(), fdp.parse("2019-03-10 03:00 +0530"));
+        assertEquals(expected.getTime(), fdp.parse("2019-03-10 03:00 GMT+05:30"));
+        assertEquals(expected.getTime(), fdp.parse("2019-03-10 03:00 gmt+5:30"));
+        expected.set(Calendar.ZONE_OFFSET, -5 * 3600000);
+        assertEquals(expected.getTime(), fdp.parse("2019-03-10 03:00 eastern standard time"));
+        expected.set(Calendar.ZONE_OFFSET, 0);
+        assertEquals(expected.getTime(), fdp.parse("2019-03-10 03:00 UTC"));
+
+        final ParsePosition pos = new ParsePosition(0);
+        assertEquals(null, fdp.parse("2019-03-10 03:00 Nowhere Time", pos));
+        assertEquals(17, pos.getErrorIndex());
+    }
+
+    @Test
+    public void testParseIso8601TimeZones() throws ParseException {
+        final Calendar expected = Calendar.getInstance(GMT, Locale.US);
+        expected.clear();
+        expected.set(2019, Calendar.MARCH, 10, 3, 0);
+        final Date utc = expected.getTime();
+        expected.set(Calendar.ZONE_OFFSET, -(5 * 3600000 + 30 * 60000));
+        final Date minus = expected.getTime();
+
+        assertEquals(utc, getInstance("yyyy-MM-dd HH:mmX", GMT, Locale.US).parse("2019-03-10 03:00Z"));
+        assertEquals(utc, getInstance("yyyy-MM-dd HH:mmX", GMT, Locale.US).parse("2019-03-10 03:00+00"));
+        assertEquals(minus, getInstance("yyyy-MM-dd HH:mmXX", GMT, Locale.US).parse("2019-03-10 03:00-0530"));
+        assertEquals(minus, getInstance("yyyy-MM-dd HH:mmXXX", GMT, Locale.US).parse("2019-03-10 03:00-05:30"));
+
+        final ParsePosition pos = new ParsePosition(0);
+        assertEquals(null, getInstance("yyyy-MM-dd HH:mmXXX", GMT, Locale.US).parse("2019-03-10 03:00-0530", pos));
+        assertEquals(16, pos.getErrorIndex());
+        pos.setErrorIndex(-1);
+        assertEquals(null, getInstance("yyyy-MM-dd HH:mmX", GMT, Locale.US).parse("2019-03-10 03:00z", pos));
+        assertEquals(16, pos.getErrorIndex());
+    }
+
+    @Test
+    public void testParseMillis() throws ParseException {
+        final FastDateParser parser = new FastDateParser("yyyy-MM-dd HH:mm:ss.SSS", NEW_YORK, Locale.US);
+        final StringBuilder line = new StringBuilder("42,2019-03-10 03:30:00.123,2019-11-03 01:30:00.000,x");
+        final ParsePosition pos = new ParsePosition(0);
+
+        assertEquals(parser.parse("2019-03-10 03:30:00.123").getTime(), parser.parseMillis(line, 3, 23, pos));
+        assertEquals(26, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+        // a local time repeated by the end of daylight saving time, resolved as by the Calendar
+        assertEquals(parser.parse("2019-11-03 01:30:00.000").getTime(), parser.parseMillis(line, 27, 23, pos));
+        assertEquals(50, pos.getIndex());
+        // the region ends within the milliseconds
+        assertEquals(parser.parse("2019-03-10 03:30:00.1").getTime(), parser.parseMillis(line, 3, 21, pos));
+        assertEquals(24, pos.getIndex());
+
+        final FastDateFormat format = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss.SSS", NEW_YORK, Locale.US);
+        assertEquals(parser.parse("2019-11-03 01:30:00.000").getTime(), format.parseMillis(line, 27, 23, pos));
+        assertEquals(50, pos.getIndex());
+    }
+
+    @Test
+    public void testParseMillisErrors() throws ParseException {
+        final FastDateParser parser = new FastDateParser("yyyy-MM-dd'T'HH:mm:ssX", GMT, Locale.US);
+        final ParsePosition pos = new ParsePosition(0);
+
+        assertEquals(0, parser.parseMillis("id,2019-03-1xT03:00:00Z", 3, 20, pos));
+        assertEquals(12, pos.getErrorIndex());
+        // the region limits the parse
+        assertEquals(0, parser.parseMillis("2019-03-10T03:00:00Z", 0, 19, pos));
+        assertEquals(19, pos.getErrorIndex());
+        // numbers too large for an int and offsets out of range are errors rather than exceptions
+        assertEquals(0, parser.parseMillis("2019-03-10T9999999999:00:00Z", 0, 28, pos));
+        assertEquals(11, pos.getErrorIndex());
+        assertEquals(0, parser.parseMillis("2019-03-10T03:00:00+25", 0, 22, pos));
+        assertEquals(19, pos.getErrorIndex());
+
+        // the ParsePosition is reset by each call
+        assertEquals(parser.parse("2019-03-10T03:00:00Z").getTime(), parser.parseMillis("2019-03-10T03:00:00Z", 0, 20, pos));
+        assertEquals(20, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.parseMillis("2019", -1, 4, pos));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.parseMillis("2019", 1, 4, pos));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.parseMillis("2019", 0, -1, pos));
+        assertThrows(NullPointerException.class, () -> parser.parseMillis(null, 0, 0, pos));
+    }
+
+    @Test
+    public void testParseMillisConcurrently() throws InterruptedException {
+        final FastDateParser parser = new FastDateParser("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", NEW_YORK, Locale.US);
+        final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", NEW_YORK, Locale.US);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger errors = new AtomicInteger();
+        final Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final Random random = new Random(t);
+            threads[t] = new Thread(() -> {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                final ParsePosition pos = new ParsePosition(0);
+                for (int i = 0; i < 20000; i++) {
+                    final long expected = (long) (random.nextDouble() * 4e12);
+                    final String text = printer.format(expected);
+                    final long millis;
+                    if (i % 2 == 0) {
+                        millis = parser.parseMillis(text, 0, text.length(), pos);
+                    } else {
+                        pos.setIndex(0);
+                        final Date date = parser.parse(text, pos);
+                        millis = date == null ? 0 : date.getTime();
+                    }
+                    if (millis != expected || pos.getIndex() != text.length()) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        latch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, errors.get(), "Wrong results");
+    }
+
+    @Test
+    public void testParseMillisSameAsCalendar() {
+        final String[] patterns = {"yyyy-MM-dd HH:mm:ss.SSS", "yyyy-MM-dd'T'HH:mm:ssXXX", "dd MMM yy hh:mm a z",
+            "yyyyMMddHHmmssSSSZ", "yyyy-MM-dd kk:mm Z", "EEE, dd MMM yyyy HH:mm", "yyyy-'W'ww-u"};
+        final TimeZone[] zones = {GMT, NEW_YORK, INDIA, TimeZone.getTimeZone("Australia/Lord_Howe"),
+            TimeZone.getTimeZone("Pacific/Apia")};
+        final Locale[] locales = {Locale.US, Locale.GERMANY, new Locale("th", "TH"), FastDateParser.JAPANESE_IMPERIAL};
+        final Random random = new Random(42);
+        for (final String pattern : patterns) {
+            for (final TimeZone zone : zones) {
+                for (final Locale locale : locales) {
+                    final FastDateParser parser = new FastDateParser(pattern, zone, locale);
+                    final FastDatePrinter printer = new FastDatePrinter(pattern, zone, locale);
+                    for (int i = 0; i < 40; i++) {
+                        String text = printer.format(-14000000000000L + (long) (random.nextDouble() * 2.8e14));
+                        if (random.nextBoolean()) {
+                            // out of range fields are lenient
+                            text = text.replaceFirst("\\d\\d", String.valueOf(random.nextInt(100)));
+                        }
+                        final Calendar cal = Calendar.getInstance(zone, locale);
+                        cal.clear();
+                        final ParsePosition expected = new ParsePosition(0);
+                        final ParsePosition pos = new ParsePosition(0);
+                        final long millis = parser.parseMillis("[" + text + "]", 1, text.length(), pos);
+                        if (parser.parse(text, expected, cal)) {
+                            assertEquals(cal.getTimeInMillis(), millis, text);
+                            assertEquals(expected.getIndex() + 1, pos.getIndex(), text);
+                        } else {
+                            assertEquals(expected.getErrorIndex() + 1, pos.getErrorIndex(), text);
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing {@link FastDatePrinter} with {@link DateTimeFormatter} on a logging style pattern.
+ *
+ * <p>The batch benchmarks format 1000 instants a second apart.</p>
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=FastDatePrinterBenchmark}; the default {@code gc}
+ * profiler reports the allocation per operation.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FastDatePrinterBenchmark {
+
+    private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+
+    private final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+    private final FastDatePrinter printer = new FastDatePrinter(PATTERN, timeZone, Locale.US);
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(PATTERN, Locale.US)
+        .withZone(timeZone.toZoneId());
+    private final StringBuilder buffer = new StringBuilder(32);
+
+    private final long[] batch = new long[1000];
+    private final StringBuilder batchBuffer = new StringBuilder(batch.length * 30);
+
+    private long millis;
+    private Instant instant;
+    private Calendar calendar;
+
+    @Setup
+    public void setup() {
+        millis = 1552201200123L;
+        instant = Instant.ofEpochMilli(millis);
+        calendar = Calendar.getInstance(timeZone, Locale.US);
+        calendar.setTimeInMillis(millis);
+        // a second apart, as the rows of a columnar export
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = millis + i * 1000L;
+        }
+    }
+
+    @Benchmark
+    public String formatMillis() {
+        return printer.format(millis);
+    }
+
+    @Benchmark
+    public StringBuilder formatMillisToBuffer() {
+        buffer.setLength(0);
+        return printer.format(millis, buffer);
+    }
+
+    @Benchmark
+    public StringBuilder formatBatchInLoop() {
+        batchBuffer.setLength(0);
+        for (int i = 0; i < batch.length; i++) {
+            if (i > 0) {
+                batchBuffer.append(',');
+            }
+            printer.format(batch[i], batchBuffer);
+        }
+        return batchBuffer;
+    }
+
+    @Benchmark
+    public StringBuilder formatBatch() {
+        batchBuffer.setLength(0);
+        return printer.format(batch, ",", batchBuffer);
+    }
+
+    @Benchmark
+    public String formatInstant() {
+        return printer.format(instant);
+    }
+
+    @Benchmark
+    public String formatCalendar() {
+        return printer.format(calendar);
+    }
+
+    @Benchmark
+    public String dateTimeFormatter() {
+        return formatter.format(instant);
+    }
+
+    @Benchmark
+    public StringBuilder dateTimeFormatterToBuffer() {
+        buffer.setLength(0);
+        formatter.formatTo(instant, buffer);
+        return buffer;
+    }
+}
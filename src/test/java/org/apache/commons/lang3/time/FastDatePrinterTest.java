@@ -16,19 +16,29 @@
  */
 package org.apache.commons.lang3.time;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
+import java.nio.CharBuffer;
 import java.text.FieldPosition;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.Locale;
+import java.util.Random;
 import java.util.TimeZone;
+import java.util.stream.LongStream;
 
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.jupiter.api.Test;
@@ -432,4 +442,172 @@ public void testDayNumberOfWeek() {
         calendar.set(Calendar.DAY_OF_WEEK, Calendar.SUNDAY);
         assertEquals("7", printer.format(calendar.getTime()));
     }
+
+    private static final String ALL_FIELDS =
+        "G yyyy yy MMMM MMM MM M dd d D F E EEEE u a hh h HH H kk k KK K mm ss SSS z zzzz Z ZZ ZZZ X XX XXX";
+
+    private static void assertSameAsCalendar(final FastDatePrinter printer, final long millis) {
+        final Calendar calendar = Calendar.getInstance(printer.getTimeZone(), printer.getLocale());
+        calendar.setTimeInMillis(millis);
+        final String expected = printer.format(calendar);
+        assertEquals(expected, printer.format(millis), printer + " " + millis);
+        assertEquals(expected, printer.format(new Date(millis)), printer + " " + millis);
+        assertEquals(expected, printer.format(millis, new StringBuilder()).toString(), printer + " " + millis);
+    }
+
+    @Test
+    public void testCalendarFreeFormatAllZones() {
+        final Random random = new Random(42);
+        for (final String id : TimeZone.getAvailableIDs()) {
+            final FastDatePrinter printer = new FastDatePrinter(ALL_FIELDS, TimeZone.getTimeZone(id), Locale.US);
+            for (int i = 0; i < 10; i++) {
+                // 1583 to 2100, then from 1900 on where the zones have most of their transitions
+                assertSameAsCalendar(printer, -12212467200000L + (long) (random.nextDouble() * 16369056000000L));
+                assertSameAsCalendar(printer, -2208988800000L + (long) (random.nextDouble() * 6311433600000L));
+            }
+        }
+    }
+
+    @Test
+    public void testCalendarFreeFormatLocales() {
+        final Random random = new Random(42);
+        final Locale[] locales = {Locale.US, SWEDEN, Locale.JAPAN, Locale.GERMANY,
+            new Locale("th", "TH"), new Locale("hi", "IN"), Locale.forLanguageTag("en-US-u-ca-buddhist")};
+        for (final Locale locale : locales) {
+            final FastDatePrinter printer = new FastDatePrinter(ALL_FIELDS, NEW_YORK, locale);
+            for (int i = 0; i < 100; i++) {
+                assertSameAsCalendar(printer, random.nextLong() % 100000000000000L);
+            }
+        }
+    }
+
+    @Test
+    public void testCalendarFreeFormatAcrossTransitions() {
+        final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd HH:mm:ss.SSS z Z", NEW_YORK, Locale.US);
+        // every quarter hour of 2019, then jumping between the offset windows
+        final long start = 1546300800000L;
+        for (long millis = start; millis < start + 365 * 24 * 3600000L; millis += 15 * 60000L) {
+            assertSameAsCalendar(printer, millis);
+            assertSameAsCalendar(printer, millis - 1);
+        }
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            assertSameAsCalendar(printer, start + (long) (random.nextDouble() * 20 * 365 * 24 * 3600000L));
+        }
+        assertEquals("2019-03-10 01:59:59.999 EST -0500", printer.format(1552201199999L));
+        assertEquals("2019-03-10 03:00:00.000 EDT -0400", printer.format(1552201200000L));
+    }
+
+    @Test
+    public void testCalendarFreeFormatBounds() {
+        final FastDatePrinter printer = new FastDatePrinter(ALL_FIELDS, INDIA, Locale.US);
+        final long[] instants = {Long.MIN_VALUE / 2, -12219292800001L, -12212467200001L, -12212467200000L, -1L, 0L,
+            253402214399999L, 253402214400000L, Long.MAX_VALUE / 2};
+        for (final long millis : instants) {
+            assertSameAsCalendar(printer, millis);
+        }
+        assertSameAsCalendar(new FastDatePrinter("yyyy-MM-dd Z", TimeZone.getTimeZone("GMT+05:30"), Locale.US), 0L);
+        assertSameAsCalendar(new FastDatePrinter("yyyy-MM-dd z", new java.util.SimpleTimeZone(3600000, "Custom",
+            Calendar.MARCH, 1, 0, 0, Calendar.OCTOBER, 1, 0, 0), Locale.US), 1561939200000L);
+    }
+
+    @Test
+    public void testCalendarFreeWeekFields() {
+        // the week starting on Sunday, Monday, Saturday and Wednesday, with 1 to 4 minimal days in the first week
+        final Locale[] locales = {Locale.US, Locale.FRANCE, new Locale("ar", "EG"), Locale.UK,
+            Locale.forLanguageTag("en-US-u-fw-wed")};
+        final TimeZone utc = TimeZone.getTimeZone("UTC");
+        final Random random = new Random(42);
+        for (final String pattern : new String[] {"YYYY-ww-u", "yyyy-MM W F", "YY w"}) {
+            for (final Locale locale : locales) {
+                final FastDatePrinter printer = new FastDatePrinter(pattern, NEW_YORK, locale);
+                for (int i = 0; i < 100; i++) {
+                    assertSameAsCalendar(printer, random.nextLong() % 10000000000000L);
+                }
+                // every day around the turn of the year, in years starting on each day of the week
+                final FastDatePrinter utcPrinter = new FastDatePrinter(pattern, utc, locale);
+                for (final int year : new int[] {1584, 1585, 1600, 1999, 2000, 2001, 2002, 2003, 2004, 2010, 9998}) {
+                    final long newYear = LocalDate.of(year, 1, 1).toEpochDay() * 86400000L;
+                    for (int day = -14; day < 14; day++) {
+                        assertSameAsCalendar(utcPrinter, newYear + day * 86400000L + 43200000L);
+                    }
+                }
+                // the year after the cutover year, formatted with a Calendar
+                for (final long millis : new long[] {-12212467200000L, -12181017600001L, -12180931200000L}) {
+                    assertSameAsCalendar(utcPrinter, millis);
+                    assertSameAsCalendar(printer, millis);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFormatTemporalAccessor() {
+        final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd'T'HH:mm:ss.SSSZ", NEW_YORK, Locale.US);
+        final Instant instant = Instant.ofEpochMilli(1552201200123L).plusNanos(456789);
+        assertEquals("2019-03-10T03:00:00.123-0400", printer.format(instant));
+        assertEquals("2019-03-10T03:00:00.123-0400", printer.format(instant.atZone(ZoneOffset.UTC)));
+        assertEquals("2019-03-10T03:00:00.123-0400", printer.format(OffsetDateTime.ofInstant(instant,
+            ZoneOffset.ofHours(5))));
+        assertEquals("2019-03-10T03:00:00.123-0400", printer.format(ZonedDateTime.ofInstant(instant,
+            ZoneOffset.UTC), new StringBuilder()).toString());
+        assertEquals("2019-03-10T03:00:00.123-0400", printer.format((Object) instant));
+        assertEquals("x2019-03-10T03:00:00.123-0400", printer.format(instant, new StringBuffer("x"),
+            new FieldPosition(0)).toString());
+        assertThrows(DateTimeException.class, () -> printer.format(LocalDate.of(2019, 3, 10)));
+    }
+
+    @Test
+    public void testFormatBatch() {
+        final String[] patterns = {"yyyy-MM-dd'T'HH:mm:ss.SSSZ", "EEEE d MMMM yyyy G, h:mm a zzzz", "D F u 'day' HH",
+            ALL_FIELDS, "HH:mm yyyy", "YYYY-ww-u HH:mm"};
+        final TimeZone[] timeZones = {NEW_YORK, INDIA, TimeZone.getTimeZone("UTC"),
+            TimeZone.getTimeZone("Australia/Lord_Howe")};
+        final Locale[] locales = {Locale.US, Locale.FRANCE, new Locale("th", "TH")};
+        final Random random = new Random(20);
+        for (final String pattern : patterns) {
+            for (final TimeZone timeZone : timeZones) {
+                for (final Locale locale : locales) {
+                    final FastDatePrinter printer = new FastDatePrinter(pattern, timeZone, locale);
+                    // runs of close instants, crossing days and daylight saving time transitions, and far instants
+                    final long[] millis = new long[300];
+                    long value = 1552190000000L;
+                    for (int i = 0; i < millis.length; i++) {
+                        value = i % 50 == 0 ? random.nextLong() % 100000000000000L : value + random.nextInt(3600000);
+                        millis[i] = value;
+                    }
+                    final StringBuilder expected = new StringBuilder();
+                    final String[] expectedStrings = new String[millis.length];
+                    for (int i = 0; i < millis.length; i++) {
+                        expectedStrings[i] = printer.format(millis[i]);
+                        expected.append(i == 0 ? "" : "; ").append(expectedStrings[i]);
+                    }
+                    final String message = pattern + " " + timeZone.getID() + " " + locale;
+                    assertEquals(expected.toString(), printer.format(millis, "; ", new StringBuilder()).toString(),
+                        message);
+                    assertEquals(expected.toString(), printer.format(LongStream.of(millis), "; ",
+                        new StringBuilder()).toString(), message);
+                    assertArrayEquals(expectedStrings, printer.format(millis, new String[millis.length]), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFormatBatchBuffers() {
+        final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd HH:mm", NEW_YORK, Locale.US);
+        final long[] millis = {1552201200123L, 1552201260123L, 1552287600123L};
+        assertEquals("2019-03-10 03:002019-03-10 03:012019-03-11 03:00",
+            printer.format(millis, null, new StringBuilder()).toString());
+        final CharBuffer buffer = printer.format(millis, ",", CharBuffer.allocate(64));
+        buffer.flip();
+        assertEquals("2019-03-10 03:00,2019-03-10 03:01,2019-03-11 03:00", buffer.toString());
+        assertEquals("2019-03-10 03:01", printer.format(millis, new String[4])[1]);
+        assertEquals("", printer.format(new long[0], ",", new StringBuilder()).toString());
+        assertEquals("2019-03-10 03:00", FastDateFormat.getInstance("yyyy-MM-dd HH:mm", NEW_YORK, Locale.US)
+            .format(LongStream.of(millis).limit(1), ",", new StringBuilder()).toString());
+        assertThrows(IllegalArgumentException.class, () -> printer.format(millis, new String[2]));
+        assertThrows(NullPointerException.class, () -> printer.format((long[]) null, ",", new StringBuilder()));
+        assertThrows(NullPointerException.class, () -> printer.format(millis, ",", (StringBuilder) null));
+    }
 }
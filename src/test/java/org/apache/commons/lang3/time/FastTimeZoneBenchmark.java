@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks comparing the cached {@link FastTimeZone} lookups with {@link TimeZone#getTimeZone(String)}.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=FastTimeZoneBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FastTimeZoneBenchmark {
+
+    private static final String OLSON_ID = "America/New_York";
+    private static final String GMT_ID = "GMT+05:30";
+
+    @Benchmark
+    public TimeZone olsonTimeZone() {
+        return TimeZone.getTimeZone(OLSON_ID);
+    }
+
+    @Benchmark
+    public TimeZone olsonFastTimeZone() {
+        return FastTimeZone.getTimeZone(OLSON_ID);
+    }
+
+    @Benchmark
+    public TimeZone gmtTimeZone() {
+        return TimeZone.getTimeZone(GMT_ID);
+    }
+
+    @Benchmark
+    public TimeZone gmtFastTimeZone() {
+        return FastTimeZone.getTimeZone(GMT_ID);
+    }
+}
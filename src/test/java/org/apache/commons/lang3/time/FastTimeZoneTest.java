@@ -19,8 +19,15 @@
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Random;
 import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Tests for FastTimeZone
@@ -97,4 +104,106 @@ public void testHoursMinutes() {
         assertEquals(HOURS_2+MINUTES_5, FastTimeZone.getGmtTimeZone("0205").getRawOffset());
     }
 
+    @Test
+    public void testGetGmtOffset() {
+        assertEquals(0, FastTimeZone.getGmtOffset("Z", 0, 1));
+        assertEquals(HOURS_2+MINUTES_5, FastTimeZone.getGmtOffset("xGMT+2:05x", 1, 9));
+        assertEquals(-HOURS_23, FastTimeZone.getGmtOffset("-2300", 0, 5));
+        assertEquals(FastTimeZone.INVALID_GMT_OFFSET, FastTimeZone.getGmtOffset("+2400", 0, 5));
+        assertEquals(FastTimeZone.NOT_GMT_OFFSET, FastTimeZone.getGmtOffset("EST", 0, 3));
+
+        // the same results as getGmtTimeZone
+        final String[] parts = {"", "GMT", "gmt", "Z", "UTC", "utc", "+", "-", "0", "1", "2", "5", "9", ":", "x"};
+        final Random random = new Random(42);
+        for (int n = 0; n < 20000; n++) {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(6); i > 0; i--) {
+                sb.append(parts[random.nextInt(parts.length)]);
+            }
+            final String text = sb.toString();
+            int expected;
+            try {
+                final TimeZone tz = FastTimeZone.getGmtTimeZone(text);
+                expected = tz == null ? FastTimeZone.NOT_GMT_OFFSET : tz.getRawOffset();
+            } catch (final IllegalArgumentException e) {
+                expected = FastTimeZone.INVALID_GMT_OFFSET;
+            }
+            assertEquals(expected, FastTimeZone.getGmtOffset("<" + text + ">", 1, text.length() + 1), text);
+        }
+    }
+
+    @Test
+    public void testGmtTimeZoneShared() {
+        final TimeZone tz = FastTimeZone.getGmtTimeZone("+05:30");
+        assertEquals("GMT+05:30", tz.getID());
+        assertSame(tz, FastTimeZone.getGmtTimeZone("GMT+0530"));
+        assertSame(tz, FastTimeZone.getTimeZone("5:30"));
+        assertEquals("GMT-23:59", FastTimeZone.getGmtTimeZone("-2359").getID());
+        assertNull(FastTimeZone.getGmtTimeZone("America/New_York"));
+        assertThrows(IllegalArgumentException.class, () -> FastTimeZone.getGmtTimeZone("+24:00"));
+        assertThrows(IllegalArgumentException.class, () -> FastTimeZone.getGmtTimeZone("+23:60"));
+    }
+
+    @Test
+    public void testGmtTimeZoneSharedIsImmutable() {
+        final TimeZone tz = FastTimeZone.getGmtTimeZone("+05:30");
+        assertThrows(UnsupportedOperationException.class, () -> tz.setID("Asia/Kolkata"));
+        assertThrows(UnsupportedOperationException.class, () -> tz.setRawOffset(0));
+        assertEquals("GMT+05:30", FastTimeZone.getGmtTimeZone("+05:30").getID());
+        assertEquals("GMT+00:00", FastTimeZone.getGmtTimeZone().getID());
+        assertThrows(UnsupportedOperationException.class, () -> FastTimeZone.getGmtTimeZone().setID("UTC"));
+    }
+
+    @Test
+    public void testGmtTimeZoneMatchesPattern() {
+        final Pattern pattern = Pattern.compile("^(?:(?i)GMT)?([+-])?(\\d\\d?)?(:?(\\d\\d?))?$");
+        final String[] parts = {"", "GMT", "gmt", "Z", "UTC", "+", "-", "0", "1", "2", "5", "9", ":", "x"};
+        final Random random = new Random(18);
+        for (int n = 0; n < 20000; n++) {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(6); i > 0; i--) {
+                sb.append(parts[random.nextInt(parts.length)]);
+            }
+            final String text = sb.toString();
+            String expected = null;
+            final Matcher m = pattern.matcher(text);
+            if (text.equals("Z") || text.equals("UTC")) {
+                expected = "GMT+00:00";
+            } else if (m.matches()) {
+                final int hours = m.group(2) == null ? 0 : Integer.parseInt(m.group(2));
+                final int minutes = m.group(4) == null ? 0 : Integer.parseInt(m.group(4));
+                if (hours == 0 && minutes == 0) {
+                    expected = "GMT+00:00";
+                } else if (hours >= 24 || minutes >= 60) {
+                    expected = "invalid";
+                } else {
+                    expected = String.format("GMT%s%02d:%02d", "-".equals(m.group(1)) ? "-" : "+", hours, minutes);
+                }
+            }
+            String actual;
+            try {
+                final TimeZone tz = FastTimeZone.getGmtTimeZone(text);
+                actual = tz == null ? null : tz.getID();
+            } catch (final IllegalArgumentException e) {
+                actual = "invalid";
+            }
+            assertEquals(expected, actual, text);
+        }
+    }
+
+    @Test
+    public void testOlsonCopies() {
+        final TimeZone tz = FastTimeZone.getTimeZone("America/New_York");
+        assertNotSame(tz, FastTimeZone.getTimeZone("America/New_York"));
+        tz.setRawOffset(0);
+        assertEquals(-5 * 60 * 60 * 1000, FastTimeZone.getTimeZone("America/New_York").getRawOffset());
+        assertSame(FastTimeZone.getCachedTimeZone("Europe/Paris"), FastTimeZone.getCachedTimeZone("Europe/Paris"));
+    }
+
+    @Test
+    public void testUnknownId() {
+        assertEquals(TimeZone.getTimeZone("Mars/Olympus_Mons"), FastTimeZone.getTimeZone("Mars/Olympus_Mons"));
+        assertEquals("GMT", FastTimeZone.getCachedTimeZone("Mars/Olympus_Mons").getID());
+    }
+
 }
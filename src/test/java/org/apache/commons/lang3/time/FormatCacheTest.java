@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests {@link FormatCache}.
+ */
+public class FormatCacheTest {
+
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    private static FormatCache<FastDateFormat> newCache() {
+        return new FormatCache<FastDateFormat>() {
+            @Override
+            protected FastDateFormat createInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+                return new FastDateFormat(pattern, timeZone, locale);
+            }
+        };
+    }
+
+    @Test
+    public void testUnbounded() {
+        final FormatCache<FastDateFormat> cache = newCache();
+        final FastDateFormat format = cache.getInstance("yyyy", GMT, Locale.US);
+        assertSame(format, cache.getInstance("yyyy", GMT, Locale.US));
+        for (int i = 0; i < 100; i++) {
+            cache.getInstance("yyyy '" + i + "'", GMT, Locale.US);
+        }
+        assertSame(format, cache.getInstance("yyyy", GMT, Locale.US));
+
+        final FormatCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(101, statistics.getMissCount());
+        assertEquals(0, statistics.getEvictionCount());
+        assertEquals(101, statistics.getSize());
+        assertEquals(Integer.MAX_VALUE, statistics.getMaximumSize());
+        assertEquals(2.0 / 103, statistics.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        final FormatCache<FastDateFormat> cache = newCache();
+        cache.setMaximumSize(2);
+        final FastDateFormat a = cache.getInstance("'a'", GMT, Locale.US);
+        final FastDateFormat b = cache.getInstance("'b'", GMT, Locale.US);
+        assertSame(a, cache.getInstance("'a'", GMT, Locale.US));
+
+        // b was not used since it was cached
+        final FastDateFormat c = cache.getInstance("'c'", GMT, Locale.US);
+        assertEquals(2, cache.getStatistics().getSize());
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+        assertSame(a, cache.getInstance("'a'", GMT, Locale.US));
+        assertSame(c, cache.getInstance("'c'", GMT, Locale.US));
+        assertNotSame(b, cache.getInstance("'b'", GMT, Locale.US));
+        assertEquals(2, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void testSetMaximumSize() {
+        final FormatCache<FastDateFormat> cache = newCache();
+        for (int i = 0; i < 10; i++) {
+            cache.getInstance("yyyy '" + i + "'", GMT, Locale.US);
+        }
+        cache.setMaximumSize(3);
+        assertEquals(3, cache.getStatistics().getSize());
+        assertEquals(7, cache.getStatistics().getEvictionCount());
+        assertEquals(3, cache.getStatistics().getMaximumSize());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaximumSize(0));
+        assertEquals(3, cache.getStatistics().getMaximumSize());
+    }
+
+    @Test
+    public void testSetMaximumSizeKeepsPatternCache() {
+        final int maximumSize = FormatCache.getPatternCacheStatistics().getMaximumSize();
+        newCache().setMaximumSize(1);
+        assertEquals(maximumSize, FormatCache.getPatternCacheStatistics().getMaximumSize());
+    }
+
+    @Test
+    public void testSetPatternCacheMaximumSize() {
+        try {
+            FormatCache.setPatternCacheMaximumSize(2);
+            for (final Locale locale : new Locale[] {Locale.US, Locale.FRANCE, Locale.GERMANY}) {
+                FormatCache.getPatternForStyle(Integer.valueOf(DateFormat.SHORT), null, locale);
+            }
+            assertEquals(2, FormatCache.getPatternCacheStatistics().getSize());
+            assertEquals(2, FormatCache.getPatternCacheStatistics().getMaximumSize());
+            assertThrows(IllegalArgumentException.class, () -> FormatCache.setPatternCacheMaximumSize(0));
+        } finally {
+            FormatCache.setPatternCacheMaximumSize(Integer.MAX_VALUE);
+        }
+        assertEquals(Integer.MAX_VALUE, FormatCache.getPatternCacheStatistics().getMaximumSize());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final FormatCache<FastDateFormat> cache = newCache();
+        cache.setMaximumSize(10);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        final String pattern = "yyyy '" + random.nextInt(random.nextBoolean() ? 5 : 50) + "'";
+                        assertEquals(pattern, cache.getInstance(pattern, GMT, Locale.US).getPattern());
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        final FormatCacheStatistics statistics = cache.getStatistics();
+        assertEquals(8000, statistics.getHitCount() + statistics.getMissCount());
+        assertTrue(statistics.getSize() <= 10, statistics.toString());
+        // a thread losing the race to cache a format counts a miss too
+        assertTrue(statistics.getSize() + statistics.getEvictionCount() <= statistics.getMissCount(),
+            statistics.toString());
+    }
+}
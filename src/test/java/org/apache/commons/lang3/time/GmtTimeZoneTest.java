@@ -57,6 +57,11 @@ public void setRawOffset() {
         assertThrows(UnsupportedOperationException.class, () -> new GmtTimeZone(false, 0, 0).setRawOffset(0));
     }
 
+    @Test
+    public void setID() {
+        assertThrows(UnsupportedOperationException.class, () -> new GmtTimeZone(false, 0, 0).setID("GMT+01:00"));
+    }
+
     @Test
     public void getRawOffset() {
         assertEquals(0, new GmtTimeZone(false, 0, 0).getRawOffset());
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TestCase for LapStopWatch.
+ */
+public class LapStopWatchTest {
+
+    private static final int MIN_SLEEP_MILLISECONDS = 20;
+
+    @Test
+    public void testBadStates() {
+        final LapStopWatch watch = new LapStopWatch(1);
+        assertThrows(IllegalStateException.class, watch::stop);
+        assertThrows(IllegalStateException.class, () -> watch.lap("a"));
+
+        watch.start();
+        assertThrows(IllegalStateException.class, watch::start);
+        watch.lap("a");
+        assertThrows(IllegalStateException.class, () -> watch.lap("b"));
+
+        watch.stop();
+        assertThrows(IllegalStateException.class, watch::stop);
+        assertThrows(IllegalStateException.class, watch::start);
+        assertThrows(IllegalStateException.class, () -> watch.lap("b"));
+
+        watch.reset();
+        watch.start();
+        assertEquals(0, watch.getLapCount());
+    }
+
+    @Test
+    public void testCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LapStopWatch(0));
+        assertEquals(3, new LapStopWatch(3).getCapacity());
+    }
+
+    @Test
+    public void testLaps() throws InterruptedException {
+        final LapStopWatch watch = LapStopWatch.createStarted(3);
+        assertTrue(watch.isStarted());
+        Thread.sleep(MIN_SLEEP_MILLISECONDS);
+        final long first = watch.lap("first");
+        final long second = watch.lap(null);
+        Thread.sleep(MIN_SLEEP_MILLISECONDS);
+        final long third = watch.lap("third");
+        watch.stop();
+        assertTrue(watch.isStopped());
+
+        assertEquals(3, watch.getLapCount());
+        assertEquals("first", watch.getLapName(0));
+        assertNull(watch.getLapName(1));
+        assertEquals("third", watch.getLapName(2));
+        assertEquals(first, watch.getLapNanoTime(0));
+        assertEquals(second, watch.getLapNanoTime(1));
+        assertEquals(third, watch.getLapNanoTime(2));
+        assertTrue(first >= TimeUnit.MILLISECONDS.toNanos(MIN_SLEEP_MILLISECONDS));
+        assertTrue(third >= TimeUnit.MILLISECONDS.toNanos(MIN_SLEEP_MILLISECONDS));
+        assertEquals(first, watch.getSplitNanoTime(0));
+        assertEquals(first + second + third, watch.getSplitNanoTime(2));
+        assertTrue(watch.getNanoTime() >= watch.getSplitNanoTime(2));
+        assertEquals(watch.getNanoTime(), watch.getNanoTime());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> watch.getLapName(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> watch.getLapNanoTime(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> watch.getSplitNanoTime(3));
+    }
+
+    @Test
+    public void testReset() {
+        final LapStopWatch watch = LapStopWatch.createStarted(2);
+        watch.lap("a");
+        watch.reset();
+        assertFalse(watch.isStarted());
+        assertEquals(0, watch.getLapCount());
+        assertEquals(0, watch.getNanoTime());
+        assertThrows(IndexOutOfBoundsException.class, () -> watch.getLapName(0));
+    }
+
+    @Test
+    public void testToString() {
+        final LapStopWatch watch = new LapStopWatch(2);
+        assertEquals("00:00:00.000", watch.toString());
+        watch.start();
+        watch.lap("parse");
+        watch.lap(null);
+        watch.stop();
+        final String text = watch.toString();
+        assertTrue(text.startsWith("parse 00:00:00."), text);
+        assertTrue(text.contains(",  00:00:00."), text);
+        assertEquals(3, text.split(", ").length, text);
+    }
+}
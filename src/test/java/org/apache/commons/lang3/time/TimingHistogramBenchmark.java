@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the cost of timing a stage with a {@link LapStopWatch} and recording it in a
+ * {@link TimingHistogram} shared by 4 threads.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=TimingHistogramBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TimingHistogramBenchmark {
+
+    /**
+     * The stopwatch of a thread.
+     */
+    @State(Scope.Thread)
+    public static class Watch {
+        private final LapStopWatch watch = new LapStopWatch(1);
+    }
+
+    private final TimingHistogram histogram = new TimingHistogram();
+
+    @Benchmark
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public long recordSince() {
+        return histogram.recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    public long lapAndRecord(final Watch state) {
+        final LapStopWatch watch = state.watch;
+        watch.reset();
+        watch.start();
+        final long nanos = watch.lap("stage");
+        histogram.record(nanos);
+        return nanos;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TestCase for TimingHistogram.
+ */
+public class TimingHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 100000; i++) {
+            final long nanos = i < 1000 ? i : random.nextLong() >>> 1 + random.nextInt(Long.SIZE - 1);
+            final int bucket = TimingHistogram.getBucket(nanos);
+            assertTrue(nanos <= TimingHistogram.getBucketMax(bucket), Long.toString(nanos));
+            assertTrue(bucket == 0 || nanos > TimingHistogram.getBucketMax(bucket - 1), Long.toString(nanos));
+            assertTrue(TimingHistogram.getBucketMax(bucket) - nanos <= nanos / 16, Long.toString(nanos));
+        }
+        assertEquals(Long.MAX_VALUE, TimingHistogram.getBucketMax(TimingHistogram.getBucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testEmpty() {
+        final TimingHistogram histogram = new TimingHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 0);
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals("TimingHistogram[count=0, min=0, mean=0, p50=0, p99=0, max=0]", histogram.toString());
+    }
+
+    @Test
+    public void testInvalid() {
+        final TimingHistogram histogram = new TimingHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(100.5));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final TimingHistogram histogram = new TimingHistogram();
+        final Random random = new Random(3);
+        final long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1000 + (long) (random.nextDouble() * random.nextDouble() * 10000000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getPercentile(100));
+        assertEquals(Arrays.stream(values).sum(), histogram.getSum());
+        assertEquals(Arrays.stream(values).average().getAsDouble(), histogram.getMean(), 0.001);
+        for (final double percentile : new double[] {1, 10, 25, 50, 75, 90, 99, 99.9}) {
+            final long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long estimate = histogram.getPercentile(percentile);
+            assertTrue(estimate >= exact && estimate - exact <= exact / 16, percentile + ": " + exact + " " + estimate);
+        }
+    }
+
+    @Test
+    public void testRecordSince() {
+        final TimingHistogram histogram = new TimingHistogram();
+        final long nanos = histogram.recordSince(System.nanoTime() - 1000000);
+        assertTrue(nanos >= 1000000);
+        assertEquals(1, histogram.getCount());
+        assertEquals(nanos, histogram.getMax());
+    }
+
+    @Test
+    public void testReset() {
+        final TimingHistogram histogram = new TimingHistogram();
+        histogram.record(5);
+        histogram.record(500);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(100));
+        histogram.record(7);
+        assertEquals(7, histogram.getMin());
+        assertEquals(7, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void testThreads() throws InterruptedException {
+        final TimingHistogram histogram = new TimingHistogram();
+        final int threads = 8;
+        final int records = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 1; i <= records; i++) {
+                    histogram.record(i);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * records, histogram.getCount());
+        assertEquals((long) threads * records * (records + 1) / 2, histogram.getSum());
+        assertEquals(1, histogram.getMin());
+        assertEquals(records, histogram.getMax());
+        final long median = histogram.getPercentile(50);
+        assertTrue(median >= records / 2 && median <= records / 2 + records / 32, Long.toString(median));
+    }
+}